@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# AppCDS 아카이브 만들기 (JDK 13 이상, 아카이브를 만든 JDK와 같은 JDK로 실행해야 한다.)
+# 실행 jar를 풀어서 평평한 클래스패스(app/myShopTest.jar + app/lib/*.jar)로 만들고,
+# 운영 설정(prod)으로 한 번 띄워 워밍업까지 끝나면 종료(startup.exit-after-warmup)해서 그때까지 읽은 클래스를 아카이브에 남긴다.
+# (CDS는 jar 안의 jar(BOOT-INF/lib)나 디렉터리 클래스패스에서 읽은 클래스는 아카이브하지 않는다.)
+#
+# prod는 스키마를 검사만(ddl-auto=validate) 하므로 학습 실행 DB에는 버전 관리되는 스키마(db/migration)가 있어야 한다.
+#   --spring.datasource.url을 주지 않으면 H2 파일 DB(target/startup/db/appcds)를 새로 만들어 db/migration/h2 스키마를 적용한다.
+#   H2 파일 DB를 주면 DB 파일이 없을 때 같은 스키마를 적용하고, MySQL 등 다른 DB는 db/migration/mysql 스키마를 미리 적용해 둔다.
+#
+# 사용 : scripts/appcds.sh [앱 옵션...]
+#   예) scripts/appcds.sh --spring.datasource.url=jdbc:mysql://db:3306/sample
+# 결과 : target/startup/app (클래스패스), target/startup/app.jsa (아카이브)
+# 실행 : java -XX:SharedArchiveFile=target/startup/app.jsa -cp "$(cat target/startup/app/classpath)" \
+#            co.mr.myShopTest.MyShopTestApplication --spring.profiles.active=prod
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=target/startup
+JAVA_VERSION=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.specification.version = //p')
+if [ "${JAVA_VERSION%%.*}" -lt 13 ]; then
+  echo "AppCDS 동적 아카이브(-XX:ArchiveClassesAtExit)는 JDK 13 이상에서 만들 수 있습니다. (현재 $JAVA_VERSION)" >&2
+  exit 1
+fi
+JAR=$(ls target/myShopTest-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+if [ -z "$JAR" ] || [ "${SKIP_BUILD:-false}" != "true" ]; then
+  ./mvnw -B -q -DskipTests package
+  JAR=$(ls target/myShopTest-*.jar | grep -v '\.original$' | head -n 1)
+fi
+
+rm -rf "$OUT/exploded" "$OUT/app" "$OUT/app.jsa"
+mkdir -p "$OUT/exploded" "$OUT/app/lib"
+(cd "$OUT/exploded" && jar xf "../../../$JAR")
+jar cf "$OUT/app/myShopTest.jar" -C "$OUT/exploded/BOOT-INF/classes" .
+cp "$OUT"/exploded/BOOT-INF/lib/*.jar "$OUT/app/lib/"
+
+# 실행 jar와 같은 순서(BOOT-INF/classpath.idx)로 클래스패스를 만든다. 아카이브를 쓸 때도 같은 클래스패스여야 한다.
+CLASSPATH="$OUT/app/myShopTest.jar"
+while read -r entry; do
+  CLASSPATH="$CLASSPATH:$OUT/app/lib/$(basename "${entry//\"/}")"
+done < <(sed -n 's/^- //p' "$OUT/exploded/BOOT-INF/classpath.idx")
+echo "$CLASSPATH" > "$OUT/app/classpath"
+rm -rf "$OUT/exploded"
+
+DB_URL=""
+DB_USER=sa
+DB_PASSWORD=""
+for arg in "$@"; do
+  case "$arg" in
+    --spring.datasource.url=*) DB_URL="${arg#*=}" ;;
+    --spring.datasource.username=*) DB_USER="${arg#*=}" ;;
+    --spring.datasource.password=*) DB_PASSWORD="${arg#*=}" ;;
+  esac
+done
+if [ -z "$DB_URL" ]; then
+  DB_URL="jdbc:h2:file:./$OUT/db/appcds"
+  rm -f "$OUT"/db/appcds.*.db
+  set -- --spring.datasource.url="$DB_URL" --spring.datasource.driver-class-name=org.h2.Driver \
+    --spring.datasource.username=sa --spring.datasource.password= "$@"
+fi
+DB_FILE="${DB_URL#jdbc:h2:file:}"
+DB_FILE="${DB_FILE%%;*}"
+if [[ "$DB_URL" == jdbc:h2:file:* ]] && [ ! -f "$DB_FILE.mv.db" ]; then
+  java -cp "$(ls "$OUT"/app/lib/h2-*.jar)" org.h2.tools.RunScript -url "$DB_URL" -user "$DB_USER" -password "$DB_PASSWORD" \
+    -script src/main/resources/db/migration/h2/V1__create_item_tables.sql -options CHARSET "'UTF-8'"
+fi
+
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -cp "$CLASSPATH" co.mr.myShopTest.MyShopTestApplication \
+  --spring.profiles.active=prod --startup.exit-after-warmup=true "$@"
+echo "AppCDS : $OUT/app.jsa ($(du -h "$OUT/app.jsa" | cut -f1))"
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# 시작 시간 비교 : 프로세스 실행부터 첫 요청(GET /items/catalog)이 200으로 응답할 때까지(ms)
+# 준비 상태(GET /admin/startup/ready)가 200이 된 뒤 첫 요청을 보내고, 준비까지 걸린 시간(ready)과 첫 요청 응답 시간(first)도 따로 출력한다.
+#  - default  : 기본 설정 (ddl-auto=create, 컨트롤러/템플릿/쿼리는 첫 요청 때 초기화)
+#  - prod     : 운영 시작 설정 (application-prod.properties, 워밍업까지 끝나야 준비)
+#  - prod-cds : prod + AppCDS 아카이브 (scripts/appcds.sh)
+# 세 방식 모두 같은 클래스패스(target/startup/app)로 실행하고, 방식마다 RUNS번 실행한 중앙값/최소/최대를 출력한다.
+# 마지막 실행의 시작 시간 보고서(구간별/빈별)는 target/startup/timeline-{방식}.txt 에 남는다.
+#
+# 사용 : scripts/startup-benchmark.sh
+# 옵션 : RUNS=10 PORT=18080 DB_ARGS="--spring.datasource.url=jdbc:mysql://..." scripts/startup-benchmark.sh
+#        (기본 DB는 target/startup/db 의 H2 파일 DB, default 실행이 스키마를 만든다.)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=target/startup
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+URL="http://localhost:$PORT/items/catalog?size=20"
+READY_URL="http://localhost:$PORT/admin/startup/ready"
+DB_ARGS=${DB_ARGS:-"--spring.datasource.url=jdbc:h2:file:./$OUT/db/myshop --spring.datasource.driver-class-name=org.h2.Driver --spring.datasource.username=sa --spring.datasource.password="}
+APP_ARGS="--server.port=$PORT --decorator.datasource.p6spy.enable-logging=false --logging.level.root=warn $DB_ARGS"
+
+# 모든 실행이 같은 DB를 쓴다. H2 파일 DB는 새로 만들고 appcds.sh가 버전 관리되는 스키마(db/migration/h2)를 적용한다.
+# DB_ARGS로 다른 DB를 주면 db/migration/mysql 스키마를 미리 적용해 둔다. (prod는 ddl-auto=validate)
+if [ "${SKIP_BUILD:-false}" != "true" ] || ! ls target/myShopTest-*.jar > /dev/null 2>&1; then
+  ./mvnw -B -q -DskipTests package
+fi
+JAR=$(ls target/myShopTest-*.jar | grep -v '\.original$' | head -n 1)
+mkdir -p "$OUT"
+rm -rf "$OUT/db"
+
+# 클래스패스(target/startup/app)와 AppCDS 아카이브를 만든다.
+SKIP_BUILD=true scripts/appcds.sh $APP_ARGS > "$OUT/appcds.log" 2>&1
+CLASSPATH=$(cat "$OUT/app/classpath")
+
+now_ms() {
+  date +%s%3N
+}
+
+# $1 : 방식 이름, 나머지 : java 옵션
+# 로드밸런서처럼 준비 상태(GET /admin/startup/ready)가 200이 될 때까지 기다렸다가 첫 요청을 보낸다.
+measure() {
+  local mode=$1
+  shift
+  local results=()
+  for ((run = 1; run <= RUNS; run++)); do
+    local started ready first
+    started=$(now_ms)
+    java "$@" -cp "$CLASSPATH" co.mr.myShopTest.MyShopTestApplication $APP_ARGS \
+      --startup.timeline.file="$OUT/timeline-$mode.txt" > "$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null "$READY_URL"; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$mode : 시작하지 못했습니다. ($OUT/$mode.log)" >&2
+        exit 1
+      fi
+      sleep 0.01
+    done
+    ready=$(($(now_ms) - started))
+    if ! first=$(curl -sf -o /dev/null -w '%{time_total}' "$URL"); then
+      echo "$mode : 첫 요청이 실패했습니다. ($OUT/$mode.log)" >&2
+      exit 1
+    fi
+    first=$(awk -v s="$first" 'BEGIN { printf "%d", s * 1000 }')
+    results+=("$((ready + first)) $ready $first")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+  done
+  printf '%s\n' "${results[@]}" | sort -n | awk -v mode="$mode" '
+    { total[NR] = $1; ready[NR] = $2; first[NR] = $3 }
+    END {
+      m = int((NR + 1) / 2)
+      printf "%-10s %8d %8d %8d %8d %8d   (%d runs)\n", mode, total[m], total[1], total[NR], ready[m], first[m], NR
+    }'
+}
+
+echo "time to first successful request (ms) : 실행 ~ 준비(/admin/startup/ready) + 첫 요청($URL)"
+printf '%-10s %8s %8s %8s %8s %8s\n' mode total min max "ready" "first"
+measure default
+measure prod -Dspring.profiles.active=prod
+measure prod-cds -Dspring.profiles.active=prod -XX:SharedArchiveFile="$OUT/app.jsa" -Xshare:auto
+echo "시작 시간 보고서 : $OUT/timeline-*.txt"
@@ -0,0 +1,234 @@
+package co.mr.myShopTest.benchmark;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상품 목록 화면 동기(/items/catalog) / 비동기(/items/catalog/async) 처리 부하 비교
+// 내장 톰캣을 띄우고 concurrency건을 동시에 요청해서 모두 응답받을 때까지를 한 번의 작업으로 잰다. (처리량 = 작업/초 * concurrency)
+// DB가 느린 상황을 만들기 위해 select마다 dbLatencyMs 만큼 멈춘다. (p6spy 리스너, 커넥션을 잡은 채로 기다림)
+// 요청 한도(concurrency.limit)는 꺼서 두 방식을 그대로 비교한다.
+// 모든 화면이 로그인이 필요하므로 시작할 때 HTTP Basic으로 한 번 로그인하고 이후에는 세션 쿠키로 요청한다. (요청마다 BCrypt 검사를 하지 않도록)
+//
+// 반복(iteration)마다 최대 스레드 수와 동시 요청 1건당 힙 사용량(최대 사용량 - 시작 전 사용량, GC 전 쓰레기 포함이라 추세 확인용)을 출력한다.
+// 동기 방식은 동시 요청마다 톰캣 스레드(스택 -Xss, 기본 1MB 예약)를 하나씩 붙잡고,
+// 비동기 방식은 커넥션 풀 크기만큼의 catalog 스레드(가상 스레드면 요청마다 수 KB)만 사용한다.
+//
+// 실행 : ./mvnw -P benchmark test-compile exec:exec -Djmh.args="CatalogLoadBenchmark"
+// 가상 스레드 : ./mvnw -P benchmark,java21 test-compile exec:exec -Djmh.args="CatalogLoadBenchmark -p virtualThreads=true"
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class CatalogLoadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String USERNAME = "benchmark";
+
+    private static final String PASSWORD = "benchmark";
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"sync", "async"})
+        String mode;
+
+        @Param({"50", "400"})
+        int concurrency;
+
+        @Param({"20"})
+        int dbLatencyMs;
+
+        @Param({"false"})
+        boolean virtualThreads;
+
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        String baseUrl;
+        Random random = new Random(ItemDataGenerator.SEED);
+
+        final DbLatency dbLatency = new DbLatency();
+        final Sampler sampler = new Sampler();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new SpringApplicationBuilder(MyShopTestApplication.class)
+                    .initializers(applicationContext ->
+                            applicationContext.getBeanFactory().registerSingleton("benchmarkDbLatency", dbLatency))
+                    .run(
+                            "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:catalog-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.hibernate.ddl-auto=create",
+                            "--spring.jpa.properties.hibernate.show_sql=false",
+                            "--spring.jpa.properties.hibernate.format_sql=false",
+                            "--decorator.datasource.p6spy.enable-logging=false",
+                            "--query.metrics.enabled=false",
+                            "--concurrency.limit.enabled=false",
+                            "--spring.security.user.name=" + USERNAME,
+                            "--spring.security.user.password=" + new BCryptPasswordEncoder().encode(PASSWORD),
+                            "--catalog.async.virtual-threads=" + virtualThreads,
+                            "--logging.level.root=warn",
+                            "--logging.level.org.hibernate.type.descriptor.sql=warn");
+            ItemDataGenerator.seed(context.getBean(JdbcTemplate.class), ROWS);
+            dbLatency.millis = dbLatencyMs;
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port + ("sync".equals(mode) ? "/items/catalog" : "/items/catalog/async");
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(4))
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .cookieHandler(new CookieManager())
+                    .build();
+            login();
+        }
+
+        private void login() {
+            String credentials = Base64.getEncoder()
+                    .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Authorization", "Basic " + credentials)
+                    .build();
+            int status = client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("로그인하지 못했습니다. : " + status);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        @Setup(Level.Iteration)
+        public void startSampling() {
+            sampler.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void printSamples() {
+            sampler.stop();
+            System.out.printf("%n[%s, concurrency=%d] peak threads=%d (+%d), heap per in-flight request=%.1f KB%n",
+                    mode, concurrency, sampler.peakThreads.get(), sampler.peakThreads.get() - sampler.baseThreads,
+                    (sampler.peakHeap.get() - sampler.baseHeap) / 1024.0 / concurrency);
+        }
+
+        HttpRequest nextRequest() {
+            long lastId = random.nextInt(ROWS - PAGE_SIZE);
+            return HttpRequest.newBuilder(URI.create(baseUrl + "?size=" + PAGE_SIZE + "&lastId=" + lastId))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+        }
+    }
+
+    // concurrency건 동시 요청, 모두 200이어야 한다.
+    @Benchmark
+    public int catalog(Server server) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(server.concurrency);
+        for (int i = 0; i < server.concurrency; i++) {
+            responses.add(server.client.sendAsync(server.nextRequest(), HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != server.concurrency) {
+            throw new IllegalStateException("실패한 요청이 있습니다. : " + (server.concurrency - ok));
+        }
+        return ok;
+    }
+
+    // select 실행 전에 멈춰서 느린 DB를 흉내낸다.
+    public static class DbLatency extends SimpleJdbcEventListener {
+
+        volatile long millis;
+
+        @Override
+        public void onBeforeAnyExecute(StatementInformation statementInformation) {
+            if (millis > 0 && statementInformation.getSql().trim().regionMatches(true, 0, "select", 0, 6)) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // 10ms마다 스레드 수, 힙 사용량의 최대값을 기록한다.
+    static class Sampler {
+
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private ScheduledExecutorService scheduler;
+
+        final AtomicLong peakThreads = new AtomicLong();
+        final AtomicLong peakHeap = new AtomicLong();
+        long baseThreads;
+        long baseHeap;
+
+        void start() {
+            System.gc();
+            baseThreads = threads.getThreadCount();
+            baseHeap = memory.getHeapMemoryUsage().getUsed();
+            peakThreads.set(baseThreads);
+            peakHeap.set(baseHeap);
+            scheduler = Executors.newSingleThreadScheduledExecutor();
+            scheduler.scheduleAtFixedRate(() -> {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            }, 0, 10, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package co.mr.myShopTest.benchmark;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 벤치마크용 상품 데이터 생성기
+// 시드가 고정되어 있어서 몇 번을 실행해도 같은 데이터가 만들어진다. (릴리즈 간 결과 비교용)
+public class ItemDataGenerator {
+
+    public static final long SEED = 42L;
+
+    public static final int MIN_PRICE = 1_000;
+
+    public static final int MAX_PRICE = 1_000_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final String[] WORDS = {"셔츠", "청바지", "스웨터", "니트", "면", "데님", "여름", "겨울", "오버핏", "슬림"};
+
+    private ItemDataGenerator() {
+    }
+
+    public static String itemName(long id) {
+        return "벤치마크 상품" + id;
+    }
+
+    // JPA를 거치지 않고 JDBC batch insert로 rows건을 넣는다. id는 1 ~ rows
+    // 이후 save()가 같은 id를 받지 않도록 시퀀스를 뒤로 옮겨 둔다.
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        Random random = new Random(SEED);
+        String sql = "insert into item (item_id, item_name, price, stock_number, item_detail, item_sell_status, reg_time, update_time, version) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            int stockNumber = random.nextInt(101);
+            Timestamp regTime = Timestamp.valueOf(BASE_TIME.plusSeconds(id));
+            batch.add(new Object[]{
+                    id,
+                    itemName(id),
+                    MIN_PRICE + random.nextInt(MAX_PRICE - MIN_PRICE),
+                    stockNumber,
+                    "상품 상세 설명 " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id,
+                    (stockNumber == 0 ? ItemSellStatus.SOLD_OUT : ItemSellStatus.SELL).name(),
+                    regTime,
+                    regTime});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("alter sequence item_seq restart with " + (rows + 1_000));
+    }
+}
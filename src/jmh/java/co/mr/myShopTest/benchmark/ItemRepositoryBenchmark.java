@@ -0,0 +1,203 @@
+package co.mr.myShopTest.benchmark;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.repository.CursorPage;
+import co.mr.myShopTest.repository.ItemCursor;
+import co.mr.myShopTest.repository.ItemPriceIndex;
+import co.mr.myShopTest.repository.ItemRepository;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ItemRepository 조회 방식별 성능 비교
+// 쿼리메소드 / @Query(JPQL) / 네이티브 쿼리 / JPAQueryFactory / QuerydslPredicateExecutor 페이징 / 커서 페이징 / DTO 프로젝션 / save
+// 메모리 H2에 rows건을 넣고 같은 조건으로 측정한다. -prof gc 로 요청당 할당량(gc.alloc.rate.norm)도 함께 본다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRepositoryBenchmark {
+
+    // 한 페이지 크기, 가격 조건은 평균 100건 정도가 걸리도록 잡는다.
+    private static final int PAGE_SIZE = 20;
+    private static final int MATCHED_ROWS = 100;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param({"10000", "100000", "1000000"})
+        int rows;
+
+        ConfigurableApplicationContext context;
+        ItemRepository itemRepository;
+        JPAQueryFactory queryFactory;
+        ItemPriceIndex itemPriceIndex;
+
+        // offset 페이징이 조회하는 중간 페이지 바로 앞 행의 커서 (다음 페이지 토큰)
+        String deepCursor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // application.properties(MySQL)보다 우선하도록 커맨드라인 인자로 넘긴다.
+            context = new SpringApplicationBuilder(MyShopTestApplication.class)
+                    .run(
+                            "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.hibernate.ddl-auto=create",
+                            "--spring.jpa.properties.hibernate.show_sql=false",
+                            "--spring.jpa.properties.hibernate.format_sql=false",
+                            "--decorator.datasource.p6spy.enable-logging=false",
+                            "--logging.level.root=warn",
+                            "--logging.level.org.hibernate.type.descriptor.sql=warn");
+            ItemDataGenerator.seed(context.getBean(JdbcTemplate.class), rows);
+            itemRepository = context.getBean(ItemRepository.class);
+            queryFactory = context.getBean(JPAQueryFactory.class);
+            itemPriceIndex = context.getBean(ItemPriceIndex.class);
+            itemPriceIndex.rebuild(); // JDBC로 넣은 데이터는 이벤트가 없으므로 다시 만든다.
+
+            // 커서 페이징도 offset 페이징과 같은 위치를 읽도록, 그 앞 행의 (price, id)로 토큰을 만든다.
+            QItem item = QItem.item;
+            Tuple last = queryFactory.select(item.price, item.Id)
+                    .from(item)
+                    .where(item.itemSellStatus.eq(ItemSellStatus.SELL))
+                    .orderBy(item.price.asc(), item.Id.asc())
+                    .offset(deepPage() * (long) PAGE_SIZE - 1)
+                    .limit(1)
+                    .fetchOne();
+            deepCursor = ItemCursor.after(ItemCursor.SortKey.PRICE, false, last.get(item.price), last.get(item.Id)).encode();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        // 중간 페이지 번호 (offset = 전체의 절반)
+        int deepPage() {
+            return rows / 2 / PAGE_SIZE;
+        }
+
+        int priceLimit() {
+            long range = (long) ItemDataGenerator.MAX_PRICE - ItemDataGenerator.MIN_PRICE;
+            return (int) (ItemDataGenerator.MIN_PRICE + range * MATCHED_ROWS / rows);
+        }
+    }
+
+    // 스레드별로 고정 시드의 난수를 사용해서 매번 같은 순서로 조회 대상을 고른다.
+    @State(Scope.Thread)
+    public static class Keys {
+        Random random = new Random(ItemDataGenerator.SEED);
+
+        long nextId(Catalog catalog) {
+            return 1 + random.nextInt(catalog.rows);
+        }
+    }
+
+    @Benchmark
+    public List<Item> derivedFindByItemName(Catalog catalog, Keys keys) {
+        return catalog.itemRepository.findByItemName(ItemDataGenerator.itemName(keys.nextId(catalog)));
+    }
+
+    @Benchmark
+    public List<Item> derivedFindByPriceLessThanOrderByPriceDesc(Catalog catalog) {
+        return catalog.itemRepository.findByPriceLessThanOrderByPriceDesc(catalog.priceLimit());
+    }
+
+    @Benchmark
+    public List<ItemListDto> projectionFindListByPriceLessThanOrderByPriceDesc(Catalog catalog) {
+        return catalog.itemRepository.findListByPriceLessThanOrderByPriceDesc(catalog.priceLimit());
+    }
+
+    // 메모리 가격 색인, id만 조회 / 엔티티까지 조회
+    @Benchmark
+    public long[] priceIndexFindIdsByPriceLessThanOrderByPriceDesc(Catalog catalog) {
+        return catalog.itemPriceIndex.findIdsByPriceLessThanOrderByPriceDesc(catalog.priceLimit(), null, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Item> priceIndexFindByPriceLessThanOrderByPriceDesc(Catalog catalog) {
+        return catalog.itemPriceIndex.findByPriceLessThanOrderByPriceDesc(catalog.priceLimit(), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Item> jpqlFindByItemDetail(Catalog catalog, Keys keys) {
+        return catalog.itemRepository.findByItemDetail(" " + keys.nextId(catalog));
+    }
+
+    @Benchmark
+    public List<Item> nativeFindByItemDetail(Catalog catalog, Keys keys) {
+        return catalog.itemRepository.findByItemDetailNative(" " + keys.nextId(catalog));
+    }
+
+    @Benchmark
+    public List<Item> querydslQueryFactory(Catalog catalog) {
+        QItem item = QItem.item;
+        return catalog.queryFactory.selectFrom(item)
+                .where(item.itemSellStatus.eq(ItemSellStatus.SELL), item.price.lt(catalog.priceLimit()))
+                .orderBy(item.price.desc())
+                .limit(PAGE_SIZE)
+                .fetch();
+    }
+
+    // offset 페이징, 중간 페이지를 조회 (offset = 전체의 절반)
+    @Benchmark
+    public Page<Item> predicateExecutorPaging(Catalog catalog) {
+        QItem item = QItem.item;
+        BooleanBuilder booleanBuilder = new BooleanBuilder(item.itemSellStatus.eq(ItemSellStatus.SELL));
+        return catalog.itemRepository.findAll(booleanBuilder,
+                PageRequest.of(catalog.deepPage(), PAGE_SIZE, Sort.by("price", "Id")));
+    }
+
+    // 커서 페이징, 위와 같은 중간 페이지를 이전 페이지의 토큰으로 조회
+    @Benchmark
+    public CursorPage<Item> predicateExecutorCursor(Catalog catalog) {
+        QItem item = QItem.item;
+        BooleanBuilder booleanBuilder = new BooleanBuilder(item.itemSellStatus.eq(ItemSellStatus.SELL));
+        return catalog.itemRepository.findAll(booleanBuilder, ItemCursor.decode(catalog.deepCursor), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Item save(Catalog catalog) {
+        Item item = new Item();
+        item.setItemName("벤치마크 저장 상품");
+        item.setPrice(10000);
+        item.setItemDetail("벤치마크 저장 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return catalog.itemRepository.save(item);
+    }
+}
@@ -0,0 +1,152 @@
+package co.mr.myShopTest.benchmark;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import co.mr.myShopTest.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 요청 1건이 시큐리티 필터 체인을 통과하는 비용 (인증 방식별, security.auth.mode 변경 전/후 비교)
+// 서블릿 컨테이너 없이 springSecurityFilterChain을 직접 호출하고, 체인 끝(컨트롤러 자리)에서는 아무것도 하지 않는다.
+// auth
+//  - session-basic : 이전 방식, 요청마다 HTTP Basic (요청마다 BCrypt 검사, 세션 생성)
+//  - session       : 이전 방식, 로그인한 세션(SPRING_SECURITY_CONTEXT)으로 요청
+//  - token         : 토큰 방식, Authorization: Bearer (검증 결과 캐시)
+//  - token-public  : 토큰 방식, 공개 상품 화면(/items/catalog, 체인을 거치지 않음)
+// -prof gc 로 요청당 할당량(gc.alloc.rate.norm)도 함께 본다.
+//
+// 실행 : ./mvnw -P benchmark test-compile exec:exec -Djmh.args="SecurityFilterChainBenchmark -prof gc"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String USERNAME = "benchmark";
+
+    private static final String PASSWORD = "benchmark";
+
+    private static final String PROTECTED_PATH = "/thymeleaf/ex01";
+
+    private static final String PUBLIC_PATH = "/items/catalog";
+
+    @State(Scope.Benchmark)
+    public static class Chain {
+
+        @Param({"session-basic", "session", "token", "token-public"})
+        String auth;
+
+        ConfigurableApplicationContext context;
+        Filter filterChainProxy;
+        MockHttpSession session;
+        String authorization;
+        String path;
+
+        // 컨트롤러 자리, 인증되었는지만 기록한다.
+        volatile boolean authenticated;
+        final FilterChain terminal = (request, response) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            authenticated = authentication != null && authentication.isAuthenticated();
+        };
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            String mode = auth.startsWith("session") ? "session" : "token";
+            context = new SpringApplicationBuilder(MyShopTestApplication.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:security-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--decorator.datasource.p6spy.enable-logging=false",
+                    "--security.auth.mode=" + mode,
+                    "--spring.security.user.name=" + USERNAME,
+                    "--spring.security.user.password=" + new BCryptPasswordEncoder().encode(PASSWORD),
+                    "--logging.level.root=warn");
+            filterChainProxy = context.getBean("springSecurityFilterChain", Filter.class);
+
+            Authentication user = new UsernamePasswordAuthenticationToken(USERNAME, null,
+                    AuthorityUtils.createAuthorityList("ROLE_USER"));
+            path = PROTECTED_PATH;
+            switch (auth) {
+                case "session-basic":
+                    authorization = "Basic " + Base64.getEncoder()
+                            .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+                    break;
+                case "session":
+                    session = new MockHttpSession();
+                    session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                            new SecurityContextImpl(user));
+                    break;
+                case "token":
+                    authorization = "Bearer " + context.getBean(TokenService.class).issue(user).getValue();
+                    break;
+                case "token-public":
+                    path = PUBLIC_PATH;
+                    break;
+                default:
+                    throw new IllegalArgumentException(auth);
+            }
+
+            int status = request(this);
+            if (status != 200 || (!authenticated && !PUBLIC_PATH.equals(path))) {
+                throw new IllegalStateException("인증되지 않았습니다. : " + auth + ", " + status);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int filterChain(Chain chain) throws Exception {
+        return request(chain);
+    }
+
+    private static int request(Chain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", chain.path);
+        request.setServletPath(chain.path);
+        if (chain.authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, chain.authorization);
+        }
+        if (chain.session != null) {
+            request.setSession(chain.session);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain.filterChainProxy.doFilter(request, response, chain.terminal);
+        return response.getStatus();
+    }
+}
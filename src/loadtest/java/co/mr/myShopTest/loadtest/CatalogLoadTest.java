@@ -0,0 +1,175 @@
+package co.mr.myShopTest.loadtest;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import co.mr.myShopTest.repository.ItemPriceIndex;
+import co.mr.myShopTest.repository.ItemSearchRepository;
+import co.mr.myShopTest.repository.ItemSuggestRepository;
+import co.mr.myShopTest.service.CatalogStatsService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 전체 화면 부하 테스트
+// 내장 톰캣 + H2(메모리)로 앱을 띄우고 상품 loadtest.rows건을 넣은 뒤 실제 URL에 일정한 도착률로 요청을 보낸다.
+// 워밍업(loadtest.warmup-seconds) 결과는 버리고 측정(loadtest.duration-seconds) 결과만 SLO(loadtest-slo.properties)와 비교한다.
+// 결과는 target/loadtest 에 시나리오별 HdrHistogram 분포(.hgrm)와 요약(summary.txt)으로 남는다.
+//
+// 실행 : ./mvnw -P loadtest test
+// 옵션 : ./mvnw -P loadtest test -Dloadtest.rate=200 -Dloadtest.duration-seconds=120 -Dslo.catalog.p99-ms=80
+@DisplayName("부하 테스트")
+class CatalogLoadTest {
+
+    private static final String USERNAME = "loadtest";
+
+    private static final String PASSWORD = "loadtest";
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 10_000);
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 1_000);
+
+    private static final Path REPORT_DIR = Paths.get(System.getProperty("loadtest.report-dir", "target/loadtest"));
+
+    private static ConfigurableApplicationContext context;
+
+    private static ExecutorService clientExecutor;
+
+    private static HttpClient client;
+
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startServer() {
+        context = new SpringApplicationBuilder(MyShopTestApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--decorator.datasource.p6spy.enable-logging=false",
+                "--spring.security.user.name=" + USERNAME,
+                "--spring.security.user.password=" + new BCryptPasswordEncoder().encode(PASSWORD),
+                "--security.token.ttl=1d",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.type.descriptor.sql=warn");
+
+        // JDBC로 넣은 데이터는 변경 이벤트가 없으므로 메모리 색인/집계를 다시 만든다.
+        CatalogSeeder.seed(context.getBean(JdbcTemplate.class), ROWS);
+        context.getBean(ItemSuggestRepository.class).rebuild();
+        context.getBean(ItemSearchRepository.class).rebuild();
+        context.getBean(ItemPriceIndex.class).rebuild();
+        context.getBean(CatalogStatsService.class).reconcile();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        clientExecutor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .cookieHandler(new CookieManager())
+                .build();
+        login();
+    }
+
+    // 토큰을 한 번 발급받고 이후에는 토큰 쿠키(access_token)로 요청한다. (요청마다 BCrypt 검사를 하지 않도록)
+    private static void login() {
+        String credentials = Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/token"))
+                .header("Authorization", "Basic " + credentials)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        int status = client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).join().statusCode();
+        assertEquals(200, status, "로그인하지 못했습니다.");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (context != null) {
+            context.close();
+        }
+        if (clientExecutor != null) {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    static List<Scenario> scenarios() {
+        String image = encode("셔츠.jpg");
+        return Arrays.asList(
+                Scenario.of("thymeleaf-ex01", 1, "/thymeleaf/ex01"),
+                Scenario.of("thymeleaf-ex02", 1, "/thymeleaf/ex02"),
+                Scenario.of("thymeleaf-ex03", 1, "/thymeleaf/ex03"),
+                Scenario.of("thymeleaf-ex04", 1, "/thymeleaf/ex04"),
+                Scenario.of("thymeleaf-ex05", 1, "/thymeleaf/ex05"),
+                Scenario.of("thymeleaf-ex06", 1, "/thymeleaf/ex06?param1=test&param2=" + encode("테스트")),
+                Scenario.of("thymeleaf-ex07", 1, "/thymeleaf/ex07"),
+                new Scenario("catalog", 4, random ->
+                        "/items/catalog?size=" + PAGE_SIZE + "&lastId=" + random.nextInt(ROWS)),
+                new Scenario("catalog-async", 2, random ->
+                        "/items/catalog/async?size=" + PAGE_SIZE + "&lastId=" + random.nextInt(ROWS)),
+                new Scenario("suggest", 4, random ->
+                        "/items/suggest?q=" + encode(CatalogSeeder.WORDS[random.nextInt(CatalogSeeder.WORDS.length)].substring(0, 1))),
+                Scenario.of("stats", 2, "/items/stats"),
+                Scenario.of("image", 2, "/image/list/" + image),
+                Scenario.of("static-image", 2, "/images/" + image));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    @Test
+    @DisplayName("일정한 도착률 부하에서 응답 시간 SLO 확인")
+    void slo() throws Exception {
+        List<Scenario> scenarios = scenarios();
+        Duration requestTimeout = Duration.ofSeconds(30);
+
+        new OpenModelLoadGenerator(client, baseUrl, scenarios, MAX_IN_FLIGHT, requestTimeout).run(RATE, WARMUP);
+        LoadReport report = new OpenModelLoadGenerator(client, baseUrl, scenarios, MAX_IN_FLIGHT, requestTimeout)
+                .run(RATE, DURATION);
+
+        report.write(REPORT_DIR);
+        System.out.printf("%n[loadtest] rate=%.1f req/s, duration=%ds, rows=%d, report=%s%n",
+                RATE, DURATION.getSeconds(), ROWS, REPORT_DIR.toAbsolutePath());
+        report.printSummary(System.out);
+
+        List<String> violations = new Slo("loadtest-slo.properties").check(report);
+        assertTrue(violations.isEmpty(), "SLO 위반 :\n" + String.join("\n", violations));
+    }
+}
@@ -0,0 +1,57 @@
+package co.mr.myShopTest.loadtest;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 부하 테스트용 상품 데이터 (JDBC batch insert, id는 1 ~ rows)
+// 시드가 고정되어 있어서 실행할 때마다 같은 데이터가 만들어진다. (실행 간 결과 비교용)
+// 상품명은 "{단어} 상품{id}" 이라서 단어 앞부분으로 자동완성을 요청할 수 있다.
+public class CatalogSeeder {
+
+    public static final long SEED = 42L;
+
+    public static final String[] WORDS = {"셔츠", "청바지", "스웨터", "니트", "면바지", "데님", "여름", "겨울", "오버핏", "슬림"};
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private CatalogSeeder() {
+    }
+
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        Random random = new Random(SEED);
+        String sql = "insert into item (item_id, item_name, price, stock_number, item_detail, item_sell_status, reg_time, update_time, version) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            int stockNumber = random.nextInt(101);
+            Timestamp regTime = Timestamp.valueOf(BASE_TIME.plusSeconds(id));
+            batch.add(new Object[]{
+                    id,
+                    word + " 상품" + id,
+                    1_000 + random.nextInt(999_000),
+                    stockNumber,
+                    "상품 상세 설명 " + word + " " + WORDS[random.nextInt(WORDS.length)] + " " + id,
+                    (stockNumber == 0 ? ItemSellStatus.SOLD_OUT : ItemSellStatus.SELL).name(),
+                    regTime,
+                    regTime});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        // 이후 save()가 같은 id를 받지 않도록 시퀀스를 뒤로 옮겨 둔다.
+        jdbcTemplate.execute("alter sequence item_seq restart with " + (rows + 1_000));
+    }
+}
@@ -0,0 +1,152 @@
+package co.mr.myShopTest.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 시나리오별 응답 시간 분포(HdrHistogram, 마이크로초)와 오류 건수
+// responseTime : 보내야 했던 시각부터 응답까지 (coordinated omission 보정, SLO 판정 기준)
+// serviceTime  : 실제로 보낸 시각부터 응답까지 (참고용, 두 값의 차이가 크면 생성기나 커넥션이 밀린 것)
+// 응답 콜백 스레드 여러 개가 동시에 기록하므로 Recorder를 쓰고, 끝난 뒤 한 번에 Histogram으로 꺼낸다.
+public class LoadReport {
+
+    // 1µs ~ 1분, 유효 숫자 3자리
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Result> results = new LinkedHashMap<>();
+
+    private long elapsedNanos;
+
+    public LoadReport(List<Scenario> scenarios) {
+        scenarios.forEach(scenario -> results.put(scenario.getName(), new Result()));
+    }
+
+    void record(Scenario scenario, long responseTimeNanos, long serviceTimeNanos) {
+        Result result = results.get(scenario.getName());
+        result.responseTime.recordValue(toMicros(responseTimeNanos));
+        result.serviceTime.recordValue(toMicros(serviceTimeNanos));
+    }
+
+    void recordError(Scenario scenario, String reason) {
+        Result result = results.get(scenario.getName());
+        result.errors.incrementAndGet();
+        result.errorReasons.computeIfAbsent(reason, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        results.values().forEach(Result::finish);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    public Map<String, Result> getResults() {
+        return results;
+    }
+
+    // 전체 시나리오를 합친 결과
+    public Result total() {
+        Result total = new Result();
+        total.finish();
+        results.values().forEach(result -> {
+            total.responseTimeHistogram.add(result.responseTimeHistogram);
+            total.serviceTimeHistogram.add(result.serviceTimeHistogram);
+            total.errors.addAndGet(result.errors.get());
+        });
+        return total;
+    }
+
+    // dir/{시나리오}.hgrm (응답 시간 분포, HdrHistogram 표준 출력 형식, 단위 ms)와 dir/summary.txt를 쓴다.
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            writeHistogram(dir.resolve(entry.getKey() + ".hgrm"), entry.getValue().responseTimeHistogram);
+            writeHistogram(dir.resolve(entry.getKey() + ".service.hgrm"), entry.getValue().serviceTimeHistogram);
+        }
+        Result total = total();
+        writeHistogram(dir.resolve("total.hgrm"), total.responseTimeHistogram);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve("summary.txt")), true,
+                StandardCharsets.UTF_8.name())) {
+            printSummary(out);
+        }
+    }
+
+    public void printSummary(PrintStream out) {
+        out.printf("elapsed %.1fs, throughput %.1f req/s%n", elapsedNanos / 1e9,
+                (total().count() + total().errors.get()) / Math.max(elapsedNanos / 1e9, 1e-9));
+        out.printf("%-16s %8s %7s %9s %9s %9s %9s %9s %12s%n",
+                "scenario", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "svc p99(ms)");
+        results.forEach((name, result) -> printRow(out, name, result));
+        printRow(out, "total", total());
+        results.forEach((name, result) -> result.errorReasons.forEach((reason, count) ->
+                out.printf("  %s error : %s x %d%n", name, reason, count.get())));
+    }
+
+    private static void printRow(PrintStream out, String name, Result result) {
+        out.printf("%-16s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                name, result.count(), result.errors.get(),
+                result.percentileMillis(50), result.percentileMillis(95),
+                result.percentileMillis(99), result.percentileMillis(99.9),
+                result.responseTimeHistogram.getMaxValue() / 1000.0,
+                result.serviceTimeHistogram.getValueAtPercentile(99) / 1000.0);
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8.name())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    public static class Result {
+
+        private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+        private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final Map<String, AtomicLong> errorReasons = new ConcurrentHashMap<>();
+
+        private Histogram responseTimeHistogram;
+
+        private Histogram serviceTimeHistogram;
+
+        private void finish() {
+            responseTimeHistogram = responseTime.getIntervalHistogram();
+            serviceTimeHistogram = serviceTime.getIntervalHistogram();
+        }
+
+        public long count() {
+            return responseTimeHistogram.getTotalCount();
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+
+        public double errorRate() {
+            long all = count() + errors.get();
+            return all == 0 ? 0 : (double) errors.get() / all;
+        }
+
+        public double percentileMillis(double percentile) {
+            return responseTimeHistogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
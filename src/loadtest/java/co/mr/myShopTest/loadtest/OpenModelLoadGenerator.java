@@ -0,0 +1,112 @@
+package co.mr.myShopTest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// 일정한 도착률(open model)로 요청을 보내는 부하 생성기
+// 응답을 기다렸다가 다음 요청을 보내는 방식(closed model)은 서버가 느려지면 요청도 덜 보내게 되어
+// 느려진 구간의 지연이 측정에서 빠진다. (coordinated omission)
+// 여기서는 i번째 요청을 보내야 하는 시각(시작 + i / rate)을 미리 정해 두고 응답 시간을 그 시각부터 잰다.
+// 생성기나 클라이언트 커넥션이 밀려서 늦게 보낸 시간도 응답 시간에 들어간다. (실제로 보낸 시각부터 잰 값은 serviceTime)
+//
+// 시나리오는 비중(weight)에 맞게 고정 시드로 섞은 순서대로 고른다. (실행할 때마다 같은 순서)
+// 동시에 기다리는 요청이 maxInFlight를 넘으면 보내지 않고 오류로 센다. (생성기 메모리 보호)
+public class OpenModelLoadGenerator {
+
+    private static final long SEED = 42L;
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final List<Scenario> scenarios;
+
+    private final int[] schedule;
+
+    private final int maxInFlight;
+
+    private final Duration requestTimeout;
+
+    private final Random random = new Random(SEED);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelLoadGenerator(HttpClient client, String baseUrl, List<Scenario> scenarios, int maxInFlight,
+                                  Duration requestTimeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.scenarios = scenarios;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            for (int w = 0; w < scenarios.get(i).getWeight(); w++) {
+                order.add(i);
+            }
+        }
+        Collections.shuffle(order, new Random(SEED));
+        schedule = order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ratePerSecond로 duration 동안 요청을 보내고, 보낸 요청이 모두 끝날 때까지 기다린다.
+    public LoadReport run(double ratePerSecond, Duration duration) throws InterruptedException {
+        LoadReport report = new LoadReport(scenarios);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            Scenario scenario = scenarios.get(schedule[(int) (i % schedule.length)]);
+            if (inFlight.get() >= maxInFlight) {
+                report.recordError(scenario, "in-flight > " + maxInFlight);
+                continue;
+            }
+            send(report, scenario, intended);
+        }
+
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private void send(LoadReport report, Scenario scenario, long intended) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path(random)))
+                .timeout(requestTimeout)
+                .build();
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+            long end = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (e != null) {
+                report.recordError(scenario, e.getClass().getSimpleName());
+            } else if (response.statusCode() >= 400) {
+                report.recordError(scenario, "HTTP " + response.statusCode());
+            } else {
+                report.record(scenario, end - intended, end - sent);
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package co.mr.myShopTest.loadtest;
+
+import java.util.Random;
+import java.util.function.Function;
+
+// 부하 시나리오 : 이름, 전체 요청 중 비중, 요청 경로(쿼리스트링 포함)
+// 경로는 요청마다 만들 수 있다. (예> 목록 시작 위치를 난수로)
+public class Scenario {
+
+    private final String name;
+
+    private final int weight;
+
+    private final Function<Random, String> path;
+
+    public Scenario(String name, int weight, Function<Random, String> path) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight는 1 이상이어야 합니다. : " + name);
+        }
+        this.name = name;
+        this.weight = weight;
+        this.path = path;
+    }
+
+    public static Scenario of(String name, int weight, String path) {
+        return new Scenario(name, weight, random -> path);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public String path(Random random) {
+        return path.apply(random);
+    }
+}
@@ -0,0 +1,65 @@
+package co.mr.myShopTest.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// 응답 시간 SLO (loadtest-slo.properties)
+// slo.{시나리오}.{항목} 이 없으면 slo.default.{항목}을 쓰고, 둘 다 없으면 검사하지 않는다.
+// 항목 : p50-ms, p95-ms, p99-ms, p999-ms (응답 시간 상한, ms), error-rate (오류 비율 상한, 0 ~ 1)
+// 시스템 속성(-Dslo.catalog.p99-ms=...)이 파일보다 우선한다.
+public class Slo {
+
+    private static final String DEFAULT = "default";
+
+    private final Properties properties = new Properties();
+
+    public Slo(String resource) throws IOException {
+        try (InputStream in = Slo.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("SLO 파일이 없습니다. : " + resource);
+            }
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("slo."))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+    }
+
+    // SLO를 넘은 항목 목록, 비어 있으면 통과
+    public List<String> check(LoadReport report) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, LoadReport.Result> entry : report.getResults().entrySet()) {
+            String name = entry.getKey();
+            LoadReport.Result result = entry.getValue();
+            checkLatency(violations, name, "p50-ms", result.percentileMillis(50));
+            checkLatency(violations, name, "p95-ms", result.percentileMillis(95));
+            checkLatency(violations, name, "p99-ms", result.percentileMillis(99));
+            checkLatency(violations, name, "p999-ms", result.percentileMillis(99.9));
+            Double maxErrorRate = threshold(name, "error-rate");
+            if (maxErrorRate != null && result.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error-rate %.4f > %.4f (errors %d)",
+                        name, result.errorRate(), maxErrorRate, result.errors()));
+            }
+        }
+        return violations;
+    }
+
+    private void checkLatency(List<String> violations, String name, String key, double actualMillis) {
+        Double limit = threshold(name, key);
+        if (limit != null && actualMillis > limit) {
+            violations.add(String.format("%s %s %.2fms > %.2fms", name, key, actualMillis, limit));
+        }
+    }
+
+    private Double threshold(String scenario, String key) {
+        String value = properties.getProperty("slo." + scenario + "." + key,
+                properties.getProperty("slo." + DEFAULT + "." + key));
+        return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+    }
+}
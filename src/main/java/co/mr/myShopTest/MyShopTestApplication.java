@@ -1,13 +1,24 @@
 package co.mr.myShopTest;
 
+import co.mr.myShopTest.startup.StartupTimelineReporter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class MyShopTestApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MyShopTestApplication.class, args);
+		SpringApplication application = new SpringApplication(MyShopTestApplication.class);
+		// 시작 단계, 빈 생성 시간을 기록한다. (StartupTimelineReporter, GET /admin/startup)
+		application.setApplicationStartup(new BufferingApplicationStartup(StartupTimelineReporter.CAPACITY));
+		ConfigurableApplicationContext context = application.run(args);
+
+		// AppCDS 학습 실행(scripts/appcds.sh) : 워밍업까지 끝나면 종료해서 그때까지 읽은 클래스를 아카이브에 남긴다.
+		if (context.getEnvironment().getProperty("startup.exit-after-warmup", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
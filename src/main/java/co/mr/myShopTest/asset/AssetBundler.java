@@ -0,0 +1,197 @@
+package co.mr.myShopTest.asset;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// 빌드할 때(process-classes) 정적 파일 번들을 만든다. (pom.xml exec-maven-plugin bundle-assets)
+// 번들 정의(src/main/assets/bundles.properties)의 classpath 파일들을 이어 붙여서 {출력}/static/assets/ 에
+//  - {이름}-{내용 해시}.{확장자}       : 내용이 바뀌면 파일명이 바뀌므로 1년 + immutable로 캐시한다.
+//  - {이름}-{내용 해시}.{확장자}.gz    : gzip 최고 압축
+//  - {이름}-{내용 해시}.{확장자}.zst   : zstd 19 단계 (gzip보다 작고 풀기 빠르다)
+// 를 쓰고, 화면 경로 -> 실제 경로 목록을 {출력}/assets-manifest.properties 에 쓴다.
+// 압축은 빌드할 때 한 번만 하고, 요청마다 Accept-Encoding에 맞는 파일을 골라 그대로 보낸다. (WebMvcConfig)
+//
+// 이미 줄인 파일(*.min.css, *.min.js)은 그대로 붙이고, 그 외 CSS는 주석/공백을 줄인다.
+// 줄이지 않은 JS는 안전하게 줄일 방법이 없어서 그대로 붙인다.
+// 소스맵은 배포하지 않으므로 sourceMappingURL 주석은 지운다.
+public class AssetBundler {
+
+    static final String OUTPUT_DIR = "static/assets";
+
+    private static final int HASH_LENGTH = 12;
+
+    private static final int ZSTD_LEVEL = 19;
+
+    private static final Pattern SOURCE_MAP = Pattern.compile("(?m)^\\s*(/\\*# sourceMappingURL=.*?\\*/|//# sourceMappingURL=.*)$");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("사용법 : AssetBundler {번들 정의 파일} {출력 디렉토리}");
+        }
+        Properties bundles = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+            bundles.load(in);
+        }
+        Map<String, String> manifest = bundle(bundles, Paths.get(args[1]),
+                Thread.currentThread().getContextClassLoader());
+        manifest.forEach((path, asset) -> System.out.println("[assets] " + path + " -> " + asset));
+    }
+
+    // 번들을 만들고 화면 경로 -> 실제 경로 목록을 반환한다. 예전 번들 파일은 지운다.
+    public static Map<String, String> bundle(Properties bundles, Path outputDir, ClassLoader classLoader) throws IOException {
+        Path assetDir = outputDir.resolve(OUTPUT_DIR);
+        if (Files.isDirectory(assetDir)) {
+            try (Stream<Path> files = Files.list(assetDir)) {
+                files.forEach(file -> {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+        Files.createDirectories(assetDir);
+
+        Map<String, String> manifest = new TreeMap<>();
+        for (String path : new TreeSet<>(bundles.stringPropertyNames())) {
+            byte[] content = concat(path, bundles.getProperty(path), classLoader);
+            String fileName = fingerprint(path.substring(path.lastIndexOf('/') + 1), content);
+            Files.write(assetDir.resolve(fileName), content);
+            writeIfSmaller(assetDir.resolve(fileName + ".gz"), gzip(content), content.length);
+            writeIfSmaller(assetDir.resolve(fileName + ".zst"), Zstd.compress(content, ZSTD_LEVEL), content.length);
+            manifest.put(path, "/assets/" + fileName);
+        }
+
+        try (Writer out = Files.newBufferedWriter(outputDir.resolve(AssetManifest.LOCATION), StandardCharsets.ISO_8859_1)) {
+            out.write("# generated by AssetBundler, do not edit\n");
+            for (Map.Entry<String, String> entry : manifest.entrySet()) {
+                out.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+        return manifest;
+    }
+
+    private static byte[] concat(String path, String sources, ClassLoader classLoader) throws IOException {
+        boolean css = path.endsWith(".css");
+        StringBuilder bundle = new StringBuilder();
+        for (String source : sources.split(",")) {
+            source = source.trim();
+            if (source.isEmpty()) {
+                continue;
+            }
+            String text;
+            try (InputStream in = classLoader.getResourceAsStream(source)) {
+                if (in == null) {
+                    throw new IOException("번들 " + path + " 의 파일이 classpath에 없습니다. : " + source);
+                }
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            text = SOURCE_MAP.matcher(text).replaceAll("").trim();
+            if (css && !source.endsWith(".min.css")) {
+                text = minifyCss(text);
+            }
+            bundle.append(text).append(css ? "\n" : ";\n");
+        }
+        return bundle.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // layout.css + 내용 -> layout-{SHA-256 앞 12자리}.css
+    static String fingerprint(String fileName, byte[] content) {
+        String hash;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            hash = hex.substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName + "-" + hash : fileName.substring(0, dot) + "-" + hash + fileName.substring(dot);
+    }
+
+    // 주석을 지우고 공백을 줄인다. 문자열("...", '...') 안은 그대로 둔다.
+    // 선택자의 후손 결합자(".a :hover")가 바뀌지 않도록 ':' 앞 공백은 남긴다.
+    static String minifyCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == '\\' && i + 1 < css.length()) {
+                    out.append(css.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < css.length() && css.charAt(i + 1) == '*') {
+                int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? css.length() : end + 1;
+                pendingSpace = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && out.length() > 0 && "{};,>".indexOf(c) < 0
+                    && "{};,>:".indexOf(out.charAt(out.length() - 1)) < 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '}' && out.length() > 0 && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 3);
+        try (OutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    // 압축해도 작아지지 않으면 압축 파일을 만들지 않는다. (원본을 보낸다.)
+    private static void writeIfSmaller(Path file, byte[] compressed, int originalLength) throws IOException {
+        if (compressed.length < originalLength) {
+            Files.write(file, compressed);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package co.mr.myShopTest.asset;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+
+// @{/css/layout.css} 처럼 번들 경로를 가리키는 링크를 해시가 붙은 경로(@{/assets/layout-해시.css})로 바꾼다.
+// 경로 뒤의 쿼리스트링/프래그먼트는 그대로 둔다. 번들이 아닌 링크는 기본 동작과 같다.
+public class AssetLinkBuilder extends StandardLinkBuilder {
+
+    private final ObjectProvider<AssetManifest> assetManifestProvider;
+
+    private volatile AssetManifest assetManifest;
+
+    public AssetLinkBuilder(ObjectProvider<AssetManifest> assetManifestProvider) {
+        this.assetManifestProvider = assetManifestProvider;
+    }
+
+    @Override
+    protected String processLink(IExpressionContext context, String link) {
+        return super.processLink(context, rewrite(context, link));
+    }
+
+    private String rewrite(IExpressionContext context, String link) {
+        String contextPath = context instanceof IWebContext
+                ? ((IWebContext) context).getRequest().getContextPath() : "";
+        if (!link.startsWith(contextPath + "/")) {
+            return link;
+        }
+        int end = link.length();
+        for (int i = contextPath.length(); i < link.length(); i++) {
+            char c = link.charAt(i);
+            if (c == '?' || c == '#' || c == ';') {
+                end = i;
+                break;
+            }
+        }
+        AssetManifest manifest = assetManifest;
+        if (manifest == null) {
+            manifest = assetManifest = assetManifestProvider.getObject();
+        }
+        String resolved = manifest.resolve(link.substring(contextPath.length(), end));
+        return resolved == null ? link : contextPath + resolved + link.substring(end);
+    }
+}
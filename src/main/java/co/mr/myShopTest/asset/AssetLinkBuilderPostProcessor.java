@@ -0,0 +1,27 @@
+package co.mr.myShopTest.asset;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+// 스프링 부트가 만든 Thymeleaf 템플릿 엔진에 AssetLinkBuilder를 지정한다.
+// 템플릿 엔진은 첫 렌더링 때 초기화되고 그 뒤에는 링크 빌더를 바꿀 수 없으므로 빈 초기화 전에 지정한다.
+// BeanPostProcessor는 다른 빈보다 먼저 생성되므로 AssetManifest는 ObjectProvider로 늦게 꺼낸다.
+@Component
+public class AssetLinkBuilderPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<AssetManifest> assetManifest;
+
+    public AssetLinkBuilderPostProcessor(ObjectProvider<AssetManifest> assetManifest) {
+        this.assetManifest = assetManifest;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringTemplateEngine) {
+            ((SpringTemplateEngine) bean).setLinkBuilder(new AssetLinkBuilder(assetManifest));
+        }
+        return bean;
+    }
+}
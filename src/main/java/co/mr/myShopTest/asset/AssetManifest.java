@@ -0,0 +1,52 @@
+package co.mr.myShopTest.asset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// 빌드할 때 AssetBundler가 만든 번들 목록 (classpath:assets-manifest.properties)
+// 화면에서 쓰는 경로 -> 내용 해시가 붙은 실제 경로  예> /css/layout.css=/assets/layout-3f9a0c12d4e5.css
+// 목록이 없으면(IDE가 Maven 빌드 없이 컴파일한 경우 등) 링크를 바꾸지 않는다.
+@Slf4j
+@Component
+public class AssetManifest {
+
+    public static final String LOCATION = "assets-manifest.properties";
+
+    private final Map<String, String> paths;
+
+    public AssetManifest() throws IOException {
+        this(new ClassPathResource(LOCATION));
+    }
+
+    AssetManifest(ClassPathResource resource) throws IOException {
+        if (!resource.exists()) {
+            log.warn("{} 이 없어서 번들 링크를 바꾸지 않습니다. (mvn process-classes 로 만들 수 있습니다.)", LOCATION);
+            paths = Collections.emptyMap();
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        }
+        Map<String, String> loaded = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> loaded.put(name, properties.getProperty(name)));
+        paths = Collections.unmodifiableMap(loaded);
+    }
+
+    // 번들이면 해시가 붙은 경로, 아니면 null
+    public String resolve(String path) {
+        return paths.get(path);
+    }
+
+    public Map<String, String> getPaths() {
+        return paths;
+    }
+}
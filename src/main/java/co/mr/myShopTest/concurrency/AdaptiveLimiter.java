@@ -0,0 +1,244 @@
+package co.mr.myShopTest.concurrency;
+
+import co.mr.myShopTest.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 응답 시간을 보고 동시 실행 한도를 스스로 조절하는 limiter (gradient 방식)
+// - shortRtt : 최근 응답 시간 (지수 이동 평균, 약 10건)
+// - longRtt  : 평소 응답 시간 (지수 이동 평균, 약 600건)
+// 최근 응답 시간이 평소보다 tolerance배 넘게 느려지면 그 비율(gradient)만큼 한도를 줄이고,
+// 느려지지 않았으면 sqrt(한도)만큼 늘린다. 한 번에 크게 바뀌지 않도록 새 한도는 20%만 반영한다.
+// 실행이 실패(5xx, 커넥션 획득 실패 등)하면 응답 시간과 상관없이 한도를 10% 줄인다. (AIMD의 감소)
+//
+// 한도를 넘은 요청은 queue-size 만큼 queue-timeout-ms 동안 기다리고, 대기열이 가득 찼거나 시간이 지나면 거절한다.
+// queue-size가 0이면 기다리지 않고 바로 거절한다.
+public class AdaptiveLimiter {
+
+    private static final double SHORT_ALPHA = 0.1;
+
+    private static final double LONG_ALPHA = 1.0 / 600;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double DROP_FACTOR = 0.9;
+
+    @Getter
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int queueSize;
+
+    private final long queueTimeoutNanos;
+
+    private final double tolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    // 아래 값은 lock 안에서만 바꾼다.
+    private double limit;
+
+    private int inFlight;
+
+    private int waiting;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    private long accepted;
+
+    private long rejected;
+
+    private long timedOut;
+
+    private long dropped;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, int queueSize,
+                           long queueTimeoutMillis, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("동시 실행 한도 설정이 잘못되었습니다. : " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // 실행해도 되면 true, 거절이면 false
+    // true를 받았으면 실행이 끝난 뒤 반드시 release()를 호출한다.
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                accepted++;
+                return true;
+            }
+            if (waiting >= queueSize || queueTimeoutNanos <= 0) {
+                rejected++;
+                return false;
+            }
+            waiting++;
+            long start = System.nanoTime();
+            long remaining = queueTimeoutNanos;
+            try {
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        timedOut++;
+                        return false;
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                inFlight++;
+                accepted++;
+                queueWait.record(System.nanoTime() - start);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected++;
+                return false;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // rttNanos : 실행 시간, failed : 실패한 실행이면 true (한도를 줄인다.)
+    public void release(long rttNanos, boolean failed) {
+        lock.lock();
+        try {
+            int previousInFlight = inFlight;
+            inFlight--;
+            latency.record(rttNanos);
+            int previousLimit = (int) limit;
+            if (failed) {
+                dropped++;
+                limit = Math.max(minLimit, limit * DROP_FACTOR);
+            } else {
+                update(rttNanos, previousInFlight);
+            }
+            int permits = (int) limit - inFlight;
+            if (permits > 1 && (int) limit > previousLimit) {
+                available.signalAll();
+            } else if (permits > 0) {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int previousInFlight) {
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) * SHORT_ALPHA;
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * LONG_ALPHA;
+        // 부하가 줄어 응답이 빨라졌으면 평소 응답 시간도 빨리 따라 내려오게 한다.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // 한도의 절반도 쓰지 않고 있으면 응답 시간이 한도 때문이라고 볼 수 없으므로 조절하지 않는다.
+        if (previousInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(name, (int) limit, minLimit, maxLimit, inFlight, waiting, queueSize,
+                    accepted, rejected, timedOut, dropped, shortRtt / 1_000_000, longRtt / 1_000_000,
+                    latency.snapshot(), queueWait.snapshot());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 조회 시점의 값 (/admin/metrics/concurrency)
+    @Getter
+    public static class Snapshot {
+
+        private final String name;
+
+        private final int limit;
+
+        private final int minLimit;
+
+        private final int maxLimit;
+
+        private final int inFlight;
+
+        // 현재 대기 중인 요청 수 / 최대 대기 수
+        private final int queued;
+
+        private final int queueSize;
+
+        private final long accepted;
+
+        // 대기열이 가득 차서 거절
+        private final long rejected;
+
+        // 대기 시간이 지나서 거절
+        private final long timedOut;
+
+        // 실패한 실행 (한도 감소)
+        private final long dropped;
+
+        private final double shortRttMillis;
+
+        private final double longRttMillis;
+
+        private final LatencyHistogram.Snapshot latency;
+
+        private final LatencyHistogram.Snapshot queueWait;
+
+        public Snapshot(String name, int limit, int minLimit, int maxLimit, int inFlight, int queued, int queueSize,
+                        long accepted, long rejected, long timedOut, long dropped, double shortRttMillis,
+                        double longRttMillis, LatencyHistogram.Snapshot latency,
+                        LatencyHistogram.Snapshot queueWait) {
+            this.name = name;
+            this.limit = limit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.inFlight = inFlight;
+            this.queued = queued;
+            this.queueSize = queueSize;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.timedOut = timedOut;
+            this.dropped = dropped;
+            this.shortRttMillis = shortRttMillis;
+            this.longRttMillis = longRttMillis;
+            this.latency = latency;
+            this.queueWait = queueWait;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package co.mr.myShopTest.concurrency;
+
+import co.mr.myShopTest.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 작업은 delegate 스레드에서 실행하되 동시에 실행되는 작업 수를 permits로 제한한다.
+// JDBC 작업이 커넥션 풀 크기보다 많이 몰려 풀에서 기다리지(connection-timeout) 않도록 여기서 먼저 줄을 세운다.
+// 한도는 한 곳에서만 건다.
+// - 플랫폼 스레드 : delegate(ThreadPoolExecutor)의 스레드 수(permits 이하)가 한도이고 나머지 작업은 큐에서 기다린다.
+// - 가상 스레드 : 작업마다 스레드를 만들어 개수 제한이 없으므로 Semaphore(permits)로 줄을 세운다.
+//   차례를 기다리는 동안 가상 스레드는 캐리어 스레드를 놓아주므로 기다리는 작업이 많아도 스레드 비용이 거의 없다.
+// 어느 쪽이든 작업을 맡긴 뒤 실행을 시작할 때까지 기다린 시간을 permitWait로 기록한다.
+public class BoundedExecutor implements Executor {
+
+    @Getter
+    private final String name;
+
+    private final ExecutorService delegate;
+
+    private final boolean virtualThreads;
+
+    private final int maxPermits;
+
+    // 가상 스레드일 때만 사용, 플랫폼 스레드는 null
+    private final Semaphore permits;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LatencyHistogram permitWait = new LatencyHistogram();
+
+    public BoundedExecutor(String name, ExecutorService delegate, boolean virtualThreads, int maxPermits) {
+        if (!virtualThreads && !(delegate instanceof ThreadPoolExecutor
+                && ((ThreadPoolExecutor) delegate).getMaximumPoolSize() <= maxPermits)) {
+            throw new IllegalArgumentException("플랫폼 스레드는 스레드 수가 " + maxPermits
+                    + "개 이하인 ThreadPoolExecutor여야 합니다. : " + name);
+        }
+        this.name = name;
+        this.delegate = delegate;
+        this.virtualThreads = virtualThreads;
+        this.maxPermits = maxPermits;
+        this.permits = virtualThreads ? new Semaphore(maxPermits, true) : null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submitted = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            delegate.execute(() -> run(task, submitted));
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, long submitted) {
+        try {
+            if (permits != null) {
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            waiting.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("작업 대기 중 중단되었습니다. : " + name, e);
+        }
+        waiting.decrementAndGet();
+        running.incrementAndGet();
+        permitWait.record(System.nanoTime() - submitted);
+        try {
+            task.run();
+        } finally {
+            running.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+            completed.increment();
+        }
+    }
+
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, virtualThreads, maxPermits, running.get(),
+                waiting.get(), completed.sum(), permitWait.snapshot());
+    }
+
+    // 조회 시점의 값 (/admin/metrics/concurrency/executors)
+    @Getter
+    public static class Snapshot {
+
+        private final String name;
+
+        private final boolean virtualThreads;
+
+        private final int permits;
+
+        private final int running;
+
+        private final int waiting;
+
+        private final long completed;
+
+        private final LatencyHistogram.Snapshot permitWait;
+
+        public Snapshot(String name, boolean virtualThreads, int permits, int running, int waiting, long completed,
+                        LatencyHistogram.Snapshot permitWait) {
+            this.name = name;
+            this.virtualThreads = virtualThreads;
+            this.permits = permits;
+            this.running = running;
+            this.waiting = waiting;
+            this.completed = completed;
+            this.permitWait = permitWait;
+        }
+    }
+}
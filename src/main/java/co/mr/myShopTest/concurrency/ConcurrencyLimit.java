@@ -0,0 +1,17 @@
+package co.mr.myShopTest.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러(클래스 또는 메소드)에 선언하면 같은 그룹의 요청끼리 동시 실행 수를 제한한다. (bulkhead)
+// 그룹마다 한도가 따로 있으므로 한 그룹에 요청이 몰려도 다른 그룹의 요청은 영향을 받지 않는다.
+// 한도와 대기열 크기는 concurrency.limit.groups.{그룹}.* 설정, 없으면 concurrency.limit.* 설정을 따른다.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+
+    // 그룹 이름
+    String value();
+}
@@ -0,0 +1,80 @@
+package co.mr.myShopTest.concurrency;
+
+import co.mr.myShopTest.exception.ConcurrencyLimitExceededException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// @ConcurrencyLimit이 선언된 컨트롤러를 실행하기 전에 그룹의 limiter에서 차례를 받는다.
+// 차례를 받지 못하면 컨트롤러를 실행하지 않고 503(Retry-After: 1)으로 응답한다.
+// 뷰 렌더링까지 끝난 뒤(afterCompletion) 반환하고, 걸린 시간으로 한도를 조절한다.
+// 비동기 처리로 넘어가면 차례를 들고 있다가 비동기 결과를 처리하는 재디스패치가 끝날 때 반환한다.
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".PERMIT";
+
+    private final ConcurrencyLimiters limiters;
+
+    // 컨트롤러 메소드 -> 그룹 이름 (선언이 없으면 empty)
+    private final Map<Method, Optional<String>> groups = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limiters.isEnabled() || !(handler instanceof HandlerMethod) || request.getAttribute(PERMIT) != null) {
+            return true;
+        }
+        Optional<String> group = groups.computeIfAbsent(((HandlerMethod) handler).getMethod(),
+                ConcurrencyLimitInterceptor::group);
+        if (group.isEmpty()) {
+            return true;
+        }
+        AdaptiveLimiter limiter = limiters.get(group.get());
+        if (!limiter.tryAcquire()) {
+            response.setHeader("Retry-After", "1");
+            throw new ConcurrencyLimitExceededException("요청이 많아 처리할 수 없습니다. : " + limiter.getName());
+        }
+        request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT);
+        if (permit != null) {
+            request.removeAttribute(PERMIT);
+            permit.limiter.release(System.nanoTime() - permit.start, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static Optional<String> group(Method method) {
+        ConcurrencyLimit limit = AnnotatedElementUtils.findMergedAnnotation(method, ConcurrencyLimit.class);
+        if (limit == null) {
+            limit = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), ConcurrencyLimit.class);
+        }
+        return limit == null ? Optional.empty() : Optional.of(limit.value());
+    }
+
+    private static class Permit {
+
+        private final AdaptiveLimiter limiter;
+
+        private final long start;
+
+        private Permit(AdaptiveLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package co.mr.myShopTest.concurrency;
+
+import co.mr.myShopTest.exception.ConcurrencyLimitExceededException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 요청 스레드가 DB 커넥션을 가져갈 때 "repository" 그룹 limiter에서 차례를 받고, 커넥션을 닫을 때 반환한다.
+// 레포지토리 메소드 호출 단위로 제한하면 open-in-view, @Transactional로 이미 커넥션을 가지고 있는 스레드가
+// 다음 호출에서 차례를 기다리게 되므로 커넥션을 잡고 있는 동안을 한 번의 실행으로 본다.
+// 한도를 넘은 요청은 커넥션 풀(connection-timeout 30초)에서 기다리지 않고 queue-timeout-ms 안에 실패(503)한다.
+// 커넥션을 얻지 못한 실패는 한도를 줄이는 신호로 쓴다.
+// 스케줄러/이벤트 처리 같은 백그라운드 작업은 요청 폭주와 상관없으므로 제한하지 않는다.
+// 커넥션을 가지고 있는 스레드가 커넥션을 더 가져가는 경우(REQUIRES_NEW 등) 처음 커넥션에서만 차례를 받는다.
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    // 이 스레드가 차례를 받고 가지고 있는 커넥션 수
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ObjectProvider<ConcurrencyLimiters> limitersProvider;
+
+    private volatile ConcurrencyLimiters limiters;
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource,
+                                        ObjectProvider<ConcurrencyLimiters> limitersProvider) {
+        super(targetDataSource);
+        this.limitersProvider = limitersProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limit(() -> getTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limit(() -> getTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection limit(ConnectionSupplier supplier) throws SQLException {
+        ConcurrencyLimiters current = limiters;
+        if (current == null) {
+            current = limiters = limitersProvider.getIfAvailable();
+        }
+        int[] held = HELD.get();
+        if (current == null || !current.isEnabled() || held[0] > 0
+                || RequestContextHolder.getRequestAttributes() == null) {
+            return supplier.get();
+        }
+        AdaptiveLimiter limiter = current.get(ConcurrencyLimiters.REPOSITORY);
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException("DB 요청이 많아 처리할 수 없습니다. : " + limiter.getName());
+        }
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            limiter.release(System.nanoTime() - start, true);
+            throw e;
+        }
+        held[0]++;
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                new PermitHandler(connection, limiter, start, held));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    // close()가 처음 호출될 때 차례를 반환한다.
+    private static class PermitHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final AdaptiveLimiter limiter;
+
+        private final long start;
+
+        private final int[] held;
+
+        private boolean released;
+
+        private PermitHandler(Connection target, AdaptiveLimiter limiter, long start, int[] held) {
+            this.target = target;
+            this.limiter = limiter;
+            this.start = start;
+            this.held = held;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Concurrency limited proxy for target Connection [" + target + "]";
+                case "close":
+                    release();
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                held[0]--;
+                limiter.release(System.nanoTime() - start, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package co.mr.myShopTest.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 그룹별 AdaptiveLimiter (처음 사용할 때 만든다.)
+// 그룹 설정은 concurrency.limit.groups.{그룹}.{항목}, 없으면 concurrency.limit.{항목}
+// 항목 : initial-limit, min-limit, max-limit, queue-size, queue-timeout-ms, tolerance
+@Component
+public class ConcurrencyLimiters {
+
+    // 요청 스레드가 DB 커넥션을 가지고 있는 동안 (커넥션 풀 보호, ConcurrencyLimitedDataSource)
+    public static final String REPOSITORY = "repository";
+
+    private static final String PREFIX = "concurrency.limit.";
+
+    private final Environment environment;
+
+    // 끄면 제한하지 않는다. (지표도 기록하지 않음)
+    @Getter
+    @Setter
+    private volatile boolean enabled;
+
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiters(Environment environment,
+                               @Value("${concurrency.limit.enabled:true}") boolean enabled) {
+        this.environment = environment;
+        this.enabled = enabled;
+    }
+
+    public AdaptiveLimiter get(String group) {
+        AdaptiveLimiter limiter = limiters.get(group);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(group, this::create);
+        }
+        return limiter;
+    }
+
+    public List<AdaptiveLimiter.Snapshot> snapshot() {
+        return limiters.values().stream()
+                .map(AdaptiveLimiter::snapshot)
+                .sorted(Comparator.comparing(AdaptiveLimiter.Snapshot::getName))
+                .collect(Collectors.toList());
+    }
+
+    private AdaptiveLimiter create(String group) {
+        return new AdaptiveLimiter(group,
+                property(group, "initial-limit", Integer.class, 20),
+                property(group, "min-limit", Integer.class, 2),
+                property(group, "max-limit", Integer.class, 200),
+                property(group, "queue-size", Integer.class, 50),
+                property(group, "queue-timeout-ms", Long.class, 1000L),
+                property(group, "tolerance", Double.class, 1.5));
+    }
+
+    private <T> T property(String group, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + "groups." + group + "." + key, type);
+        return value != null ? value : environment.getProperty(PREFIX + key, type, defaultValue);
+    }
+}
@@ -0,0 +1,36 @@
+package co.mr.myShopTest.concurrency;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+// JPA, JdbcTemplate이 사용하는 DataSource를 ConcurrencyLimitedDataSource로 감싼다.
+// 기본 설정이면 dataSource, 읽기/쓰기 분리(datasource.replica.enabled=true)면 두 풀을 감싼 routingDataSource
+// (풀마다 감싸면 한 요청이 두 번 차례를 받으므로 바깥 DataSource 하나만 감싼다.)
+@Component
+public class DataSourceConcurrencyLimitPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConcurrencyLimiters> limiters;
+
+    private final Set<String> beanNames;
+
+    public DataSourceConcurrencyLimitPostProcessor(ObjectProvider<ConcurrencyLimiters> limiters,
+                                                   Environment environment) {
+        this.limiters = limiters;
+        this.beanNames = Set.of(environment.getProperty("concurrency.limit.data-source-beans", String[].class,
+                new String[]{"dataSource", "routingDataSource"}));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && beanNames.contains(beanName)
+                && !(bean instanceof ConcurrencyLimitedDataSource)) {
+            return new ConcurrencyLimitedDataSource((DataSource) bean, limiters);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,45 @@
+package co.mr.myShopTest.config;
+
+import co.mr.myShopTest.concurrency.BoundedExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 비동기 상품 목록(/items/catalog/async)의 DB 작업을 실행하는 executor
+// - 기본 : 커넥션 풀 크기만큼의 플랫폼 스레드, 대기 작업은 queue-capacity 까지
+// - catalog.async.virtual-threads=true : 작업마다 가상 스레드 (JDK 21 이상에서 실행, -P java21)
+// 어느 쪽이든 동시에 실행되는 JDBC 작업은 jdbc-permits(기본 : 커넥션 풀 크기)개로 제한한다.
+// (플랫폼 스레드는 스레드 수로, 가상 스레드는 BoundedExecutor의 Semaphore로)
+@Configuration
+public class CatalogAsyncConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedExecutor catalogExecutor(@Value("${catalog.async.virtual-threads:false}") boolean virtualThreads,
+                                           @Value("${catalog.async.jdbc-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                           @Value("${catalog.async.queue-capacity:1000}") int queueCapacity) {
+        ExecutorService delegate = virtualThreads
+                ? virtualThreadExecutor()
+                : new ThreadPoolExecutor(permits, permits, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("catalog-"));
+        return new BoundedExecutor("catalog", delegate, virtualThreads, permits);
+    }
+
+    // 컴파일 대상이 Java 11이므로 Java 21 API는 리플렉션으로 호출한다.
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다. : "
+                    + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor를 만들 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package co.mr.myShopTest.config;
+
+import co.mr.myShopTest.concurrency.BoundedExecutor;
+import co.mr.myShopTest.constant.ShardStrategy;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.shard.ItemShard;
+import co.mr.myShopTest.shard.ItemShardRouter;
+import co.mr.myShopTest.shard.ShardAwareIdGenerator;
+import co.mr.myShopTest.shard.ShardedItemRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 독립된 샤드 item 저장소 (item.shard.enabled=true 일 때만)
+// 기본 item 테이블을 나누는 것이 아니라 ShardedItemRepository로만 접근하는 별도의 샤드 DB들이다.
+// item.shard.urls 의 DB 하나가 샤드 하나, 샤드마다 커넥션 풀(item.shard.hikari.*)과 Item만 매핑한 EntityManagerFactory를 만든다.
+// 하이버네이트 설정(spring.jpa.*, ddl-auto 포함)은 기본 EntityManagerFactory와 같다.
+// 샤드의 풀/EntityManagerFactory는 빈으로 등록하지 않는다. (빈으로 등록하면 스프링 부트의 기본 DataSource/JPA 설정이 꺼진다.)
+// 다른 엔티티와 기존 ItemRepository는 그대로 spring.datasource를 사용한다.
+@Configuration
+@ConditionalOnProperty(name = "item.shard.enabled", havingValue = "true")
+public class ItemShardConfig {
+
+    @Bean
+    public ItemShardRouter itemShardRouter(@Value("${item.shard.urls}") String[] urls,
+                                           @Value("${item.shard.strategy:hash}") ShardStrategy strategy,
+                                           @Value("${item.shard.range-size:1000000000000}") long rangeSize) {
+        return new ItemShardRouter(strategy, urls.length, rangeSize);
+    }
+
+    // 샤드 조회를 동시에 실행하는 executor, 동시에 실행하는 샤드 조회는 threads개로 제한한다.
+    @Bean(destroyMethod = "shutdown")
+    public BoundedExecutor itemShardExecutor(@Value("${item.shard.executor-threads:8}") int threads,
+                                             @Value("${item.shard.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolExecutor delegate = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("item-shard-"));
+        return new BoundedExecutor("item-shard", delegate, false, threads);
+    }
+
+    @Bean
+    public ShardedItemRepository shardedItemRepository(@Value("${item.shard.urls}") String[] urls,
+                                                       @Value("${item.shard.username:${spring.datasource.username:}}") String username,
+                                                       @Value("${item.shard.password:${spring.datasource.password:}}") String password,
+                                                       @Value("${item.shard.timeout:10s}") Duration timeout,
+                                                       ItemShardRouter itemShardRouter,
+                                                       BoundedExecutor itemShardExecutor,
+                                                       EntityManagerFactoryBuilder entityManagerFactoryBuilder,
+                                                       JpaProperties jpaProperties,
+                                                       HibernateProperties hibernateProperties,
+                                                       ObjectProvider<HibernatePropertiesCustomizer> customizers,
+                                                       Environment environment) {
+        Map<String, Object> hibernateSettings = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings()
+                        .ddlAuto(() -> "none")
+                        .hibernatePropertiesCustomizers(customizers.orderedStream().collect(Collectors.toList())));
+        // 샤드에서는 JPA 콜백(ItemEntityListener)을 실행하지 않는다.
+        // ItemChangeEvent를 받는 쪽(가격 색인, 캐시, 통계, 재고 예약, outbox 등)은 모두 기본 DB의 상품을 기준으로 하고
+        // 샤드 상품 id는 기본 DB의 id와 겹칠 수 있으므로 샤드 변경이 기본 DB의 변경으로 전달되면 안 된다.
+        hibernateSettings.put(AvailableSettings.JPA_CALLBACKS_ENABLED, false);
+        hibernateSettings.put(ShardAwareIdGenerator.SHARD_ROUTER, itemShardRouter);
+
+        List<ItemShard> shards = new ArrayList<>(urls.length);
+        try {
+            for (int i = 0; i < urls.length; i++) {
+                HikariDataSource dataSource = dataSource(urls[i].trim(), username, password, i, environment);
+                shards.add(new ItemShard(i, dataSource,
+                        entityManagerFactory(entityManagerFactoryBuilder, dataSource, hibernateSettings, i).getObject()));
+            }
+        } catch (RuntimeException e) {
+            shards.forEach(ItemShard::close);
+            throw e;
+        }
+        return new ShardedItemRepository(shards, itemShardRouter, itemShardExecutor, timeout);
+    }
+
+    // 드라이버는 url로 정한다.
+    private static HikariDataSource dataSource(String url, String username, String password, int index,
+                                               Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("item.shard.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("item-shard-" + index);
+        return dataSource;
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(EntityManagerFactoryBuilder builder,
+                                                                               HikariDataSource dataSource,
+                                                                               Map<String, Object> hibernateSettings,
+                                                                               int index) {
+        Map<String, Object> properties = new HashMap<>(hibernateSettings);
+        properties.put(ShardAwareIdGenerator.SHARD_INDEX, index);
+        LocalContainerEntityManagerFactoryBean factoryBean = builder
+                .dataSource(dataSource)
+                .packages(Item.class)
+                .persistenceUnit("item-shard-" + index)
+                .properties(properties)
+                .build();
+        // 엔티티 패키지에서 Item만 남긴다.
+        factoryBean.setPersistenceUnitPostProcessors(persistenceUnit ->
+                persistenceUnit.getManagedClassNames().removeIf(name -> !name.equals(Item.class.getName())));
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+}
@@ -0,0 +1,22 @@
+package co.mr.myShopTest.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+// JPAQueryFactory를 빈으로 등록해서 커스텀 레포지토리에서 주입받아 사용한다.
+// 주입되는 EntityManager는 트랜잭션마다 실제 EntityManager로 위임하는 프록시라서 싱글톤으로 공유해도 된다.
+@Configuration
+public class QuerydslConfig {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Bean
+    public JPAQueryFactory jpaQueryFactory() {
+        return new JPAQueryFactory(em);
+    }
+}
@@ -0,0 +1,82 @@
+package co.mr.myShopTest.config;
+
+import co.mr.myShopTest.datasource.ReplicaHealthChecker;
+import co.mr.myShopTest.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// 읽기/쓰기 DataSource 분리 (datasource.replica.enabled=true 일 때만)
+// primaryDataSource : spring.datasource.* (쓰기)
+// replicaDataSource : datasource.replica.* (읽기 전용 트랜잭션)
+// routingDataSource : JPA, JdbcTemplate이 사용하는 DataSource, 트랜잭션에 따라 위 둘 중 하나로 보낸다.
+//
+// p6spy(QueryMetricsListener)는 두 풀에 각각 적용되고 routingDataSource는 제외한다. (decorator.datasource.exclude-beans)
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicationDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // 계정을 지정하지 않으면 primary와 같은 계정을 사용한다.
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username:}}")
+                                              String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password:}}")
+                                              String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(@Qualifier("primaryDataSource") DataSource primary,
+                                                     @Qualifier("replicaDataSource") DataSource replica,
+                                                     @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaHealthChecker(primary, replica, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                        @Qualifier("replicaDataSource") DataSource replica,
+                                        ReplicaHealthChecker replicaHealthChecker) {
+        return new LazyConnectionDataSourceProxy(new ReplicationRoutingDataSource(primary, replica, replicaHealthChecker));
+    }
+
+    // 기본값(트랜잭션이 끝나도 세션이 커넥션을 계속 가지고 있음)이면 open-in-view 요청에서
+    // 처음 가져온 커넥션을 요청 끝까지 쓰게 되어 트랜잭션마다 DB를 고를 수 없다.
+    @Bean
+    public HibernatePropertiesCustomizer replicationConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
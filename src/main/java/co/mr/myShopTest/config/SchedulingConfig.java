@@ -0,0 +1,10 @@
+package co.mr.myShopTest.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 메소드(재고 예약 만료, write-behind 반영 등)를 주기적으로 실행하기 위해 선언
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
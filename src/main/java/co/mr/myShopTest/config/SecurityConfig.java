@@ -1,35 +1,130 @@
 package co.mr.myShopTest.config;
 
+import co.mr.myShopTest.security.TokenAuthenticationFilter;
+import co.mr.myShopTest.security.TokenLoginSuccessHandler;
+import co.mr.myShopTest.security.TokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.LazyCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 // WebSecurityConfigurerAdapter를 상속받는 클래스에 @EnableWebSecurity를 선언하면
 // SpringSecurityFilterChain이 자동으로 포함된다.
 // WebSecurityConfigurerAdapter에는 세부적인 보안설정과 관련된 API를 제공(커스터마이징 가능)
+//
+// security.auth.mode
+//  - token(기본) : 세션 없이 토큰으로 인증 (TokenSecurityConfig)
+//  - session     : 기본 설정 그대로 로그인 정보를 HTTP 세션에 보관 (SessionSecurityConfig)
+// 어느 방식이든 관리용 API(/admin/**)는 ADMIN 권한이 있어야 한다. (준비 상태 /admin/startup/ready 제외)
 @EnableWebSecurity
-public class SecurityConfig extends WebSecurityConfigurerAdapter {
-
-    // http요청에 대한 보안을 설정한다.
-    // 페이지 권한설정, 로그인 페이지 설정, 로그아웃 메소드 등에 대한 설정 할 수 있다.
-    //
-    @Override
-    protected void configure(HttpSecurity http) throws Exception {
-        super.configure(http);
-    }
+public class SecurityConfig {
 
     // 비밀번호를 데이터베이스에 그대로 저장했을 경우, 데이터베이스가 해킹당했을 때
     // 고객의 회원정보가 그대로 노출되는 것을 막기 위해 BCryptPasswordEncoder의 해시함수를
     // 이용하여 비밀번호를 암호화하여 저장
+    // BCrypt는 일부러 느리게(수십 ms) 만든 해시이므로 요청마다 비밀번호를 검사하지 않도록 한다. (토큰 방식은 로그인할 때만 검사)
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
+    // http요청에 대한 보안을 설정한다.
+    // 페이지 권한설정, 로그인 페이지 설정, 로그아웃 메소드 등에 대한 설정 할 수 있다.
+    // 모든 요청이 폼 로그인/HTTP Basic + 세션을 거친다. (HTTP Basic으로 요청하면 요청마다 BCrypt 검사)
+    @Configuration
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "session")
+    static class SessionSecurityConfig extends WebSecurityConfigurerAdapter {
+
+        // 준비 상태(readiness probe)는 인증 없이 확인한다.
+        @Override
+        public void configure(WebSecurity web) {
+            web.ignoring().antMatchers(HttpMethod.GET, "/admin/startup/ready");
+        }
+
+        // 기본 설정(폼 로그인, HTTP Basic)에 관리용 API 권한만 더한다.
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            http.authorizeRequests()
+                    .antMatchers("/admin/**").hasRole("ADMIN")
+                    .anyRequest().authenticated().and()
+                    .formLogin().and()
+                    .httpBasic();
+        }
+    }
+
+    // 토큰 발급 : POST /auth/token (HTTP Basic)
+    // 비밀번호(BCrypt)를 검사하는 곳은 여기와 로그인 화면(/login)뿐이다.
+    @Configuration
+    @Order(1)
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "token", matchIfMissing = true)
+    static class TokenIssueSecurityConfig extends WebSecurityConfigurerAdapter {
+
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            http.antMatcher("/auth/token")
+                    .csrf().disable()
+                    .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+                    .authorizeRequests().anyRequest().authenticated().and()
+                    .httpBasic();
+        }
+    }
+
+    // 토큰 인증 (세션을 만들지 않음)
+    // - 요청마다 Authorization: Bearer {토큰} 또는 access_token 쿠키(로그인 화면에서 로그인한 브라우저)를 확인한다.
+    // - 세션이 없으므로 CSRF 토큰은 쿠키(XSRF-TOKEN)에 둔다. Bearer 헤더로 보낸 요청은 브라우저가 자동으로 보낸 것이 아니므로 검사하지 않는다.
+    //   CSRF 토큰은 화면이 실제로 꺼내 쓸 때만 만든다. (요청마다 UUID 생성 + Set-Cookie 하지 않도록)
+    // - Bearer 헤더가 있는데 인증되지 않으면 로그인 화면 대신 401로 응답한다.
+    @Configuration
+    @Order(2)
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "token", matchIfMissing = true)
+    static class TokenSecurityConfig extends WebSecurityConfigurerAdapter {
+
+        private final TokenService tokenService;
+
+        TokenSecurityConfig(TokenService tokenService) {
+            this.tokenService = tokenService;
+        }
+
+        // 정적 파일과 공개 상품 화면, 준비 상태(readiness probe)는 시큐리티 필터 체인을 아예 거치지 않는다. (인증 정보, 보안 헤더 없음)
+        @Override
+        public void configure(WebSecurity web) {
+            web.ignoring()
+                    .antMatchers("/assets/**", "/css/**", "/js/**", "/images/**", "/favicon.ico", "/error")
+                    .antMatchers(HttpMethod.GET, "/image/**", "/items/catalog", "/items/catalog/async",
+                            "/items/suggest", "/items/stats", "/admin/startup/ready");
+        }
+
+        @Override
+        protected void configure(HttpSecurity http) throws Exception {
+            RequestMatcher bearer = TokenAuthenticationFilter::hasBearerToken;
+            http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+                    .requestCache().requestCache(new NullRequestCache()).and()
+                    .csrf().csrfTokenRepository(new LazyCsrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse()))
+                    .ignoringRequestMatchers(bearer).and()
+                    .authorizeRequests()
+                    .antMatchers("/admin/**").hasRole("ADMIN")
+                    .anyRequest().authenticated().and()
+                    .formLogin().successHandler(new TokenLoginSuccessHandler(tokenService)).and()
+                    .logout().deleteCookies(TokenService.COOKIE_NAME).and()
+                    .exceptionHandling()
+                    .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), bearer).and()
+                    .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+        }
+    }
 }
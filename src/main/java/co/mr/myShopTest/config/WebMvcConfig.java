@@ -0,0 +1,74 @@
+package co.mr.myShopTest.config;
+
+import co.mr.myShopTest.concurrency.ConcurrencyLimitInterceptor;
+import co.mr.myShopTest.metrics.QueryMetricsInterceptor;
+import co.mr.myShopTest.view.OutputCacheInterceptor;
+import co.mr.myShopTest.view.StreamingViewInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // 해시가 붙은 번들은 내용이 바뀌면 URL이 바뀌므로 1년 + immutable (새로고침해도 재검증하지 않음)
+    // CacheControl에는 immutable 지시자가 없어서 헤더 값을 직접 지정한다.
+    private static final CacheControl IMMUTABLE = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return "public, max-age=31536000, immutable";
+        }
+    };
+
+    private final OutputCacheInterceptor outputCacheInterceptor;
+
+    private final QueryMetricsInterceptor queryMetricsInterceptor;
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    private final StreamingViewInterceptor streamingViewInterceptor;
+
+    // @ConcurrencyLimit 그룹별 동시 실행 제한 (거절된 요청은 캐시/지표 처리 전에 끝나도록 먼저 등록)
+    // @OutputCache가 선언된 화면의 렌더링 결과 캐시
+    // StreamingRows를 담은 화면은 읽기 전용 트랜잭션 안에서 chunk 단위로 내보내며 렌더링
+    // 요청별 N+1 쿼리 감지
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor);
+        registry.addInterceptor(outputCacheInterceptor);
+        registry.addInterceptor(streamingViewInterceptor);
+        registry.addInterceptor(queryMetricsInterceptor);
+    }
+
+    // /assets/** : 빌드할 때 만든 번들 (AssetBundler)
+    // Accept-Encoding에 따라 미리 압축해 둔 .zst / .gz 파일을 그대로 보낸다. (요청마다 압축하지 않음, Vary: Accept-Encoding)
+    // 캐시(CachingResourceResolver)에 인코딩별로 찾은 파일을 기억해 두므로 파일 존재 확인도 한 번만 한다.
+    // resourceChain(true)가 만드는 캐시는 캐시 키에 br, gzip만 구분해서 zstd를 받는 브라우저와 받지 못하는 브라우저가
+    // 같은 캐시 항목(.zst)을 받게 되므로, 캐시 키의 인코딩을 EncodedResourceResolver와 같게 맞춰 직접 만든다.
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        CachingResourceResolver cachingResourceResolver = new CachingResourceResolver(new ConcurrentMapCache("assets"));
+        cachingResourceResolver.setContentCodings(List.of("zstd", "gzip"));
+
+        EncodedResourceResolver encodedResourceResolver = new EncodedResourceResolver();
+        encodedResourceResolver.setContentCodings(Arrays.asList("zstd", "gzip"));
+        encodedResourceResolver.registerExtension("zstd", ".zst");
+
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(false)
+                .addResolver(cachingResourceResolver)
+                .addResolver(encodedResourceResolver);
+    }
+}
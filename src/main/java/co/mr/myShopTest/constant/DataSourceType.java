@@ -0,0 +1,7 @@
+package co.mr.myShopTest.constant;
+
+// 읽기/쓰기 분리 시 커넥션을 가져오는 DB
+// PRIMARY : 쓰기, 읽기-쓰기 트랜잭션 / REPLICA : 읽기 전용 트랜잭션
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,13 @@
+package co.mr.myShopTest.constant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 상품 이미지 크기별 변환본, maxWidth보다 큰 원본만 비율을 유지해서 줄인다.
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMBNAIL(150), LIST(300), DETAIL(800);
+
+    private final int maxWidth;
+}
@@ -0,0 +1,5 @@
+package co.mr.myShopTest.constant;
+
+public enum ImportFormat {
+    CSV, NDJSON
+}
@@ -0,0 +1,6 @@
+package co.mr.myShopTest.constant;
+
+public enum ItemChangeType {
+    CREATED, UPDATED, DELETED,
+    STOCK_CHANGED // 재고 예약 write-behind 반영(네이티브 update)으로 재고/판매상태만 바뀐 경우
+}
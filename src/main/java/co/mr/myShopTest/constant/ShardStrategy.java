@@ -0,0 +1,8 @@
+package co.mr.myShopTest.constant;
+
+// 상품(item_id)을 샤드에 나누는 방식
+// HASH  : item_id를 샤드 수로 나눈 나머지, 새 상품이 샤드마다 고르게 들어간다.
+// RANGE : item_id 구간(range-size)마다 샤드 하나, 샤드 안에서 id가 연속이라 샤드를 뒤에 추가하기 쉽다.
+public enum ShardStrategy {
+    HASH, RANGE
+}
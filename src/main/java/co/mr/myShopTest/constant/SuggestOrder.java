@@ -0,0 +1,8 @@
+package co.mr.myShopTest.constant;
+
+// 자동완성 정렬 기준
+// POPULARITY : 많이 선택된 순 (같으면 가격 낮은 순)
+// PRICE : 가격 낮은 순 (같으면 많이 선택된 순)
+public enum SuggestOrder {
+    POPULARITY, PRICE
+}
@@ -0,0 +1,31 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.dto.AuthTokenDto;
+import co.mr.myShopTest.security.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+// POST /auth/token : HTTP Basic으로 로그인하고 토큰을 받는다.
+// 이후 요청은 Authorization: Bearer {accessToken} 또는 함께 내려준 access_token 쿠키로 인증한다.
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token", matchIfMissing = true)
+public class AuthTokenController {
+
+    private final TokenService tokenService;
+
+    @PostMapping("/auth/token")
+    public ResponseEntity<AuthTokenDto> token(Authentication authentication, HttpServletRequest request) {
+        TokenService.Token token = tokenService.issue(authentication);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenService.cookie(token, request.isSecure()).toString())
+                .body(new AuthTokenDto(token.getValue(), "Bearer", tokenService.getTtl().getSeconds()));
+    }
+}
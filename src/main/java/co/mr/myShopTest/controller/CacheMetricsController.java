@@ -0,0 +1,22 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.repository.ItemCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 상품 캐시 통계 조회
+// GET /admin/metrics/cache : 캐시별(상품 id, 목록 조회) 크기, 히트/미스 수, 히트율, 제거 수, 평균 로딩 시간
+@RestController
+@RequiredArgsConstructor
+public class CacheMetricsController {
+
+    private final ItemCacheRepository itemCacheRepository;
+
+    @GetMapping("/admin/metrics/cache")
+    public List<ItemCacheRepository.Snapshot> cache() {
+        return itemCacheRepository.snapshot();
+    }
+}
@@ -0,0 +1,20 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.dto.CatalogStats;
+import co.mr.myShopTest.service.CatalogStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 상품 통계 조회, 메모리 집계값을 그대로 반환하므로 DB를 조회하지 않는다.
+@RestController
+@RequiredArgsConstructor
+public class CatalogStatsController {
+
+    private final CatalogStatsService catalogStatsService;
+
+    @GetMapping("/items/stats")
+    public CatalogStats stats() {
+        return catalogStatsService.getStats();
+    }
+}
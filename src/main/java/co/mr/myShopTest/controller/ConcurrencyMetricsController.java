@@ -0,0 +1,44 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.concurrency.AdaptiveLimiter;
+import co.mr.myShopTest.concurrency.BoundedExecutor;
+import co.mr.myShopTest.concurrency.ConcurrencyLimiters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 동시 실행 제한 지표 조회 / 실행 중 켜고 끄기
+// GET  /admin/metrics/concurrency                     : 그룹별 현재 한도, 실행 중/대기 중인 요청 수, 거절 수, 응답 시간
+// GET  /admin/metrics/concurrency/executors           : 비동기 처리 executor별 실행 중/대기 중인 작업 수
+// POST /admin/metrics/concurrency/enabled?value=false : 제한 중지 (true : 재개)
+@RestController
+@RequestMapping("/admin/metrics/concurrency")
+@RequiredArgsConstructor
+public class ConcurrencyMetricsController {
+
+    private final ConcurrencyLimiters concurrencyLimiters;
+
+    private final List<BoundedExecutor> executors;
+
+    @GetMapping
+    public List<AdaptiveLimiter.Snapshot> limiters() {
+        return concurrencyLimiters.snapshot();
+    }
+
+    @GetMapping("/executors")
+    public List<BoundedExecutor.Snapshot> executors() {
+        return executors.stream().map(BoundedExecutor::snapshot).collect(Collectors.toList());
+    }
+
+    @PostMapping("/enabled")
+    public List<AdaptiveLimiter.Snapshot> enabled(@RequestParam boolean value) {
+        concurrencyLimiters.setEnabled(value);
+        return concurrencyLimiters.snapshot();
+    }
+}
@@ -0,0 +1,26 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.datasource.DataSourceRoutingSnapshot;
+import co.mr.myShopTest.datasource.ReplicationRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// 읽기/쓰기 분리 지표 (datasource.replica.enabled=true 일 때만)
+// GET /admin/metrics/datasources : replica 상태/복제 지연, 풀별 커넥션 수와 대기 시간, primary로 보낸 읽기 횟수
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceMetricsController {
+
+    private final DataSource dataSource;
+
+    @GetMapping("/admin/metrics/datasources")
+    public DataSourceRoutingSnapshot dataSources() throws SQLException {
+        return dataSource.unwrap(ReplicationRoutingDataSource.class).snapshot();
+    }
+}
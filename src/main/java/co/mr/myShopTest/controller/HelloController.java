@@ -1,5 +1,6 @@
 package co.mr.myShopTest.controller;
 
+import co.mr.myShopTest.concurrency.ConcurrencyLimit;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.stereotype.Controller;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 
 @Controller
+@ConcurrencyLimit("hello")
 public class HelloController {
     @GetMapping("/hello")
     public String hello(@RequestParam(name = "name", required = false, defaultValue = "World") String name, Model model) {
@@ -0,0 +1,156 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.constant.ImageVariant;
+import co.mr.myShopTest.service.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 상품 이미지 크기별 변환본 제공
+// /image/{variant}/{fileName}              : 캐시 1시간, ETag로 재검증
+// /image/{variant}/{fingerprint}/{fileName} : 내용이 바뀌면 URL이 바뀌므로 1년 + immutable
+// Range 요청(bytes=시작-끝, 한 구간)을 지원한다.
+// 변환본 파일은 캐시 용량 제한으로 언제든 지워질 수 있으므로 한번 연 채널에서 크기를 읽고 본문을 보낸다.
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    // 형식은 맞지만 파일 범위 밖인 Range (416)
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final ImageService imageService;
+
+    @GetMapping(value = "/image/{variant}/{fileName:.+}")
+    public void image(@PathVariable String variant, @PathVariable String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(variant, null, fileName, request, response);
+    }
+
+    @GetMapping(value = "/image/{variant}/{fingerprint}/{fileName:.+}")
+    public void fingerprintedImage(@PathVariable String variant, @PathVariable String fingerprint,
+                                   @PathVariable String fileName,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(variant, fingerprint, fileName, request, response);
+    }
+
+    private void serve(String variantName, String fingerprint, String fileName,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageVariant variant;
+        try {
+            variant = ImageVariant.valueOf(variantName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String currentFingerprint = imageService.fingerprint(fileName);
+        if (currentFingerprint == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + currentFingerprint + "-" + variantName.toLowerCase(Locale.ROOT) + "\"";
+        // 지문이 현재 원본과 다르면(예전 URL) 내용이 다를 수 있으므로 immutable을 붙이지 않는다.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, currentFingerprint.equals(fingerprint)
+                ? "public, max-age=31536000, immutable" : "public, max-age=3600");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return; // 304
+        }
+
+        try (FileChannel channel = imageService.openVariant(fileName, variant)) {
+            if (channel == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            send(channel, etag, fileName, request, response);
+        }
+    }
+
+    private void send(FileChannel channel, String etag, String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = channel.size();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bytes = parseRange(range, length);
+            if (bytes == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bytes != null) {
+                start = bytes[0];
+                end = bytes[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .map(Object::toString).orElse("application/octet-stream"));
+        response.setContentLengthLong(count);
+
+        // 소켓이 아니라 서블릿 출력 스트림으로 보내므로 transferTo도 버퍼를 거쳐 복사한다. (sendfile 같은 zero-copy 아님)
+        // 변환본은 작은 파일이고, 채널을 연 채로 보내야 캐시 정리로 지워져도 응답이 깨지지 않는다.
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            position += transferred;
+            remaining -= transferred;
+        }
+        out.flush();
+    }
+
+    // Range 헤더를 [시작, 끝]으로 바꾼다.
+    // 형식이 틀린 Range(bytes=5-3, 여러 구간 bytes=0-1,5-9 등)는 null을 돌려주어 무시하고 전체를 보내며,
+    // 형식은 맞지만 시작이 파일 크기 이상이거나 bytes=-0 이면 UNSATISFIABLE(416)이다.
+    private static long[] parseRange(String range, long length) {
+        Matcher matcher = RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        long first;
+        long last;
+        try {
+            first = matcher.group(1).isEmpty() ? -1 : Long.parseLong(matcher.group(1));
+            last = matcher.group(2).isEmpty() ? -1 : Long.parseLong(matcher.group(2));
+        } catch (NumberFormatException e) { // long 범위를 넘는 숫자
+            return null;
+        }
+        if (first < 0) { // bytes=-500 : 마지막 500 바이트
+            if (last == 0 || length == 0) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{Math.max(0, length - last), length - 1};
+        }
+        if (last >= 0 && last < first) {
+            return null;
+        }
+        if (first >= length) {
+            return UNSATISFIABLE;
+        }
+        return new long[]{first, last < 0 ? length - 1 : Math.min(last, length - 1)};
+    }
+}
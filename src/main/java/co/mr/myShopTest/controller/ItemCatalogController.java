@@ -0,0 +1,50 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.concurrency.ConcurrencyLimit;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.service.ItemCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 상품 목록 화면, 같은 화면을 동기/비동기 두 가지 방식으로 처리한다.
+// GET /items/catalog?lastId=&size=       : 요청 스레드에서 조회
+// GET /items/catalog/async?lastId=&size= : catalogExecutor에서 조회, DB를 기다리는 동안 요청 스레드를 반환
+// 비동기 요청은 결과가 나올 때까지 spring.mvc.async.request-timeout 만큼 기다리고, 넘으면 503으로 응답한다.
+@Controller
+@ConcurrencyLimit("catalog")
+@RequiredArgsConstructor
+public class ItemCatalogController {
+
+    private static final int MAX_SIZE = 100;
+
+    private final ItemCatalogService itemCatalogService;
+
+    @GetMapping("/items/catalog")
+    public ModelAndView catalog(@RequestParam(required = false) Long lastId,
+                                @RequestParam(defaultValue = "20") int size) {
+        return render(itemCatalogService.getPage(lastId, pageSize(size)));
+    }
+
+    @GetMapping("/items/catalog/async")
+    public CompletableFuture<ModelAndView> catalogAsync(@RequestParam(required = false) Long lastId,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        return itemCatalogService.getPageAsync(lastId, pageSize(size)).thenApply(this::render);
+    }
+
+    private ModelAndView render(List<ItemListDto> items) {
+        ModelAndView modelAndView = new ModelAndView("item/catalog");
+        modelAndView.addObject("items", items);
+        modelAndView.addObject("nextId", items.isEmpty() ? null : items.get(items.size() - 1).getId());
+        return modelAndView;
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
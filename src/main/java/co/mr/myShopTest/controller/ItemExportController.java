@@ -0,0 +1,48 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.service.ItemExportService;
+import com.querydsl.core.types.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+// 상품 내보내기
+// GET /items/export?format=csv                      : 전체 상품 CSV
+// GET /items/export?format=ndjson&itemSellStatus=SELL : 판매중인 상품 NDJSON
+// format 외의 파라미터는 Item 필드 조건(@QuerydslPredicate)으로 사용한다.
+// Content-Length 없이 쓰는 만큼 응답으로 내보내므로 chunked 전송이 된다.
+@Controller
+@RequiredArgsConstructor
+public class ItemExportController {
+
+    private final ItemExportService itemExportService;
+
+    @GetMapping("/items/export")
+    public void export(@RequestParam(defaultValue = "csv") String format,
+                       @QuerydslPredicate(root = Item.class) Predicate predicate,
+                       HttpServletResponse response) throws IOException {
+        ImportFormat exportFormat;
+        try {
+            exportFormat = ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 형식입니다. (csv, ndjson)");
+            return;
+        }
+        String extension = exportFormat.name().toLowerCase(Locale.ROOT);
+        response.setContentType(exportFormat == ImportFormat.CSV
+                ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("items." + extension).build().toString());
+        itemExportService.export(predicate, exportFormat, response.getOutputStream());
+    }
+}
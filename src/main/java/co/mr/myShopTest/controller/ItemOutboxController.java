@@ -0,0 +1,21 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.event.ItemOutboxDispatcher;
+import co.mr.myShopTest.event.ItemOutboxStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 상품 변경 outbox 전달 현황
+// GET /admin/outbox : 마지막 id, 구독자별 전달 위치/밀린 양/실패, 초당 전달 이벤트 수
+@RestController
+@RequiredArgsConstructor
+public class ItemOutboxController {
+
+    private final ItemOutboxDispatcher itemOutboxDispatcher;
+
+    @GetMapping("/admin/outbox")
+    public ItemOutboxStats outbox() {
+        return itemOutboxDispatcher.stats();
+    }
+}
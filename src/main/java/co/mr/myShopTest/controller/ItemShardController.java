@@ -0,0 +1,58 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.shard.ItemShardSnapshot;
+import co.mr.myShopTest.shard.ShardedItemRepository;
+import com.querydsl.core.BooleanBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 독립된 샤드 item 저장소 조회 (item.shard.enabled=true 일 때만)
+// GET /shards/items?itemName=&maxPrice=&page=&size=&sort= : 모든 샤드에서 조회해 합친 목록 페이지
+// GET /admin/shards                                        : 샤드별 상품 수, 커넥션 풀 상태
+// sort는 Id, price만 가능 (문자열 속성은 샤드 결과를 합칠 때 DB와 순서가 달라지므로 400)
+// 샤드 테이블만 조회한다. 상품 등록/수정 등 다른 기능은 샤드가 아닌 spring.datasource의 item 테이블을 사용한다.
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "item.shard.enabled", havingValue = "true")
+public class ItemShardController {
+
+    private final ShardedItemRepository shardedItemRepository;
+
+    @GetMapping("/shards/items")
+    public ResponseEntity<Page<ItemListDto>> items(@RequestParam(required = false) String itemName,
+                                   @RequestParam(required = false) Integer maxPrice,
+                                   @PageableDefault(size = 20, sort = "Id", direction = Sort.Direction.DESC) Pageable pageable) {
+        QItem item = QItem.item;
+        BooleanBuilder where = new BooleanBuilder();
+        if (itemName != null) {
+            where.and(item.itemName.eq(itemName));
+        }
+        if (maxPrice != null) {
+            where.and(item.price.lt(maxPrice));
+        }
+        try {
+            return ResponseEntity.ok(shardedItemRepository.findListAll(where, pageable));
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            // 정렬할 수 없는 sort 속성
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/admin/shards")
+    public List<ItemShardSnapshot> shards() {
+        return shardedItemRepository.snapshot();
+    }
+}
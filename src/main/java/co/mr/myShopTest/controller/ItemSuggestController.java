@@ -0,0 +1,47 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.constant.SuggestOrder;
+import co.mr.myShopTest.dto.ItemSuggestDto;
+import co.mr.myShopTest.repository.ItemSuggestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+
+// 상품명 자동완성
+// GET  /items/suggest?q=청바             : 상품명이 "청바"(입력 중인 글자 포함)로 시작하는 상품, 인기순
+// GET  /items/suggest?q=ㅊㅂㅈ&order=price : 초성 검색, 가격 낮은 순
+// POST /items/suggest/{itemId}/select     : 자동완성 목록에서 선택한 상품 (인기순 집계)
+@RestController
+@RequiredArgsConstructor
+public class ItemSuggestController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final ItemSuggestRepository itemSuggestRepository;
+
+    @GetMapping("/items/suggest")
+    public ResponseEntity<List<ItemSuggestDto>> suggest(@RequestParam(defaultValue = "") String q,
+                                                        @RequestParam(defaultValue = "popularity") String order,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        SuggestOrder suggestOrder;
+        try {
+            suggestOrder = SuggestOrder.valueOf(order.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(itemSuggestRepository.suggest(q, suggestOrder, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @PostMapping("/items/suggest/{itemId}/select")
+    public ResponseEntity<Void> select(@PathVariable Long itemId) {
+        itemSuggestRepository.increasePopularity(itemId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,47 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.metrics.QueryMetrics;
+import co.mr.myShopTest.metrics.QueryMetricsSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// 쿼리 실행 지표 조회 / 실행 중 켜고 끄기
+// GET    /admin/metrics/queries                          : 현재 지표
+// POST   /admin/metrics/queries/enabled?value=false      : 기록 중지 (true : 재개)
+// POST   /admin/metrics/queries/slow-threshold?millis=50 : 느린 쿼리 기준 변경
+// DELETE /admin/metrics/queries                          : 초기화
+@RestController
+@RequestMapping("/admin/metrics/queries")
+@RequiredArgsConstructor
+public class QueryMetricsController {
+
+    private final QueryMetrics queryMetrics;
+
+    @GetMapping
+    public QueryMetricsSnapshot queries() {
+        return queryMetrics.snapshot();
+    }
+
+    @PostMapping("/enabled")
+    public QueryMetricsSnapshot enabled(@RequestParam boolean value) {
+        queryMetrics.setEnabled(value);
+        return queryMetrics.snapshot();
+    }
+
+    @PostMapping("/slow-threshold")
+    public QueryMetricsSnapshot slowThreshold(@RequestParam long millis) {
+        queryMetrics.setSlowThresholdMillis(millis);
+        return queryMetrics.snapshot();
+    }
+
+    @DeleteMapping
+    public QueryMetricsSnapshot reset() {
+        queryMetrics.reset();
+        return queryMetrics.snapshot();
+    }
+}
@@ -0,0 +1,36 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.metrics.QueryShapeCollector;
+import co.mr.myShopTest.plan.IndexAdvice;
+import co.mr.myShopTest.plan.IndexAdvisor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 실행 계획 / 인덱스 추천
+// GET    /admin/metrics/queries/index-advice : 지금까지 실행된 select 모양마다 EXPLAIN 결과와 추가할 인덱스
+//                                             (query.plan.capture.enabled=true 일 때만 모은다, 결과의 SQL에는 바인드 값이 없다.)
+// DELETE /admin/metrics/queries/index-advice : 모아 둔 select 초기화
+@RestController
+@RequestMapping("/admin/metrics/queries/index-advice")
+@RequiredArgsConstructor
+public class QueryPlanController {
+
+    private final IndexAdvisor indexAdvisor;
+
+    private final QueryShapeCollector queryShapeCollector;
+
+    @GetMapping
+    public IndexAdvice indexAdvice() {
+        return indexAdvisor.advise();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        queryShapeCollector.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,39 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.startup.StartupReport;
+import co.mr.myShopTest.startup.StartupTimelineReporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+// 시작 시간 보고서 / 준비 상태
+// GET /admin/startup       : 시작 구간별, 단계별, 빈별 시간 (main()으로 띄우지 않았으면 404)
+// GET /admin/startup/ready : 워밍업까지 끝나 트래픽을 받을 준비가 되었으면 200, 아니면 503 (readiness probe용, 인증 없음)
+@RestController
+@RequestMapping("/admin/startup")
+@RequiredArgsConstructor
+public class StartupController {
+
+    private final StartupTimelineReporter startupTimelineReporter;
+
+    private final ApplicationAvailability applicationAvailability;
+
+    @GetMapping
+    public ResponseEntity<StartupReport> report() {
+        return ResponseEntity.of(Optional.ofNullable(startupTimelineReporter.getReport()));
+    }
+
+    @GetMapping("/ready")
+    public ResponseEntity<ReadinessState> ready() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(state);
+    }
+}
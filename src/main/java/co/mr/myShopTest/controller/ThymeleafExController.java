@@ -1,6 +1,12 @@
 package co.mr.myShopTest.controller;
 
+import co.mr.myShopTest.concurrency.ConcurrencyLimit;
 import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.repository.ItemRepository;
+import co.mr.myShopTest.view.OutputCache;
+import co.mr.myShopTest.view.StreamingRows;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +17,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Controller
+@ConcurrencyLimit("thymeleaf")
 @RequestMapping(value="/thymeleaf")
+@RequiredArgsConstructor
 public class ThymeleafExController {
 
+    private static final LocalDateTime SAMPLE_REG_TIME = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private final ItemRepository itemRepository;
+
+    // 스트리밍 화면에서 응답을 내보내는 단위(건), DB fetch size도 같은 값을 사용한다.
+    @Value("${view.stream.chunk-size:100}")
+    private int chunkSize = 100;
+
     @GetMapping(value = "/ex01")
     public String thymeleafExample01(Model model){
         model.addAttribute("data", "타임리프 예제 입니다.");
@@ -32,29 +48,41 @@ public class ThymeleafExController {
         return "thymeEx/thymeleafEx02";
     }
 
+    // 렌더링 결과를 캐시(OutputCache), 고정된 예제 목록만 보여주므로 DB 상품 변경과는 관계없다.
+    @OutputCache
     @GetMapping(value = "/ex03")
     public String thymeleafExample03(Model model){
-
-        List<ItemDto> itemDtoList = new ArrayList<>();
-
-        for(int i=1;i<=10;i++){
-
-            ItemDto itemDto = new ItemDto();
-            itemDto.setItemDetail("상품 상세 설명"+i);
-            itemDto.setItemName("테스트 상품" + i);
-            itemDto.setPrice(1000*i);
-            itemDto.setRegTime(LocalDateTime.now());
-
-            itemDtoList.add(itemDto);
-        }
-
-        model.addAttribute("itemDtoList", itemDtoList);
+        model.addAttribute("itemDtoList", createItemDtoList());
         return "thymeEx/thymeleafEx03";
     }
 //
+    @OutputCache
     @GetMapping(value = "/ex04")
     public String thymeleafExample04(Model model){
+        model.addAttribute("itemDtoList", createItemDtoList());
+        return "thymeEx/thymeleafEx04";
+    }
+
+    // ex03, ex04와 같은 화면을 DB의 상품 전체로 렌더링한다.
+    // 목록을 List로 만들지 않고 렌더링하면서 한 건씩 읽어(StreamingRows) chunk-size 건마다 응답을 내보낸다.
+    @GetMapping(value = "/ex03/stream")
+    public String thymeleafExample03Stream(Model model){
+        model.addAttribute("itemDtoList", streamItemDtoList());
+        return "thymeEx/thymeleafEx03";
+    }
 
+    @GetMapping(value = "/ex04/stream")
+    public String thymeleafExample04Stream(Model model){
+        model.addAttribute("itemDtoList", streamItemDtoList());
+        return "thymeEx/thymeleafEx04";
+    }
+
+    private StreamingRows<ItemDto> streamItemDtoList() {
+        return new StreamingRows<>(() -> itemRepository.streamAll(null, chunkSize).map(ItemDto::of), chunkSize);
+    }
+
+    // 상품등록일을 LocalDateTime.now()로 넣으면 매 요청마다 모델이 달라져 화면 캐시가 적중하지 않으므로 고정값 사용
+    private List<ItemDto> createItemDtoList() {
         List<ItemDto> itemDtoList = new ArrayList<>();
 
         for(int i=1;i<=10;i++){
@@ -63,13 +91,11 @@ public class ThymeleafExController {
             itemDto.setItemDetail("상품 상세 설명"+i);
             itemDto.setItemName("테스트 상품" + i);
             itemDto.setPrice(1000*i);
-            itemDto.setRegTime(LocalDateTime.now());
+            itemDto.setRegTime(SAMPLE_REG_TIME);
 
             itemDtoList.add(itemDto);
         }
-
-        model.addAttribute("itemDtoList", itemDtoList);
-        return "thymeEx/thymeleafEx04";
+        return itemDtoList;
     }
 //
     @GetMapping(value = "/ex05")
@@ -0,0 +1,66 @@
+package co.mr.myShopTest.datasource;
+
+import co.mr.myShopTest.constant.DataSourceType;
+import co.mr.myShopTest.metrics.LatencyHistogram;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// /admin/metrics/datasources 응답
+@Getter
+public class DataSourceRoutingSnapshot {
+
+    private final boolean replicaAvailable;
+
+    // 확인하지 못했으면 -1
+    private final long replicaLagMillis;
+
+    private final String replicaError;
+
+    private final LocalDateTime checkedAt;
+
+    // 같은 요청의 쓰기 이후라 primary에서 읽은 횟수
+    private final long stickyReads;
+
+    // replica 상태 때문에 primary에서 읽은 횟수
+    private final long fallbackReads;
+
+    private final Map<DataSourceType, Pool> pools;
+
+    public DataSourceRoutingSnapshot(boolean replicaAvailable, long replicaLagMillis, String replicaError,
+                                     LocalDateTime checkedAt, long stickyReads, long fallbackReads,
+                                     Map<DataSourceType, Pool> pools) {
+        this.replicaAvailable = replicaAvailable;
+        this.replicaLagMillis = replicaLagMillis;
+        this.replicaError = replicaError;
+        this.checkedAt = checkedAt;
+        this.stickyReads = stickyReads;
+        this.fallbackReads = fallbackReads;
+        this.pools = pools;
+    }
+
+    // 커넥션 풀 하나의 지표, 풀이 아직 시작되지 않았으면 active/idle/waiting은 null
+    @Getter
+    public static class Pool {
+
+        private final long connections;
+
+        private final LatencyHistogram.Snapshot connectionWait;
+
+        private final Integer active;
+
+        private final Integer idle;
+
+        private final Integer waiting;
+
+        public Pool(long connections, LatencyHistogram.Snapshot connectionWait,
+                    Integer active, Integer idle, Integer waiting) {
+            this.connections = connections;
+            this.connectionWait = connectionWait;
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+        }
+    }
+}
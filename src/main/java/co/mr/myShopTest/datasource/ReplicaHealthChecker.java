@@ -0,0 +1,101 @@
+package co.mr.myShopTest.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+// replica 상태 / 복제 지연 확인
+// primary의 replica_heartbeat 테이블에 현재 시간(ms)을 주기적으로 기록하고,
+// replica에서 같은 행을 읽어 "지금 - replica에 보이는 시간"을 복제 지연으로 본다. (pt-heartbeat 방식)
+// replica에 연결할 수 없거나 지연이 max-lag-ms를 넘으면 읽기 전용 트랜잭션도 primary로 보낸다.
+// 기록 주기만큼은 지연으로 잡히므로 max-lag-ms는 health-check-interval-ms보다 크게 잡는다.
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final String CREATE_HEARTBEAT =
+            "create table if not exists replica_heartbeat (id int not null primary key, beat_time bigint not null)";
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final long maxLagMillis;
+
+    private boolean heartbeatCreated;
+
+    private volatile boolean available;
+
+    // 마지막으로 확인한 복제 지연, 확인하지 못했으면 -1
+    private volatile long lagMillis = -1;
+
+    private volatile String lastError = "확인 전";
+
+    private volatile LocalDateTime checkedAt;
+
+    public ReplicaHealthChecker(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(1);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval-ms:1000}")
+    public synchronized void check() {
+        boolean wasAvailable = available;
+        try {
+            if (!heartbeatCreated) {
+                primary.execute(CREATE_HEARTBEAT);
+                heartbeatCreated = true;
+            }
+            long now = System.currentTimeMillis();
+            if (primary.update("update replica_heartbeat set beat_time = ? where id = 1", now) == 0) {
+                primary.update("insert into replica_heartbeat (id, beat_time) values (1, ?)", now);
+            }
+            Long beatTime = replica.query("select beat_time from replica_heartbeat where id = 1",
+                    rs -> rs.next() ? rs.getLong(1) : null);
+
+            if (beatTime == null) {
+                lagMillis = -1;
+                lastError = "replica에 heartbeat가 아직 복제되지 않았습니다.";
+                available = false;
+            } else {
+                lagMillis = Math.max(0, now - beatTime);
+                available = lagMillis <= maxLagMillis;
+                lastError = available ? null : "복제 지연 " + lagMillis + "ms (허용 " + maxLagMillis + "ms)";
+            }
+        } catch (DataAccessException e) {
+            lagMillis = -1;
+            lastError = e.getMostSpecificCause().getMessage();
+            available = false;
+        }
+        checkedAt = LocalDateTime.now();
+
+        if (wasAvailable != available) {
+            if (available) {
+                log.info("[datasource] replica 읽기를 다시 시작합니다. 복제 지연 {}ms", lagMillis);
+            } else {
+                log.warn("[datasource] replica를 사용할 수 없어 읽기를 primary로 보냅니다. {}", lastError);
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+}
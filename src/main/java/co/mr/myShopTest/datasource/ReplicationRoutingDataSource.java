@@ -0,0 +1,136 @@
+package co.mr.myShopTest.datasource;
+
+import co.mr.myShopTest.constant.DataSourceType;
+import co.mr.myShopTest.metrics.LatencyHistogram;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// 트랜잭션 종류에 따라 primary / replica 커넥션을 돌려주는 DataSource
+// - @Transactional(readOnly = true), Spring Data 조회 메소드(기본 readOnly) -> replica
+// - 그 외(쓰기 트랜잭션, 트랜잭션 밖) -> primary
+// - 한 요청에서 쓰기 트랜잭션이 한번 실행되면 그 요청의 나머지 읽기는 primary (방금 쓴 값이 복제 전이라 안 보이는 문제 방지)
+// - replica 상태가 좋지 않으면(ReplicaHealthChecker) primary
+//
+// 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로
+// 반드시 LazyConnectionDataSourceProxy로 감싸서 첫 쿼리 실행 시점에 커넥션을 가져오게 해야 한다.
+public class ReplicationRoutingDataSource extends AbstractDataSource {
+
+    // 요청 속성, 이 요청에서 쓰기 트랜잭션이 있었는지
+    static final String WRITTEN_ATTRIBUTE = ReplicationRoutingDataSource.class.getName() + ".WRITTEN";
+
+    private final Map<DataSourceType, DataSource> targets = new EnumMap<>(DataSourceType.class);
+
+    private final ReplicaHealthChecker healthChecker;
+
+    private final Map<DataSourceType, LongAdder> connections = new EnumMap<>(DataSourceType.class);
+
+    private final Map<DataSourceType, LatencyHistogram> connectionWait = new EnumMap<>(DataSourceType.class);
+
+    // 읽기 전용이지만 같은 요청에서 쓰기가 있어서 primary로 보낸 횟수
+    private final LongAdder stickyReads = new LongAdder();
+
+    // 읽기 전용이지만 replica 상태 때문에 primary로 보낸 횟수
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthChecker healthChecker) {
+        this.targets.put(DataSourceType.PRIMARY, primary);
+        this.targets.put(DataSourceType.REPLICA, replica);
+        this.healthChecker = healthChecker;
+        for (DataSourceType type : DataSourceType.values()) {
+            connections.put(type, new LongAdder());
+            connectionWait.put(type, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSourceType type = route();
+        long start = System.nanoTime();
+        Connection connection = targets.get(type).getConnection();
+        record(type, start);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSourceType type = route();
+        long start = System.nanoTime();
+        Connection connection = targets.get(type).getConnection(username, password);
+        record(type, start);
+        return connection;
+    }
+
+    public DataSourceType route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWritten();
+            }
+            return DataSourceType.PRIMARY;
+        }
+        if (isWritten()) {
+            stickyReads.increment();
+            return DataSourceType.PRIMARY;
+        }
+        if (!healthChecker.isAvailable()) {
+            fallbackReads.increment();
+            return DataSourceType.PRIMARY;
+        }
+        return DataSourceType.REPLICA;
+    }
+
+    public DataSourceRoutingSnapshot snapshot() {
+        Map<DataSourceType, DataSourceRoutingSnapshot.Pool> pools = new EnumMap<>(DataSourceType.class);
+        for (DataSourceType type : DataSourceType.values()) {
+            HikariPoolMXBean pool = hikariPool(targets.get(type));
+            pools.put(type, new DataSourceRoutingSnapshot.Pool(connections.get(type).sum(),
+                    connectionWait.get(type).snapshot(),
+                    pool == null ? null : pool.getActiveConnections(),
+                    pool == null ? null : pool.getIdleConnections(),
+                    pool == null ? null : pool.getThreadsAwaitingConnection()));
+        }
+        return new DataSourceRoutingSnapshot(healthChecker.isAvailable(), healthChecker.getLagMillis(),
+                healthChecker.getLastError(), healthChecker.getCheckedAt(),
+                stickyReads.sum(), fallbackReads.sum(), pools);
+    }
+
+    private void record(DataSourceType type, long start) {
+        connectionWait.get(type).record(System.nanoTime() - start);
+        connections.get(type).increment();
+    }
+
+    // 요청 밖(스케줄러 등)에서는 유지할 범위가 없으므로 기록하지 않는다.
+    private static void markWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WRITTEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // p6spy로 감싸져 있어도 실제 Hikari 풀의 상태를 읽는다.
+    private static HikariPoolMXBean hikariPool(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            // 풀 상태는 지표용이라 읽지 못하면 비워 둔다.
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package co.mr.myShopTest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 발급한 토큰 (POST /auth/token 응답)
+@Getter
+@AllArgsConstructor
+public class AuthTokenDto {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn; // 남은 시간(초)
+}
@@ -0,0 +1,75 @@
+package co.mr.myShopTest.dto;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// 상품 통계 (/items/stats 응답)
+// 전체, 판매상태별, 가격 구간별 상품 수 / 재고 합계 / 최저·최고·평균 가격
+@Getter
+public class CatalogStats {
+
+    private final Group total;
+
+    private final Map<ItemSellStatus, Group> byStatus;
+
+    // 가격 구간별 통계 + 판매상태별 상품 수(가격 히스토그램)
+    private final List<PriceBucket> byPriceBucket;
+
+    // 마지막으로 DB와 맞춰 본 시간
+    private final LocalDateTime reconciledAt;
+
+    public CatalogStats(Group total, Map<ItemSellStatus, Group> byStatus, List<PriceBucket> byPriceBucket,
+                        LocalDateTime reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriceBucket = byPriceBucket;
+        this.reconciledAt = reconciledAt;
+    }
+
+    @Getter
+    public static class Group {
+
+        private final long count;
+
+        private final long totalStock;
+
+        // 상품이 없으면 null
+        private final Integer minPrice;
+
+        private final Integer maxPrice;
+
+        private final Double avgPrice;
+
+        public Group(long count, long totalStock, Integer minPrice, Integer maxPrice, Double avgPrice) {
+            this.count = count;
+            this.totalStock = totalStock;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.avgPrice = avgPrice;
+        }
+    }
+
+    // [fromPrice, toPrice) 구간, 마지막 구간의 toPrice는 null
+    @Getter
+    public static class PriceBucket {
+
+        private final int fromPrice;
+
+        private final Integer toPrice;
+
+        private final Group stats;
+
+        private final Map<ItemSellStatus, Long> countByStatus;
+
+        public PriceBucket(int fromPrice, Integer toPrice, Group stats, Map<ItemSellStatus, Long> countByStatus) {
+            this.fromPrice = fromPrice;
+            this.toPrice = toPrice;
+            this.stats = stats;
+            this.countByStatus = countByStatus;
+        }
+    }
+}
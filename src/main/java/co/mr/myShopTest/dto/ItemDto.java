@@ -1,5 +1,6 @@
 package co.mr.myShopTest.dto;
 
+import co.mr.myShopTest.entity.Item;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -23,4 +24,28 @@ public class ItemDto {
 
     private LocalDateTime updateTime;
 
+    public static ItemDto of(Item item) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(item.getId());
+        itemDto.setItemName(item.getItemName());
+        itemDto.setPrice(item.getPrice());
+        itemDto.setItemDetail(item.getItemDetail());
+        itemDto.setSellStatCd(item.getItemSellStatus() == null ? null : item.getItemSellStatus().name());
+        itemDto.setRegTime(item.getRegTime());
+        itemDto.setUpdateTime(item.getUpdateTime());
+        return itemDto;
+    }
+
+    public ItemDto copy() {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(id);
+        itemDto.setItemName(itemName);
+        itemDto.setPrice(price);
+        itemDto.setItemDetail(itemDetail);
+        itemDto.setSellStatCd(sellStatCd);
+        itemDto.setRegTime(regTime);
+        itemDto.setUpdateTime(updateTime);
+        return itemDto;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package co.mr.myShopTest.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class ItemImportResult {
+
+    private String jobKey;
+
+    private long totalRows; // 헤더 제외 읽은 행 수
+
+    private long importedRows; // 이번 실행에서 저장된 행 수
+
+    private long invalidRows; // 검증 실패로 건너뛴 행 수
+
+    private long skippedChunks; // 이전 실행에서 이미 반영돼 건너뛴 청크 수
+
+    private List<Long> failedChunks = new ArrayList<>(); // 실패(롤백)한 청크 번호, 다시 실행하면 재시도된다.
+
+    private List<String> errors = new ArrayList<>(); // "행번호: 메시지"
+
+    private long elapsedMillis;
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedRows : importedRows * 1000.0 / elapsedMillis;
+    }
+
+    public boolean isCompleted() {
+        return failedChunks.isEmpty();
+    }
+}
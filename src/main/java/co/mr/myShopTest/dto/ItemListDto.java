@@ -0,0 +1,29 @@
+package co.mr.myShopTest.dto;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import lombok.Getter;
+import lombok.ToString;
+
+// 상품 목록 한 줄에 필요한 값만 담는 조회 전용 DTO
+// itemDetail(CLOB), 등록/수정 시간은 조회하지 않는다.
+// 엔티티가 아니므로 영속성 컨텍스트에 올라가지 않고 dirty checking 대상도 아니다.
+@Getter
+@ToString
+public class ItemListDto {
+
+    private final Long id;
+
+    private final String itemName;
+
+    private final int price;
+
+    private final ItemSellStatus itemSellStatus;
+
+    // Spring Data JPA 쿼리메소드, Querydsl Projections.constructor 모두 이 생성자를 사용한다.
+    public ItemListDto(Long id, String itemName, int price, ItemSellStatus itemSellStatus) {
+        this.id = id;
+        this.itemName = itemName;
+        this.price = price;
+        this.itemSellStatus = itemSellStatus;
+    }
+}
@@ -0,0 +1,25 @@
+package co.mr.myShopTest.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// 자동완성 색인 생성에 필요한 값만 담는 조회 전용 DTO (상세설명 제외)
+@Getter
+@ToString
+public class ItemNameDto {
+
+    private final Long id;
+
+    private final String itemName;
+
+    private final int price;
+
+    private final Long version;
+
+    public ItemNameDto(Long id, String itemName, int price, Long version) {
+        this.id = id;
+        this.itemName = itemName;
+        this.price = price;
+        this.version = version;
+    }
+}
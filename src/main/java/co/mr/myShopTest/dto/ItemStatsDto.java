@@ -0,0 +1,29 @@
+package co.mr.myShopTest.dto;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import lombok.Getter;
+import lombok.ToString;
+
+// 통계 집계에 필요한 값만 담는 조회 전용 DTO (상품명, 상세설명 제외)
+@Getter
+@ToString
+public class ItemStatsDto {
+
+    private final Long id;
+
+    private final int price;
+
+    private final int stockNumber;
+
+    private final ItemSellStatus itemSellStatus;
+
+    private final Long version;
+
+    public ItemStatsDto(Long id, int price, int stockNumber, ItemSellStatus itemSellStatus, Long version) {
+        this.id = id;
+        this.price = price;
+        this.stockNumber = stockNumber;
+        this.itemSellStatus = itemSellStatus;
+        this.version = version;
+    }
+}
@@ -0,0 +1,22 @@
+package co.mr.myShopTest.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// 자동완성 후보 한 건, 검색창 드롭다운에 필요한 값만 담는다.
+@Getter
+@ToString
+public class ItemSuggestDto {
+
+    private final Long id;
+
+    private final String itemName;
+
+    private final int price;
+
+    public ItemSuggestDto(Long id, String itemName, int price) {
+        this.id = id;
+        this.itemName = itemName;
+        this.price = price;
+    }
+}
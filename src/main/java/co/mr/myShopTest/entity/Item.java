@@ -4,18 +4,38 @@ import co.mr.myShopTest.constant.ItemSellStatus;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="item")
+// ItemRepository의 조회 조건/정렬에 맞춘 인덱스 (IndexAdvisor 추천, ItemQueryPlanRegressionTest로 실행 계획 확인)
+// (item_sell_status, price) : 판매상태 = ? 이면서 가격 범위/가격순, 판매상태만으로 찾을 때도 사용
+// (price) : 가격 범위/가격순, 가격 커서 페이징, (item_name) : 상품명으로 찾기, (reg_time) : 등록순 커서 페이징
+// columnList는 필드명으로 쓴다. (네이밍 전략이 컬럼명으로 바꿈)
+// 끝에 item_id를 붙이지 않아도 보조 인덱스에 기본키가 들어 있어서 (컬럼, item_id) 순서로 읽을 수 있다.
+@Table(name="item", indexes = {
+        @Index(name = "idx_item_sell_status_price", columnList = "itemSellStatus, price"),
+        @Index(name = "idx_item_price", columnList = "price"),
+        @Index(name = "idx_item_name", columnList = "itemName"),
+        @Index(name = "idx_item_reg_time", columnList = "regTime")})
+@EntityListeners(ItemEntityListener.class) // 저장/수정/삭제 이벤트 발행
 @Getter @Setter
 @ToString
 public class Item {
     @Id
     @Column(name = "item_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 전략은 insert를 실행해야 id를 알 수 있어서 하이버네이트가 JDBC batch insert를 하지 못한다.
+    // 시퀀스에서 allocationSize(100)만큼 id를 미리 받아 두고 메모리에서 나눠주도록 SEQUENCE 전략을 사용
+    // (시퀀스가 없는 MySQL은 하이버네이트가 item_seq 테이블로 대신한다.)
+    // 샤딩(item.shard.enabled=true)하면 샤드마다 자기 시퀀스 값에 샤드 번호를 넣어 id를 만든다. (ShardAwareIdGenerator)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+    @GenericGenerator(name = "item_seq_generator", strategy = "co.mr.myShopTest.shard.ShardAwareIdGenerator",
+            parameters = {@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "item_seq"),
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "100")})
     private Long Id; // 상품코드
 
     @Column(nullable = false, length = 50)
@@ -46,4 +66,10 @@ public class Item {
     private LocalDateTime regTime; // 등록 시간
 
     private LocalDateTime updateTime; //수정시간
+
+    // 수정될 때마다 1씩 올라가는 버전 (낙관적 락)
+    // update ... where item_id = ? and version = ? 로 행 잠금을 잡은 상태에서 쓰므로 같은 상품의 버전 순서가 곧 커밋 순서이다.
+    // 이벤트를 받는 쪽(CatalogStatsService 등)은 이 값으로 늦게 도착한 이전 변경을 걸러낸다.
+    @Version
+    private Long version;
 }
@@ -0,0 +1,37 @@
+package co.mr.myShopTest.entity;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// JPA 엔티티 리스너
+// Item 엔티티가 insert/update/delete 된 직후 호출되어 ItemChangeEvent를 발행한다.
+// 스프링 부트는 하이버네이트에 SpringBeanContainer를 등록해 주기 때문에
+// 엔티티 리스너도 생성자 주입을 받을 수 있다.
+public class ItemEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ItemEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void postPersist(Item item) {
+        eventPublisher.publishEvent(new ItemChangeEvent(ItemChangeType.CREATED, item));
+    }
+
+    @PostUpdate
+    public void postUpdate(Item item) {
+        eventPublisher.publishEvent(new ItemChangeEvent(ItemChangeType.UPDATED, item));
+    }
+
+    @PostRemove
+    public void postRemove(Item item) {
+        eventPublisher.publishEvent(new ItemChangeEvent(ItemChangeType.DELETED, item));
+    }
+}
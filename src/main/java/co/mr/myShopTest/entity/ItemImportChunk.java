@@ -0,0 +1,44 @@
+package co.mr.myShopTest.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 대량 등록 시 커밋이 끝난 청크(chunk)를 기록하는 테이블
+// 청크의 상품 insert와 같은 트랜잭션에서 저장되므로
+// 이 행이 있으면 해당 청크는 반드시 반영된 것이고, 없으면 하나도 반영되지 않은 것이다.
+// 실패 후 같은 파일로 다시 실행하면 기록된 청크는 건너뛴다.
+@Entity
+@Table(name = "item_import_chunk",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"job_key", "chunk_no"}))
+@Getter
+@NoArgsConstructor
+@ToString
+public class ItemImportChunk {
+    @Id
+    @Column(name = "item_import_chunk_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 파일 내용의 SHA-256, 같은 파일이면 같은 값
+    @Column(name = "job_key", nullable = false, length = 64)
+    private String jobKey;
+
+    @Column(name = "chunk_no", nullable = false)
+    private long chunkNo;
+
+    @Column(nullable = false)
+    private int rowCount; // 저장된 상품 수
+
+    private LocalDateTime completedTime;
+
+    public ItemImportChunk(String jobKey, long chunkNo, int rowCount) {
+        this.jobKey = jobKey;
+        this.chunkNo = chunkNo;
+        this.rowCount = rowCount;
+        this.completedTime = LocalDateTime.now();
+    }
+}
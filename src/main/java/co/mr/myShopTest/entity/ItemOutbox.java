@@ -0,0 +1,58 @@
+package co.mr.myShopTest.entity;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 상품 변경 이력 (transactional outbox)
+// 상품 insert/update/delete, 재고 write-behind 반영(네이티브 update)과 같은 트랜잭션에서 한 행씩 기록되므로
+// 상품 변경이 커밋되었으면 이 행도 반드시 있고, 롤백되었으면 없다.
+// ItemOutboxDispatcher가 id 순서로 읽어 구독자에게 전달한다.
+// 행은 ItemOutboxWriter가 JDBC로 직접 insert 한다. (엔티티 리스너는 flush 도중에 호출되어 persist를 할 수 없음)
+@Entity
+@Table(name = "item_outbox")
+@Getter
+@NoArgsConstructor
+@ToString(exclude = "itemDetail")
+public class ItemOutbox {
+    // insert 순서대로 증가해야 하므로 시퀀스를 미리 받아두는 방식(allocationSize)을 쓰지 않는다.
+    @Id
+    @Column(name = "item_outbox_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ItemChangeType changeType;
+
+    // 변경 후 값, 삭제된 경우 삭제 직전 값
+    @Column(length = 50)
+    private String itemName;
+
+    private int price;
+
+    private int stockNumber;
+
+    @Lob
+    private String itemDetail;
+
+    @Enumerated(EnumType.STRING)
+    private ItemSellStatus itemSellStatus;
+
+    private LocalDateTime regTime;
+
+    // 변경 후 Item 버전, 상품 행 잠금을 잡은 update로 올라간 값이라 같은 상품에서는 커밋 순서와 같다.
+    // (id는 insert 순서라서 같은 상품이어도 커밋 순서와 다를 수 있다.)
+    private Long itemVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime createdTime; // 기록 시간
+}
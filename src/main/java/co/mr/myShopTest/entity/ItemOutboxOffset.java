@@ -0,0 +1,32 @@
+package co.mr.myShopTest.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// outbox 구독자별로 마지막으로 전달을 마친 item_outbox id (high-water mark)
+// 재시작하면 이 id 다음부터 다시 전달한다.
+@Entity
+@Table(name = "item_outbox_offset")
+@Getter
+@NoArgsConstructor
+@ToString
+public class ItemOutboxOffset {
+    @Id
+    @Column(name = "subscriber", length = 100)
+    private String subscriber;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    private LocalDateTime updateTime;
+
+    public ItemOutboxOffset(String subscriber, long lastId) {
+        this.subscriber = subscriber;
+        this.lastId = lastId;
+        this.updateTime = LocalDateTime.now();
+    }
+}
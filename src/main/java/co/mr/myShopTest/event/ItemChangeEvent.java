@@ -0,0 +1,48 @@
+package co.mr.myShopTest.event;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// Item이 저장/수정/삭제될 때 발행되는 이벤트
+// 영속성 컨텍스트가 관리하는 엔티티를 그대로 넘기지 않고, 발행 시점의 값을 복사해서 가지고 있는다.
+// (구독하는 쪽에서 엔티티를 수정해 dirty checking이 일어나는 것을 막기 위해)
+@Getter
+@ToString
+public class ItemChangeEvent {
+
+    private final ItemChangeType changeType;
+
+    private final Long itemId;
+
+    private final String itemName;
+
+    private final int price;
+
+    private final int stockNumber;
+
+    private final String itemDetail;
+
+    private final ItemSellStatus itemSellStatus;
+
+    private final LocalDateTime regTime;
+
+    // 변경 후 Item 버전, 같은 상품의 이벤트는 버전이 큰 쪽이 나중에 커밋된 값이다.
+    private final Long version;
+
+    public ItemChangeEvent(ItemChangeType changeType, Item item) {
+        this.changeType = changeType;
+        this.itemId = item.getId();
+        this.itemName = item.getItemName();
+        this.price = item.getPrice();
+        this.stockNumber = item.getStockNumber();
+        this.itemDetail = item.getItemDetail();
+        this.itemSellStatus = item.getItemSellStatus();
+        this.regTime = item.getRegTime();
+        this.version = item.getVersion();
+    }
+}
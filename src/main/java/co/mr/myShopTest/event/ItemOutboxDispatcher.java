@@ -0,0 +1,342 @@
+package co.mr.myShopTest.event;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.entity.ItemOutbox;
+import co.mr.myShopTest.entity.ItemOutboxOffset;
+import co.mr.myShopTest.repository.ItemOutboxOffsetRepository;
+import co.mr.myShopTest.repository.ItemOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// item_outbox를 id 순서로 읽어 구독자에게 전달한다.
+// - 구독자마다 마지막으로 전달한 id(high-water mark)를 item_outbox_offset에 저장하고, 재시작하면 그 다음부터 전달한다.
+// - 구독자가 예외를 던지면 위치를 옮기지 않고 retry-backoff-ms(실패할 때마다 2배, 최대 30초) 뒤에 같은 이벤트부터 다시 전달한다.
+//   다른 구독자는 영향을 받지 않는다.
+// - batch-size 만큼 한번에 읽어 전달하고, 밀려 있으면 쉬지 않고 이어서 읽는다.
+//
+// id는 insert 순서라서 먼저 insert 했지만 아직 커밋하지 않은 트랜잭션이 있으면 id 중간이 비어 보인다. (롤백된 경우도 같음)
+// 빈 id(hole)에서 멈추면 롤백 한번에 전체 전달이 멈추므로 건너뛰고 계속 전달하되,
+// 빈 id는 gap-timeout-ms 동안 기억해 두었다가 나중에 커밋되어 보이면 그때 전달한다.
+// outbox 행은 상품 update가 행 잠금을 잡기 전(batch 실행 전, 엔티티 리스너)에 insert 되고,
+// 재고 write-behind 이벤트는 같은 트랜잭션에서 update(행 잠금) 뒤에 기록되므로 같은 상품이어도 id 순서가 변경 순서와 다를 수 있다.
+// 늦게 보인 빈 id도 이미 지나간 더 큰 id보다 나중에 전달된다.
+// 그래서 구독자마다 상품별로 마지막으로 전달한 Item 버전을 기억해 두고 그보다 오래된 이벤트는 전달하지 않는다.
+// (순서가 바뀌는 것은 gap-timeout-ms 안에서만 생기므로 그보다 오래된 기록은 지운다.)
+// 저장하는 위치는 아직 기다리는 빈 id 앞으로 잡아서, 그 사이에 재시작해도 빈 id부터 다시 읽는다.
+@Slf4j
+@Component
+public class ItemOutboxDispatcher {
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    // 이보다 큰 빈 구간은 id 할당 방식이 바뀐 것(재시작 등)으로 보고 기다리지 않는다.
+    private static final int MAX_GAP = 1000;
+
+    private final ItemOutboxRepository outboxRepository;
+
+    private final ItemOutboxOffsetRepository offsetRepository;
+
+    private final ObjectProvider<ItemOutboxSubscriber> subscriberBeans;
+
+    private final int batchSize;
+
+    private final long gapTimeoutMillis;
+
+    private final long retryBackoffMillis;
+
+    private final Duration retention;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    // 기다리는 빈 id -> 기다림을 그만두는 시각(ms)
+    private final TreeMap<Long, Long> holes = new TreeMap<>();
+
+    // 빈 id를 확인한 마지막 id
+    private long scannedId;
+
+    private final LongAdder delivered = new LongAdder();
+
+    // 처리량 측정 구간
+    private long windowStart = System.nanoTime();
+
+    private long windowDelivered;
+
+    private volatile double eventsPerSecond;
+
+    public ItemOutboxDispatcher(ItemOutboxRepository outboxRepository,
+                                ItemOutboxOffsetRepository offsetRepository,
+                                ObjectProvider<ItemOutboxSubscriber> subscriberBeans,
+                                @Value("${item.outbox.batch-size:500}") int batchSize,
+                                @Value("${item.outbox.gap-timeout-ms:60000}") long gapTimeoutMillis,
+                                @Value("${item.outbox.retry-backoff-ms:1000}") long retryBackoffMillis,
+                                @Value("${item.outbox.retention:1d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.offsetRepository = offsetRepository;
+        this.subscriberBeans = subscriberBeans;
+        this.batchSize = batchSize;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerSubscriberBeans() {
+        subscriberBeans.orderedStream().forEach(this::register);
+    }
+
+    // 저장된 위치가 있으면 그 다음부터, 없으면 남아 있는 outbox 처음부터 전달한다.
+    public void register(ItemOutboxSubscriber subscriber) {
+        long lastId = offsetRepository.findById(subscriber.getName()).map(ItemOutboxOffset::getLastId).orElse(0L);
+        if (subscriptions.putIfAbsent(subscriber.getName(), new Subscription(subscriber, lastId)) != null) {
+            throw new IllegalStateException("이미 등록된 구독자입니다. : " + subscriber.getName());
+        }
+        log.info("[outbox] 구독자 {} 등록, {}번 다음부터 전달합니다.", subscriber.getName(), lastId);
+    }
+
+    // 저장된 위치는 남겨 두므로 다시 등록하면 이어서 전달한다.
+    public void unregister(String name) {
+        subscriptions.remove(name);
+    }
+
+    @Scheduled(fixedDelayString = "${item.outbox.poll-interval-ms:200}")
+    public synchronized void dispatch() {
+        dispatchLate();
+        int count;
+        do {
+            count = dispatchBatch();
+        } while (count == batchSize);
+        updateThroughput();
+    }
+
+    // 모든 구독자에게 전달되었고 보관 기간이 지난 행 삭제
+    @Scheduled(fixedDelayString = "${item.outbox.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        long lastId = subscriptions.values().stream().mapToLong(s -> s.lastId).min().orElse(Long.MAX_VALUE);
+        int deleted = outboxRepository.deleteDelivered(lastId, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("[outbox] 전달이 끝난 이벤트 {}건 삭제", deleted);
+        }
+    }
+
+    public ItemOutboxStats stats() {
+        Long maxId = outboxRepository.findMaxId();
+        long max = maxId == null ? 0 : maxId;
+        List<ItemOutboxStats.Subscriber> subscribers = new ArrayList<>();
+        subscriptions.values().forEach(s -> subscribers.add(new ItemOutboxStats.Subscriber(s.subscriber.getName(),
+                s.lastId, Math.max(0, max - s.lastId), s.delivered, s.failures, s.lastError)));
+        return new ItemOutboxStats(max, delivered.sum(), eventsPerSecond, subscribers);
+    }
+
+    // 읽은 행 수를 반환, 전달할 구독자가 없으면 0
+    private int dispatchBatch() {
+        long now = System.currentTimeMillis();
+        List<Subscription> ready = new ArrayList<>();
+        long from = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions.values()) {
+            if (subscription.nextAttemptAt <= now) {
+                ready.add(subscription);
+                from = Math.min(from, subscription.lastId);
+            }
+        }
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        List<ItemOutbox> rows = outboxRepository.findAfter(from, PageRequest.of(0, batchSize));
+        recordHoles(rows, from, now);
+        for (Subscription subscription : ready) {
+            List<ItemOutbox> events = after(rows, subscription.lastId);
+            if (!events.isEmpty() && deliver(subscription, events, now)) {
+                subscription.lastId = events.get(events.size() - 1).getId();
+                saveOffset(subscription);
+            }
+        }
+        return rows.size();
+    }
+
+    private void recordHoles(List<ItemOutbox> rows, long from, long now) {
+        long previous = from;
+        for (ItemOutbox row : rows) {
+            long id = row.getId();
+            if (id - previous - 1 <= MAX_GAP) {
+                for (long hole = Math.max(previous, scannedId) + 1; hole < id; hole++) {
+                    holes.put(hole, now + gapTimeoutMillis);
+                }
+            }
+            previous = id;
+        }
+        scannedId = Math.max(scannedId, previous);
+    }
+
+    // 빈 id 중 그 사이 커밋된 행을 이미 그 id를 지나간 구독자에게 전달한다.
+    private void dispatchLate() {
+        if (holes.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        holes.values().removeIf(deadline -> deadline < now);
+        List<ItemOutbox> filled = new ArrayList<>(outboxRepository.findAllById(new ArrayList<>(holes.keySet())));
+        if (filled.isEmpty()) {
+            return;
+        }
+        filled.sort(Comparator.comparing(ItemOutbox::getId));
+        filled.forEach(row -> holes.remove(row.getId()));
+
+        for (Subscription subscription : subscriptions.values()) {
+            List<ItemOutbox> events = new ArrayList<>();
+            for (ItemOutbox row : filled) {
+                if (row.getId() <= subscription.lastId) {
+                    events.add(row);
+                }
+            }
+            if (events.isEmpty()) {
+                continue;
+            }
+            // 실패하면(또는 재시도 대기 중이면) 위치를 빈 id 앞으로 되돌려 다시 읽게 한다. (그 사이 이벤트는 중복 전달)
+            if (subscription.nextAttemptAt > now || !deliver(subscription, events, now)) {
+                subscription.lastId = events.get(0).getId() - 1;
+            }
+            saveOffset(subscription);
+        }
+    }
+
+    private static List<ItemOutbox> after(List<ItemOutbox> rows, long lastId) {
+        int start = 0;
+        while (start < rows.size() && rows.get(start).getId() <= lastId) {
+            start++;
+        }
+        return rows.subList(start, rows.size());
+    }
+
+    // 이미 전달한 버전보다 오래된 이벤트는 빼고 전달한다. 전부 빠지면 전달한 것으로 본다.
+    private boolean deliver(Subscription subscription, List<ItemOutbox> events, long now) {
+        subscription.expireVersions(now - gapTimeoutMillis);
+        Map<Long, Long> latest = new HashMap<>();
+        List<ItemOutbox> fresh = new ArrayList<>(events.size());
+        for (ItemOutbox event : events) {
+            Long rank = rank(event);
+            if (rank == null) {
+                fresh.add(event);
+                continue;
+            }
+            Long delivered = latest.containsKey(event.getItemId())
+                    ? latest.get(event.getItemId()) : subscription.deliveredRank(event.getItemId());
+            if (delivered != null && rank <= delivered) {
+                log.debug("[outbox] 구독자 {} : {}번 이벤트는 이미 전달한 상품 {}의 변경보다 오래되어 건너뜁니다.",
+                        subscription.subscriber.getName(), event.getId(), event.getItemId());
+                continue;
+            }
+            latest.put(event.getItemId(), rank);
+            fresh.add(event);
+        }
+        if (fresh.isEmpty()) {
+            return true;
+        }
+        try {
+            subscription.subscriber.onEvents(fresh);
+        } catch (Exception e) {
+            subscription.failures++;
+            subscription.lastError = e.toString();
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << Math.min(20, subscription.failures - 1));
+            subscription.nextAttemptAt = System.currentTimeMillis() + backoff;
+            log.warn("[outbox] 구독자 {} 전달 실패 ({}번째), {}ms 뒤 {}번부터 다시 전달합니다.",
+                    subscription.subscriber.getName(), subscription.failures, backoff, events.get(0).getId(), e);
+            return false;
+        }
+        latest.forEach((itemId, rank) -> subscription.delivered(itemId, rank, now));
+        subscription.failures = 0;
+        subscription.lastError = null;
+        subscription.delivered += fresh.size();
+        delivered.add(fresh.size());
+        windowDelivered += fresh.size();
+        return true;
+    }
+
+    // 같은 상품 이벤트의 순서, 삭제는 같은 버전의 수정보다 뒤이다. (버전 컬럼이 생기기 전에 기록된 행은 null)
+    private static Long rank(ItemOutbox event) {
+        if (event.getItemVersion() == null) {
+            return null;
+        }
+        return event.getItemVersion() * 2 + (event.getChangeType() == ItemChangeType.DELETED ? 1 : 0);
+    }
+
+    // 아직 기다리는 빈 id가 있으면 그 앞까지만 저장한다.
+    private void saveOffset(Subscription subscription) {
+        long lastId = holes.isEmpty() ? subscription.lastId : Math.min(subscription.lastId, holes.firstKey() - 1);
+        try {
+            offsetRepository.save(new ItemOutboxOffset(subscription.subscriber.getName(), lastId));
+        } catch (RuntimeException e) {
+            // 저장하지 못하면 재시작 후 조금 더 앞에서부터 다시 전달될 뿐이다.
+            log.warn("[outbox] 구독자 {} 위치 저장 실패", subscription.subscriber.getName(), e);
+        }
+    }
+
+    private void updateThroughput() {
+        long elapsed = System.nanoTime() - windowStart;
+        if (elapsed >= 1_000_000_000L) {
+            eventsPerSecond = windowDelivered * 1_000_000_000.0 / elapsed;
+            windowDelivered = 0;
+            windowStart = System.nanoTime();
+        }
+    }
+
+    // dispatch(synchronized)에서만 값을 바꾸고 stats는 대략적인 값만 읽는다.
+    private static class Subscription {
+
+        private final ItemOutboxSubscriber subscriber;
+
+        private volatile long lastId;
+
+        private volatile long nextAttemptAt;
+
+        private volatile int failures;
+
+        private volatile long delivered;
+
+        private volatile String lastError;
+
+        // 상품 -> 마지막으로 전달한 이벤트 순서(rank)와 전달 시각, 전달 시각 순서
+        private final LinkedHashMap<Long, long[]> versions = new LinkedHashMap<>();
+
+        private Subscription(ItemOutboxSubscriber subscriber, long lastId) {
+            this.subscriber = subscriber;
+            this.lastId = lastId;
+        }
+
+        private Long deliveredRank(Long itemId) {
+            long[] version = versions.get(itemId);
+            return version == null ? null : version[0];
+        }
+
+        private void delivered(Long itemId, long rank, long now) {
+            versions.remove(itemId);
+            versions.put(itemId, new long[]{rank, now});
+        }
+
+        private void expireVersions(long before) {
+            Iterator<long[]> iterator = versions.values().iterator();
+            while (iterator.hasNext() && iterator.next()[1] < before) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package co.mr.myShopTest.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// /admin/outbox 응답
+@Getter
+public class ItemOutboxStats {
+
+    // item_outbox의 마지막 id, 행이 없으면 0
+    private final long maxId;
+
+    private final long delivered;
+
+    // 최근 측정 구간(1초 이상)의 초당 전달 이벤트 수, 구독자가 여럿이면 구독자별 전달을 모두 더한다.
+    private final double eventsPerSecond;
+
+    private final List<Subscriber> subscribers;
+
+    public ItemOutboxStats(long maxId, long delivered, double eventsPerSecond, List<Subscriber> subscribers) {
+        this.maxId = maxId;
+        this.delivered = delivered;
+        this.eventsPerSecond = eventsPerSecond;
+        this.subscribers = subscribers;
+    }
+
+    @Getter
+    public static class Subscriber {
+
+        private final String name;
+
+        private final long lastId;
+
+        // 아직 전달하지 못한 id 범위 (maxId - lastId)
+        private final long lag;
+
+        private final long delivered;
+
+        // 연속 실패 횟수
+        private final int failures;
+
+        private final String lastError;
+
+        public Subscriber(String name, long lastId, long lag, long delivered, int failures, String lastError) {
+            this.name = name;
+            this.lastId = lastId;
+            this.lag = lag;
+            this.delivered = delivered;
+            this.failures = failures;
+            this.lastError = lastError;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package co.mr.myShopTest.event;
+
+import co.mr.myShopTest.entity.ItemOutbox;
+
+import java.util.List;
+
+// outbox 구독자, 빈으로 등록하면 ItemOutboxDispatcher가 시작할 때 자동으로 등록한다.
+// (실행 중에는 ItemOutboxDispatcher.register로 등록)
+public interface ItemOutboxSubscriber {
+
+    // 전달 위치(item_outbox_offset)를 저장하는 키, 구독자마다 달라야 한다.
+    String getName();
+
+    // id 순서로 전달된다. 같은 상품은 이미 전달한 이벤트보다 버전이 낮은 이벤트를 빼고 전달하므로 변경 순서가 바뀌지 않는다.
+    // 예외를 던지면 이 목록의 처음부터 다시 전달하므로 같은 이벤트를 두 번 이상 받을 수 있다. (at-least-once)
+    void onEvents(List<ItemOutbox> events) throws Exception;
+}
@@ -0,0 +1,48 @@
+package co.mr.myShopTest.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// ItemChangeEvent를 item_outbox 테이블에 기록한다.
+// @TransactionalEventListener(커밋 후)가 아니라 @EventListener라서 엔티티 리스너가 호출된 그 자리(flush 도중)에서 실행되고,
+// JdbcTemplate은 JpaTransactionManager가 묶어 둔 같은 커넥션을 사용하므로 상품 변경과 같은 트랜잭션으로 커밋/롤백된다.
+// 재고 write-behind(StockReservationService.flush)도 재고 차감과 이벤트 발행을 한 트랜잭션으로 묶어 outbox 행이 함께 커밋되게 한다.
+// 트랜잭션 밖에서 발행하면 outbox 행이 따로 커밋되어 그 사이 장애에 이벤트를 잃으므로 트랜잭션 안에서 발행해야 한다.
+@Component
+public class ItemOutboxWriter {
+
+    private static final String INSERT_SQL = "insert into item_outbox (item_id, change_type, item_name, price, " +
+            "stock_number, item_detail, item_sell_status, reg_time, item_version, created_time) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    public ItemOutboxWriter(JdbcTemplate jdbcTemplate, @Value("${item.outbox.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onItemChange(ItemChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL,
+                event.getItemId(),
+                event.getChangeType().name(),
+                event.getItemName(),
+                event.getPrice(),
+                event.getStockNumber(),
+                event.getItemDetail(),
+                event.getItemSellStatus() == null ? null : event.getItemSellStatus().name(),
+                event.getRegTime(),
+                event.getVersion(),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,13 @@
+package co.mr.myShopTest.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 동시 실행 한도를 넘었고 대기열이 가득 찼거나 대기 시간 안에 차례가 오지 않은 경우 (503)
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package co.mr.myShopTest.exception;
+
+// 상품의 재고보다 많은 수량을 예약하려 할 때 발생
+public class OutOfStockException extends RuntimeException {
+
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,103 @@
+package co.mr.myShopTest.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 지연시간 히스토그램
+// 마이크로초 단위 2의 거듭제곱 구간(~1us, ~2us, ~4us ... ~2^40us)마다 건수만 센다.
+// record()는 배열 한 칸 증가와 합계/최대값 갱신뿐이라 호출마다 객체를 만들지 않는다.
+// 백분위수는 구간 상한값으로 계산하므로 실제 값보다 최대 2배 크게 나올 수 있다. (추세 확인용)
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 42;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = nanos / 1_000;
+        int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        double mean = total == 0 ? 0 : totalNanos.sum() / (double) total / 1_000_000;
+        return new Snapshot(total, mean, percentile(counts, total, max, 0.5),
+                percentile(counts, total, max, 0.95), percentile(counts, total, max, 0.99), max / 1_000_000.0);
+    }
+
+    private static double percentile(long[] counts, long total, long maxNanos, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                // i번 구간의 상한: 2^i us, 최대값보다 크게 보고하지 않는다.
+                return Math.min((1L << i) * 1_000, maxNanos) / 1_000_000.0;
+            }
+        }
+        return maxNanos / 1_000_000.0;
+    }
+
+    // 조회 시점의 값 (단위: ms)
+    @Getter
+    public static class Snapshot {
+
+        private final long count;
+
+        private final double meanMillis;
+
+        private final double p50Millis;
+
+        private final double p95Millis;
+
+        private final double p99Millis;
+
+        private final double maxMillis;
+
+        public Snapshot(long count, double meanMillis, double p50Millis, double p95Millis, double p99Millis,
+                        double maxMillis) {
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package co.mr.myShopTest.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// 쿼리 실행 지표
+// p6spy 로그(모든 SQL과 바인드 값을 문자열로 만들어 동기 출력) 대신 숫자만 모아 두고 /admin/metrics/queries 로 조회한다.
+// - SQL 모양별 / 레포지토리 메소드별 실행 시간 히스토그램, 조회 건수, 커넥션 획득 대기 시간
+// - 느린 쿼리(slow-threshold 이상)는 샘플링해서 바인드 값이 채워진 SQL을 최근 N건 보관
+// - 요청 하나에서 같은 모양의 select가 n-plus-one-threshold 번 이상 실행되면 N+1 의심으로 기록
+// query.metrics.enabled=false 이거나 실행 중에 끄면 (POST /admin/metrics/queries/enabled) 기록하지 않는다.
+@Slf4j
+@Component
+public class QueryMetrics {
+
+    static final String OTHER_SHAPE = "(other)";
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private volatile boolean enabled;
+
+    private volatile long slowThresholdNanos;
+
+    private final double slowSampleRate;
+
+    private final int nPlusOneThreshold;
+
+    // SQL 모양 개수 제한, 넘치면 (other)로 합친다.
+    private final int maxShapes;
+
+    // 느린 쿼리 / N+1 기록 보관 개수
+    private final int maxEvents;
+
+    // 원본 SQL -> 모양, 정규식 치환은 처음 한번만
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+
+    private volatile Map<String, SqlStats> sqlStats = new ConcurrentHashMap<>();
+
+    private volatile Map<String, LatencyHistogram> repositoryStats = new ConcurrentHashMap<>();
+
+    private volatile LatencyHistogram connectionWait = new LatencyHistogram();
+
+    private final Deque<QueryMetricsSnapshot.SlowQuery> slowQueries = new ArrayDeque<>();
+
+    private final Deque<QueryMetricsSnapshot.NPlusOne> repeatedSelects = new ArrayDeque<>();
+
+    // 요청 하나 동안 실행된 select 모양별 횟수
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+
+    public QueryMetrics(@Value("${query.metrics.enabled:true}") boolean enabled,
+                        @Value("${query.metrics.slow-threshold-ms:200}") long slowThresholdMillis,
+                        @Value("${query.metrics.slow-sample-rate:1.0}") double slowSampleRate,
+                        @Value("${query.metrics.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                        @Value("${query.metrics.max-shapes:500}") int maxShapes,
+                        @Value("${query.metrics.max-events:100}") int maxEvents) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+        this.slowSampleRate = slowSampleRate;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxShapes = maxShapes;
+        this.maxEvents = maxEvents;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            requestScope.remove();
+        }
+    }
+
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdNanos = slowThresholdMillis * 1_000_000;
+    }
+
+    public void recordConnectionWait(long nanos) {
+        connectionWait.record(nanos);
+    }
+
+    public void recordRepositoryCall(String method, long nanos) {
+        Map<String, LatencyHistogram> stats = repositoryStats;
+        LatencyHistogram histogram = stats.get(method);
+        if (histogram == null) {
+            histogram = stats.computeIfAbsent(method, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    public void recordStatement(String sql, long nanos, boolean failed) {
+        String shape = shape(sql);
+        SqlStats stats = stats(shape);
+        stats.latency.record(nanos);
+        if (failed) {
+            stats.errors.increment();
+        }
+        RequestScope scope = requestScope.get();
+        if (scope != null && shape.regionMatches(true, 0, "select", 0, 6)) {
+            scope.increment(shape);
+        }
+    }
+
+    public void recordRows(String sql, long rows) {
+        if (rows > 0) {
+            stats(shape(sql)).rows.add(rows);
+        }
+    }
+
+    // 느린 쿼리로 남길지 여부, 바인드 값을 채운 SQL은 만드는 비용이 있어서 이 값이 true일 때만 만든다.
+    public boolean isSlowQuerySampled(long nanos) {
+        return nanos >= slowThresholdNanos
+                && (slowSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowSampleRate);
+    }
+
+    public void recordSlowQuery(String sqlWithValues, long nanos) {
+        add(slowQueries, new QueryMetricsSnapshot.SlowQuery(sqlWithValues, nanos / 1_000_000.0, LocalDateTime.now()));
+    }
+
+    public void beginRequest(String request) {
+        requestScope.set(new RequestScope(request));
+    }
+
+    public void endRequest() {
+        RequestScope scope = requestScope.get();
+        if (scope == null) {
+            return;
+        }
+        requestScope.remove();
+        scope.counts.forEach((shape, count) -> {
+            if (count[0] >= nPlusOneThreshold) {
+                log.warn("[query] N+1 의심 : {} 요청에서 같은 select가 {}번 실행되었습니다. {}", scope.request, count[0], shape);
+                add(repeatedSelects, new QueryMetricsSnapshot.NPlusOne(scope.request, shape, count[0], LocalDateTime.now()));
+            }
+        });
+    }
+
+    public void reset() {
+        sqlStats = new ConcurrentHashMap<>();
+        repositoryStats = new ConcurrentHashMap<>();
+        connectionWait = new LatencyHistogram();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        synchronized (repeatedSelects) {
+            repeatedSelects.clear();
+        }
+    }
+
+    public QueryMetricsSnapshot snapshot() {
+        Map<String, LatencyHistogram.Snapshot> repositoryMethods = new TreeMap<>();
+        repositoryStats.forEach((method, histogram) -> repositoryMethods.put(method, histogram.snapshot()));
+
+        List<Map.Entry<String, SqlStats>> entries = new ArrayList<>(sqlStats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, SqlStats> entry) ->
+                entry.getValue().latency.getTotalNanos()).reversed());
+        List<QueryMetricsSnapshot.SqlShape> sqlShapes = new ArrayList<>(entries.size());
+        for (Map.Entry<String, SqlStats> entry : entries) {
+            SqlStats stats = entry.getValue();
+            sqlShapes.add(new QueryMetricsSnapshot.SqlShape(entry.getKey(), stats.latency.snapshot(),
+                    stats.rows.sum(), stats.errors.sum()));
+        }
+        return new QueryMetricsSnapshot(enabled, connectionWait.snapshot(), repositoryMethods, sqlShapes,
+                copy(slowQueries), copy(repeatedSelects));
+    }
+
+    String shape(String sql) {
+        if (sql == null) {
+            return OTHER_SHAPE;
+        }
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            // 리터럴이 박힌 SQL(Statement)이 계속 들어와도 캐시가 커지지 않도록 제한
+            if (shapes.size() < maxShapes * 4) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    // 문자열/숫자 리터럴 -> ?, in (?, ?, ?) -> in (?), 공백 정리
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    private SqlStats stats(String shape) {
+        Map<String, SqlStats> stats = sqlStats;
+        SqlStats result = stats.get(shape);
+        if (result == null) {
+            String key = stats.size() < maxShapes ? shape : OTHER_SHAPE;
+            result = stats.computeIfAbsent(key, k -> new SqlStats());
+        }
+        return result;
+    }
+
+    private <T> void add(Deque<T> events, T event) {
+        synchronized (events) {
+            if (events.size() >= maxEvents) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    private static <T> List<T> copy(Deque<T> events) {
+        synchronized (events) {
+            return new ArrayList<>(events);
+        }
+    }
+
+    private static class SqlStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder rows = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private static class RequestScope {
+
+        private final String request;
+
+        private final Map<String, int[]> counts = new HashMap<>();
+
+        private RequestScope(String request) {
+            this.request = request;
+        }
+
+        private void increment(String shape) {
+            counts.computeIfAbsent(shape, key -> new int[1])[0]++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package co.mr.myShopTest.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 요청 단위로 실행된 select를 모아서 N+1 패턴을 찾는다.
+// 뷰 렌더링 중 지연 로딩도 포함되도록 afterCompletion에서 마감한다.
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryMetrics queryMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (queryMetrics.isEnabled()) {
+            queryMetrics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        }
+        return true;
+    }
+
+    // 비동기 처리로 넘어가면 요청 스레드가 반환되므로 여기서 마감한다.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        queryMetrics.endRequest();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        queryMetrics.endRequest();
+    }
+}
@@ -0,0 +1,48 @@
+package co.mr.myShopTest.metrics;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+// p6spy가 감싼 DataSource의 JDBC 이벤트를 QueryMetrics로 넘긴다.
+// p6spy-spring-boot-starter는 JdbcEventListener 빈을 자동으로 등록한다.
+// 로그 출력(decorator.datasource.p6spy.enable-logging)은 끄고 이 리스너만 사용한다.
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsListener extends SimpleJdbcEventListener {
+
+    private final QueryMetrics queryMetrics;
+
+    // 커넥션 풀에서 커넥션을 얻을 때까지 걸린 시간
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (queryMetrics.isEnabled()) {
+            queryMetrics.recordConnectionWait(connectionInformation.getTimeToGetConnectionNs());
+        }
+    }
+
+    // execute, executeQuery, executeUpdate, executeBatch
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (!queryMetrics.isEnabled()) {
+            return;
+        }
+        queryMetrics.recordStatement(statementInformation.getSql(), timeElapsedNanos, e != null);
+        if (queryMetrics.isSlowQuerySampled(timeElapsedNanos)) {
+            queryMetrics.recordSlowQuery(statementInformation.getSqlWithValues(), timeElapsedNanos);
+        }
+    }
+
+    // 결과 행 수, next()가 true를 반환한 횟수
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        if (queryMetrics.isEnabled()) {
+            queryMetrics.recordRows(resultSetInformation.getSql(), resultSetInformation.getCurrRow() + 1);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package co.mr.myShopTest.metrics;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// /admin/metrics/queries 응답
+@Getter
+public class QueryMetricsSnapshot {
+
+    private final boolean enabled;
+
+    private final LatencyHistogram.Snapshot connectionWait;
+
+    // "ItemRepository.findByItemName" -> 실행 시간
+    private final Map<String, LatencyHistogram.Snapshot> repositoryMethods;
+
+    // 총 실행 시간이 큰 순서
+    private final List<SqlShape> sqlShapes;
+
+    private final List<SlowQuery> slowQueries;
+
+    // N+1 의심
+    private final List<NPlusOne> repeatedSelects;
+
+    public QueryMetricsSnapshot(boolean enabled, LatencyHistogram.Snapshot connectionWait,
+                                Map<String, LatencyHistogram.Snapshot> repositoryMethods, List<SqlShape> sqlShapes,
+                                List<SlowQuery> slowQueries, List<NPlusOne> repeatedSelects) {
+        this.enabled = enabled;
+        this.connectionWait = connectionWait;
+        this.repositoryMethods = repositoryMethods;
+        this.sqlShapes = sqlShapes;
+        this.slowQueries = slowQueries;
+        this.repeatedSelects = repeatedSelects;
+    }
+
+    // 바인드 값과 IN 목록 길이를 걷어낸 SQL 별 통계
+    @Getter
+    public static class SqlShape {
+
+        private final String sql;
+
+        private final LatencyHistogram.Snapshot latency;
+
+        private final long rows;
+
+        private final long errors;
+
+        public SqlShape(String sql, LatencyHistogram.Snapshot latency, long rows, long errors) {
+            this.sql = sql;
+            this.latency = latency;
+            this.rows = rows;
+            this.errors = errors;
+        }
+    }
+
+    // 느린 쿼리, 바인드 값이 채워진 SQL을 남긴다.
+    @Getter
+    public static class SlowQuery {
+
+        private final String sql;
+
+        private final double millis;
+
+        private final LocalDateTime executedAt;
+
+        public SlowQuery(String sql, double millis, LocalDateTime executedAt) {
+            this.sql = sql;
+            this.millis = millis;
+            this.executedAt = executedAt;
+        }
+    }
+
+    // 한 요청 안에서 같은 모양의 select가 반복된 경우
+    @Getter
+    public static class NPlusOne {
+
+        private final String request;
+
+        private final String sql;
+
+        private final int count;
+
+        private final LocalDateTime detectedAt;
+
+        public NPlusOne(String request, String sql, int count, LocalDateTime detectedAt) {
+            this.request = request;
+            this.sql = sql;
+            this.count = count;
+            this.detectedAt = detectedAt;
+        }
+    }
+}
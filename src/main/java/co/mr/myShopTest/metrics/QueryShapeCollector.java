@@ -0,0 +1,97 @@
+package co.mr.myShopTest.metrics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 실행된 select의 SQL 모양별로 실행한 SQL을 하나씩 남긴다. (실행 계획 확인용, IndexAdvisor, query.plan.capture.enabled=true 일 때만)
+// EXPLAIN에는 바인드 값이 채워진 SQL이 필요해서 함께 보관하지만 개인정보가 들어 있을 수 있으므로 밖으로 내보내지 않는다. (QueryPlan.sql은 ? 그대로)
+// 바인드 값을 채운 SQL은 만드는 비용이 있어서 처음 보는 모양일 때만 만든다.
+// capture()는 그 안에서 이 스레드가 실행한 select를 모양과 관계없이 모두 돌려준다. (실행 계획 회귀 테스트용)
+@Component
+public class QueryShapeCollector extends SimpleJdbcEventListener {
+
+    private final QueryMetrics queryMetrics;
+
+    private final boolean enabled;
+
+    private final int maxShapes;
+
+    private final Map<String, Sample> samples = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<List<Sample>> captured = new ThreadLocal<>();
+
+    public QueryShapeCollector(QueryMetrics queryMetrics,
+                               @Value("${query.plan.capture.enabled:false}") boolean enabled,
+                               @Value("${query.metrics.max-shapes:500}") int maxShapes) {
+        this.queryMetrics = queryMetrics;
+        this.enabled = enabled;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (e != null || sql == null || !sql.trim().regionMatches(true, 0, "select", 0, 6)) {
+            return;
+        }
+        List<Sample> scope = captured.get();
+        if (scope != null) {
+            scope.add(new Sample(sql, statementInformation.getSqlWithValues()));
+        }
+        if (enabled && samples.size() < maxShapes) {
+            String shape = queryMetrics.shape(sql);
+            if (!samples.containsKey(shape)) {
+                samples.putIfAbsent(shape, new Sample(sql, statementInformation.getSqlWithValues()));
+            }
+        }
+    }
+
+    // SQL 모양 -> 실행한 SQL
+    public Map<String, Sample> getSamples() {
+        return new LinkedHashMap<>(samples);
+    }
+
+    public void reset() {
+        samples.clear();
+    }
+
+    public List<Sample> capture(Runnable task) {
+        List<Sample> previous = captured.get();
+        List<Sample> statements = new ArrayList<>();
+        captured.set(statements);
+        try {
+            task.run();
+            return statements;
+        } finally {
+            if (previous == null) {
+                captured.remove();
+            } else {
+                captured.set(previous);
+            }
+        }
+    }
+
+    // 실행한 SQL 하나, sql : 바인드 값 자리가 ? 인 SQL, sqlWithValues : EXPLAIN용으로 바인드 값을 채운 SQL
+    @Getter
+    public static class Sample {
+
+        private final String sql;
+
+        private final String sqlWithValues;
+
+        public Sample(String sql, String sqlWithValues) {
+            this.sql = sql;
+            this.sqlWithValues = sqlWithValues;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package co.mr.myShopTest.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모든 Spring Data 레포지토리 프록시에 실행 시간 측정 advice를 추가한다.
+// 레포지토리 프록시는 팩토리 빈의 afterPropertiesSet()에서 만들어지므로 그 전에 커스터마이저를 등록한다.
+// BeanPostProcessor는 다른 빈보다 먼저 생성되므로 QueryMetrics는 ObjectProvider로 늦게 꺼낸다.
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryMetrics> queryMetrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(), queryMetrics))));
+        }
+        return bean;
+    }
+
+    static class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        private final ObjectProvider<QueryMetrics> queryMetricsProvider;
+
+        private volatile QueryMetrics queryMetrics;
+
+        // Method -> "ItemRepository.findByItemName", 호출마다 문자열을 만들지 않도록 보관
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        RepositoryMetricsInterceptor(String repositoryName, ObjectProvider<QueryMetrics> queryMetricsProvider) {
+            this.repositoryName = repositoryName;
+            this.queryMetricsProvider = queryMetricsProvider;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            QueryMetrics metrics = queryMetrics;
+            if (metrics == null) {
+                metrics = queryMetrics = queryMetricsProvider.getIfAvailable();
+            }
+            if (metrics == null || !metrics.isEnabled()) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                metrics.recordRepositoryCall(name(invocation.getMethod()), System.nanoTime() - start);
+            }
+        }
+
+        private String name(Method method) {
+            String name = names.get(method);
+            if (name == null) {
+                name = names.computeIfAbsent(method, key -> repositoryName + "." + key.getName());
+            }
+            return name;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package co.mr.myShopTest.plan;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// /admin/metrics/queries/index-advice 응답
+// plans : 모은 select마다의 실행 계획, suggestions : 전체 읽기/따로 정렬을 없애기 위해 추가를 제안하는 인덱스
+@Getter
+public class IndexAdvice {
+
+    private final String database;
+
+    private final List<QueryPlan> plans;
+
+    private final List<IndexSuggestion> suggestions;
+
+    public IndexAdvice(String database, List<QueryPlan> plans, List<IndexSuggestion> suggestions) {
+        this.database = database;
+        this.plans = plans;
+        this.suggestions = suggestions;
+    }
+}
@@ -0,0 +1,275 @@
+package co.mr.myShopTest.plan;
+
+import co.mr.myShopTest.metrics.QueryShapeCollector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// 인덱스 추천
+// 실행된 select(QueryShapeCollector)마다 EXPLAIN을 실행하고, 대상 테이블(query.plan.tables)을 전체 읽거나 따로 정렬하는 SQL에서
+// where/order by의 컬럼으로 복합 인덱스를 만든다.
+// - 컬럼 순서 : 같음(=, in, is null) 조건 -> order by 컬럼 -> 범위(<, >, between, 'abc%' like) 조건 하나
+// - LOB 컬럼, 앞이 %인 like, or로 묶인 조건은 인덱스로 찾을 수 없으므로 쓰지 않는다. (or가 있으면 order by 컬럼만)
+// - 끝의 기본키 컬럼은 뺀다. (보조 인덱스에는 기본키가 들어 있다.)
+// - 이미 있는 인덱스가 같은 컬럼으로 시작하거나, 다른 제안이 앞부분을 포함하면 제안하지 않는다.
+@Component
+public class IndexAdvisor {
+
+    private static final Pattern TABLE_REF = Pattern.compile("\\b(?:from|join)\\s+(\\w+)(?:\\s+(?:as\\s+)?(\\w+))?");
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "where", "order", "group", "limit", "offset", "fetch", "inner", "left", "right", "cross", "join", "on"));
+
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b");
+
+    private static final Pattern END_OF_WHERE = Pattern.compile("\\b(?:group\\s+by|order\\s+by|limit|offset|fetch|for\\s+update)\\b");
+
+    private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\b");
+
+    private static final Pattern END_OF_ORDER_BY = Pattern.compile("\\b(?:limit|offset|fetch|for\\s+update)\\b");
+
+    private static final Pattern OR = Pattern.compile("\\bor\\b");
+
+    private static final Set<Integer> LOB_TYPES = new HashSet<>(Arrays.asList(Types.CLOB, Types.NCLOB, Types.BLOB,
+            Types.LONGVARCHAR, Types.LONGNVARCHAR, Types.LONGVARBINARY));
+
+    private final DataSource dataSource;
+
+    private final QueryShapeCollector queryShapeCollector;
+
+    private final Set<String> tables;
+
+    public IndexAdvisor(DataSource dataSource, QueryShapeCollector queryShapeCollector,
+                        @Value("${query.plan.tables:item}") String[] tables) {
+        this.dataSource = dataSource;
+        this.queryShapeCollector = queryShapeCollector;
+        this.tables = Arrays.stream(tables).map(table -> table.trim().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    // 지금까지 실행된 select 모양마다
+    public IndexAdvice advise() {
+        return advise(queryShapeCollector.getSamples().values());
+    }
+
+    public IndexAdvice advise(Collection<QueryShapeCollector.Sample> sqls) {
+        QueryPlanExplainer explainer = new QueryPlanExplainer(dataSource);
+        Map<String, TableInfo> tableInfos = new TreeMap<>();
+        Map<String, IndexSuggestion> suggestions = new LinkedHashMap<>();
+        List<QueryPlan> plans = new ArrayList<>(sqls.size());
+
+        for (QueryShapeCollector.Sample sql : sqls) {
+            QueryPlan plan = explainer.explain(sql);
+            plans.add(plan);
+            if (plan.getError() != null || (plan.getFullScans().isEmpty() && !plan.isFilesort())) {
+                continue;
+            }
+            String lower = plan.getShape().toLowerCase(Locale.ROOT);
+            Matcher ref = TABLE_REF.matcher(lower);
+            while (ref.find()) {
+                String table = ref.group(1);
+                if (!tables.contains(table)) {
+                    continue;
+                }
+                String alias = ref.group(2) == null || KEYWORDS.contains(ref.group(2)) ? table : ref.group(2);
+                TableInfo info = tableInfos.computeIfAbsent(table, this::tableInfo);
+                List<String> orderColumns = orderColumns(lower, alias, info);
+                // 따로 정렬만 하는 경우는 order by 컬럼이 있어야 인덱스로 없앨 수 있다.
+                if (!plan.isFullScan(table) && orderColumns.isEmpty()) {
+                    continue;
+                }
+                List<String> columns = candidateColumns(lower, sql.getSqlWithValues(), alias, info, orderColumns);
+                if (columns.isEmpty() || info.isCovered(columns)) {
+                    continue;
+                }
+                suggestions.computeIfAbsent(table + columns, key -> new IndexSuggestion(table, columns))
+                        .getShapes().add(plan.getShape());
+            }
+        }
+        return new IndexAdvice(explainer.getDatabase().name(), plans, merge(suggestions.values()));
+    }
+
+    private static List<String> candidateColumns(String lower, String sql, String alias, TableInfo info,
+                                                 List<String> orderColumns) {
+        String column = Pattern.quote(alias) + "\\.(\\w+)";
+        Set<String> equality = new LinkedHashSet<>();
+        Set<String> range = new LinkedHashSet<>();
+        String where = clause(lower, WHERE, END_OF_WHERE);
+        if (where != null && !OR.matcher(where).find()) {
+            collect(Pattern.compile(column + "\\s*(?:=\\s*\\?|\\s+in\\s*\\(|\\s+is\\s+null)"), where, info, equality);
+            collect(Pattern.compile(column + "\\s*(?:<=|>=|<(?!>)|>)\\s*\\?"), where, info, range);
+            collect(Pattern.compile(column + "\\s+between\\b"), where, info, range);
+            // 바인드 값을 봐야 하므로 원래 SQL에서 찾는다.
+            Matcher like = Pattern.compile("(?i)" + column + "\\s+like\\s+'([^']*)'").matcher(sql);
+            while (like.find()) {
+                String name = like.group(1).toLowerCase(Locale.ROOT);
+                if (info.columns.contains(name) && !like.group(2).isEmpty()
+                        && like.group(2).charAt(0) != '%' && like.group(2).charAt(0) != '_') {
+                    range.add(name);
+                }
+            }
+        }
+        // 기본키로 찾는 쿼리
+        if (!info.primaryKey.isEmpty() && equality.containsAll(info.primaryKey)) {
+            return List.of();
+        }
+
+        List<String> columns = new ArrayList<>(equality);
+        for (String orderColumn : orderColumns) {
+            if (!columns.contains(orderColumn)) {
+                columns.add(orderColumn);
+            }
+        }
+        for (String rangeColumn : range) {
+            if (!columns.contains(rangeColumn)) {
+                columns.add(rangeColumn);
+                break;
+            }
+        }
+        while (!columns.isEmpty() && info.primaryKey.contains(columns.get(columns.size() - 1))) {
+            columns.remove(columns.size() - 1);
+        }
+        return columns;
+    }
+
+    // order by 앞에서부터 이 테이블의 컬럼인 동안
+    private static List<String> orderColumns(String lower, String alias, TableInfo info) {
+        String orderBy = clause(lower, ORDER_BY, END_OF_ORDER_BY);
+        List<String> columns = new ArrayList<>();
+        if (orderBy == null) {
+            return columns;
+        }
+        Pattern term = Pattern.compile(Pattern.quote(alias) + "\\.(\\w+)(?:\\s+(?:asc|desc))?(?:\\s+nulls\\s+(?:first|last))?");
+        for (String part : orderBy.split(",")) {
+            Matcher matcher = term.matcher(part.trim());
+            if (!matcher.matches() || !(info.columns.contains(matcher.group(1)) || info.primaryKey.contains(matcher.group(1)))) {
+                break;
+            }
+            columns.add(matcher.group(1));
+        }
+        return columns;
+    }
+
+    private static String clause(String sql, Pattern start, Pattern end) {
+        Matcher matcher = start.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        String rest = sql.substring(matcher.end());
+        Matcher endMatcher = end.matcher(rest);
+        return endMatcher.find() ? rest.substring(0, endMatcher.start()) : rest;
+    }
+
+    private static void collect(Pattern pattern, String where, TableInfo info, Set<String> columns) {
+        Matcher matcher = pattern.matcher(where);
+        while (matcher.find()) {
+            if (info.columns.contains(matcher.group(1))) {
+                columns.add(matcher.group(1));
+            }
+        }
+    }
+
+    // 다른 제안이 앞부분을 포함하는 제안은 그 제안에 합친다. 예) (item_sell_status) -> (item_sell_status, price)
+    private static List<IndexSuggestion> merge(Collection<IndexSuggestion> suggestions) {
+        List<IndexSuggestion> result = new ArrayList<>();
+        for (IndexSuggestion suggestion : suggestions) {
+            IndexSuggestion covering = null;
+            for (IndexSuggestion other : suggestions) {
+                if (other != suggestion && other.getTable().equals(suggestion.getTable())
+                        && other.getColumns().size() > suggestion.getColumns().size()
+                        && startsWith(other.getColumns(), suggestion.getColumns())) {
+                    covering = other;
+                    break;
+                }
+            }
+            if (covering == null) {
+                result.add(suggestion);
+            } else {
+                covering.getShapes().addAll(suggestion.getShapes());
+            }
+        }
+        return result;
+    }
+
+    private static boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private TableInfo tableInfo(String table) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> {
+                String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+                String catalog = metaData.getConnection().getCatalog();
+                TableInfo info = new TableInfo();
+                try (ResultSet columns = metaData.getColumns(catalog, null, name, null)) {
+                    while (columns.next()) {
+                        if (!LOB_TYPES.contains(columns.getInt("DATA_TYPE"))) {
+                            info.columns.add(columns.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                try (ResultSet primaryKey = metaData.getPrimaryKeys(catalog, null, name)) {
+                    while (primaryKey.next()) {
+                        info.primaryKey.add(primaryKey.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+                readIndexes(metaData, catalog, name, info);
+                return info;
+            });
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("테이블 정보를 읽을 수 없습니다. : " + table, e);
+        }
+    }
+
+    private static void readIndexes(DatabaseMetaData metaData, String catalog, String table, TableInfo info)
+            throws SQLException {
+        Map<String, TreeMap<Short, String>> indexes = new LinkedHashMap<>();
+        try (ResultSet index = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (index.next()) {
+                String indexName = index.getString("INDEX_NAME");
+                String column = index.getString("COLUMN_NAME");
+                if (indexName != null && column != null) {
+                    indexes.computeIfAbsent(indexName, key -> new TreeMap<>())
+                            .put(index.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        for (TreeMap<Short, String> columns : indexes.values()) {
+            info.indexes.add(new ArrayList<>(columns.values()));
+        }
+    }
+
+    private static class TableInfo {
+
+        // 인덱스를 만들 수 있는 컬럼 (LOB 제외)
+        private final Set<String> columns = new HashSet<>();
+
+        private final List<String> primaryKey = new ArrayList<>();
+
+        private final List<List<String>> indexes = new ArrayList<>();
+
+        private boolean isCovered(List<String> columns) {
+            return indexes.stream().anyMatch(index -> startsWith(index, columns));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package co.mr.myShopTest.plan;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 추가를 제안하는 인덱스 하나와 그 인덱스가 필요한 SQL 모양들
+@Getter
+public class IndexSuggestion {
+
+    private final String table;
+
+    private final List<String> columns;
+
+    private final String name;
+
+    private final List<String> shapes = new ArrayList<>();
+
+    public IndexSuggestion(String table, List<String> columns) {
+        this.table = table;
+        this.columns = columns;
+        this.name = indexName(table, columns);
+    }
+
+    public String getDdl() {
+        return "create index " + name + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    // 컬럼 이름 앞의 테이블 이름은 뺀다. 예) item (item_sell_status, price) -> idx_item_sell_status_price
+    private static String indexName(String table, List<String> columns) {
+        StringBuilder name = new StringBuilder("idx_").append(table);
+        for (String column : columns) {
+            name.append('_').append(column.startsWith(table + "_") ? column.substring(table.length() + 1) : column);
+        }
+        return name.toString();
+    }
+}
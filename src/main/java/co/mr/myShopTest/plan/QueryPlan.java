@@ -0,0 +1,66 @@
+package co.mr.myShopTest.plan;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// EXPLAIN 결과 하나
+// indexes : 사용한 인덱스 (기본키는 PRIMARY), fullScans : 인덱스 없이 전체를 읽은 테이블
+// filesort : order by를 인덱스 순서로 해결하지 못해 따로 정렬함
+// EXPLAIN을 실행하지 못했으면 error만 채워진다.
+@Getter
+public class QueryPlan {
+
+    private final String shape;
+
+    private final String sql;
+
+    private final List<String> indexes;
+
+    private final List<String> fullScans;
+
+    private final boolean filesort;
+
+    private final String plan;
+
+    private final String error;
+
+    public QueryPlan(String shape, String sql, List<String> indexes, List<String> fullScans, boolean filesort,
+                     String plan) {
+        this.shape = shape;
+        this.sql = sql;
+        this.indexes = indexes;
+        this.fullScans = fullScans;
+        this.filesort = filesort;
+        this.plan = plan;
+        this.error = null;
+    }
+
+    public QueryPlan(String shape, String sql, String error) {
+        this.shape = shape;
+        this.sql = sql;
+        this.indexes = List.of();
+        this.fullScans = List.of();
+        this.filesort = false;
+        this.plan = null;
+        this.error = error;
+    }
+
+    public boolean isFullScan(String table) {
+        return fullScans.contains(table.toUpperCase(Locale.ROOT));
+    }
+
+    // 실행 계획 회귀 테스트의 기준 값, 예) "IDX_ITEM_PRICE filesort", "ITEM.tableScan"
+    public String getSummary() {
+        if (error != null) {
+            return "error";
+        }
+        List<String> access = new ArrayList<>(indexes);
+        for (String table : fullScans) {
+            access.add(table + ".tableScan");
+        }
+        return String.join(",", access) + (filesort ? " filesort" : "");
+    }
+}
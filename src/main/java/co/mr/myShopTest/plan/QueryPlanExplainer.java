@@ -0,0 +1,111 @@
+package co.mr.myShopTest.plan;
+
+import co.mr.myShopTest.metrics.QueryMetrics;
+import co.mr.myShopTest.metrics.QueryShapeCollector;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 바인드 값이 채워진 select에 EXPLAIN을 실행해서 어떤 인덱스를 쓰는지 읽는다.
+// 결과(QueryPlan.sql)에는 바인드 값 자리가 ? 인 SQL을 남긴다.
+// H2   : 계획 문자열의 테이블 뒤 주석  /* PUBLIC.ITEM.tableScan */, /* PUBLIC.IDX_ITEM_PRICE: PRICE < 1000 */
+//        order by가 있는데 "/* index sorted */"가 없으면 따로 정렬한 것 (1.4.200은 내림차순 정렬에 인덱스를 쓰지 못한다.)
+// MySQL: type이 ALL(테이블 전체) 또는 index(인덱스 전체)면 전체 읽기, Extra에 Using filesort가 있으면 따로 정렬
+public class QueryPlanExplainer {
+
+    private static final Pattern H2_ACCESS = Pattern.compile(
+            "(?:FROM|JOIN)\\s+\"?\\w+\"?\\.\"?(\\w+)\"?(?:\\s+\"?\\w+\"?)?\\s*/\\*\\s*\\w+\\.([\\w.]+)");
+
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)\\border\\s+by\\b");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DatabaseDriver database;
+
+    public QueryPlanExplainer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.database = detect(dataSource);
+    }
+
+    public DatabaseDriver getDatabase() {
+        return database;
+    }
+
+    public QueryPlan explain(QueryShapeCollector.Sample sample) {
+        String sql = sample.getSql();
+        String shape = QueryMetrics.normalize(sql);
+        try {
+            switch (database) {
+                case H2:
+                    return h2(shape, sql, jdbcTemplate.queryForObject("explain " + sample.getSqlWithValues(), String.class));
+                case MYSQL:
+                case MARIADB:
+                    return mysql(shape, sql, jdbcTemplate.queryForList("explain " + sample.getSqlWithValues()));
+                default:
+                    return new QueryPlan(shape, sql, "실행 계획을 해석할 수 없는 DB입니다. : " + database);
+            }
+        } catch (DataAccessException e) {
+            return new QueryPlan(shape, sql, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static QueryPlan h2(String shape, String sql, String plan) {
+        List<String> indexes = new ArrayList<>();
+        List<String> fullScans = new ArrayList<>();
+        Matcher matcher = H2_ACCESS.matcher(plan);
+        while (matcher.find()) {
+            String access = matcher.group(2);
+            if (access.endsWith(".tableScan")) {
+                fullScans.add(matcher.group(1));
+            } else {
+                indexes.add(access.startsWith("PRIMARY_KEY") ? "PRIMARY" : access);
+            }
+        }
+        boolean filesort = ORDER_BY.matcher(plan).find() && !plan.contains("/* index sorted */");
+        return new QueryPlan(shape, sql, indexes, fullScans, filesort, plan);
+    }
+
+    private static QueryPlan mysql(String shape, String sql, List<Map<String, Object>> rows) {
+        List<String> indexes = new ArrayList<>();
+        List<String> fullScans = new ArrayList<>();
+        boolean filesort = false;
+        for (Map<String, Object> row : rows) {
+            Object extra = row.get("Extra");
+            filesort |= extra != null && extra.toString().contains("Using filesort");
+            // Impossible WHERE, 테이블 없는 select 등
+            Object table = row.get("table");
+            if (table == null) {
+                continue;
+            }
+            String type = String.valueOf(row.get("type"));
+            Object key = row.get("key");
+            if ("ALL".equals(type) || "index".equals(type)) {
+                fullScans.add(table.toString().toUpperCase(Locale.ROOT));
+            }
+            if (key != null) {
+                indexes.add(key.toString().toUpperCase(Locale.ROOT));
+            }
+        }
+        return new QueryPlan(shape, sql, indexes, fullScans, filesort, rows.toString());
+    }
+
+    private static DatabaseDriver detect(DataSource dataSource) {
+        try {
+            return DatabaseDriver.fromProductName(
+                    JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("DB 종류를 확인할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package co.mr.myShopTest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 페이징 결과
+// nextCursor는 다음 페이지가 없으면 null
+// totalCount는 요청한 경우(첫 페이지에서만) 채워지고, 아니면 null이다.
+// 매 페이지마다 count(*)를 날리지 않기 위함
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private final Long totalCount;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
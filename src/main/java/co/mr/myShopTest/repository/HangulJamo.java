@@ -0,0 +1,109 @@
+package co.mr.myShopTest.repository;
+
+import java.util.Locale;
+
+// 한글 음절을 자모로 분해한다. (자동완성용)
+// 입력 중인 글자도 앞부분이 맞으면 찾을 수 있도록 이름과 검색어를 모두 자모 단위로 바꿔서 비교한다.
+// 예> "청바지" -> "ㅊㅓㅇㅂㅏㅈㅣ", 입력 중인 "청밪" -> "ㅊㅓㅇㅂㅏㅈ" (앞부분 일치)
+// 겹받침, 이중모음도 나눈다. (ㄺ -> ㄹㄱ, ㅘ -> ㅗㅏ) "달"까지 입력해도 "닭"이 검색된다.
+// 쌍자음(ㄲ, ㄸ ...)은 자판에서 한번에 입력하므로 나누지 않는다.
+final class HangulJamo {
+
+    private static final char SYLLABLE_BEGIN = '\uAC00'; // 가
+
+    private static final char SYLLABLE_END = '\uD7A3'; // 힣
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final String[] JUNGSEONG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+
+    private static final String[] JONGSEONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ",
+            "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    // 호환용 자모(ㄱ ~ ㅣ) 중 겹받침/이중모음 분해
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+
+    private static final String[] COMPOUND_JAMO_PARTS = {"ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅂㅅ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+
+    private HangulJamo() {
+    }
+
+    // 소문자, 앞뒤 공백 제거, 연속 공백은 하나로
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // normalize 후 자모 분해
+    static String decompose(String text) {
+        String normalized = normalize(text);
+        StringBuilder sb = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BEGIN && c <= SYLLABLE_END) {
+                int index = c - SYLLABLE_BEGIN;
+                sb.append(CHOSEONG.charAt(index / 588))
+                        .append(JUNGSEONG[index % 588 / 28])
+                        .append(JONGSEONG[index % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) {
+                    sb.append(COMPOUND_JAMO_PARTS[compound]);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // 초성만 추출, 한글 음절이 아닌 글자는 그대로 둔다.
+    // 예> "청바지 세트" -> "ㅊㅂㅈ ㅅㅌ"
+    static String choseong(String text) {
+        String normalized = normalize(text);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BEGIN && c <= SYLLABLE_END) {
+                sb.append(CHOSEONG.charAt((c - SYLLABLE_BEGIN) / 588));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 자음만 두 글자 이상 입력한 경우 초성 검색으로 본다. (예> "ㅊㅂㅈ")
+    // 한 글자(ㅊ)는 자모 검색과 결과가 같다.
+    static boolean isChoseongQuery(String text) {
+        String normalized = normalize(text);
+        int consonants = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (CHOSEONG.indexOf(c) >= 0) {
+                consonants++;
+            } else if (c != ' ') {
+                return false;
+            }
+        }
+        return consonants >= 2;
+    }
+}
@@ -0,0 +1,189 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 상품 조회 캐시 (read-through)
+// 상품 상세(id)와 목록 조회 결과를 메모리에 보관해서 같은 조회가 반복될 때 DB에 가지 않는다.
+// - 크기(maximumSize)와 TTL(expireAfterWrite)로 제한
+// - 같은 키를 동시에 조회하면 DB 조회는 한번만 실행되고 나머지는 그 결과를 기다린다. (Caffeine get(key, loader))
+// - Item이 저장/수정/삭제되면(ItemChangeEvent) 해당 상품과 목록 캐시 전체를 비운다.
+//   어떤 목록에 영향이 있는지 조건식만으로는 알 수 없으므로 목록 캐시는 전부 비운다.
+
+// 히트/미스/제거/로딩 시간 통계는 GET /admin/metrics/cache 로 조회한다.
+
+// 캐시된 ItemDto는 여러 요청이 공유하므로 꺼낼 때 복사본을 반환한다. (ItemListDto, Page는 변경 불가)
+@Repository
+public class ItemCacheRepository {
+
+    private final ItemRepository itemRepository;
+
+    private final Cache<Long, Optional<ItemDto>> itemCache;
+
+    private final Cache<String, Object> queryCache;
+
+    // 변경이 일어날 때마다 증가
+    // 조회하는 동안 변경이 있었다면 이전 값이 캐시에 남지 않도록 조회 결과를 버린다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemCacheRepository(ItemRepository itemRepository,
+                               @Value("${item.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${item.cache.ttl:10m}") Duration ttl) {
+        this.itemRepository = itemRepository;
+        this.itemCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.queryCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ItemDto> findById(Long id) {
+        return load(itemCache, id, () -> itemRepository.findById(id).map(ItemDto::of))
+                .map(ItemDto::copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ItemListDto> findListByItemName(String itemName) {
+        return (List<ItemListDto>) load(queryCache, "itemName=" + itemName,
+                () -> List.copyOf(itemRepository.findListByItemName(itemName)));
+    }
+
+    // 키: 정규화한 Querydsl 조건식 + 페이지 + 정렬
+    // 예> "(item.itemSellStatus = SELL AND item.price > 10003)|0|5|price: DESC"
+    @SuppressWarnings("unchecked")
+    public Page<ItemListDto> findListAll(Predicate predicate, Pageable pageable) {
+        String key = "predicate=" + normalize(predicate) + "|" + pageable.getPageNumber() + "|"
+                + pageable.getPageSize() + "|" + pageable.getSort();
+        return (Page<ItemListDto>) load(queryCache, key, () -> itemRepository.findListAll(predicate, pageable));
+    }
+
+    // 상품 목록 화면 (ItemCatalogService)
+    @SuppressWarnings("unchecked")
+    public List<ItemListDto> findListAfter(Long lastId, int size) {
+        return (List<ItemListDto>) load(queryCache, "after=" + lastId + "|" + size,
+                () -> List.copyOf(itemRepository.findListAfter(lastId, PageRequest.of(0, size))));
+    }
+
+    public CacheStats getItemCacheStats() {
+        return itemCache.stats();
+    }
+
+    public CacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+
+    public List<Snapshot> snapshot() {
+        return List.of(new Snapshot("item", itemCache), new Snapshot("query", queryCache));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        generation.incrementAndGet();
+        itemCache.invalidate(event.getItemId());
+        queryCache.invalidateAll();
+    }
+
+    // 같은 조건이 다른 모양으로 들어와도 같은 키가 되도록 조건식을 문자열로 정규화한다.
+    // - BooleanBuilder는 안에 든 조건식을 꺼낸다.
+    // - and/or는 중첩을 펼치고 피연산자를 정렬한다. (a and (b and c) == c and b and a)
+    static String normalize(Expression<?> expression) {
+        Expression<?> extracted = expression == null ? null : ExpressionUtils.extract(expression);
+        if (extracted == null) {
+            return "";
+        }
+        if (extracted instanceof Operation) {
+            Operator operator = ((Operation<?>) extracted).getOperator();
+            if (operator == Ops.AND || operator == Ops.OR) {
+                Set<String> args = new TreeSet<>();
+                flatten(extracted, operator, args);
+                return args.size() == 1 ? args.iterator().next()
+                        : "(" + String.join(" " + operator + " ", args) + ")";
+            }
+        }
+        return extracted.toString();
+    }
+
+    private static void flatten(Expression<?> expression, Operator operator, Set<String> args) {
+        Expression<?> extracted = ExpressionUtils.extract(expression);
+        if (extracted instanceof Operation && ((Operation<?>) extracted).getOperator() == operator) {
+            for (Expression<?> arg : ((Operation<?>) extracted).getArgs()) {
+                flatten(arg, operator, args);
+            }
+        } else {
+            args.add(normalize(extracted));
+        }
+    }
+
+    private <K, V> V load(Cache<K, V> cache, K key, Supplier<V> loader) {
+        long startGeneration = generation.get();
+        V value = cache.get(key, k -> loader.get());
+        if (generation.get() != startGeneration) {
+            cache.asMap().remove(key, value);
+        }
+        return value;
+    }
+
+    // 조회 시점의 캐시 통계 (/admin/metrics/cache)
+    @Getter
+    public static class Snapshot {
+
+        private final String name;
+
+        private final long size;
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final double hitRate;
+
+        private final long evictionCount;
+
+        private final long loadCount;
+
+        // 평균 DB 조회 시간 (ms)
+        private final double averageLoadMillis;
+
+        private Snapshot(String name, Cache<?, ?> cache) {
+            CacheStats stats = cache.stats();
+            this.name = name;
+            this.size = cache.estimatedSize();
+            this.hitCount = stats.hitCount();
+            this.missCount = stats.missCount();
+            this.hitRate = stats.hitRate();
+            this.evictionCount = stats.evictionCount();
+            this.loadCount = stats.loadCount();
+            this.averageLoadMillis = stats.averageLoadPenalty() / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package co.mr.myShopTest.repository;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 커서(keyset) 페이징의 위치 정보
+// 마지막으로 읽은 행의 (정렬컬럼 값, item_id)를 기억해 두었다가
+// 다음 페이지는 "where (price, item_id) < (마지막 price, 마지막 item_id)" 조건으로 바로 찾아간다.
+// OFFSET처럼 앞 페이지들을 읽고 버리지 않기 때문에 몇 페이지째든 조회 비용이 같다.
+
+// 클라이언트에는 encode()한 문자열(continuation token)만 내려주고, 다음 요청에서 decode()해서 사용한다.
+@Getter
+public class ItemCursor {
+
+    public enum SortKey {
+        PRICE, REG_TIME
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final SortKey sortKey;
+
+    private final boolean descending;
+
+    // 첫 페이지는 lastValue, lastId가 null
+    // 정렬컬럼이 regTime이면 lastId가 있어도 lastValue는 null일 수 있다.
+    private final Comparable<?> lastValue;
+
+    private final Long lastId;
+
+    private ItemCursor(SortKey sortKey, boolean descending, Comparable<?> lastValue, Long lastId) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public static ItemCursor first(SortKey sortKey, boolean descending) {
+        return new ItemCursor(sortKey, descending, null, null);
+    }
+
+    // 이미 알고 있는 행(정렬컬럼 값, item_id) 바로 다음부터 읽는 커서
+    public static ItemCursor after(SortKey sortKey, boolean descending, Comparable<?> lastValue, Long lastId) {
+        return new ItemCursor(sortKey, descending, lastValue, lastId);
+    }
+
+    ItemCursor next(Comparable<?> lastValue, Long lastId) {
+        return new ItemCursor(sortKey, descending, lastValue, lastId);
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (descending ? "D" : "A") + SEPARATOR
+                + (isFirst() ? "" : (lastValue == null ? "" : lastValue) + SEPARATOR + lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            boolean descending = "D".equals(parts[1]);
+            if (parts.length < 4) {
+                return first(sortKey, descending);
+            }
+            // regTime은 nullable 컬럼이라 마지막 행의 값이 null이면 빈 문자열로 기록된다.
+            Comparable<?> lastValue;
+            if (sortKey == SortKey.PRICE) {
+                lastValue = Integer.valueOf(parts[2]);
+            } else {
+                lastValue = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            }
+            return new ItemCursor(sortKey, descending, lastValue, Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰입니다: " + token, e);
+        }
+    }
+}
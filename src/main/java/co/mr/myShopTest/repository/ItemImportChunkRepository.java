@@ -0,0 +1,9 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.entity.ItemImportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ItemImportChunkRepository extends JpaRepository<ItemImportChunk, Long> {
+
+    boolean existsByJobKeyAndChunkNo(String jobKey, long chunkNo);
+}
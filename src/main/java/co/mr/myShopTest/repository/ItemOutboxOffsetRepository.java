@@ -0,0 +1,7 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.entity.ItemOutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ItemOutboxOffsetRepository extends JpaRepository<ItemOutboxOffset, String> {
+}
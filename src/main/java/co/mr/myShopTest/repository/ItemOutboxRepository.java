@@ -0,0 +1,34 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.entity.ItemOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemOutboxRepository extends JpaRepository<ItemOutbox, Long> {
+
+    // lastId 다음부터 id 순서로 pageable 크기만큼 (keyset 방식)
+    @Query("select o from ItemOutbox o where o.id > :lastId order by o.id")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemOutbox> findAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("select max(o.id) from ItemOutbox o")
+    Long findMaxId();
+
+    List<ItemOutbox> findByItemIdOrderById(Long itemId);
+
+    // 모든 구독자에게 전달되었고 보관 기간이 지난 행 삭제
+    @Transactional
+    @Modifying
+    @Query("delete from ItemOutbox o where o.id <= :lastId and o.createdTime < :before")
+    int deleteDelivered(@Param("lastId") Long lastId, @Param("before") LocalDateTime before);
+}
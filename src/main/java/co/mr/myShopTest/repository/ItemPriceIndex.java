@@ -0,0 +1,385 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemStatsDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// 가격 색인 (예산별 상품 조회용)
+// findByPriceLessThan, findByPriceLessThanOrderByPriceDesc는 int 컬럼으로 정렬하기 위해 매번 DB에서 엔티티 전체를 읽는다.
+// 여기서는 (가격, 상품 id) 순서로 정렬된 기본형 배열 두 개를 메모리에 두고 이진 탐색으로 범위를 찾는다.
+//   prices[i]  : 가격
+//   entries[i] : 상품 id << 2 | 판매상태 코드(0: 없음, 1: SELL, 2: SOLD_OUT)
+//   versions[i] : 그 값을 읽은 Item 버전
+// 박싱된 객체가 없어서 상품 100만 건도 20MB 정도이고, 조회는 마이크로초 단위로 끝난다.
+// 결과는 상품 id 배열이고, 엔티티가 필요하면 findAllById로 한번에 조회한다.
+
+// 배열은 변경하지 않는다(copy-on-write). 조회는 락 없이 현재 배열을 그대로 읽는다.
+// ItemChangeEvent는 큐에 쌓아 두었다가 조회 직전이나 주기적으로 모아서 한번에 병합한다.
+// (한 건마다 배열을 복사하면 대량 등록 시 상품 수 x 등록 건수만큼 복사하게 된다)
+// 커밋 후 이벤트는 커밋 순서와 다르게 도착할 수 있으므로 색인에 있는 값보다 버전이 낮은 이벤트는 버린다.
+// 삭제된 상품은 색인에 없으므로 삭제 시점 버전을 TOMBSTONE_RETENTION 동안 남겨 두어 늦게 온 이전 수정 이벤트로 되살아나지 않게 한다.
+@Repository
+@RequiredArgsConstructor
+public class ItemPriceIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final int STATUS_BITS = 2;
+
+    // 순서가 바뀐 이벤트는 동시에 커밋된 트랜잭션 사이에서만 생기므로 이보다 오래 기억할 필요는 없다.
+    private static final long TOMBSTONE_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ItemRepository itemRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new long[0], new long[0]);
+
+    private final Queue<ItemChangeEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    private final Object writeLock = new Object();
+
+    // rebuild 중에 병합한 이벤트, 새로 만든 색인에 다시 적용한다. (rebuild 중이 아니면 null)
+    private List<ItemChangeEvent> replayEvents;
+
+    // 삭제된 상품 id -> {삭제 시점 버전, 기록 시각(nanoTime)}, 기록 순서 (writeLock)
+    private final LinkedHashMap<Long, long[]> removed = new LinkedHashMap<>();
+
+    // minPrice <= 가격 <= maxPrice, 가격 오름차순 (같은 가격은 id 순)
+    // itemSellStatus가 null이면 판매상태와 관계없이 조회
+    public long[] findIdsByPriceBetween(int minPrice, int maxPrice, ItemSellStatus itemSellStatus, int limit) {
+        Snapshot current = current();
+        int from = current.lowerBound(minPrice);
+        int to = maxPrice == Integer.MAX_VALUE ? current.prices.length : current.lowerBound(maxPrice + 1);
+        return current.collect(from, to, itemSellStatus, limit, false);
+    }
+
+    // 가격 < price 중 가장 싼 limit개
+    public long[] findIdsByPriceLessThan(int price, ItemSellStatus itemSellStatus, int limit) {
+        Snapshot current = current();
+        return current.collect(0, current.lowerBound(price), itemSellStatus, limit, false);
+    }
+
+    // 가격 < price 중 가장 비싼 limit개, 가격 내림차순
+    public long[] findIdsByPriceLessThanOrderByPriceDesc(int price, ItemSellStatus itemSellStatus, int limit) {
+        Snapshot current = current();
+        return current.collect(0, current.lowerBound(price), itemSellStatus, limit, true);
+    }
+
+    // ItemRepository.findByPriceLessThanOrderByPriceDesc와 같은 결과를 limit개까지 반환
+    public List<Item> findByPriceLessThanOrderByPriceDesc(int price, int limit) {
+        return findAllById(findIdsByPriceLessThanOrderByPriceDesc(price, null, limit));
+    }
+
+    // 색인 순서를 유지하면서 엔티티를 한번에 조회
+    public List<Item> findAllById(long[] ids) {
+        Map<Long, Item> items = new HashMap<>(ids.length * 2);
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        for (Item item : itemRepository.findAllById(idList)) {
+            items.put(item.getId(), item);
+        }
+        List<Item> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Item item = items.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return current().prices.length;
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 반영한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        pendingEvents.add(event);
+    }
+
+    // 조회가 없어도 쌓인 이벤트를 주기적으로 병합해서 조회 시 병합 비용을 줄인다.
+    @Scheduled(fixedDelay = 1000)
+    public void applyPendingEvents() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<ItemChangeEvent> events = drain();
+            if (events.isEmpty()) {
+                return;
+            }
+            if (replayEvents != null) {
+                replayEvents.addAll(events);
+            }
+            snapshot = merge(snapshot, events);
+        }
+    }
+
+    // DB 전체를 읽어 색인을 다시 만든다. 읽는 동안 들어온 이벤트는 새 색인에 다시 적용한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            replayEvents = new ArrayList<>();
+        }
+        int[] prices = new int[REBUILD_PAGE_SIZE];
+        long[] entries = new long[REBUILD_PAGE_SIZE];
+        long[] versions = new long[REBUILD_PAGE_SIZE];
+        int size = 0;
+        try {
+            Long lastId = 0L;
+            List<ItemStatsDto> rows;
+            do {
+                rows = itemRepository.findStatsAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                if (size + rows.size() > prices.length) {
+                    prices = Arrays.copyOf(prices, Math.max(prices.length * 2, size + rows.size()));
+                    entries = Arrays.copyOf(entries, prices.length);
+                    versions = Arrays.copyOf(versions, prices.length);
+                }
+                for (ItemStatsDto row : rows) {
+                    prices[size] = row.getPrice();
+                    entries[size] = entry(row.getId(), row.getItemSellStatus());
+                    versions[size] = version(row.getVersion());
+                    size++;
+                    lastId = row.getId();
+                }
+            } while (rows.size() == REBUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                replayEvents = null;
+            }
+            throw e;
+        }
+        prices = Arrays.copyOf(prices, size);
+        entries = Arrays.copyOf(entries, size);
+        versions = Arrays.copyOf(versions, size);
+        sort(prices, entries, versions, new int[size], new long[size], new long[size], 0, size);
+
+        synchronized (writeLock) {
+            List<ItemChangeEvent> events = replayEvents;
+            events.addAll(drain());
+            replayEvents = null;
+            Snapshot rebuilt = new Snapshot(prices, entries, versions);
+            snapshot = events.isEmpty() ? rebuilt : merge(rebuilt, events);
+        }
+    }
+
+    private Snapshot current() {
+        if (!pendingEvents.isEmpty()) {
+            applyPendingEvents();
+        }
+        return snapshot;
+    }
+
+    private List<ItemChangeEvent> drain() {
+        List<ItemChangeEvent> events = new ArrayList<>();
+        ItemChangeEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    // 기존 배열에서 변경된 상품을 빼고, 변경 후 값을 정렬해서 한번에 병합한다. O(n log k + k log k)
+    // 색인에 있는 값이나 삭제 기록보다 오래된 이벤트는 버린다. (writeLock 안에서 호출)
+    private Snapshot merge(Snapshot base, List<ItemChangeEvent> events) {
+        long now = System.nanoTime();
+        expireRemoved(now);
+        // 같은 상품의 이벤트가 여러 건이면 가장 최근 버전만 반영
+        Map<Long, ItemChangeEvent> latest = new HashMap<>();
+        for (ItemChangeEvent event : events) {
+            ItemChangeEvent previous = latest.get(event.getItemId());
+            if (previous == null || rank(event) >= rank(previous)) {
+                latest.put(event.getItemId(), event);
+            }
+        }
+        latest.values().removeIf(event -> {
+            long[] tombstone = removed.get(event.getItemId());
+            return tombstone != null && version(event.getVersion()) <= tombstone[0];
+        });
+        long[] changedIds = latest.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        // 색인의 값이 더 최근이면 그 상품은 바꾸지 않는다.
+        boolean[] stale = new boolean[changedIds.length];
+        for (int i = 0; i < base.prices.length; i++) {
+            int index = Arrays.binarySearch(changedIds, base.entries[i] >>> STATUS_BITS);
+            if (index >= 0 && rank(latest.get(changedIds[index])) < base.versions[i] * 2) {
+                stale[index] = true;
+            }
+        }
+        int[] addPrices = new int[changedIds.length];
+        long[] addEntries = new long[changedIds.length];
+        long[] addVersions = new long[changedIds.length];
+        int added = 0;
+        for (int n = 0; n < changedIds.length; n++) {
+            if (stale[n]) {
+                continue;
+            }
+            ItemChangeEvent event = latest.get(changedIds[n]);
+            if (event.getChangeType() == ItemChangeType.DELETED) {
+                removed.remove(event.getItemId());
+                removed.put(event.getItemId(), new long[]{version(event.getVersion()), now});
+            } else {
+                addPrices[added] = event.getPrice();
+                addEntries[added] = entry(event.getItemId(), event.getItemSellStatus());
+                addVersions[added] = version(event.getVersion());
+                added++;
+            }
+        }
+        sort(addPrices, addEntries, addVersions, new int[added], new long[added], new long[added], 0, added);
+
+        int[] prices = new int[base.prices.length + added];
+        long[] entries = new long[prices.length];
+        long[] versions = new long[prices.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < base.prices.length || j < added) {
+            if (i < base.prices.length) {
+                int index = Arrays.binarySearch(changedIds, base.entries[i] >>> STATUS_BITS);
+                if (index >= 0 && !stale[index]) {
+                    i++; // 변경된 상품의 예전 값
+                    continue;
+                }
+            }
+            if (j >= added || (i < base.prices.length
+                    && compare(base.prices[i], base.entries[i], addPrices[j], addEntries[j]) <= 0)) {
+                prices[size] = base.prices[i];
+                versions[size] = base.versions[i];
+                entries[size++] = base.entries[i++];
+            } else {
+                prices[size] = addPrices[j];
+                versions[size] = addVersions[j];
+                entries[size++] = addEntries[j++];
+            }
+        }
+        return new Snapshot(Arrays.copyOf(prices, size), Arrays.copyOf(entries, size), Arrays.copyOf(versions, size));
+    }
+
+    private void expireRemoved(long now) {
+        Iterator<long[]> iterator = removed.values().iterator();
+        while (iterator.hasNext() && now - iterator.next()[1] > TOMBSTONE_RETENTION_NANOS) {
+            iterator.remove();
+        }
+    }
+
+    // 같은 버전이면 삭제가 나중이다. (삭제는 그 버전까지의 변경 뒤에 일어남)
+    private static long rank(ItemChangeEvent event) {
+        return version(event.getVersion()) * 2 + (event.getChangeType() == ItemChangeType.DELETED ? 1 : 0);
+    }
+
+    // 버전 컬럼이 추가되기 전에 들어간 행은 null
+    private static long version(Long version) {
+        return version == null ? -1 : version;
+    }
+
+    private static long entry(long itemId, ItemSellStatus itemSellStatus) {
+        return itemId << STATUS_BITS | statusCode(itemSellStatus);
+    }
+
+    private static int statusCode(ItemSellStatus itemSellStatus) {
+        return itemSellStatus == null ? 0 : itemSellStatus.ordinal() + 1;
+    }
+
+    private static int compare(int price1, long entry1, int price2, long entry2) {
+        int result = Integer.compare(price1, price2);
+        return result != 0 ? result : Long.compare(entry1, entry2);
+    }
+
+    // (가격, entry) 순서로 세 배열을 함께 정렬 (병합 정렬, 박싱 없이)
+    private static void sort(int[] prices, long[] entries, long[] versions,
+                             int[] tmpPrices, long[] tmpEntries, long[] tmpVersions, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(prices, entries, versions, tmpPrices, tmpEntries, tmpVersions, from, mid);
+        sort(prices, entries, versions, tmpPrices, tmpEntries, tmpVersions, mid, to);
+        if (compare(prices[mid - 1], entries[mid - 1], prices[mid], entries[mid]) <= 0) {
+            return; // 이미 정렬됨
+        }
+        System.arraycopy(prices, from, tmpPrices, from, to - from);
+        System.arraycopy(entries, from, tmpEntries, from, to - from);
+        System.arraycopy(versions, from, tmpVersions, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(tmpPrices[i], tmpEntries[i], tmpPrices[j], tmpEntries[j]) <= 0)) {
+                prices[k] = tmpPrices[i];
+                versions[k] = tmpVersions[i];
+                entries[k] = tmpEntries[i++];
+            } else {
+                prices[k] = tmpPrices[j];
+                versions[k] = tmpVersions[j];
+                entries[k] = tmpEntries[j++];
+            }
+        }
+    }
+
+    private static class Snapshot {
+
+        private final int[] prices;
+
+        private final long[] entries;
+
+        private final long[] versions;
+
+        private Snapshot(int[] prices, long[] entries, long[] versions) {
+            this.prices = prices;
+            this.entries = entries;
+            this.versions = versions;
+        }
+
+        // price 이상인 첫 위치
+        private int lowerBound(int price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // [from, to) 구간에서 판매상태가 맞는 상품 id를 limit개까지
+        private long[] collect(int from, int to, ItemSellStatus itemSellStatus, int limit, boolean descending) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit은 1 이상이어야 합니다.");
+            }
+            int code = itemSellStatus == null ? -1 : statusCode(itemSellStatus);
+            long[] ids = new long[Math.min(limit, Math.max(0, to - from))];
+            int count = 0;
+            for (int n = 0; n < to - from && count < ids.length; n++) {
+                long entry = entries[descending ? to - 1 - n : from + n];
+                if (code < 0 || (entry & ((1 << STATUS_BITS) - 1)) == code) {
+                    ids[count++] = entry >>> STATUS_BITS;
+                }
+            }
+            return count == ids.length ? ids : Arrays.copyOf(ids, count);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package co.mr.myShopTest.repository;
 
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.dto.ItemNameDto;
+import co.mr.myShopTest.dto.ItemStatsDto;
 import co.mr.myShopTest.entity.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 
 // 첫번째는 entity타입, 두번째는 기본키 타입
@@ -19,7 +28,7 @@ import java.util.List;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long>,
-        QuerydslPredicateExecutor<Item> {
+        QuerydslPredicateExecutor<Item>, ItemRepositoryCustom {
     // 쿼리메소드는 Spring Data JPA의 핵심 기능 중 하나
     // Repository 인터페이스에 간단한 네이밍 규칙을 이용하여 메소드를 작성하면 쿼리를 실행할 수 있다.
     // find를 가장많이 사용
@@ -74,6 +83,69 @@ public interface ItemRepository extends JpaRepository<Item, Long>,
             "%:itemDetail% order by i.price desc", nativeQuery = true)
     List<Item> findByItemDetailNative(@Param("itemDetail") String itemDetail);
 
+    // 조회 전용 DTO 프로젝션
+    // select new 생성자 표현식으로 목록에 필요한 컬럼만 조회한다. (item_detail CLOB을 읽지 않음)
+    // (Item의 id 필드명이 Id라서 쿼리메소드의 DTO 자동 매핑(생성자 파라미터명 = 필드명)을 쓸 수 없어 JPQL로 작성)
+    // 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않고, FlushMode COMMIT 힌트로 조회 전 자동 flush도 생략한다.
+    @Query("select new co.mr.myShopTest.dto.ItemListDto(i.Id, i.itemName, i.price, i.itemSellStatus) " +
+            "from Item i where i.itemName = :itemName")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemListDto> findListByItemName(@Param("itemName") String itemName);
+
+    @Query("select new co.mr.myShopTest.dto.ItemListDto(i.Id, i.itemName, i.price, i.itemSellStatus) " +
+            "from Item i where i.price < :price")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemListDto> findListByPriceLessThan(@Param("price") Integer price);
+
+    @Query("select new co.mr.myShopTest.dto.ItemListDto(i.Id, i.itemName, i.price, i.itemSellStatus) " +
+            "from Item i where i.price < :price order by i.price desc")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemListDto> findListByPriceLessThanOrderByPriceDesc(@Param("price") Integer price);
+
+    // 통계 재계산용, id 순서로 lastId 다음부터 pageable 크기만큼 조회 (keyset 방식, offset을 쓰지 않음)
+    @Query("select new co.mr.myShopTest.dto.ItemStatsDto(i.Id, i.price, i.stockNumber, i.itemSellStatus, i.version) " +
+            "from Item i where i.Id > :lastId order by i.Id")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemStatsDto> findStatsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 상품 목록(ItemCatalogService), findStatsAfter와 같은 keyset 방식
+    @Query("select new co.mr.myShopTest.dto.ItemListDto(i.Id, i.itemName, i.price, i.itemSellStatus) " +
+            "from Item i where i.Id > :lastId order by i.Id")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemListDto> findListAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 검색 색인 생성용(상세설명 포함 엔티티), findStatsAfter와 같은 keyset 방식
+    @Query("select i from Item i where i.Id > :lastId order by i.Id")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<Item> findAllAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 자동완성 색인 생성용, findStatsAfter와 같은 keyset 방식
+    @Query("select new co.mr.myShopTest.dto.ItemNameDto(i.Id, i.itemName, i.price, i.version) " +
+            "from Item i where i.Id > :lastId order by i.Id")
+    @QueryHints({@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT")})
+    List<ItemNameDto> findNamesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 재고 차감 (StockReservationService의 write-behind 반영용)
+    // where 조건에 stock_number >= :quantity를 걸어서 재고보다 많이 차감되는 일이 없게 한다.
+    // 반환값이 0이면 DB 재고가 부족하거나 상품이 없는 것
+    // MySQL은 SET 절을 왼쪽부터 차례대로 적용하므로 판매상태를 재고보다 먼저 계산해야 한다.
+    // JPA 수정과 같은 행이므로 버전도 올린다. (이 사이에 읽어 둔 엔티티로 저장하면 낙관적 락 예외)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update item set " +
+            "item_sell_status = case when stock_number = :quantity then 'SOLD_OUT' else item_sell_status end, " +
+            "stock_number = stock_number - :quantity, update_time = :updateTime, version = version + 1 " +
+            "where item_id = :itemId and stock_number >= :quantity", nativeQuery = true)
+    int decreaseStock(@Param("itemId") Long itemId, @Param("quantity") int quantity,
+                      @Param("updateTime") LocalDateTime updateTime);
+
     // *** QuerydslPredicateExecutor 상속 추가
     // long count(Predicate) :조건에 맞는 데이터의 총 개수 반환
     // boolean exists(Predicate) :조건에 맞는 데이터 존재 여부 반환
@@ -82,6 +154,12 @@ public interface ItemRepository extends JpaRepository<Item, Long>,
     // Iterable findAll(Predicate, Sort) : 조건에 맞는 정렬된 데이터 반환
     // T findOne(Predicate) : 조건에 맞는 데이터 1개 반환
 
+    // *** ItemRepositoryCustom 상속 추가 (구현은 ItemRepositoryCustomImpl)
+    // CursorPage<Item> findAll(Predicate, ItemCursor, int) : 커서(keyset) 방식 페이지 데이터 반환
+    //   findAll(Predicate, Pageable)은 offset/limit + count 쿼리라 뒤 페이지로 갈수록 느려진다.
+    // Page<ItemListDto> findListAll(Predicate, Pageable) : 조건에 맞는 페이지 데이터를 목록 DTO로 반환
+    // List<ItemDto> findDtoAll(Predicate) : 조건에 맞는 데이터를 ItemDto로 반환 (itemDetail 제외)
+
 
 
 
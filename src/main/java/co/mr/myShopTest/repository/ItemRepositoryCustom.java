@@ -0,0 +1,33 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Spring Data JPA 사용자 정의 레포지토리
+// 인터페이스 이름 + Impl 클래스를 만들어 두면 ItemRepository에 구현이 합쳐진다.
+public interface ItemRepositoryCustom {
+
+    // 커서(keyset) 페이징, total count는 조회하지 않는다.
+    CursorPage<Item> findAll(Predicate predicate, ItemCursor cursor, int limit);
+
+    // includeTotalCount가 true이면 첫 페이지에서만 count 쿼리를 한번 실행한다.
+    CursorPage<Item> findAll(Predicate predicate, ItemCursor cursor, int limit, boolean includeTotalCount);
+
+    // 조회 전용 프로젝션, item_detail을 조회하지 않고 엔티티를 영속성 컨텍스트에 올리지 않는다.
+    // 정렬할 수 없는 속성이 Pageable에 있으면 IllegalArgumentException (ItemRepository로 호출하면 InvalidDataAccessApiUsageException)
+    Page<ItemListDto> findListAll(Predicate predicate, Pageable pageable);
+
+    List<ItemDto> findDtoAll(Predicate predicate);
+
+    // id 순서로 조건에 맞는 상품을 한 건씩 읽는 스트림 (전체 내보내기용)
+    // JDBC fetchSize 만큼씩 DB에서 가져오므로 결과를 List로 모으지 않는다.
+    // 트랜잭션 안에서 사용하고 다 쓰면 close 해야 한다. (try-with-resources)
+    Stream<Item> streamAll(Predicate predicate, int fetchSize);
+}
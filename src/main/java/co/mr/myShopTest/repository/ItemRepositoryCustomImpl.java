@@ -0,0 +1,185 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final PathBuilder<Item> ITEM_PATH = new PathBuilder<>(Item.class, QItem.item.getMetadata());
+
+    // 클라이언트가 sort 파라미터로 지정할 수 있는 속성
+    // 목록 DTO에 없는 itemDetail(CLOB)이나 존재하지 않는 속성은 쿼리를 만들기 전에 거절한다.
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "Id", "itemName", "price", "stockNumber", "itemSellStatus", "regTime", "updateTime");
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public CursorPage<Item> findAll(Predicate predicate, ItemCursor cursor, int limit) {
+        return findAll(predicate, cursor, limit, false);
+    }
+
+    @Override
+    public CursorPage<Item> findAll(Predicate predicate, ItemCursor cursor, int limit, boolean includeTotalCount) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다.");
+        }
+        QItem item = QItem.item;
+        Order order = cursor.isDescending() ? Order.DESC : Order.ASC;
+
+        BooleanBuilder where = new BooleanBuilder(predicate);
+        if (!cursor.isFirst()) {
+            where.and(seek(item, cursor));
+        }
+
+        // 다음 페이지가 있는지 알기 위해 limit보다 1개 더 조회
+        List<Item> content = queryFactory.selectFrom(item)
+                .where(where)
+                .orderBy(sortOrder(item, cursor, order), new OrderSpecifier<>(order, item.Id))
+                .limit(limit + 1L)
+                .fetch();
+
+        String nextCursor = null;
+        if (content.size() > limit) {
+            content = content.subList(0, limit);
+            Item last = content.get(limit - 1);
+            Comparable<?> lastValue = cursor.getSortKey() == ItemCursor.SortKey.PRICE
+                    ? Integer.valueOf(last.getPrice()) : last.getRegTime();
+            nextCursor = cursor.next(lastValue, last.getId()).encode();
+        }
+
+        Long totalCount = null;
+        if (includeTotalCount && cursor.isFirst()) {
+            totalCount = queryFactory.select(item.count()).from(item).where(predicate).fetchOne();
+        }
+        return new CursorPage<>(content, nextCursor, totalCount);
+    }
+
+    @Override
+    public Page<ItemListDto> findListAll(Predicate predicate, Pageable pageable) {
+        QItem item = QItem.item;
+        JPAQuery<ItemListDto> query = readOnly(queryFactory
+                .select(Projections.constructor(ItemListDto.class, item.Id, item.itemName, item.price, item.itemSellStatus))
+                .from(item)
+                .where(predicate)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize()));
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("정렬할 수 없는 속성입니다. : " + order.getProperty());
+            }
+            query.orderBy(new OrderSpecifier<>(order.isAscending() ? Order.ASC : Order.DESC,
+                    ITEM_PATH.getComparable(order.getProperty(), Comparable.class)));
+        }
+        List<ItemListDto> content = query.fetch();
+
+        // 첫 페이지인데 조회 결과가 페이지 크기보다 작으면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> readOnly(queryFactory.select(item.count()).from(item).where(predicate)).fetchOne());
+    }
+
+    @Override
+    public List<ItemDto> findDtoAll(Predicate predicate) {
+        QItem item = QItem.item;
+        List<Tuple> tuples = readOnly(queryFactory
+                .select(item.Id, item.itemName, item.price, item.itemSellStatus, item.regTime, item.updateTime)
+                .from(item)
+                .where(predicate))
+                .fetch();
+
+        List<ItemDto> itemDtoList = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setId(tuple.get(item.Id));
+            itemDto.setItemName(tuple.get(item.itemName));
+            itemDto.setPrice(tuple.get(item.price));
+            ItemSellStatus itemSellStatus = tuple.get(item.itemSellStatus);
+            itemDto.setSellStatCd(itemSellStatus == null ? null : itemSellStatus.name());
+            itemDto.setRegTime(tuple.get(item.regTime));
+            itemDto.setUpdateTime(tuple.get(item.updateTime));
+            itemDtoList.add(itemDto);
+        }
+        return itemDtoList;
+    }
+
+    @Override
+    public Stream<Item> streamAll(Predicate predicate, int fetchSize) {
+        QItem item = QItem.item;
+        return readOnly(queryFactory.selectFrom(item)
+                .where(predicate)
+                .orderBy(item.Id.asc()))
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                .stream();
+    }
+
+    // 조회 전용 힌트, 조회 전에 영속성 컨텍스트를 flush 하지 않는다.
+    private static <T> JPAQuery<T> readOnly(JPAQuery<T> query) {
+        return query.setHint(QueryHints.READ_ONLY, true)
+                .setHint(QueryHints.FLUSH_MODE, FlushMode.COMMIT);
+    }
+
+    // price는 not null이므로 null 위치를 지정하지 않는다. (MySQL 방언은 nulls first/last를 case 식으로 바꿔 인덱스 정렬을 못 쓴다.)
+    // regTime은 seek 조건과 같게 오름차순이면 null이 맨 앞(nullsFirst), 내림차순이면 맨 뒤(nullsLast)로 정한다.
+    private OrderSpecifier<?> sortOrder(QItem item, ItemCursor cursor, Order order) {
+        if (cursor.getSortKey() == ItemCursor.SortKey.PRICE) {
+            return new OrderSpecifier<>(order, item.price);
+        }
+        return new OrderSpecifier<>(order, item.regTime, order == Order.ASC
+                ? OrderSpecifier.NullHandling.NullsFirst : OrderSpecifier.NullHandling.NullsLast);
+    }
+
+    // (정렬컬럼, item_id) 튜플 비교
+    // 내림차순: col <= v and (col < v or id < lastId)
+    // 오름차순: col >= v and (col > v or id > lastId)
+    // col < v or (col = v and ...) 처럼 or로 시작하면 옵티마이저가 정렬컬럼 인덱스의 범위 조건으로 쓰지 못해
+    // 전체를 읽으므로, 앞의 col <= v / col >= v 로 인덱스 범위를 정하고 or는 그 안에서만 거른다.
+    // regTime은 null일 수 있다. 정렬(sortOrder)에서 null을 오름차순이면 맨 앞에, 내림차순이면 맨 뒤에 두므로
+    // 아래 조건도 같은 순서를 가정한다.
+    private BooleanExpression seek(QItem item, ItemCursor cursor) {
+        Long lastId = cursor.getLastId();
+        if (cursor.getSortKey() == ItemCursor.SortKey.PRICE) {
+            Integer price = (Integer) cursor.getLastValue();
+            return cursor.isDescending()
+                    ? item.price.loe(price).and(item.price.lt(price).or(item.Id.lt(lastId)))
+                    : item.price.goe(price).and(item.price.gt(price).or(item.Id.gt(lastId)));
+        }
+        LocalDateTime regTime = (LocalDateTime) cursor.getLastValue();
+        if (regTime == null) {
+            // 마지막 행이 null 구간이면 null 구간의 나머지(+ 오름차순이면 null이 아닌 행 전체)
+            return cursor.isDescending()
+                    ? item.regTime.isNull().and(item.Id.lt(lastId))
+                    : item.regTime.isNull().and(item.Id.gt(lastId)).or(item.regTime.isNotNull());
+        }
+        // 내림차순이면 null 구간이 뒤에 남아 있다.
+        return cursor.isDescending()
+                ? item.regTime.loe(regTime).and(item.regTime.lt(regTime).or(item.Id.lt(lastId))).or(item.regTime.isNull())
+                : item.regTime.goe(regTime).and(item.regTime.gt(regTime).or(item.Id.gt(lastId)));
+    }
+}
@@ -0,0 +1,235 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// 상품명/상품상세설명 검색 전용 저장소
+// ItemRepository.findByItemDetail은 like '%검색어%' 조건이라 인덱스를 탈 수 없고
+// 매번 item 테이블 전체(CLOB 포함)를 읽는다.
+// 여기서는 메모리에 n-gram 역색인을 두고 검색어에 해당하는 상품 id만 찾은 다음
+// 그 id들만 findAllById로 조회한다.
+
+// 색인은 ItemChangeEvent(저장/수정/삭제)를 받아 커밋 이후에 갱신되고,
+// 애플리케이션 시작 시 한번 DB 전체를 읽어 다시 만든다.
+// 다시 만들 때는 락 없이 id 순서(keyset)로 읽어 새 색인을 만들고 락 안에서 교체만 하므로 그동안에도 검색할 수 있다.
+// 읽는 동안 들어온 이벤트는 기존 색인에 반영하면서 모아 두었다가 새 색인에 다시 적용한다.
+// 커밋 후 이벤트는 커밋 순서와 다르게 도착할 수 있으므로 색인에 넣은 값보다 버전이 낮은 이벤트는 버린다.
+// 삭제된 상품은 삭제 시점 버전을 TOMBSTONE_RETENTION 동안 남겨 두어 늦게 온 이전 수정 이벤트로 되살아나지 않게 한다.
+@Repository
+@RequiredArgsConstructor
+public class ItemSearchRepository {
+
+    private static final int GRAM_SIZE = 2;
+
+    // 상품명에서 일치하는 경우 상세설명보다 가중치를 더 준다.
+    private static final double ITEM_NAME_WEIGHT = 2.0;
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    // 순서가 바뀐 이벤트는 동시에 커밋된 트랜잭션 사이에서만 생기므로 이보다 오래 기억할 필요는 없다.
+    private static final long TOMBSTONE_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ItemRepository itemRepository;
+
+    // 아래 색인/버전은 lock 안에서만 읽고 바꾼다. (rebuild 때 통째로 교체)
+    private NgramIndex itemNameIndex = new NgramIndex(GRAM_SIZE);
+
+    private NgramIndex itemDetailIndex = new NgramIndex(GRAM_SIZE);
+
+    // 색인에 넣은 상품 -> Item 버전
+    private Map<Long, Long> versions = new HashMap<>();
+
+    // rebuild 중에 들어온 이벤트, 새 색인에 다시 적용한다. (rebuild 중이 아니면 null, lock)
+    private List<ItemChangeEvent> replayEvents;
+
+    private final Object rebuildLock = new Object();
+
+    // 삭제된 상품 -> {삭제 시점 버전, 기록 시각(nanoTime)}, 기록 순서 (lock)
+    private final LinkedHashMap<Long, long[]> removed = new LinkedHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 상품명 + 상품상세설명 통합 검색, 점수가 높은 순으로 상품 id를 반환
+    public List<Long> search(String keyword, int limit) {
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            itemNameIndex.score(keyword).forEach((id, score) -> scores.merge(id, score * ITEM_NAME_WEIGHT, Double::sum));
+            itemDetailIndex.score(keyword).forEach((id, score) -> scores.merge(id, score, Double::sum));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    // ItemRepository.findByItemDetail과 같은 결과(상세설명에 검색어 포함, 가격 내림차순)를 반환
+    // 검색어가 gram 길이보다 짧으면 색인을 쓸 수 없으므로 기존 쿼리로 조회한다.
+    public List<Item> findByItemDetail(String itemDetail) {
+        // supports는 gram 길이만 보므로 락 없이 판단하고,
+        // like 스캔이 도는 동안 색인 갱신이 막히지 않도록 기존 쿼리는 락 밖에서 실행한다.
+        if (!itemDetailIndex.supports(itemDetail)) {
+            return itemRepository.findByItemDetail(itemDetail);
+        }
+        List<Long> candidateIds;
+        lock.readLock().lock();
+        try {
+            candidateIds = new ArrayList<>(itemDetailIndex.score(itemDetail).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidateIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // n-gram 후보 중 실제로 검색어가 연속으로 들어있는 상품만 남긴다.
+        return itemRepository.findAllById(candidateIds).stream()
+                .filter(item -> item.getItemDetail() != null && item.getItemDetail().contains(itemDetail))
+                .sorted(Comparator.comparingInt(Item::getPrice).reversed()
+                        .thenComparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    public int indexedCount() {
+        lock.readLock().lock();
+        try {
+            return itemNameIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 색인에 반영한다. (롤백된 변경이 검색되지 않도록)
+    // 트랜잭션 밖에서 발행된 이벤트는 바로 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (replayEvents != null) {
+                replayEvents.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                replayEvents = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            NgramIndex names = new NgramIndex(GRAM_SIZE);
+            NgramIndex details = new NgramIndex(GRAM_SIZE);
+            Map<Long, Long> rebuiltVersions = new HashMap<>();
+            try {
+                Long lastId = 0L;
+                List<Item> rows;
+                do {
+                    rows = itemRepository.findAllAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                    for (Item item : rows) {
+                        names.put(item.getId(), item.getItemName());
+                        details.put(item.getId(), item.getItemDetail());
+                        rebuiltVersions.put(item.getId(), item.getVersion() == null ? -1 : item.getVersion());
+                        lastId = item.getId();
+                    }
+                } while (rows.size() == REBUILD_PAGE_SIZE);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    replayEvents = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                itemNameIndex = names;
+                itemDetailIndex = details;
+                versions = rebuiltVersions;
+                List<ItemChangeEvent> events = replayEvents;
+                replayEvents = null;
+                events.forEach(this::apply);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // lock 안에서 호출
+    private void apply(ItemChangeEvent event) {
+        long version = event.getVersion() == null ? -1 : event.getVersion();
+        expireRemoved(System.nanoTime());
+        if (event.getChangeType() == ItemChangeType.DELETED) {
+            remove(event.getItemId(), version);
+        } else if (isNewer(event.getItemId(), version)) {
+            put(event.getItemId(), event.getItemName(), event.getItemDetail(), version);
+        }
+    }
+
+    // 같은 버전이면 같은 커밋의 값이므로 다시 적용해도 된다.
+    private boolean isNewer(Long id, long version) {
+        Long current = versions.get(id);
+        if (current != null) {
+            return version >= current;
+        }
+        long[] tombstone = removed.get(id);
+        return tombstone == null || version > tombstone[0];
+    }
+
+    private void put(Long id, String itemName, String itemDetail, long version) {
+        itemNameIndex.put(id, itemName);
+        itemDetailIndex.put(id, itemDetail);
+        versions.put(id, version);
+    }
+
+    // 삭제는 그 버전까지의 변경 뒤에 일어나므로 같은 버전의 값도 지운다.
+    private void remove(Long id, long version) {
+        Long current = versions.get(id);
+        if (current != null && current > version) {
+            return;
+        }
+        itemNameIndex.remove(id);
+        itemDetailIndex.remove(id);
+        versions.remove(id);
+        removed.remove(id);
+        removed.put(id, new long[]{version, System.nanoTime()});
+    }
+
+    private void expireRemoved(long now) {
+        Iterator<long[]> iterator = removed.values().iterator();
+        while (iterator.hasNext() && now - iterator.next()[1] > TOMBSTONE_RETENTION_NANOS) {
+            iterator.remove();
+        }
+    }
+}
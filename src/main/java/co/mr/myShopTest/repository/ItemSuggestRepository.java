@@ -0,0 +1,332 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.SuggestOrder;
+import co.mr.myShopTest.dto.ItemNameDto;
+import co.mr.myShopTest.dto.ItemSuggestDto;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 상품명 자동완성 저장소 (GET /items/suggest?q=)
+// 키를 입력할 때마다 like '검색어%' 쿼리를 실행하지 않고 메모리의 접두어 색인(PrefixIndex)에서 찾는다.
+// - 자모 단위로 비교하므로 입력 중인 글자("청바")로도 찾고, 자음만 입력하면("ㅊㅂㅈ") 초성으로 찾는다.
+// - 정렬은 인기순(자동완성에서 선택된 횟수) 또는 가격순
+//
+// PrefixIndex는 만든 뒤에 바꿀 수 없으므로 변경은 따로 모아 두었다가(changes) 조회할 때 함께 본다.
+// - 조회 : 색인 결과 중 changes에 있는 상품은 빼고, changes에서 접두어가 맞는 상품을 더해서 다시 정렬
+// - 병합 : changes가 compact-threshold건 이상이거나 compact-interval-ms가 지나면 색인을 새로 만들어 교체한다.
+// 선택 횟수도 병합할 때 색인에 반영한다. (그 전까지는 이전 순위로 보여준다.)
+// 변경된 상품도 색인에 있던 선택 횟수로 정렬한다. (가격 수정, 재고 변경만으로 인기순에서 밀려나지 않도록)
+// 커밋 후 이벤트는 커밋 순서와 다르게 도착할 수 있으므로 changes/색인에 있는 값보다 버전이 낮은 이벤트는 버린다.
+// 병합으로 색인에서 빠진 삭제 상품은 삭제 시점 버전을 TOMBSTONE_RETENTION 동안 남겨 두어 되살아나지 않게 한다.
+@Repository
+public class ItemSuggestRepository {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    // 순서가 바뀐 이벤트는 동시에 커밋된 트랜잭션 사이에서만 생기므로 이보다 오래 기억할 필요는 없다.
+    private static final long TOMBSTONE_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ItemRepository itemRepository;
+
+    private final int compactThreshold;
+
+    private final long compactIntervalMillis;
+
+    private volatile PrefixIndex index = PrefixIndex.EMPTY;
+
+    // 색인을 만든 뒤 변경된 상품, 삭제된 상품은 itemName이 null
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+
+    // 병합으로 색인에서 빠진 삭제 상품 -> {삭제 이벤트 순서(rank), 기록 시각(nanoTime)}
+    private final Map<Long, long[]> removed = new ConcurrentHashMap<>();
+
+    // 색인을 만든 뒤 선택된 횟수
+    private final Map<Long, Integer> selections = new ConcurrentHashMap<>();
+
+    private final Object compactLock = new Object();
+
+    private volatile long compactedAt = System.currentTimeMillis();
+
+    public ItemSuggestRepository(ItemRepository itemRepository,
+                                 @Value("${item.suggest.compact-threshold:1000}") int compactThreshold,
+                                 @Value("${item.suggest.compact-interval-ms:30000}") long compactIntervalMillis) {
+        this.itemRepository = itemRepository;
+        this.compactThreshold = compactThreshold;
+        this.compactIntervalMillis = compactIntervalMillis;
+    }
+
+    // 상품명이 query로 시작하는 상품을 정렬 기준으로 limit개 반환
+    public List<ItemSuggestDto> suggest(String query, SuggestOrder order, int limit) {
+        boolean choseong = HangulJamo.isChoseongQuery(query);
+        String key = choseong ? HangulJamo.choseong(query) : HangulJamo.decompose(query);
+        if (key.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        PrefixIndex current = index;
+        List<Candidate> candidates = new ArrayList<>(limit);
+        int[] positions = current.top(key, choseong, order, limit, changes.isEmpty() ? null : changes::containsKey);
+        for (int position : positions) {
+            candidates.add(new Candidate(current.id(position), current.name(position),
+                    current.price(position), current.popularity(position)));
+        }
+        if (changes.isEmpty()) {
+            return toDto(candidates);
+        }
+
+        for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+            Change change = entry.getValue();
+            if (change.itemName != null && (choseong ? change.choseongKey : change.key).startsWith(key)) {
+                candidates.add(new Candidate(entry.getKey(), change.itemName, change.price,
+                        current.popularityOf(entry.getKey())));
+            }
+        }
+        candidates.sort(Candidate.comparator(order));
+        return toDto(candidates.size() > limit ? candidates.subList(0, limit) : candidates);
+    }
+
+    // 자동완성 목록에서 상품을 선택한 경우 (인기순 정렬에 사용)
+    public void increasePopularity(Long itemId) {
+        selections.merge(itemId, 1, Integer::sum);
+    }
+
+    public int indexedCount() {
+        return index.size();
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 반영한다. (롤백된 변경이 검색되지 않도록)
+    // 이벤트는 상품의 현재 값이라 같은 상품은 가장 최근 버전의 변경만 남기면 된다.
+    // compute 안에서 비교하므로 같은 상품의 compact(changes.remove)와 겹쳐도 색인/changes 중 한 곳의 최신 값과 비교한다.
+    // (compact는 새 색인으로 바꾼 뒤에 changes에서 지운다.)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        long version = event.getVersion() == null ? -1 : event.getVersion();
+        Change change;
+        if (event.getChangeType() == ItemChangeType.DELETED) {
+            change = new Change(null, 0, version * 2 + 1);
+        } else {
+            String itemName = event.getItemName() == null ? "" : event.getItemName();
+            change = new Change(itemName, event.getPrice(), version * 2);
+        }
+        changes.compute(event.getItemId(), (id, previous) -> isStale(id, change, previous) ? previous : change);
+    }
+
+    // 같은 버전이면 같은 커밋의 값이라 다시 적용해도 된다. (삭제는 같은 버전의 수정보다 나중)
+    private boolean isStale(Long id, Change change, Change previous) {
+        if (previous != null) {
+            return change.rank < previous.rank;
+        }
+        long[] tombstone = removed.get(id);
+        if (tombstone != null) {
+            return change.rank <= tombstone[0];
+        }
+        return change.rank < index.versionOf(id) * 2;
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void compactIfNeeded() {
+        boolean pending = !changes.isEmpty() || !selections.isEmpty();
+        if (changes.size() >= compactThreshold
+                || (pending && System.currentTimeMillis() - compactedAt >= compactIntervalMillis)) {
+            compact();
+        }
+    }
+
+    // 현재 색인 + 변경분 + 선택 횟수로 색인을 새로 만들어 교체한다. (DB를 읽지 않음)
+    public void compact() {
+        synchronized (compactLock) {
+            Map<Long, Change> applied = new HashMap<>(changes);
+            Map<Long, Integer> selected = drainSelections();
+            PrefixIndex current = index;
+            long now = System.nanoTime();
+            removed.values().removeIf(tombstone -> now - tombstone[1] > TOMBSTONE_RETENTION_NANOS);
+
+            Builder builder = new Builder(current.size() + applied.size());
+            Map<Long, Integer> changedPopularity = new HashMap<>();
+            for (int position = 0; position < current.size(); position++) {
+                Long id = current.id(position);
+                int popularity = current.popularity(position) + selected.getOrDefault(id, 0);
+                if (applied.containsKey(id)) {
+                    changedPopularity.put(id, popularity);
+                } else {
+                    builder.add(id, current.name(position), current.price(position), popularity, current.version(position));
+                }
+            }
+            applied.forEach((id, change) -> {
+                if (change.itemName != null) {
+                    builder.add(id, change.itemName, change.price,
+                            changedPopularity.getOrDefault(id, selected.getOrDefault(id, 0)), change.rank / 2);
+                } else {
+                    removed.put(id, new long[]{change.rank, now});
+                }
+            });
+
+            index = builder.build();
+            compactedAt = System.currentTimeMillis();
+            // 병합하는 동안 다시 변경된 상품은 남겨둔다.
+            applied.forEach((id, change) -> changes.remove(id, change));
+        }
+    }
+
+    // DB 전체를 읽어 색인을 새로 만든다. 선택 횟수는 DB에 없으므로 현재 색인의 값을 이어받는다.
+    // 읽는 동안 들어온 변경은 changes에 그대로 남아 있다가 다음 병합 때 반영된다. (DB에서 읽은 값보다 오래된 변경은 버린다.)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (compactLock) {
+            PrefixIndex current = index;
+            Map<Long, Integer> popularity = new HashMap<>();
+            for (int position = 0; position < current.size(); position++) {
+                if (current.popularity(position) > 0) {
+                    popularity.put(current.id(position), current.popularity(position));
+                }
+            }
+
+            Builder builder = new Builder(Math.max(current.size(), REBUILD_PAGE_SIZE));
+            Long lastId = 0L;
+            List<ItemNameDto> rows;
+            do {
+                rows = itemRepository.findNamesAfter(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (ItemNameDto row : rows) {
+                    String itemName = row.getItemName() == null ? "" : row.getItemName();
+                    builder.add(row.getId(), itemName, row.getPrice(), popularity.getOrDefault(row.getId(), 0),
+                            row.getVersion() == null ? -1 : row.getVersion());
+                    lastId = row.getId();
+                }
+            } while (rows.size() == REBUILD_PAGE_SIZE);
+
+            PrefixIndex rebuilt = builder.build();
+            index = rebuilt;
+            compactedAt = System.currentTimeMillis();
+            changes.forEach((id, change) -> {
+                if (change.rank < rebuilt.versionOf(id) * 2) {
+                    changes.remove(id, change);
+                }
+            });
+        }
+    }
+
+    private Map<Long, Integer> drainSelections() {
+        Map<Long, Integer> selected = new HashMap<>();
+        for (Long id : selections.keySet()) {
+            Integer count = selections.remove(id);
+            if (count != null) {
+                selected.put(id, count);
+            }
+        }
+        return selected;
+    }
+
+    private static List<ItemSuggestDto> toDto(List<Candidate> candidates) {
+        return candidates.stream()
+                .map(candidate -> new ItemSuggestDto(candidate.id, candidate.itemName, candidate.price))
+                .collect(Collectors.toList());
+    }
+
+    // 색인을 만든 뒤 변경된 상품, 인기(선택 횟수)는 조회할 때 색인에서 가져온다.
+    // 삭제된 상품은 itemName이 null, rank : 버전 * 2 (+1 삭제)
+    private static class Change {
+
+        private final String itemName;
+
+        private final String key;
+
+        private final String choseongKey;
+
+        private final int price;
+
+        private final long rank;
+
+        private Change(String itemName, int price, long rank) {
+            this.itemName = itemName;
+            this.key = itemName == null ? null : HangulJamo.decompose(itemName);
+            this.choseongKey = itemName == null ? null : HangulJamo.choseong(itemName);
+            this.price = price;
+            this.rank = rank;
+        }
+    }
+
+    private static class Candidate {
+
+        private final long id;
+
+        private final String itemName;
+
+        private final int price;
+
+        private final int popularity;
+
+        private Candidate(long id, String itemName, int price, int popularity) {
+            this.id = id;
+            this.itemName = itemName;
+            this.price = price;
+            this.popularity = popularity;
+        }
+
+        private static Comparator<Candidate> comparator(SuggestOrder order) {
+            return (a, b) -> PrefixIndex.compare(order, a.price, a.popularity, a.id, b.price, b.popularity, b.id);
+        }
+    }
+
+    private static class Builder {
+
+        private long[] ids;
+
+        private String[] names;
+
+        private int[] prices;
+
+        private int[] popularity;
+
+        private long[] versions;
+
+        private int size;
+
+        private Builder(int capacity) {
+            capacity = Math.max(capacity, 16);
+            ids = new long[capacity];
+            names = new String[capacity];
+            prices = new int[capacity];
+            popularity = new int[capacity];
+            versions = new long[capacity];
+        }
+
+        private void add(long id, String name, int price, int count, long version) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                popularity = Arrays.copyOf(popularity, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+            }
+            ids[size] = id;
+            names[size] = name;
+            prices[size] = price;
+            popularity[size] = count;
+            versions[size] = version;
+            size++;
+        }
+
+        private PrefixIndex build() {
+            return PrefixIndex.build(Arrays.copyOf(ids, size), Arrays.copyOf(names, size),
+                    Arrays.copyOf(prices, size), Arrays.copyOf(popularity, size), Arrays.copyOf(versions, size));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package co.mr.myShopTest.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// n-gram 역색인(inverted index)
+// 문자열을 n글자씩 잘라(gram) gram -> (상품 id -> 등장 횟수) 형태로 저장한다.
+// 형태소 분석 없이 글자 단위로 자르기 때문에 띄어쓰기가 제각각인 한글 문장도 검색된다.
+// 예> n=2, "청바지 세일" -> [청바, 바지, 지세, 세일]
+
+// 동기화는 하지 않으므로 사용하는 쪽(ItemSearchRepository)에서 락을 걸어야 한다.
+class NgramIndex {
+
+    private final int gramSize;
+
+    // gram -> (id -> tf)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // id -> 해당 문서의 gram 목록, 수정/삭제 시 기존 posting을 지우기 위해 보관
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    NgramIndex(int gramSize) {
+        this.gramSize = gramSize;
+    }
+
+    void put(Long id, String text) {
+        remove(id);
+        Map<String, Integer> grams = grams(text);
+        if (grams.isEmpty()) {
+            return;
+        }
+        documents.put(id, grams);
+        grams.forEach((gram, tf) -> postings.computeIfAbsent(gram, g -> new HashMap<>()).put(id, tf));
+    }
+
+    void remove(Long id) {
+        Map<String, Integer> grams = documents.remove(id);
+        if (grams == null) {
+            return;
+        }
+        for (String gram : grams.keySet()) {
+            Map<Long, Integer> posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    // 검색어를 gram으로 나눌 수 있는지(검색어가 n글자 이상인지) 여부
+    boolean supports(String query) {
+        return normalize(query).length() >= gramSize;
+    }
+
+    // 검색어의 모든 gram을 포함하는 문서를 찾아 tf-idf 점수를 매겨 반환한다.
+    // gram이 모두 들어있다고 원문에 검색어가 연속으로 들어있다는 보장은 없으므로
+    // 정확한 like 결과가 필요하면 호출하는 쪽에서 한번 더 걸러야 한다.
+    Map<Long, Double> score(String query) {
+        Map<String, Integer> queryGrams = grams(query);
+        if (queryGrams.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Map<Long, Integer>> lists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams.keySet()) {
+            Map<Long, Integer> posting = postings.get(gram);
+            if (posting == null) {
+                return Collections.emptyMap(); // 한 gram이라도 없으면 결과 없음
+            }
+            lists.add(posting);
+        }
+        // 가장 짧은 posting부터 교집합을 구해야 비교 횟수가 적다.
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long id : lists.get(0).keySet()) {
+            double score = 0;
+            boolean matched = true;
+            for (Map<Long, Integer> posting : lists) {
+                Integer tf = posting.get(id);
+                if (tf == null) {
+                    matched = false;
+                    break;
+                }
+                score += tf * Math.log(1 + (double) documents.size() / posting.size());
+            }
+            if (matched) {
+                scores.put(id, score);
+            }
+        }
+        return scores;
+    }
+
+    Map<String, Integer> grams(String text) {
+        String normalized = normalize(text);
+        if (normalized.length() < gramSize) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> grams = new HashMap<>();
+        for (int i = 0; i + gramSize <= normalized.length(); i++) {
+            grams.merge(normalized.substring(i, i + gramSize), 1, Integer::sum);
+        }
+        return grams;
+    }
+
+    // 대소문자, 공백 차이는 무시
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
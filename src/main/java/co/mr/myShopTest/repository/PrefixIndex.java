@@ -0,0 +1,332 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.SuggestOrder;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+// 자동완성용 접두어 색인 (만든 뒤에는 변경하지 않음)
+// 상품명을 자모로 분해한 키를 정렬해서 한 char[]에 이어 붙여 두고, 접두어에 해당하는 구간을 이진 탐색으로 찾는다.
+// 트라이처럼 노드 객체를 만들지 않아서 상품 100만 건에 수십 MB 정도만 사용한다.
+//
+// 구간 안에서 인기순/가격순 상위 N개는 세그먼트 트리(구간별 1등의 위치)로 찾는다.
+// 구간 1등을 꺼내고 그 왼쪽/오른쪽 구간의 1등을 다시 후보로 넣는 방식이라
+// 접두어가 한 글자(구간이 수십만 건)여도 N * log(상품 수) 번만 비교한다.
+//
+// 초성 검색용으로 초성 키 정렬 순서를 따로 가지고 있다. (choseongOrder: 초성 키 순서 -> 항목 위치)
+// 동기화는 하지 않으므로 만든 뒤에는 읽기만 해야 한다.
+class PrefixIndex {
+
+    static final PrefixIndex EMPTY = build(new long[0], new String[0], new int[0], new int[0]);
+
+    private final long[] ids;
+
+    private final int[] prices;
+
+    private final int[] popularity;
+
+    // 항목 값을 읽은 Item 버전 (모르면 -1)
+    private final long[] versions;
+
+    private final char[] nameChars;
+
+    private final int[] nameOffsets;
+
+    // 자모 키 순서로 정렬된 키, 항목 위치와 같은 순서
+    private final char[] keyChars;
+
+    private final int[] keyOffsets;
+
+    // 초성 키 순서
+    private final char[] choseongChars;
+
+    private final int[] choseongOffsets;
+
+    private final int[] choseongOrder;
+
+    // id 오름차순, 같은 순서의 항목 위치 (id로 항목을 찾을 때 이진 탐색)
+    private final long[] idOrder;
+
+    private final int[] idPositions;
+
+    // [정렬 기준][0: 자모 키 순서, 1: 초성 키 순서]
+    private final int[][][] trees = new int[SuggestOrder.values().length][2][];
+
+    private PrefixIndex(long[] ids, int[] prices, int[] popularity, long[] versions, char[] nameChars, int[] nameOffsets,
+                        char[] keyChars, int[] keyOffsets, char[] choseongChars, int[] choseongOffsets,
+                        int[] choseongOrder) {
+        this.ids = ids;
+        this.prices = prices;
+        this.popularity = popularity;
+        this.versions = versions;
+        this.nameChars = nameChars;
+        this.nameOffsets = nameOffsets;
+        this.keyChars = keyChars;
+        this.keyOffsets = keyOffsets;
+        this.choseongChars = choseongChars;
+        this.choseongOffsets = choseongOffsets;
+        this.choseongOrder = choseongOrder;
+        Integer[] byId = new Integer[ids.length];
+        for (int i = 0; i < byId.length; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, Comparator.comparingLong((Integer i) -> ids[i]));
+        this.idOrder = new long[ids.length];
+        this.idPositions = new int[ids.length];
+        for (int i = 0; i < byId.length; i++) {
+            idOrder[i] = ids[byId[i]];
+            idPositions[i] = byId[i];
+        }
+        for (SuggestOrder order : SuggestOrder.values()) {
+            trees[order.ordinal()][0] = buildTree(order, false);
+            trees[order.ordinal()][1] = buildTree(order, true);
+        }
+    }
+
+    static PrefixIndex build(long[] ids, String[] names, int[] prices, int[] popularity) {
+        long[] versions = new long[ids.length];
+        Arrays.fill(versions, -1);
+        return build(ids, names, prices, popularity, versions);
+    }
+
+    static PrefixIndex build(long[] ids, String[] names, int[] prices, int[] popularity, long[] versions) {
+        int size = ids.length;
+        String[] keys = new String[size];
+        String[] choseongKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = HangulJamo.decompose(names[i]);
+            choseongKeys[i] = HangulJamo.choseong(names[i]);
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> keys[i]).thenComparingLong(i -> ids[i]));
+
+        long[] sortedIds = new long[size];
+        int[] sortedPrices = new int[size];
+        int[] sortedPopularity = new int[size];
+        long[] sortedVersions = new long[size];
+        String[] sortedNames = new String[size];
+        String[] sortedKeys = new String[size];
+        String[] sortedChoseongKeys = new String[size];
+        for (int position = 0; position < size; position++) {
+            int i = order[position];
+            sortedIds[position] = ids[i];
+            sortedPrices[position] = prices[i];
+            sortedPopularity[position] = popularity[i];
+            sortedVersions[position] = versions[i];
+            sortedNames[position] = names[i];
+            sortedKeys[position] = keys[i];
+            sortedChoseongKeys[position] = choseongKeys[i];
+        }
+
+        // 초성 키 순서 -> 항목 위치
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> sortedChoseongKeys[i]).thenComparingInt(i -> i));
+        int[] choseongOrder = new int[size];
+        String[] choseongSorted = new String[size];
+        for (int i = 0; i < size; i++) {
+            choseongOrder[i] = order[i];
+            choseongSorted[i] = sortedChoseongKeys[order[i]];
+        }
+
+        int[] nameOffsets = new int[size + 1];
+        int[] keyOffsets = new int[size + 1];
+        int[] choseongOffsets = new int[size + 1];
+        return new PrefixIndex(sortedIds, sortedPrices, sortedPopularity, sortedVersions,
+                concat(sortedNames, nameOffsets), nameOffsets,
+                concat(sortedKeys, keyOffsets), keyOffsets,
+                concat(choseongSorted, choseongOffsets), choseongOffsets, choseongOrder);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long id(int position) {
+        return ids[position];
+    }
+
+    int price(int position) {
+        return prices[position];
+    }
+
+    int popularity(int position) {
+        return popularity[position];
+    }
+
+    long version(int position) {
+        return versions[position];
+    }
+
+    // 색인에 없는 id면 0
+    int popularityOf(long id) {
+        int index = Arrays.binarySearch(idOrder, id);
+        return index >= 0 ? popularity[idPositions[index]] : 0;
+    }
+
+    // 색인에 없는 id면 -1
+    long versionOf(long id) {
+        int index = Arrays.binarySearch(idOrder, id);
+        return index >= 0 ? versions[idPositions[index]] : -1;
+    }
+
+    String name(int position) {
+        return new String(nameChars, nameOffsets[position], nameOffsets[position + 1] - nameOffsets[position]);
+    }
+
+    // 접두어가 일치하는 항목 중 정렬 기준으로 상위 limit개의 위치
+    // skip이 true를 반환하는 id(변경되어 따로 관리 중인 상품)는 건너뛴다.
+    int[] top(String prefix, boolean choseong, SuggestOrder order, int limit, LongPredicate skip) {
+        char[] chars = choseong ? choseongChars : keyChars;
+        int[] offsets = choseong ? choseongOffsets : keyOffsets;
+        int from = bound(chars, offsets, prefix, false);
+        int to = bound(chars, offsets, prefix, true);
+        if (from >= to || limit <= 0) {
+            return new int[0];
+        }
+
+        int[] tree = trees[order.ordinal()][choseong ? 1 : 0];
+        int leaves = tree.length / 2;
+        // {구간 시작, 구간 끝, 구간 1등의 순서 인덱스}
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(
+                (a, b) -> compare(order, position(choseong, a[2]), position(choseong, b[2])));
+        candidates.add(new int[]{from, to, max(tree, leaves, order, choseong, from, to)});
+
+        int[] result = new int[Math.min(limit, to - from)];
+        int count = 0;
+        while (count < result.length && !candidates.isEmpty()) {
+            int[] range = candidates.poll();
+            int best = range[2];
+            int position = position(choseong, best);
+            if (skip == null || !skip.test(ids[position])) {
+                result[count++] = position;
+            }
+            if (range[0] < best) {
+                candidates.add(new int[]{range[0], best, max(tree, leaves, order, choseong, range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                candidates.add(new int[]{best + 1, range[1], max(tree, leaves, order, choseong, best + 1, range[1])});
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    // 정렬 기준 비교, 앞에 와야 하면 음수
+    // 인기순: 인기 높은 순 -> 가격 낮은 순 -> id 순
+    // 가격순: 가격 낮은 순 -> 인기 높은 순 -> id 순
+    static int compare(SuggestOrder order, int price1, int popularity1, long id1,
+                       int price2, int popularity2, long id2) {
+        int result;
+        if (order == SuggestOrder.POPULARITY) {
+            result = Integer.compare(popularity2, popularity1);
+            if (result == 0) {
+                result = Integer.compare(price1, price2);
+            }
+        } else {
+            result = Integer.compare(price1, price2);
+            if (result == 0) {
+                result = Integer.compare(popularity2, popularity1);
+            }
+        }
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+
+    private int compare(SuggestOrder order, int position1, int position2) {
+        return compare(order, prices[position1], popularity[position1], ids[position1],
+                prices[position2], popularity[position2], ids[position2]);
+    }
+
+    private int position(boolean choseong, int index) {
+        return choseong ? choseongOrder[index] : index;
+    }
+
+    // 세그먼트 트리: tree[leaves + i] = i, 내부 노드 = 두 자식 중 앞에 오는 것, 빈 칸은 -1
+    private int[] buildTree(SuggestOrder order, boolean choseong) {
+        int leaves = 1;
+        while (leaves < ids.length) {
+            leaves <<= 1;
+        }
+        int[] tree = new int[leaves * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < ids.length; i++) {
+            tree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            tree[node] = better(order, choseong, tree[node * 2], tree[node * 2 + 1]);
+        }
+        return tree;
+    }
+
+    // [from, to) 구간에서 가장 앞에 오는 순서 인덱스
+    private int max(int[] tree, int leaves, SuggestOrder order, boolean choseong, int from, int to) {
+        int best = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = better(order, choseong, best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = better(order, choseong, best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int better(SuggestOrder order, boolean choseong, int index1, int index2) {
+        if (index1 < 0) {
+            return index2;
+        }
+        if (index2 < 0) {
+            return index1;
+        }
+        return compare(order, position(choseong, index1), position(choseong, index2)) <= 0 ? index1 : index2;
+    }
+
+    // upper가 false면 키가 prefix 이상인 첫 위치, true면 prefix로 시작하는 마지막 키 다음 위치
+    private static int bound(char[] chars, int[] offsets, String prefix, boolean upper) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int result = comparePrefix(chars, offsets[mid], offsets[mid + 1], prefix);
+            if (result < 0 || (upper && result == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // 키의 앞부분(prefix 길이만큼)과 prefix 비교
+    private static int comparePrefix(char[] chars, int start, int end, String prefix) {
+        int length = Math.min(end - start, prefix.length());
+        for (int i = 0; i < length; i++) {
+            char c = chars[start + i];
+            char p = prefix.charAt(i);
+            if (c != p) {
+                return c - p;
+            }
+        }
+        return end - start < prefix.length() ? -1 : 0;
+    }
+
+    private static char[] concat(String[] values, int[] offsets) {
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            offsets[i] = length;
+            length += values[i].length();
+        }
+        offsets[values.length] = length;
+        char[] chars = new char[length];
+        for (int i = 0; i < values.length; i++) {
+            values[i].getChars(0, values[i].length(), chars, offsets[i]);
+        }
+        return chars;
+    }
+}
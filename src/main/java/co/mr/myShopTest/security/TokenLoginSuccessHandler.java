@@ -0,0 +1,28 @@
+package co.mr.myShopTest.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 로그인 화면(formLogin)에서 로그인에 성공하면 세션 대신 토큰 쿠키를 내려주고 기본 화면으로 보낸다.
+public class TokenLoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
+
+    private final TokenService tokenService;
+
+    public TokenLoginSuccessHandler(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException, ServletException {
+        TokenService.Token token = tokenService.issue(authentication);
+        response.addHeader(HttpHeaders.SET_COOKIE, tokenService.cookie(token, request.isSecure()).toString());
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+}
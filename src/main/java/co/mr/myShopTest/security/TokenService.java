@@ -0,0 +1,204 @@
+package co.mr.myShopTest.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 로그인 토큰 발급/검증 (security.auth.mode=token)
+// 토큰 : base64url("{만료 epoch초}\n{권한,권한}\n{사용자명}") + "." + base64url(HMAC-SHA256)
+// 서버에 세션을 두지 않으므로 같은 secret을 쓰는 서버라면 어느 서버든 검증할 수 있다. (수평 확장)
+// BCrypt 비밀번호 검사는 토큰을 발급할 때 한 번만 하고, 이후 요청은 서명만 확인한다.
+//
+// 검증한 토큰은 만료 시각까지 캐시해 두고(Caffeine) 같은 토큰이 다시 오면 서명 계산/디코딩 없이 캐시된 Authentication을 그대로 쓴다.
+// 서명이 틀린 토큰은 캐시하지 않는다. (임의 문자열로 캐시를 채우지 못하도록)
+// secret이 없으면 시작할 때 임의로 만든다. 이 경우 재시작하면 기존 토큰은 모두 무효가 되고 서버끼리 토큰을 공유할 수 없다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token", matchIfMissing = true)
+public class TokenService {
+
+    public static final String COOKIE_NAME = "access_token";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // 이보다 긴 토큰은 서명을 계산하지 않고 거절한다.
+    private static final int MAX_TOKEN_LENGTH = 2048;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Getter
+    private final Duration ttl;
+
+    // Mac은 스레드 안전하지 않고 만들 때 비용이 있으므로 스레드마다 하나씩 재사용한다.
+    private final ThreadLocal<Mac> mac;
+
+    private final Cache<String, VerifiedToken> verified;
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:15m}") Duration ttl,
+                        @Value("${security.token.cache-size:10000}") long cacheSize) {
+        byte[] key;
+        if (secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("security.token.secret 이 없어서 임의의 키로 토큰에 서명합니다. 재시작하면 토큰이 무효가 되고 서버끼리 공유할 수 없습니다.");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        this.ttl = ttl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+                        return Math.max(TimeUnit.SECONDS.toNanos(value.expiresAt - epochSecond()), 0);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // 로그인에 성공한 사용자에게 ttl 동안 쓸 수 있는 토큰을 발급한다.
+    public Token issue(Authentication authentication) {
+        return issue(authentication, epochSecond() + ttl.getSeconds());
+    }
+
+    Token issue(Authentication authentication, long expiresAt) {
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = ENCODER.encodeToString(
+                (expiresAt + "\n" + authorities + "\n" + authentication.getName()).getBytes(StandardCharsets.UTF_8));
+        return new Token(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    // 유효한 토큰이면 Authentication, 서명이 틀렸거나 만료되었으면 null
+    public Authentication verify(String token) {
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached != null) {
+            return cached.expiresAt > epochSecond() ? cached.authentication : null;
+        }
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\n", 3);
+            if (fields.length != 3) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(fields[0]);
+            if (expiresAt <= epochSecond()) {
+                return null;
+            }
+            List<GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1]);
+            Authentication authentication = new UsernamePasswordAuthenticationToken(fields[2], null, authorities);
+            verified.put(token, new VerifiedToken(authentication, expiresAt));
+            return authentication;
+        } catch (IllegalArgumentException e) {
+            // base64, 숫자 형식 오류
+            return null;
+        }
+    }
+
+    // 브라우저 화면용 쿠키 (JS에서 읽을 수 없고, 다른 사이트에서 보낸 POST에는 붙지 않는다.)
+    public ResponseCookie cookie(Token token, boolean secure) {
+        return ResponseCookie.from(COOKIE_NAME, token.getValue())
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(Math.max(token.getExpiresAt() - epochSecond(), 0))
+                .build();
+    }
+
+    public CacheStats getCacheStats() {
+        return verified.stats();
+    }
+
+    private byte[] sign(String payload) {
+        return mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long epochSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    @Getter
+    public static class Token {
+
+        private final String value;
+
+        // 만료 시각 (epoch 초)
+        private final long expiresAt;
+
+        Token(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private VerifiedToken(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.CatalogStats;
+import co.mr.myShopTest.dto.ItemStatsDto;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import co.mr.myShopTest.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 상품 통계 (대시보드용)
+// group by item_sell_status, 가격 구간별 집계 쿼리를 매번 item 테이블 전체에 실행하지 않고
+// 메모리에 집계값을 두고 ItemChangeEvent(저장/수정/삭제/재고 변경)마다 해당 상품의 이전 값을 빼고 새 값을 더한다.
+// - 이벤트에는 변경 후 값만 있으므로 상품별 (가격, 재고, 판매상태)를 따로 보관한다.
+// - 최저/최고 가격은 삭제에도 맞출 수 있도록 가격별 상품 수(TreeMap)로 관리한다.
+// - 조회 결과(CatalogStats)는 만들어 두고 변경이 있을 때만 다시 만든다. 변경이 없으면 조회는 O(1)
+// - 이벤트가 누락되는 경우(네이티브 쿼리 직접 수정 등)를 대비해 주기적으로 DB 전체를 다시 읽어 맞춘다. (reconcile)
+// - 커밋 후 이벤트는 커밋 순서대로 도착한다는 보장이 없으므로 Item 버전을 같이 보관하고 더 오래된 버전의 이벤트는 버린다.
+//   그래서 같은 이벤트를 다시 적용하거나 순서가 바뀌어 들어와도 결과가 같다.
+@Slf4j
+@Service
+public class CatalogStatsService {
+
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    // 가격 구간 시작 가격, 첫 값은 0
+    private final int[] bucketFrom;
+
+    private final Object lock = new Object();
+
+    // reconcile이 동시에 두 번 실행되지 않도록 (스케줄러와 직접 호출)
+    private final Object reconcileLock = new Object();
+
+    private Aggregates aggregates;
+
+    // reconcile 도중 들어온 이벤트, 새 집계에 다시 적용한다. (reconcile 중이 아니면 null)
+    private List<ItemChangeEvent> pendingEvents;
+
+    private LocalDateTime reconciledAt;
+
+    private volatile CatalogStats stats;
+
+    public CatalogStatsService(ItemRepository itemRepository,
+                               @Value("${catalog.stats.price-buckets:10000,30000,50000,100000,300000,500000,1000000}")
+                               int[] priceBuckets) {
+        this.itemRepository = itemRepository;
+        this.bucketFrom = bucketFrom(priceBuckets);
+        this.aggregates = new Aggregates(bucketFrom);
+    }
+
+    public CatalogStats getStats() {
+        CatalogStats result = stats;
+        if (result == null) {
+            synchronized (lock) {
+                result = stats;
+                if (result == null) {
+                    result = aggregates.toStats(reconciledAt);
+                    stats = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // 트랜잭션이 커밋된 뒤에만 반영한다. (롤백된 변경이 집계되지 않도록)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        synchronized (lock) {
+            apply(aggregates, event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            stats = null;
+        }
+    }
+
+    // DB 전체를 읽어 집계를 새로 만들고 교체한다. 시작할 때 한 번 실행하고 이후 주기적으로 실행한다.
+    // 읽는 동안 들어온 이벤트는 새 집계에 다시 적용한다.
+    // 이미 읽은 행보다 버전이 낮은 이벤트는 버려지므로 이벤트가 들어온 순서와 상관없이 상품마다 가장 최근 값이 남는다.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${catalog.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        synchronized (lock) {
+            pendingEvents = new ArrayList<>();
+        }
+        Aggregates rebuilt = new Aggregates(bucketFrom);
+        try {
+            Long lastId = 0L;
+            List<ItemStatsDto> rows;
+            do {
+                rows = itemRepository.findStatsAfter(lastId, PageRequest.of(0, RECONCILE_PAGE_SIZE));
+                for (ItemStatsDto row : rows) {
+                    rebuilt.put(row.getId(), new ItemState(row.getPrice(), row.getStockNumber(),
+                            row.getItemSellStatus(), version(row.getVersion())));
+                    lastId = row.getId();
+                }
+            } while (rows.size() == RECONCILE_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingEvents = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            for (ItemChangeEvent event : pendingEvents) {
+                apply(rebuilt, event);
+            }
+            pendingEvents = null;
+            if (reconciledAt != null && !aggregates.total.sameAs(rebuilt.total)) {
+                log.warn("[stats] 집계가 DB와 달라 다시 계산했습니다. 상품 수 {} -> {}, 재고 합계 {} -> {}",
+                        aggregates.total.count, rebuilt.total.count,
+                        aggregates.total.totalStock, rebuilt.total.totalStock);
+            }
+            aggregates = rebuilt;
+            reconciledAt = LocalDateTime.now();
+            stats = null;
+        }
+    }
+
+    private static void apply(Aggregates aggregates, ItemChangeEvent event) {
+        long version = version(event.getVersion());
+        if (event.getChangeType() == ItemChangeType.DELETED) {
+            aggregates.remove(event.getItemId(), version);
+        } else if (aggregates.isNewer(event.getItemId(), version)) {
+            aggregates.put(event.getItemId(),
+                    new ItemState(event.getPrice(), event.getStockNumber(), event.getItemSellStatus(), version));
+        }
+    }
+
+    // 버전 컬럼이 추가되기 전에 들어간 행은 null
+    private static long version(Long version) {
+        return version == null ? -1 : version;
+    }
+
+    private static int[] bucketFrom(int[] priceBuckets) {
+        int[] sorted = Arrays.stream(priceBuckets).filter(price -> price > 0).sorted().distinct().toArray();
+        int[] from = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, from, 1, sorted.length);
+        return from;
+    }
+
+    private static class ItemState {
+
+        private final int price;
+
+        private final int stockNumber;
+
+        private final ItemSellStatus itemSellStatus;
+
+        private final long version;
+
+        private ItemState(int price, int stockNumber, ItemSellStatus itemSellStatus, long version) {
+            this.price = price;
+            this.stockNumber = stockNumber;
+            this.itemSellStatus = itemSellStatus;
+            this.version = version;
+        }
+    }
+
+    // 집계 단위(전체, 판매상태, 가격 구간) 하나의 값
+    private static class Group {
+
+        private long count;
+
+        private long totalStock;
+
+        private long totalPrice;
+
+        // 가격 -> 상품 수
+        private final TreeMap<Integer, Integer> prices = new TreeMap<>();
+
+        private void add(ItemState state, int sign) {
+            count += sign;
+            totalStock += (long) sign * state.stockNumber;
+            totalPrice += (long) sign * state.price;
+            prices.merge(state.price, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        private boolean sameAs(Group other) {
+            return count == other.count && totalStock == other.totalStock && totalPrice == other.totalPrice;
+        }
+
+        private CatalogStats.Group toStats() {
+            if (count == 0) {
+                return new CatalogStats.Group(0, 0, null, null, null);
+            }
+            return new CatalogStats.Group(count, totalStock, prices.firstKey(), prices.lastKey(),
+                    (double) totalPrice / count);
+        }
+    }
+
+    private static class Aggregates {
+
+        private final int[] bucketFrom;
+
+        private final Map<Long, ItemState> items = new HashMap<>();
+
+        // 삭제된 상품 -> 삭제 시점 버전, 늦게 도착한 이전 수정 이벤트로 되살아나지 않도록 남겨 둔다.
+        // (reconcile 때 새 집계로 바뀌면서 비워진다)
+        private final Map<Long, Long> removed = new HashMap<>();
+
+        private final Group total = new Group();
+
+        private final Map<ItemSellStatus, Group> byStatus = new EnumMap<>(ItemSellStatus.class);
+
+        private final Group[] byBucket;
+
+        // 가격 구간별 판매상태별 상품 수
+        private final Map<ItemSellStatus, long[]> histogram = new EnumMap<>(ItemSellStatus.class);
+
+        private Aggregates(int[] bucketFrom) {
+            this.bucketFrom = bucketFrom;
+            this.byBucket = new Group[bucketFrom.length];
+            for (int i = 0; i < byBucket.length; i++) {
+                byBucket[i] = new Group();
+            }
+            for (ItemSellStatus status : ItemSellStatus.values()) {
+                byStatus.put(status, new Group());
+                histogram.put(status, new long[bucketFrom.length]);
+            }
+        }
+
+        private void put(Long itemId, ItemState state) {
+            ItemState previous = items.put(itemId, state);
+            if (previous != null) {
+                add(previous, -1);
+            }
+            add(state, 1);
+        }
+
+        // 같은 버전이면 같은 커밋의 값이므로 다시 적용해도 된다.
+        private boolean isNewer(Long itemId, long version) {
+            ItemState current = items.get(itemId);
+            if (current != null) {
+                return version >= current.version;
+            }
+            Long removedVersion = removed.get(itemId);
+            return removedVersion == null || version > removedVersion;
+        }
+
+        // 삭제는 그 버전까지의 변경 뒤에 일어나므로 같은 버전의 값도 지운다.
+        private void remove(Long itemId, long version) {
+            ItemState current = items.get(itemId);
+            if (current != null && current.version > version) {
+                return;
+            }
+            removed.merge(itemId, version, Math::max);
+            if (current != null) {
+                items.remove(itemId);
+                add(current, -1);
+            }
+        }
+
+        private void add(ItemState state, int sign) {
+            int bucket = bucket(state.price);
+            total.add(state, sign);
+            byBucket[bucket].add(state, sign);
+            if (state.itemSellStatus != null) {
+                byStatus.get(state.itemSellStatus).add(state, sign);
+                histogram.get(state.itemSellStatus)[bucket] += sign;
+            }
+        }
+
+        private int bucket(int price) {
+            int index = Arrays.binarySearch(bucketFrom, price);
+            return index >= 0 ? index : Math.max(0, -index - 2);
+        }
+
+        private CatalogStats toStats(LocalDateTime reconciledAt) {
+            Map<ItemSellStatus, CatalogStats.Group> statusStats = new EnumMap<>(ItemSellStatus.class);
+            byStatus.forEach((status, group) -> statusStats.put(status, group.toStats()));
+
+            List<CatalogStats.PriceBucket> buckets = new ArrayList<>(byBucket.length);
+            for (int i = 0; i < byBucket.length; i++) {
+                Map<ItemSellStatus, Long> countByStatus = new EnumMap<>(ItemSellStatus.class);
+                for (ItemSellStatus status : ItemSellStatus.values()) {
+                    countByStatus.put(status, histogram.get(status)[i]);
+                }
+                buckets.add(new CatalogStats.PriceBucket(bucketFrom[i],
+                        i + 1 < bucketFrom.length ? bucketFrom[i + 1] : null,
+                        byBucket[i].toStats(), Collections.unmodifiableMap(countByStatus)));
+            }
+            return new CatalogStats(total.toStats(), Collections.unmodifiableMap(statusStats),
+                    Collections.unmodifiableList(buckets), reconciledAt);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 상품 이미지 크기별 변환본 생성 및 디스크 캐시
+// static/images의 원본(250~760KB)을 그대로 보내지 않고, 요청한 크기(ImageVariant)로 줄인 파일을 만들어 둔다.
+// - 파일명: {원본 SHA-256 앞 16자리}-{variant}.{확장자}, 원본이 바뀌면 다른 파일이 된다.
+// - 같은 변환본을 동시에 요청하면 변환은 한번만 실행되고 나머지는 결과를 기다린다.
+// - 캐시 디렉토리가 maxBytes를 넘으면 가장 오래 사용하지 않은 파일부터 지운다.
+@Slf4j
+@Service
+public class ImageService {
+
+    private static final String IMAGE_LOCATION = "static/images/";
+
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int OPEN_ATTEMPTS = 3;
+
+    private final Path cacheDir;
+
+    private final long maxBytes;
+
+    // 원본 파일명 -> 원본 SHA-256 앞 16자리
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    // 생성 중인 변환본, 키: 캐시 파일명
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong generatedCount = new AtomicLong();
+
+    public ImageService(@Value("${image.cache.dir:#{systemProperties['java.io.tmpdir']}/myshop-image-cache}") String cacheDir,
+                        @Value("${image.cache.max-bytes:268435456}") long maxBytes) throws IOException {
+        this.cacheDir = Files.createDirectories(Paths.get(cacheDir));
+        this.maxBytes = maxBytes;
+    }
+
+    // 원본 이미지의 지문(fingerprint), 원본이 없으면 null
+    public String fingerprint(String fileName) {
+        if (!isValidName(fileName)) {
+            return null;
+        }
+        return fingerprints.computeIfAbsent(fileName, name -> {
+            ClassPathResource resource = new ClassPathResource(IMAGE_LOCATION + name);
+            if (!resource.exists()) {
+                return null;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                return sha256(in).substring(0, 16);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 템플릿에서 사용 : th:src="${@imageService.url('셔츠.jpg', 'list')}"
+    // 지문이 들어간 URL은 내용이 바뀌지 않으므로 브라우저가 1년 동안 다시 요청하지 않는다.
+    public String url(String fileName, String variant) {
+        String fingerprint = fingerprint(fileName);
+        String encodedName = UriUtils.encodePathSegment(fileName, StandardCharsets.UTF_8);
+        String variantPath = variant.toLowerCase(Locale.ROOT);
+        return fingerprint == null
+                ? "/image/" + variantPath + "/" + encodedName
+                : "/image/" + variantPath + "/" + fingerprint + "/" + encodedName;
+    }
+
+    // 변환본 파일 경로, 없으면 만든다. 원본이 없으면 null
+    public Path variantFile(String fileName, ImageVariant variant) throws IOException {
+        String fingerprint = fingerprint(fileName);
+        if (fingerprint == null) {
+            return null;
+        }
+        String cacheName = fingerprint + "-" + variant.name().toLowerCase(Locale.ROOT) + "." + extension(fileName);
+        Path target = cacheDir.resolve(cacheName);
+        if (Files.exists(target)) {
+            touch(target);
+            return target;
+        }
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(cacheName, future);
+        if (running != null) {
+            return await(running); // 다른 요청이 만드는 중
+        }
+        try {
+            if (!Files.exists(target)) {
+                resize(fileName, variant, target);
+                generatedCount.incrementAndGet();
+                evict(target);
+            }
+            future.complete(target);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheName, future);
+        }
+    }
+
+    // 변환본 파일을 읽기용으로 연다. 원본이 없으면 null
+    // 경로를 받은 뒤 여는 사이에 다른 요청의 용량 제한(evict)으로 지워질 수 있으므로 그때는 다시 만든다.
+    // 열어 둔 채널은 파일이 지워져도 끝까지 읽을 수 있다.
+    public FileChannel openVariant(String fileName, ImageVariant variant) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            Path file = variantFile(fileName, variant);
+            if (file == null) {
+                return null;
+            }
+            try {
+                return FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                if (attempt >= OPEN_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("[image] {} evicted before open, regenerating", file.getFileName());
+            }
+        }
+    }
+
+    public long getGeneratedCount() {
+        return generatedCount.get();
+    }
+
+    private void resize(String fileName, ImageVariant variant, Path target) throws IOException {
+        BufferedImage source;
+        try (InputStream in = new ClassPathResource(IMAGE_LOCATION + fileName).getInputStream()) {
+            source = ImageIO.read(in);
+        }
+        if (source == null) {
+            throw new IOException("이미지 파일이 아닙니다: " + fileName);
+        }
+        String format = extension(fileName).equals("png") ? "png" : "jpg";
+        BufferedImage resized = scale(source, variant.getMaxWidth(), format.equals("png"));
+
+        // 다른 요청이 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 이름을 바꾼다.
+        Path temp = Files.createTempFile(cacheDir, "resize-", ".tmp");
+        try {
+            write(resized, format, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 한번에 크게 줄이면 계단 현상이 생기므로 목표 크기의 2배가 될 때까지 절반씩 줄인 다음 마지막에 맞춘다.
+    private static BufferedImage scale(BufferedImage source, int maxWidth, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int targetWidth = Math.min(width, maxWidth);
+        int targetHeight = Math.max(1, (int) Math.round((double) height * targetWidth / width));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        do {
+            if (width / 2 > targetWidth) {
+                width /= 2;
+                height = Math.max(targetHeight, height / 2);
+            } else {
+                width = targetWidth;
+                height = targetHeight;
+            }
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = next;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format.equals("jpg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.85f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // 캐시 디렉토리 용량 제한, 마지막 사용 시간(수정 시간)이 오래된 파일부터 삭제
+    private void evict(Path keep) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            files = stream.filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toList());
+        }
+        long total = 0;
+        for (Path file : files) {
+            total += sizeOf(file);
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        files.sort(Comparator.comparing(ImageService::lastModified));
+        for (Path file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (!file.equals(keep)) {
+                long size = sizeOf(file);
+                if (Files.deleteIfExists(file)) {
+                    total -= size;
+                    log.debug("[image] evicted {}", file.getFileName());
+                }
+            }
+        }
+    }
+
+    // 다른 요청의 evict가 먼저 지운 파일은 0
+    private static long sizeOf(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    // 조회할 때마다 수정 시간을 갱신하면 디스크 쓰기가 많아지므로 1분에 한번만
+    private static void touch(Path file) {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - Files.getLastModifiedTime(file).toMillis() > TOUCH_INTERVAL_MILLIS) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+            }
+        } catch (IOException e) {
+            log.debug("[image] touch failed {}", file, e); // 삭제된 경우 등, 무시
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // 경로 이동(../) 방지, 하위 디렉토리 없이 파일명만 허용
+    private static boolean isValidName(String fileName) {
+        return fileName != null && !fileName.isEmpty() && !fileName.contains("/") && !fileName.contains("\\")
+                && !fileName.contains("..") && fileName.contains(".");
+    }
+
+    private static String extension(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return extension.equals("jpeg") ? "jpg" : extension;
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.concurrency.BoundedExecutor;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.exception.ConcurrencyLimitExceededException;
+import co.mr.myShopTest.repository.ItemCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// 상품 목록 화면 조회
+// 동기 : 요청 스레드(톰캣)에서 조회하므로 DB 응답을 기다리는 동안 요청 스레드를 붙잡는다.
+// 비동기 : catalogExecutor에서 조회하고 요청 스레드는 바로 반환한다. 결과가 나오면 톰캣이 다시 디스패치해서 화면을 그린다.
+@Service
+@RequiredArgsConstructor
+public class ItemCatalogService {
+
+    private final ItemCacheRepository itemCacheRepository;
+
+    private final BoundedExecutor catalogExecutor;
+
+    // lastId 다음 상품부터 size건 (id 순서), 상품이 바뀌기 전까지는 캐시된 목록을 사용한다.
+    public List<ItemListDto> getPage(Long lastId, int size) {
+        return itemCacheRepository.findListAfter(lastId == null ? 0L : lastId, size);
+    }
+
+    public CompletableFuture<List<ItemListDto>> getPageAsync(Long lastId, int size) {
+        try {
+            return CompletableFuture.supplyAsync(() -> getPage(lastId, size), catalogExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ConcurrencyLimitExceededException("대기 중인 상품 목록 조회가 너무 많습니다.");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 상품 전체 내보내기(CSV / NDJSON)
+// itemRepository.findAll()은 모든 Item(CLOB 포함)을 List와 영속성 컨텍스트에 올리므로 상품 수만큼 힙이 커진다.
+// 1. ItemRepository.streamAll()로 fetchSize만큼씩 DB에서 읽는다. (MySQL은 URL에 useCursorFetch=true가 있어야 fetchSize가 적용된다)
+// 2. 한 건씩 바로 출력 스트림에 쓰고, fetchSize 건마다 영속성 컨텍스트를 비우고(clear) 버퍼를 내보낸다(flush).
+// 3. 출력 스트림에 쓰는 동안은 다음 행을 읽지 않으므로 받는 쪽이 느리면 DB 읽기도 같이 느려진다. (backpressure)
+// 상품 수와 관계없이 메모리에는 fetchSize 건 정도만 남는다.
+@Service
+@RequiredArgsConstructor
+public class ItemExportService {
+
+    private final ItemRepository itemRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${item.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    // 내보낸 상품 수를 반환한다. out은 닫지 않는다.
+    @Transactional(readOnly = true)
+    public long export(Predicate predicate, ImportFormat format, OutputStream out) throws IOException {
+        return export(predicate, format, out, fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Predicate predicate, ImportFormat format, OutputStream out, int fetchSize) throws IOException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize는 1 이상이어야 합니다.");
+        }
+        ItemRowWriter rowWriter = new ItemRowWriter(format,
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), objectMapper);
+        rowWriter.writeHeader();
+
+        long count = 0;
+        try (Stream<Item> items = itemRepository.streamAll(predicate, fetchSize)) {
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.write(iterator.next());
+                if (++count % fetchSize == 0) {
+                    em.clear();
+                    rowWriter.flush();
+                }
+            }
+        }
+        rowWriter.flush();
+        return count;
+    }
+}
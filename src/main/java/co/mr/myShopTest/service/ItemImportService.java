@@ -0,0 +1,281 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.dto.ItemImportResult;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.ItemImportChunk;
+import co.mr.myShopTest.repository.ItemImportChunkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 상품 대량 등록(CSV / NDJSON)
+// 1. 파일을 한 행씩 읽어 chunkSize 행마다 청크로 묶는다. (파일 전체를 메모리에 올리지 않음)
+//    CSV는 따옴표 안의 줄바꿈을 값으로 보고 여러 줄을 한 행으로 읽는다. (ItemRecordReader)
+// 2. 청크는 작업 스레드에서 병렬로 파싱/검증 후 청크 하나 = 트랜잭션 하나로 저장한다.
+//    Item의 id는 시퀀스에서 allocationSize만큼 미리 받아오기 때문에 JDBC batch insert가 가능하다.
+//    batch_size마다 flush + clear 해서 영속성 컨텍스트가 커지지 않게 한다.
+// 3. 청크가 커밋되면 같은 트랜잭션에서 item_import_chunk에 기록한다.
+//    실패한 청크는 롤백되고, 같은 파일로 다시 실행하면 기록된 청크는 건너뛰고 실패한 청크부터 다시 저장한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final int MAX_ERROR_MESSAGES = 1000;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ItemImportChunkRepository itemImportChunkRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    public ItemImportResult importFile(Path file, ImportFormat format) throws IOException {
+        return importFile(file, format, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ItemImportResult importFile(Path file, ImportFormat format, int chunkSize, int parallelism) throws IOException {
+        ImportJob job = new ImportJob(jobKey(file, chunkSize), new ItemRowParser(format, objectMapper), parallelism);
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ItemRecordReader records = new ItemRecordReader(reader, format == ImportFormat.CSV);
+            String line;
+            long chunkNo = 0;
+            boolean headerRead = false;
+            List<String> lines = new ArrayList<>(chunkSize);
+            long[] lineNumbers = new long[chunkSize];
+
+            while ((line = records.next()) != null) {
+                if (!headerRead && format == ImportFormat.CSV) {
+                    headerRead = job.parser.readHeader(line);
+                    continue;
+                }
+                // 여러 줄에 걸친 행이 있으므로 행마다 시작 줄 번호를 기억한다. (오류 메시지용)
+                lineNumbers[lines.size()] = records.getStartLine();
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    job.submit(new Chunk(chunkNo++, lineNumbers, lines));
+                    lines = new ArrayList<>(chunkSize);
+                    lineNumbers = new long[chunkSize];
+                }
+            }
+            if (!lines.isEmpty()) {
+                job.submit(new Chunk(chunkNo, lineNumbers, lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("대량 등록이 중단되었습니다.", e);
+        } finally {
+            job.awaitTermination();
+        }
+
+        ItemImportResult result = job.result();
+        log.info("[item import] job={} done: {} rows imported, {} invalid, {} chunks skipped, {} chunks failed, {} rows/s",
+                result.getJobKey(), result.getImportedRows(), result.getInvalidRows(), result.getSkippedChunks(),
+                result.getFailedChunks().size(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    // 청크 하나를 한 트랜잭션으로 저장, 이미 저장된 청크면 null
+    private Integer saveChunk(String jobKey, long chunkNo, List<Item> items) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            if (itemImportChunkRepository.existsByJobKeyAndChunkNo(jobKey, chunkNo)) {
+                return null;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                em.persist(items.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.persist(new ItemImportChunk(jobKey, chunkNo, items.size()));
+            em.flush();
+            em.clear();
+            return items.size();
+        });
+    }
+
+    // 파일 내용 + 청크 크기로 작업을 구분한다. 청크 크기가 바뀌면 청크 경계가 달라지므로 다른 작업으로 본다.
+    private String jobKey(Path file, int chunkSize) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(chunkSize).array());
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 파일 하나를 등록하는 동안의 상태(작업 스레드, 진행 현황)
+    private class ImportJob {
+        private final String jobKey;
+        private final ItemRowParser parser;
+        private final ExecutorService executor;
+        // 읽기가 저장보다 빠를 때 청크가 메모리에 쌓이지 않도록 동시에 처리 중인 청크 수를 제한
+        private final Semaphore inFlight;
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicLong totalRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong invalidRows = new AtomicLong();
+        private final AtomicLong skippedChunks = new AtomicLong();
+        private final List<Long> failedChunks = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private ImportJob(String jobKey, ItemRowParser parser, int parallelism) {
+            this.jobKey = jobKey;
+            this.parser = parser;
+            this.executor = Executors.newFixedThreadPool(parallelism);
+            this.inFlight = new Semaphore(parallelism * 2);
+        }
+
+        private void submit(Chunk chunk) throws InterruptedException {
+            inFlight.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(chunk);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        private void run(Chunk chunk) {
+            totalRows.addAndGet(chunk.lines.size());
+            try {
+                if (itemImportChunkRepository.existsByJobKeyAndChunkNo(jobKey, chunk.chunkNo)) {
+                    skippedChunks.incrementAndGet();
+                    return;
+                }
+
+                List<Item> items = new ArrayList<>(chunk.lines.size());
+                for (int i = 0; i < chunk.lines.size(); i++) {
+                    String line = chunk.lines.get(i);
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        items.add(parser.parse(line));
+                    } catch (IllegalArgumentException e) {
+                        invalidRows.incrementAndGet();
+                        addError(chunk.lineNumbers[i] + ": " + e.getMessage());
+                    }
+                }
+
+                Integer saved = saveChunk(jobKey, chunk.chunkNo, items);
+                if (saved == null) {
+                    skippedChunks.incrementAndGet();
+                    return;
+                }
+                long imported = importedRows.addAndGet(saved);
+                log.info("[item import] job={} chunk {} committed ({} rows), total {} rows, {} rows/s",
+                        jobKey, chunk.chunkNo, saved, imported, Math.round(rowsPerSecond(imported)));
+            } catch (RuntimeException e) {
+                log.warn("[item import] job={} chunk {} failed, rolled back", jobKey, chunk.chunkNo, e);
+                synchronized (this) {
+                    failedChunks.add(chunk.chunkNo);
+                }
+                addError("chunk " + chunk.chunkNo + ": " + e.getMessage());
+            }
+        }
+
+        private synchronized void addError(String message) {
+            if (errors.size() < MAX_ERROR_MESSAGES) {
+                errors.add(message);
+            }
+        }
+
+        private double rowsPerSecond(long rows) {
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return rows / Math.max(seconds, 0.001);
+        }
+
+        private void awaitTermination() {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("[item import] job={} waiting for running chunks...", jobKey);
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized ItemImportResult result() {
+            ItemImportResult result = new ItemImportResult();
+            result.setJobKey(jobKey);
+            result.setTotalRows(totalRows.get());
+            result.setImportedRows(importedRows.get());
+            result.setInvalidRows(invalidRows.get());
+            result.setSkippedChunks(skippedChunks.get());
+            result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            List<Long> failed = new ArrayList<>(failedChunks);
+            failed.sort(null);
+            result.setFailedChunks(failed);
+            result.setErrors(new ArrayList<>(errors));
+            return result;
+        }
+    }
+
+    private static class Chunk {
+        private final long chunkNo;
+        private final long[] lineNumbers;
+        private final List<String> lines;
+
+        private Chunk(long chunkNo, long[] lineNumbers, List<String> lines) {
+            this.chunkNo = chunkNo;
+            this.lineNumbers = lineNumbers;
+            this.lines = lines;
+        }
+    }
+}
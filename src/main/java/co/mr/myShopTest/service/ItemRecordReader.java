@@ -0,0 +1,90 @@
+package co.mr.myShopTest.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// 대량 등록 파일을 행(레코드) 단위로 읽는다.
+// CSV는 따옴표로 감싼 값 안의 줄바꿈을 값의 일부로 두고 다음 줄까지 이어서 한 행으로 읽는다.
+// (내보내기 파일의 여러 줄짜리 itemDetail을 그대로 다시 등록할 수 있도록)
+// NDJSON은 JSON 문자열 안에 줄바꿈이 그대로 들어갈 수 없으므로 한 줄이 한 행이다.
+// 행 끝의 줄바꿈(\n, \r\n, \r)은 반환값에 포함하지 않는다.
+class ItemRecordReader {
+
+    private final Reader reader;
+
+    private final boolean quoted;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    // 직전 행이 \r로 끝났으면 이어지는 \n은 같은 줄바꿈이다.
+    private boolean skipLineFeed;
+
+    // 지금까지 읽은 줄 수
+    private long lineCount;
+
+    // 마지막으로 읽은 행이 시작한 줄 번호 (1부터)
+    private long startLine;
+
+    ItemRecordReader(Reader reader, boolean quoted) {
+        this.reader = reader;
+        this.quoted = quoted;
+    }
+
+    // 다음 행, 파일 끝이면 null
+    // 따옴표가 닫히지 않은 채 파일이 끝나면 남은 내용을 한 행으로 반환한다. (파싱할 때 오류 처리)
+    String next() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        boolean inQuotes = false;
+        boolean read = false;
+        startLine = lineCount + 1;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!read) {
+                    return null;
+                }
+                lineCount++;
+                return sb.toString();
+            }
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (quoted && c == '"') {
+                // 값 안의 "" 는 두 번 뒤집히므로 따옴표 안/밖 상태가 그대로 유지된다.
+                inQuotes = !inQuotes;
+            } else if (c == '\n' || c == '\r') {
+                if (!inQuotes) {
+                    lineCount++;
+                    skipLineFeed = c == '\r';
+                    return sb.toString();
+                }
+                if (c == '\n') {
+                    lineCount++;
+                }
+            }
+            sb.append(c);
+        }
+    }
+
+    long getStartLine() {
+        return startLine;
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
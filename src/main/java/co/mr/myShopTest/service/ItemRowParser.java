@@ -0,0 +1,164 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 대량 등록 파일의 한 행을 Item으로 변환한다.
+// CSV: 첫 행은 헤더(itemName,price,stockNumber,itemDetail,itemSellStatus), 따옴표(") 감싸기 지원,
+//      따옴표 안의 줄바꿈은 값에 포함된다. (행 나누기는 ItemRecordReader)
+// NDJSON: 한 줄에 JSON 객체 하나, 키 이름은 CSV 헤더와 같다.
+
+// Item 엔티티의 @Column 제약조건을 DB에 보내기 전에 미리 검사해서
+// 잘못된 행 하나 때문에 청크 전체가 롤백되는 일이 없도록 한다.
+class ItemRowParser {
+
+    static final int ITEM_NAME_MAX_LENGTH = 50; // Item.itemName length = 50
+
+    private final ImportFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    private List<String> header;
+
+    ItemRowParser(ImportFormat format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // CSV 헤더 줄이면 true를 반환하고 컬럼 순서를 기억한다.
+    boolean readHeader(String line) {
+        if (format != ImportFormat.CSV) {
+            return false;
+        }
+        header = splitCsv(line);
+        return true;
+    }
+
+    Item parse(String line) {
+        Map<String, String> row = format == ImportFormat.CSV ? csvRow(line) : jsonRow(line);
+        LocalDateTime now = LocalDateTime.now();
+
+        Item item = new Item();
+        item.setItemName(itemName(row.get("itemName")));
+        item.setPrice(nonNegativeInt(row, "price"));
+        item.setStockNumber(nonNegativeInt(row, "stockNumber"));
+        item.setItemDetail(required(row, "itemDetail"));
+        item.setItemSellStatus(sellStatus(row.get("itemSellStatus")));
+        item.setRegTime(now);
+        item.setUpdateTime(now);
+        return item;
+    }
+
+    private Map<String, String> csvRow(String line) {
+        if (header == null) {
+            throw new IllegalStateException("CSV 헤더가 없습니다.");
+        }
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("컬럼 수가 헤더와 다릅니다. (" + values.size() + "/" + header.size() + ")");
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            row.put(header.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    private Map<String, String> jsonRow(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+            }
+            Map<String, String> row = new HashMap<>();
+            node.fields().forEachRemaining(e -> row.put(e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식 오류: " + e.getOriginalMessage());
+        }
+    }
+
+    private String itemName(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("itemName은 필수입니다.");
+        }
+        if (value.length() > ITEM_NAME_MAX_LENGTH) {
+            throw new IllegalArgumentException("itemName은 " + ITEM_NAME_MAX_LENGTH + "자를 넘을 수 없습니다.");
+        }
+        return value;
+    }
+
+    private String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(column + "은(는) 필수입니다.");
+        }
+        return value;
+    }
+
+    private int nonNegativeInt(Map<String, String> row, String column) {
+        String value = required(row, column).trim();
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + "이(가) 숫자가 아닙니다: " + value);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException(column + "은(는) 0 이상이어야 합니다.");
+        }
+        return number;
+    }
+
+    private ItemSellStatus sellStatus(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return ItemSellStatus.SELL;
+        }
+        try {
+            return ItemSellStatus.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("알 수 없는 itemSellStatus: " + value);
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"'); // "" -> "
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("따옴표가 닫히지 않았습니다.");
+        }
+        values.add(sb.toString());
+        return values;
+    }
+}
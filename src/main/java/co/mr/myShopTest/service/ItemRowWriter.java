@@ -0,0 +1,118 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.entity.Item;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Item 한 건을 내보내기 파일의 한 줄로 쓴다. (ItemRowParser의 반대)
+// 컬럼/키 이름이 대량 등록 형식과 같아서 내보낸 파일을 그대로 다시 등록할 수 있다. (id, 등록/수정 시간은 등록 시 무시)
+// NDJSON은 Jackson JsonGenerator로 바로 써서 행마다 Map이나 JSON 트리를 만들지 않는다.
+class ItemRowWriter {
+
+    static final String CSV_HEADER = "id,itemName,price,stockNumber,itemDetail,itemSellStatus,regTime,updateTime";
+
+    private final ImportFormat format;
+
+    private final Writer writer;
+
+    private final JsonGenerator generator;
+
+    ItemRowWriter(ImportFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = writer;
+        if (format == ImportFormat.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null); // 객체 사이에 공백 대신 줄바꿈만 넣는다.
+        } else {
+            generator = null;
+        }
+    }
+
+    void writeHeader() throws IOException {
+        if (format == ImportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(Item item) throws IOException {
+        if (format == ImportFormat.CSV) {
+            writeCsv(item);
+        } else {
+            writeJson(item);
+        }
+    }
+
+    // 버퍼에 쌓인 내용을 응답으로 내보낸다.
+    void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Item item) throws IOException {
+        writer.write(String.valueOf(item.getId()));
+        writer.write(',');
+        writeCsvValue(item.getItemName());
+        writer.write(',');
+        writer.write(Integer.toString(item.getPrice()));
+        writer.write(',');
+        writer.write(Integer.toString(item.getStockNumber()));
+        writer.write(',');
+        writeCsvValue(item.getItemDetail());
+        writer.write(',');
+        writeCsvValue(item.getItemSellStatus() == null ? null : item.getItemSellStatus().name());
+        writer.write(',');
+        writeCsvValue(item.getRegTime() == null ? null : item.getRegTime().toString());
+        writer.write(',');
+        writeCsvValue(item.getUpdateTime() == null ? null : item.getUpdateTime().toString());
+        writer.write('\n');
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다.
+    private void writeCsvValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private void writeJson(Item item) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", item.getId());
+        generator.writeStringField("itemName", item.getItemName());
+        generator.writeNumberField("price", item.getPrice());
+        generator.writeNumberField("stockNumber", item.getStockNumber());
+        generator.writeStringField("itemDetail", item.getItemDetail());
+        generator.writeStringField("itemSellStatus",
+                item.getItemSellStatus() == null ? null : item.getItemSellStatus().name());
+        generator.writeStringField("regTime", item.getRegTime() == null ? null : item.getRegTime().toString());
+        generator.writeStringField("updateTime", item.getUpdateTime() == null ? null : item.getUpdateTime().toString());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,256 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import co.mr.myShopTest.exception.OutOfStockException;
+import co.mr.myShopTest.repository.ItemRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 재고 예약
+// 주문 흐름: reserve(재고 선점) -> commit(결제 완료, 확정) 또는 release(취소)
+// 예약 후 ttl 안에 commit/release 되지 않으면 자동으로 만료되어 재고가 돌아온다.
+
+// 상품별 예약 가능 수량은 메모리의 AtomicInteger로 관리하고 CAS(compareAndSet)로 차감하므로
+// 인기 상품에 요청이 몰려도 DB 행 락을 잡지 않고, 재고보다 많이 예약되지 않는다.
+// 확정(commit)된 수량은 모아 두었다가 주기적으로 item 테이블에 반영(write-behind)한다.
+// 반영 시 "where stock_number >= 수량" 조건부 update를 사용하므로 DB 재고가 음수가 되지 않고,
+// 재고가 0이 되면 판매상태를 SOLD_OUT으로 바꾼다.
+// DB 재고가 확정 수량보다 적어 반영에 실패하면(관리자가 재고를 직접 줄인 경우 등) 이미 판매된 수량이므로
+// 버리지 않고 반영 대기 수량에 남겨 두고 초과 판매(oversold)로 기록한다. 재고가 다시 채워지면 그때 반영된다.
+
+// DB 재고가 바뀌면(관리자 수정 등) 예약 가능 수량을 덮어쓰지 않고 바뀐 만큼만 더하고 뺀다.
+// 덮어쓰면 그 사이에 CAS로 차감된 예약이 사라져 재고보다 많이 팔릴 수 있다.
+
+// 애플리케이션 인스턴스가 하나라는 가정이다. (여러 대라면 인스턴스별 재고 할당이 필요)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private final ItemRepository itemRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PlatformTransactionManager transactionManager;
+
+    // 상품 id -> 재고 상태(예약 가능 수량, 마지막으로 알고 있는 DB 재고)
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+
+    // 예약 id -> 예약
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    // 상품 id -> 확정됐지만 아직 DB에 반영되지 않은 수량
+    private final Map<Long, Integer> pendingCommits = new ConcurrentHashMap<>();
+
+    // 상품 id -> 확정됐지만 DB 재고가 부족해 반영하지 못한 수량 (보상 처리 대상)
+    // 상품이 남아 있으면 같은 수량이 pendingCommits에도 남아 있어 재고가 채워지면 반영되고 기록이 지워진다.
+    // 상품이 삭제된 경우는 반영할 곳이 없으므로 여기에만 쌓인다.
+    private final Map<Long, Integer> oversold = new ConcurrentHashMap<>();
+
+    private final AtomicLong reservationSequence = new AtomicLong();
+
+    public long reserve(Long itemId, int quantity) {
+        return reserve(itemId, quantity, DEFAULT_TTL);
+    }
+
+    // 재고를 선점하고 예약 id를 반환한다. 재고가 부족하면 OutOfStockException
+    public long reserve(Long itemId, int quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("예약 수량은 1 이상이어야 합니다.");
+        }
+        AtomicInteger counter = stock(itemId).available;
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                throw new OutOfStockException("상품의 재고가 부족합니다. (현재 재고 수량: " + current + ")");
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                break;
+            }
+        }
+        long reservationId = reservationSequence.incrementAndGet();
+        reservations.put(reservationId, new Reservation(itemId, quantity, System.nanoTime() + ttl.toNanos()));
+        return reservationId;
+    }
+
+    // 예약 확정, 확정된 수량은 다음 flush() 때 DB에 반영된다.
+    public void commit(long reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new IllegalStateException("만료되었거나 존재하지 않는 예약입니다. (예약 id: " + reservationId + ")");
+        }
+        pendingCommits.merge(reservation.getItemId(), reservation.getQuantity(), Integer::sum);
+    }
+
+    // 예약 취소, 선점했던 재고를 돌려준다.
+    public void release(long reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation != null) {
+            restore(reservation);
+        }
+    }
+
+    // DB 재고가 줄어 예약 가능 수량이 음수가 될 수 있다. (그동안은 예약되지 않는다)
+    public int getAvailable(Long itemId) {
+        return Math.max(0, stock(itemId).available.get());
+    }
+
+    public Map<Long, Integer> getOversold() {
+        return Map.copyOf(oversold);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expireReservations() {
+        long now = System.nanoTime();
+        reservations.forEach((reservationId, reservation) -> {
+            // commit/release와 동시에 실행되어도 remove(key, value)에 성공한 쪽만 처리한다.
+            if (now - reservation.getExpiresAt() >= 0 && reservations.remove(reservationId, reservation)) {
+                restore(reservation);
+            }
+        });
+    }
+
+    // 확정 수량을 item 테이블에 반영 (write-behind)
+    // 재고 차감, 차감한 상품 다시 읽기, 이벤트 발행(outbox 기록)을 한 트랜잭션으로 실행해서
+    // 재고만 바뀌고 outbox 행이 빠지는 일이 없게 한다. (쓰기 트랜잭션이라 다시 읽는 것도 primary에서 읽는다.)
+    @Scheduled(fixedDelay = 500)
+    @PreDestroy
+    public void flush() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Long itemId : pendingCommits.keySet()) {
+            Integer quantity = pendingCommits.remove(itemId);
+            if (quantity == null) {
+                continue;
+            }
+            try {
+                boolean decreased = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    if (itemRepository.decreaseStock(itemId, quantity, LocalDateTime.now()) == 0) {
+                        return false;
+                    }
+                    // 네이티브 update는 엔티티 리스너를 거치지 않으므로 캐시 등이 알 수 있도록 직접 이벤트를 발행한다.
+                    itemRepository.findById(itemId)
+                            .ifPresent(item -> eventPublisher.publishEvent(new ItemChangeEvent(ItemChangeType.STOCK_CHANGED, item)));
+                    return true;
+                }));
+                if (!decreased) {
+                    oversell(itemId, quantity);
+                } else {
+                    oversold.remove(itemId);
+                    Stock stock = stocks.get(itemId);
+                    if (stock != null) {
+                        stock.persisted.addAndGet(-quantity);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // DB 장애 등, 다음 주기에 다시 시도
+                pendingCommits.merge(itemId, quantity, Integer::sum);
+                log.warn("[stock] item {} : 재고 반영 실패, 다음 주기에 재시도합니다.", itemId, e);
+            }
+        }
+    }
+
+    // JPA로 상품이 수정/삭제된 경우(관리자 재고 수정 등) 메모리 재고를 맞춘다.
+    // 자신이 발행한 STOCK_CHANGED는 이미 메모리에 반영된 변경이므로 무시
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        if (event.getChangeType() == ItemChangeType.DELETED) {
+            stocks.remove(event.getItemId());
+        } else if (event.getChangeType() == ItemChangeType.UPDATED) {
+            Stock stock = stocks.get(event.getItemId());
+            if (stock != null) {
+                stock.persisted(event.getStockNumber());
+            }
+        }
+    }
+
+    // DB 재고가 부족해 확정 수량을 반영하지 못했다.
+    // 고객에게 이미 판매된 수량이므로 버리지 않고 기록해 두고, 예약 가능 수량은 DB 재고 기준으로 다시 맞춘다.
+    private void oversell(Long itemId, int quantity) {
+        Optional<Item> item = itemRepository.findById(itemId);
+        if (item.isEmpty()) {
+            // 상품이 삭제되어 반영할 곳이 없다.
+            oversold.merge(itemId, quantity, Integer::sum);
+            log.error("[stock] item {} : 삭제된 상품의 확정 수량 {}개를 반영하지 못했습니다. 보상 처리가 필요합니다.", itemId, quantity);
+            return;
+        }
+        // 재고가 다시 채워지면 반영되도록 반영 대기 수량에 남겨 둔다.
+        pendingCommits.merge(itemId, quantity, Integer::sum);
+        if (oversold.put(itemId, quantity) == null) {
+            log.error("[stock] item {} : DB 재고({})가 부족하여 확정 수량 {}개를 반영하지 못했습니다. 초과 판매로 기록합니다.",
+                    itemId, item.get().getStockNumber(), quantity);
+        }
+        Stock stock = stocks.get(itemId);
+        if (stock != null) {
+            stock.persisted(item.get().getStockNumber());
+        }
+    }
+
+    private Stock stock(Long itemId) {
+        Stock stock = stocks.get(itemId);
+        if (stock != null) {
+            return stock;
+        }
+        // DB 조회는 ConcurrentHashMap의 compute 안에서 하지 않는다. (같은 버킷의 다른 키까지 막힘)
+        int stockNumber = itemRepository.findById(itemId)
+                .map(Item::getStockNumber)
+                .orElseThrow(EntityNotFoundException::new);
+        Stock loaded = new Stock(stockNumber);
+        stock = stocks.putIfAbsent(itemId, loaded);
+        return stock == null ? loaded : stock;
+    }
+
+    // 예약했던 수량을 돌려준다. (그 사이 상품이 삭제됐으면 무시)
+    private void restore(Reservation reservation) {
+        Stock stock = stocks.get(reservation.getItemId());
+        if (stock != null) {
+            stock.available.addAndGet(reservation.getQuantity());
+        }
+    }
+
+    private static class Stock {
+        // DB 재고 - 반영 대기 확정 수량 - 진행 중인 예약 수량
+        private final AtomicInteger available;
+        // 마지막으로 알고 있는 DB 재고
+        private final AtomicInteger persisted;
+
+        private Stock(int stockNumber) {
+            this.available = new AtomicInteger(stockNumber);
+            this.persisted = new AtomicInteger(stockNumber);
+        }
+
+        // DB 재고가 바뀐 만큼만 예약 가능 수량에 더한다. (addAndGet은 CAS 루프라 동시 예약 차감을 잃지 않는다)
+        private void persisted(int stockNumber) {
+            int previous = persisted.getAndSet(stockNumber);
+            available.addAndGet(stockNumber - previous);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Reservation {
+        private final Long itemId;
+        private final int quantity;
+        private final long expiresAt; // System.nanoTime() 기준
+    }
+}
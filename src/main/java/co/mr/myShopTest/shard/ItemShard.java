@@ -0,0 +1,80 @@
+package co.mr.myShopTest.shard;
+
+import co.mr.myShopTest.repository.ItemRepository;
+import co.mr.myShopTest.repository.ItemRepositoryCustomImpl;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Function;
+
+// 샤드 하나 : 커넥션 풀, Item만 매핑한 EntityManagerFactory, 트랜잭션 매니저, 이 샤드를 조회하는 ItemRepository
+// ItemRepository의 쿼리 메소드, Querydsl, ItemRepositoryCustomImpl을 샤드마다 그대로 사용한다.
+// 스프링 빈이 아니라서 레포지토리 메소드에 트랜잭션이 걸리지 않으므로 read/write로 감싸서 호출한다.
+public class ItemShard {
+
+    @Getter
+    private final int index;
+
+    private final HikariDataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Getter
+    private final JpaTransactionManager transactionManager;
+
+    @Getter
+    private final ItemRepository repository;
+
+    private final TransactionTemplate readTemplate;
+
+    private final TransactionTemplate writeTemplate;
+
+    public ItemShard(int index, HikariDataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.repository = new JpaRepositoryFactory(entityManager).getRepository(ItemRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new ItemRepositoryCustomImpl(new JPAQueryFactory(entityManager))));
+
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T read(Function<ItemRepository, T> query) {
+        return readTemplate.execute(status -> query.apply(repository));
+    }
+
+    public <T> T write(Function<ItemRepository, T> command) {
+        return writeTemplate.execute(status -> command.apply(repository));
+    }
+
+    public String getPoolName() {
+        return dataSource.getPoolName();
+    }
+
+    // 풀이 아직 시작되지 않았으면 null
+    public HikariPoolMXBean getPool() {
+        return dataSource.getHikariPoolMXBean();
+    }
+
+    public void close() {
+        try {
+            entityManagerFactory.close();
+        } finally {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.mr.myShopTest.shard;
+
+import co.mr.myShopTest.constant.ShardStrategy;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// item_id -> 샤드 번호, (샤드 번호, 샤드 안의 시퀀스 값) -> item_id
+// id에 샤드 번호가 들어 있으므로 id만 보고 다른 샤드를 조회하지 않고 바로 찾아간다.
+// HASH  : id = 시퀀스 값 * 샤드 수 + 샤드 번호, 샤드 = id % 샤드 수
+// RANGE : id = 샤드 번호 * rangeSize + 시퀀스 값, 샤드 = id / rangeSize
+@Getter
+public class ItemShardRouter {
+
+    private final ShardStrategy strategy;
+
+    private final int shardCount;
+
+    private final long rangeSize;
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ItemShardRouter(ShardStrategy strategy, int shardCount, long rangeSize) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("샤드는 1개 이상이어야 합니다.");
+        }
+        if (strategy == ShardStrategy.RANGE && (rangeSize <= 0 || rangeSize > Long.MAX_VALUE / shardCount)) {
+            throw new IllegalArgumentException("range-size가 올바르지 않습니다. : " + rangeSize);
+        }
+        this.strategy = strategy;
+        this.shardCount = shardCount;
+        this.rangeSize = rangeSize;
+    }
+
+    public int shardOf(long itemId) {
+        if (itemId <= 0) {
+            throw new IllegalArgumentException("상품 id가 올바르지 않습니다. : " + itemId);
+        }
+        if (strategy == ShardStrategy.HASH) {
+            return (int) (itemId % shardCount);
+        }
+        long shard = itemId / rangeSize;
+        if (shard >= shardCount) {
+            throw new IllegalArgumentException("상품 id가 샤드 범위를 벗어났습니다. : " + itemId);
+        }
+        return (int) shard;
+    }
+
+    public long idOf(int shard, long sequenceValue) {
+        if (strategy == ShardStrategy.HASH) {
+            return Math.multiplyExact(sequenceValue, (long) shardCount) + shard;
+        }
+        if (sequenceValue >= rangeSize) {
+            throw new IllegalStateException("샤드의 id 범위를 모두 사용했습니다. : shard=" + shard);
+        }
+        return shard * rangeSize + sequenceValue;
+    }
+
+    // 새 상품을 저장할 샤드, 차례대로 돌아가며 고른다.
+    public int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+}
@@ -0,0 +1,30 @@
+package co.mr.myShopTest.shard;
+
+import lombok.Getter;
+
+// /admin/shards 응답, 샤드 하나의 상품 수와 커넥션 풀 상태
+// 풀이 아직 시작되지 않았으면 active/idle/waiting은 null
+@Getter
+public class ItemShardSnapshot {
+
+    private final int index;
+
+    private final String poolName;
+
+    private final long items;
+
+    private final Integer active;
+
+    private final Integer idle;
+
+    private final Integer waiting;
+
+    public ItemShardSnapshot(int index, String poolName, long items, Integer active, Integer idle, Integer waiting) {
+        this.index = index;
+        this.poolName = poolName;
+        this.items = items;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+    }
+}
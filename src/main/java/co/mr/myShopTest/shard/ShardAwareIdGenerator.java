@@ -0,0 +1,47 @@
+package co.mr.myShopTest.shard;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Properties;
+
+// Item id 생성기
+// 시퀀스(item_seq)에서 allocationSize만큼 미리 받아 두는 것은 그대로이고,
+// 샤드의 EntityManagerFactory(ItemShards)에서는 샤드마다 자기 DB의 시퀀스 값에 샤드 번호를 넣어 id를 만든다. (ItemShardRouter.idOf)
+// 샤드 설정이 없는 기본 EntityManagerFactory에서는 시퀀스 값을 그대로 id로 사용한다.
+public class ShardAwareIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SHARD_INDEX = "myshop.item-shard.index";
+
+    public static final String SHARD_ROUTER = "myshop.item-shard.router";
+
+    private ItemShardRouter router;
+
+    private int shard;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, params, serviceRegistry);
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        Object shardIndex = settings.get(SHARD_INDEX);
+        if (shardIndex != null) {
+            this.router = (ItemShardRouter) settings.get(SHARD_ROUTER);
+            this.shard = Integer.parseInt(shardIndex.toString());
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        Serializable sequenceValue = super.generate(session, object);
+        if (router == null) {
+            return sequenceValue;
+        }
+        return router.idOf(shard, ((Number) sequenceValue).longValue());
+    }
+}
@@ -0,0 +1,280 @@
+package co.mr.myShopTest.shard;
+
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import com.querydsl.core.types.Predicate;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 독립된 샤드 item 저장소의 레포지토리 (item.shard.enabled=true 일 때만)
+// - id로 찾는 작업(저장/조회/삭제/재고 차감) : id에 들어 있는 샤드 하나에서 실행, 새 상품은 샤드를 차례대로 돌아가며 저장
+// - 조건 조회 : 모든 샤드에 같은 쿼리를 동시에 보내고(scatter) 샤드별로 정렬된 결과를 k-way merge로 합친다(gather).
+//   페이지 조회는 샤드마다 offset + size 건을 받아 합친 뒤 offset만큼 건너뛰므로 뒤 페이지일수록 비싸다.
+//   샤드 사이에서 순서가 정해지도록 정렬 조건 끝에 Id를 붙인다.
+// 샤드의 트랜잭션은 샤드마다 따로이고, 여러 샤드에 걸친 쓰기(saveAll)는 샤드 단위로만 원자적이다.
+// ItemRepository 아래에 놓인 계층이 아니라 따로 쓰는 빈이다. 이 빈은 /shards/items, /admin/shards 에서만 사용하고
+// ItemRepository와 다른 서비스(상품 등록/수정, 주문, 검색, 캐시 등)는 그대로 spring.datasource의 item 테이블을 사용한다.
+public class ShardedItemRepository {
+
+    private static final TransactionDefinition READ_ONLY = readOnly();
+
+    // k-way merge는 샤드가 정렬한 순서를 자바 비교로 다시 맞추므로 DB와 자바의 비교 결과가 같은 숫자/날짜 속성만 허용한다.
+    // 문자열(itemName, itemSellStatus)은 DB의 collation(대소문자, 한글 등)과 String.compareTo의 순서가 달라서 합친 결과가 어긋난다.
+    private static final Map<String, Function<Item, Comparable<?>>> ITEM_SORT_KEYS = Map.of(
+            "Id", Item::getId,
+            "price", Item::getPrice,
+            "stockNumber", Item::getStockNumber,
+            "regTime", Item::getRegTime,
+            "updateTime", Item::getUpdateTime);
+
+    // 목록 DTO는 조회한 컬럼으로만 정렬할 수 있다.
+    private static final Map<String, Function<ItemListDto, Comparable<?>>> LIST_SORT_KEYS = Map.of(
+            "Id", ItemListDto::getId,
+            "price", ItemListDto::getPrice);
+
+    @Getter
+    private final List<ItemShard> shards;
+
+    @Getter
+    private final ItemShardRouter router;
+
+    private final Executor executor;
+
+    private final Duration timeout;
+
+    public ShardedItemRepository(List<ItemShard> shards, ItemShardRouter router, Executor executor, Duration timeout) {
+        if (shards.size() != router.getShardCount()) {
+            throw new IllegalArgumentException("샤드 수가 맞지 않습니다. : " + shards.size() + " != " + router.getShardCount());
+        }
+        this.shards = shards;
+        this.router = router;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public ItemShard shardOf(Long itemId) {
+        return shards.get(router.shardOf(itemId));
+    }
+
+    public Item save(Item item) {
+        ItemShard shard = item.getId() == null ? shards.get(router.nextShard()) : shardOf(item.getId());
+        return shard.write(repository -> repository.save(item));
+    }
+
+    // 샤드별로 모아서 샤드마다 한 트랜잭션(JDBC batch insert)으로 동시에 저장한다.
+    public List<Item> saveAll(Iterable<Item> items) {
+        Map<Integer, List<Item>> byShard = new HashMap<>();
+        for (Item item : items) {
+            int shard = item.getId() == null ? router.nextShard() : router.shardOf(item.getId());
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(item);
+        }
+        List<Supplier<List<Item>>> tasks = new ArrayList<>(byShard.size());
+        byShard.forEach((shard, group) -> tasks.add(() -> shards.get(shard).write(repository -> repository.saveAll(group))));
+        return parallel(tasks).stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    public Optional<Item> findById(Long itemId) {
+        return shardOf(itemId).read(repository -> repository.findById(itemId));
+    }
+
+    public void deleteById(Long itemId) {
+        shardOf(itemId).write(repository -> {
+            repository.deleteById(itemId);
+            return null;
+        });
+    }
+
+    public int decreaseStock(Long itemId, int quantity, LocalDateTime updateTime) {
+        return shardOf(itemId).write(repository -> repository.decreaseStock(itemId, quantity, updateTime));
+    }
+
+    public long count() {
+        return scatter(ItemRepository::count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long count(Predicate predicate) {
+        return scatter(repository -> repository.count(predicate)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    public List<Item> findByPriceLessThanOrderByPriceDesc(Integer price) {
+        return findAll(repository -> repository.findByPriceLessThanOrderByPriceDesc(price),
+                Comparator.comparingInt(Item::getPrice).reversed());
+    }
+
+    public Page<Item> findAll(Predicate predicate, Pageable pageable) {
+        Sort sort = withIdOrder(pageable.getSort());
+        Pageable shardPageable = shardPageable(pageable, sort);
+        return mergePages(scatter(repository -> repository.findAll(predicate, shardPageable)),
+                pageable, comparator(sort, ITEM_SORT_KEYS));
+    }
+
+    public Page<ItemListDto> findListAll(Predicate predicate, Pageable pageable) {
+        Sort sort = withIdOrder(pageable.getSort());
+        Pageable shardPageable = shardPageable(pageable, sort);
+        return mergePages(scatter(repository -> repository.findListAll(predicate, shardPageable)),
+                pageable, comparator(sort, LIST_SORT_KEYS));
+    }
+
+    // id 순서로 모든 샤드의 상품을 한 건씩 읽는 스트림 (ItemRepositoryCustom.streamAll을 샤드마다 열어 합친다)
+    // 샤드마다 읽기 전용 트랜잭션을 이 스레드에서 시작하고 스트림을 닫을 때 끝낸다.
+    // 같은 스레드에서 다 쓰고 close 해야 한다. (try-with-resources)
+    public Stream<Item> streamAll(Predicate predicate, int fetchSize) {
+        List<TransactionStatus> transactions = new ArrayList<>(shards.size());
+        List<Stream<Item>> streams = new ArrayList<>(shards.size());
+        try {
+            for (ItemShard shard : shards) {
+                transactions.add(shard.getTransactionManager().getTransaction(READ_ONLY));
+                streams.add(shard.getRepository().streamAll(predicate, fetchSize));
+            }
+        } catch (RuntimeException e) {
+            streams.forEach(Stream::close);
+            endTransactions(transactions);
+            throw e;
+        }
+        return SortedMerge.merge(streams, Comparator.comparing(Item::getId), () -> endTransactions(transactions));
+    }
+
+    public List<ItemShardSnapshot> snapshot() {
+        List<Long> counts = scatter(ItemRepository::count);
+        List<ItemShardSnapshot> snapshots = new ArrayList<>(shards.size());
+        for (ItemShard shard : shards) {
+            HikariPoolMXBean pool = shard.getPool();
+            snapshots.add(new ItemShardSnapshot(shard.getIndex(), shard.getPoolName(), counts.get(shard.getIndex()),
+                    pool == null ? null : pool.getActiveConnections(),
+                    pool == null ? null : pool.getIdleConnections(),
+                    pool == null ? null : pool.getThreadsAwaitingConnection()));
+        }
+        return snapshots;
+    }
+
+    // 샤드마다 정렬된 결과를 돌려주는 쿼리를 모든 샤드에 보내고 order 순서로 합친다.
+    public <T> List<T> findAll(Function<ItemRepository, List<T>> query, Comparator<? super T> order) {
+        List<List<T>> results = scatter(query);
+        return SortedMerge.merge(results, order, 0, results.stream().mapToInt(List::size).sum());
+    }
+
+    // 모든 샤드에서 읽기 전용 트랜잭션으로 동시에 실행한다. 결과는 샤드 번호 순서
+    public <T> List<T> scatter(Function<ItemRepository, T> query) {
+        List<Supplier<T>> tasks = new ArrayList<>(shards.size());
+        for (ItemShard shard : shards) {
+            tasks.add(() -> shard.read(query));
+        }
+        return parallel(tasks);
+    }
+
+    private <T> List<T> parallel(List<Supplier<T>> tasks) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (Supplier<T> task : tasks) {
+            futures.add(CompletableFuture.supplyAsync(task, executor));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(await(future, deadline));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        return results;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("샤드 조회 중 중단되었습니다.", e);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("샤드 조회 시간을 초과했습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // 나중에 시작한 트랜잭션부터 끝낸다.
+    private void endTransactions(List<TransactionStatus> transactions) {
+        for (int i = transactions.size() - 1; i >= 0; i--) {
+            shards.get(i).getTransactionManager().commit(transactions.get(i));
+        }
+    }
+
+    private static <T> Page<T> mergePages(List<Page<T>> pages, Pageable pageable, Comparator<T> comparator) {
+        List<List<T>> contents = new ArrayList<>(pages.size());
+        long total = 0;
+        for (Page<T> page : pages) {
+            contents.add(page.getContent());
+            total += page.getTotalElements();
+        }
+        return new PageImpl<>(SortedMerge.merge(contents, comparator, pageable.getOffset(), pageable.getPageSize()),
+                pageable, total);
+    }
+
+    // 샤드마다 첫 페이지부터 offset + size 건
+    private static Pageable shardPageable(Pageable pageable, Sort sort) {
+        return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort);
+    }
+
+    private static Sort withIdOrder(Sort sort) {
+        return sort.getOrderFor("Id") == null ? sort.and(Sort.by("Id")) : sort;
+    }
+
+    // DB와 같이 오름차순이면 null이 먼저, 내림차순이면 null이 나중에 온다.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> comparator(Sort sort, Map<String, Function<T, Comparable<?>>> keys) {
+        Comparator<T> result = null;
+        for (Sort.Order order : sort) {
+            Function<T, Comparable<?>> key = keys.get(order.getProperty());
+            if (key == null) {
+                throw new IllegalArgumentException("샤드 조회 결과를 이 속성으로 정렬할 수 없습니다. : " + order.getProperty());
+            }
+            Comparator<Comparable> natural = Comparator.nullsFirst(Comparator.<Comparable>naturalOrder());
+            Comparator<T> next = Comparator.comparing(item -> (Comparable) key.apply(item),
+                    order.isAscending() ? natural : natural.reversed());
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static TransactionDefinition readOnly() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
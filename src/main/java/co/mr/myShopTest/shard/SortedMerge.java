@@ -0,0 +1,130 @@
+package co.mr.myShopTest.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// 샤드마다 같은 순서로 정렬된 결과를 하나의 정렬된 결과로 합친다. (k-way merge)
+// 샤드별 결과의 맨 앞 원소만 우선순위 큐(크기 k)에 넣고 가장 작은 것을 꺼낼 때마다 그 샤드의 다음 원소를 넣는다.
+// 전체를 다시 정렬하지 않고(n log k), 필요한 만큼만 앞에서부터 읽는다.
+// 비교 값이 같으면 앞 샤드의 원소가 먼저 나온다.
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        return new MergeIterator<>(sources, comparator);
+    }
+
+    // 합친 결과에서 offset개를 건너뛰고 limit개만 꺼낸다.
+    public static <T> List<T> merge(List<? extends List<? extends T>> sources, Comparator<? super T> comparator,
+                                   long offset, int limit) {
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+        for (List<? extends T> source : sources) {
+            iterators.add(source.iterator());
+        }
+        Iterator<T> merged = merge(iterators, comparator);
+        for (long i = 0; i < offset && merged.hasNext(); i++) {
+            merged.next();
+        }
+        List<T> result = new ArrayList<>(limit);
+        while (result.size() < limit && merged.hasNext()) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+
+    // 스트림을 합친 스트림, 닫으면 샤드별 스트림도 모두 닫는다.
+    public static <T> Stream<T> merge(List<Stream<T>> sources, Comparator<? super T> comparator, Runnable onClose) {
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        for (Stream<T> source : sources) {
+            iterators.add(source.iterator());
+        }
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(merge(iterators, comparator),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                closeAll(sources);
+            } finally {
+                onClose.run();
+            }
+        });
+    }
+
+    private static <T> void closeAll(List<Stream<T>> sources) {
+        RuntimeException failure = null;
+        for (Stream<T> source : sources) {
+            try {
+                source.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class MergeIterator<T> implements Iterator<T> {
+
+        private final List<? extends Iterator<? extends T>> sources;
+
+        private final PriorityQueue<Head<T>> heads;
+
+        MergeIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+            this.sources = sources;
+            Comparator<Head<T>> byValue = (a, b) -> comparator.compare(a.value, b.value);
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                    byValue.thenComparingInt(head -> head.source));
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.source);
+            return head.value;
+        }
+
+        private void advance(int source) {
+            Iterator<? extends T> iterator = sources.get(source);
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), source));
+            }
+        }
+    }
+
+    private static final class Head<T> {
+
+        private final T value;
+
+        private final int source;
+
+        Head(T value, int source) {
+            this.value = value;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package co.mr.myShopTest.startup;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+
+// startup.lazy-controllers=true 이면 이 앱의 컨트롤러(@Controller, @RestController)를 처음 요청을 받을 때 만든다.
+// 요청 매핑은 빈 타입만 보고 등록하고 컨트롤러는 요청 때 빈 이름으로 꺼내므로 시작할 때 만들지 않아도 된다.
+// 컨트롤러가 의존하는 서비스/레포지토리는 그대로 시작할 때 만든다. 자주 쓰는 화면은 워밍업(StartupWarmup) 요청으로 준비 전에 만들어진다.
+@Component
+@ConditionalOnProperty(name = "startup.lazy-controllers", havingValue = "true")
+public class LazyControllerPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final String APP_PACKAGE = MyShopTestApplication.class.getPackage().getName() + ".";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (isController(definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    // @Bean 메소드로 등록한 빈은 메타데이터가 설정 클래스의 것이므로 제외한다.
+    private static boolean isController(BeanDefinition definition) {
+        if (!(definition instanceof AnnotatedBeanDefinition)) {
+            return false;
+        }
+        AnnotatedBeanDefinition annotated = (AnnotatedBeanDefinition) definition;
+        return annotated.getFactoryMethodMetadata() == null
+                && annotated.getMetadata().isAnnotated(Controller.class.getName())
+                && definition.getBeanClassName() != null
+                && definition.getBeanClassName().startsWith(APP_PACKAGE);
+    }
+}
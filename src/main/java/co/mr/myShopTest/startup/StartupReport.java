@@ -0,0 +1,101 @@
+package co.mr.myShopTest.startup;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 시작 시간 보고서 (GET /admin/startup, 시작 로그, startup.timeline.file)
+// 시간은 모두 JVM 시작 기준(ms)
+@Getter
+public class StartupReport {
+
+    // JVM 시작 ~ 트래픽을 받을 준비(ReadinessState.ACCEPTING_TRAFFIC)
+    private final long readyMillis;
+
+    // 시작 순서대로 나눈 구간 (jvm, environment, context, refresh, started, ready)
+    private final List<Phase> phases;
+
+    // 같은 이름의 StartupStep 합계, 총 시간이 큰 순서 (빈 생성 제외)
+    private final List<Step> steps;
+
+    // 생성하는 데 오래 걸린 빈, 의존하는 빈 생성 시간을 뺀 시간(selfMillis)이 큰 순서
+    private final List<BeanTiming> beans;
+
+    // 시작하면서 만든 빈 수
+    private final int beanCount;
+
+    public StartupReport(long readyMillis, List<Phase> phases, List<Step> steps, List<BeanTiming> beans, int beanCount) {
+        this.readyMillis = readyMillis;
+        this.phases = phases;
+        this.steps = steps;
+        this.beans = beans;
+        this.beanCount = beanCount;
+    }
+
+    // 로그/파일용 표
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("ready in %d ms (JVM start), %d beans%n", readyMillis, beanCount));
+        out.append(String.format("%-52s %9s %9s%n", "phase", "start(ms)", "took(ms)"));
+        for (Phase phase : phases) {
+            out.append(String.format("%-52s %9d %9d%n", phase.name, phase.startMillis, phase.durationMillis));
+        }
+        out.append(String.format("%-52s %9s %9s%n", "step", "count", "took(ms)"));
+        for (Step step : steps) {
+            out.append(String.format("%-52s %9d %9d%n", step.name, step.count, step.durationMillis));
+        }
+        out.append(String.format("%-52s %9s %9s%n", "bean", "self(ms)", "total(ms)"));
+        for (BeanTiming bean : beans) {
+            out.append(String.format("%-52s %9d %9d%n", bean.name, bean.selfMillis, bean.totalMillis));
+        }
+        return out.toString();
+    }
+
+    @Getter
+    public static class Phase {
+
+        private final String name;
+
+        private final long startMillis;
+
+        private final long durationMillis;
+
+        public Phase(String name, long startMillis, long durationMillis) {
+            this.name = name;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+        }
+    }
+
+    @Getter
+    public static class Step {
+
+        private final String name;
+
+        private final int count;
+
+        private final long durationMillis;
+
+        public Step(String name, int count, long durationMillis) {
+            this.name = name;
+            this.count = count;
+            this.durationMillis = durationMillis;
+        }
+    }
+
+    @Getter
+    public static class BeanTiming {
+
+        private final String name;
+
+        private final long selfMillis;
+
+        private final long totalMillis;
+
+        public BeanTiming(String name, long selfMillis, long totalMillis) {
+            this.name = name;
+            this.selfMillis = selfMillis;
+            this.totalMillis = totalMillis;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package co.mr.myShopTest.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 트래픽을 받을 준비가 되면(ReadinessState.ACCEPTING_TRAFFIC) 시작 시간 보고서를 만들어 로그로 남긴다.
+// MyShopTestApplication.main()에서 지정한 BufferingApplicationStartup이 기록한 StartupStep(시작 단계, 빈 생성)을 모은다.
+// 다른 방법으로 띄운 컨텍스트(@SpringBootTest 등)는 기록이 없으므로 보고서도 없다.
+// 보고서를 만든 뒤에는 기록을 비운다. (이후 lazy 빈 생성 등은 CAPACITY까지만 쌓인다.)
+@Slf4j
+@Component
+public class StartupTimelineReporter {
+
+    // 기록할 StartupStep 최대 수 (빈 수백 개 + 단계), 넘치면 이후 단계는 버린다.
+    public static final int CAPACITY = 10_000;
+
+    static final String BEAN_STEP = "spring.beans.instantiate";
+
+    // {구간 이름, 구간이 끝나는 StartupStep}, 이전 구간 끝부터 이 단계가 끝날 때까지를 한 구간으로 본다.
+    private static final String[][] MILESTONES = {
+            {"environment", "spring.boot.application.environment-prepared"},
+            {"context", "spring.boot.application.context-loaded"},
+            {"refresh", "spring.context.refresh"},
+            {"started", "spring.boot.application.started"},
+    };
+
+    private final ConfigurableApplicationContext context;
+
+    private final int topBeans;
+
+    private final String file;
+
+    private volatile StartupReport report;
+
+    public StartupTimelineReporter(ConfigurableApplicationContext context,
+                                   @Value("${startup.timeline.top-beans:20}") int topBeans,
+                                   @Value("${startup.timeline.file:}") String file) {
+        this.context = context;
+        this.topBeans = topBeans;
+        this.file = file;
+    }
+
+    // 아직 준비 전이거나 기록이 없으면 null
+    public StartupReport getReport() {
+        return report;
+    }
+
+    @EventListener
+    public void onAvailabilityChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || report != null) {
+            return;
+        }
+        ApplicationStartup startup = context.getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).drainBufferedTimeline();
+        report = build(timeline, ManagementFactory.getRuntimeMXBean().getStartTime(), System.currentTimeMillis(), topBeans);
+        log.info("[startup] 시작 시간\n{}", report.format());
+
+        if (!file.isEmpty()) {
+            try {
+                Path path = Paths.get(file).toAbsolutePath();
+                Files.createDirectories(path.getParent());
+                Files.write(path, report.format().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                log.warn("[startup] 시작 시간 보고서를 {}에 쓰지 못했습니다.", file, e);
+            }
+        }
+    }
+
+    static StartupReport build(StartupTimeline timeline, long jvmStartMillis, long readyMillis, int topBeans) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+
+        List<StartupReport.Phase> phases = new ArrayList<>();
+        long main = timeline.getStartTime().toEpochMilli() - jvmStartMillis;
+        phases.add(new StartupReport.Phase("jvm", 0, main));
+        long start = main;
+        for (String[] milestone : MILESTONES) {
+            Instant end = endOf(events, milestone[1]);
+            if (end != null) {
+                long at = end.toEpochMilli() - jvmStartMillis;
+                phases.add(new StartupReport.Phase(milestone[0], start, at - start));
+                start = at;
+            }
+        }
+        long ready = readyMillis - jvmStartMillis;
+        phases.add(new StartupReport.Phase("ready", start, ready - start));
+
+        // 단계 이름별 합계, 빈 생성은 아래에서 빈마다 따로 본다.
+        Map<String, long[]> steps = new LinkedHashMap<>();
+        // 빈 생성 시간에서 뺄 하위 단계(의존하는 빈 생성 등) 시간, 부모 step id -> 합계(ns)
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (step.getParentId() != null) {
+                childNanos.merge(step.getParentId(), event.getDuration().toNanos(), Long::sum);
+            }
+            if (!BEAN_STEP.equals(step.getName())) {
+                long[] total = steps.computeIfAbsent(step.getName(), name -> new long[2]);
+                total[0]++;
+                total[1] += event.getDuration().toNanos();
+            }
+        }
+
+        List<StartupReport.BeanTiming> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (BEAN_STEP.equals(step.getName())) {
+                long total = event.getDuration().toNanos();
+                long self = total - childNanos.getOrDefault(step.getId(), 0L);
+                beans.add(new StartupReport.BeanTiming(beanName(step), self / 1_000_000, total / 1_000_000));
+            }
+        }
+        int beanCount = beans.size();
+        beans.sort(Comparator.comparingLong(StartupReport.BeanTiming::getSelfMillis).reversed());
+
+        return new StartupReport(ready, phases,
+                steps.entrySet().stream()
+                        .map(entry -> new StartupReport.Step(entry.getKey(), (int) entry.getValue()[0],
+                                entry.getValue()[1] / 1_000_000))
+                        .sorted(Comparator.comparingLong(StartupReport.Step::getDurationMillis).reversed())
+                        .collect(Collectors.toList()),
+                new ArrayList<>(beans.subList(0, Math.min(topBeans, beans.size()))),
+                beanCount);
+    }
+
+    private static Instant endOf(List<StartupTimeline.TimelineEvent> events, String name) {
+        for (StartupTimeline.TimelineEvent event : events) {
+            if (name.equals(event.getStartupStep().getName())) {
+                return event.getEndTime();
+            }
+        }
+        return null;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,164 @@
+package co.mr.myShopTest.startup;
+
+import co.mr.myShopTest.security.TokenService;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// 트래픽을 받기 전(ReadinessState.ACCEPTING_TRAFFIC 전)에 첫 요청이 치를 비용을 미리 치른다.
+// - 엔티티마다 JPAQueryFactory로 1건 조회 : Querydsl 직렬화, Hibernate HQL 해석/쿼리 계획 캐시, 커넥션 풀, JDBC 드라이버 클래스
+// - startup.warmup.paths 를 내장 서버로 iterations 번 요청 : DispatcherServlet, 시큐리티 필터 체인, lazy 컨트롤러 생성,
+//   Thymeleaf 템플릿 해석/캐시(레이아웃 포함), Jackson 직렬화, JIT
+// 인증이 필요한 화면은 워밍업 전용 토큰(Bearer)으로 요청한다. 토큰은 밖으로 나가지 않는다. (session 모드에서는 공개 화면만 렌더링됨)
+// 실패해도 시작을 막지 않고 로그만 남긴다. 내장 서버가 없으면(@SpringBootTest MOCK 등) 요청은 건너뛴다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    static final String WARMUP_USER = "startup-warmup";
+
+    private final ConfigurableApplicationContext context;
+
+    private final JPAQueryFactory queryFactory;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectProvider<TokenService> tokenService;
+
+    private final String[] paths;
+
+    private final int iterations;
+
+    private final Duration timeout;
+
+    private int requests;
+
+    private int failures;
+
+    public StartupWarmup(ConfigurableApplicationContext context, JPAQueryFactory queryFactory,
+                         EntityManagerFactory entityManagerFactory, ObjectProvider<TokenService> tokenService,
+                         @Value("${startup.warmup.paths:}") String[] paths,
+                         @Value("${startup.warmup.iterations:1}") int iterations,
+                         @Value("${startup.warmup.timeout:10s}") Duration timeout) {
+        this.context = context;
+        this.queryFactory = queryFactory;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tokenService = tokenService;
+        this.paths = paths;
+        this.iterations = iterations;
+        this.timeout = timeout;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ApplicationStartup startup = context.getApplicationStartup();
+        StartupStep step = startup.start("startup.warmup");
+        long started = System.nanoTime();
+
+        int entities = warmUpQueries(startup);
+        warmUpRequests(startup);
+
+        step.tag("requests", String.valueOf(requests)).tag("failures", String.valueOf(failures)).end();
+        log.info("[startup] 워밍업 {}ms (엔티티 {}개 조회, 요청 {}건, 실패 {}건)",
+                (System.nanoTime() - started) / 1_000_000, entities, requests, failures);
+    }
+
+    private int warmUpQueries(ApplicationStartup startup) {
+        int entities = 0;
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            StartupStep step = startup.start("startup.warmup.query").tag("entity", entity.getName());
+            try {
+                queryFactory.selectFrom(new PathBuilder<>(entity.getJavaType(), "e")).limit(1).fetch();
+                entities++;
+            } catch (RuntimeException e) {
+                failures++;
+                log.warn("[startup] 워밍업 조회 실패 : {}", entity.getName(), e);
+            } finally {
+                step.end();
+            }
+        }
+        return entities;
+    }
+
+    private void warmUpRequests(ApplicationStartup startup) {
+        WebServer webServer = context instanceof WebServerApplicationContext
+                ? ((WebServerApplicationContext) context).getWebServer() : null;
+        if (webServer == null || paths.length == 0) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + webServer.getPort()
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        String authorization = authorization();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+
+        for (int i = 0; i < iterations; i++) {
+            for (String path : paths) {
+                StartupStep step = startup.start("startup.warmup.request").tag("path", path);
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET();
+                if (authorization != null) {
+                    request.header(HttpHeaders.AUTHORIZATION, authorization);
+                }
+                try {
+                    int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    requests++;
+                    if (status >= 400) {
+                        failures++;
+                        log.warn("[startup] 워밍업 요청 실패 : {} {}", path, status);
+                    }
+                } catch (IOException e) {
+                    failures++;
+                    log.warn("[startup] 워밍업 요청 실패 : {} {}", path, e.toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    step.end();
+                }
+            }
+        }
+    }
+
+    private String authorization() {
+        TokenService tokens = tokenService.getIfAvailable();
+        if (tokens == null) {
+            return null;
+        }
+        return "Bearer " + tokens.issue(new UsernamePasswordAuthenticationToken(WARMUP_USER, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"))).getValue();
+    }
+}
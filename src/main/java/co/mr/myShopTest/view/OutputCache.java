@@ -0,0 +1,18 @@
+package co.mr.myShopTest.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 메소드에 선언하면 렌더링된 화면(HTML)을 캐시한다.
+// 같은 뷰 + 같은 모델 + 같은 로케일 + 같은 사용자/권한이면 템플릿(레이아웃 포함)을 다시 렌더링하지 않고 저장된 결과를 보낸다.
+// dependsOn에 지정한 엔티티가 변경되면 캐시가 비워진다. 모델이 엔티티로 만들어지지 않는 화면에는 지정하지 않는다.
+
+// 모델에 담기지 않은 요청별 값(CSRF 토큰이 들어가는 form 등)을 출력하는 화면에는 사용하지 않는다.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OutputCache {
+
+    Class<?>[] dependsOn() default {};
+}
@@ -0,0 +1,46 @@
+package co.mr.myShopTest.view;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+
+// @OutputCache가 선언된 컨트롤러 메소드가 반환한 뷰를 OutputCacheView로 감싼다.
+// 컨트롤러는 그대로 실행되고(모델 생성), 템플릿 렌더링만 캐시된다.
+@Component
+@RequiredArgsConstructor
+public class OutputCacheInterceptor implements HandlerInterceptor {
+
+    private final ThymeleafViewResolver thymeleafViewResolver;
+
+    private final OutputCacheStore outputCacheStore;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) throws Exception {
+        if (!(handler instanceof HandlerMethod) || modelAndView == null || !modelAndView.isReference()) {
+            return;
+        }
+        OutputCache outputCache = ((HandlerMethod) handler).getMethodAnnotation(OutputCache.class);
+        if (outputCache == null) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        View view = thymeleafViewResolver.resolveViewName(viewName, RequestContextUtils.getLocale(request));
+        if (view != null) {
+            modelAndView.setView(new OutputCacheView(viewName, view, outputCacheStore,
+                    Set.of(outputCache.dependsOn()), objectMapper));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package co.mr.myShopTest.view;
+
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+// 렌더링된 화면 저장소
+// 원본과 gzip 압축본을 함께 저장해서 요청마다 압축하지 않는다.
+@Component
+public class OutputCacheStore {
+
+    private final Cache<String, Entry> cache;
+
+    public OutputCacheStore(@Value("${view.output-cache.maximum-size:1000}") long maximumSize,
+                            @Value("${view.output-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Entry get(String key, Function<String, Entry> renderer) {
+        return cache.get(key, renderer);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidate(Class<?> dependency) {
+        cache.asMap().values().removeIf(entry -> entry.getDependsOn().contains(dependency));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChange(ItemChangeEvent event) {
+        invalidate(Item.class);
+    }
+
+    @Getter
+    public static class Entry {
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;
+
+        // 강한(strong) ETag, 표현(압축 여부)마다 달라야 하므로 gzip은 따로 둔다.
+        private final String etag;
+
+        private final String gzipEtag;
+
+        private final Set<Class<?>> dependsOn;
+
+        public Entry(String contentType, byte[] body, Set<Class<?>> dependsOn) {
+            this.contentType = contentType;
+            this.body = body;
+            this.gzipBody = gzip(body);
+            String hash = sha256(body);
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-gzip\"";
+            this.dependsOn = dependsOn;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
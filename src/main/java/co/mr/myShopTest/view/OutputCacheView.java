@@ -0,0 +1,159 @@
+package co.mr.myShopTest.view;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// 실제 뷰(Thymeleaf)를 감싸서 렌더링 결과를 OutputCacheStore에 저장/재사용하는 뷰
+// 캐시 키 : 뷰 이름 + 로케일 + 사용자 이름 + 권한 + 모델 지문(모델을 JSON으로 바꾼 값의 SHA-256)
+// 응답에는 ETag를 붙이고, 요청의 If-None-Match와 같으면 본문 없이 304를 보낸다.
+public class OutputCacheView implements View {
+
+    private final String viewName;
+
+    private final View delegate;
+
+    private final OutputCacheStore store;
+
+    private final Set<Class<?>> dependsOn;
+
+    private final ObjectMapper objectMapper;
+
+    public OutputCacheView(String viewName, View delegate, OutputCacheStore store,
+                           Set<Class<?>> dependsOn, ObjectMapper objectMapper) {
+        this.viewName = viewName;
+        this.delegate = delegate;
+        this.store = store;
+        this.dependsOn = dependsOn;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String key = key(model, request);
+        if (key == null || response.getStatus() != HttpServletResponse.SC_OK) {
+            delegate.render(model, request, response); // 캐시할 수 없는 모델
+            return;
+        }
+
+        OutputCacheStore.Entry entry;
+        try {
+            entry = store.get(key, k -> renderToBytes(model, request, response));
+        } catch (RenderException e) {
+            throw e.getCause();
+        }
+
+        boolean gzip = acceptsGzip(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // If-None-Match가 ETag와 같으면 304 상태와 ETag 헤더를 설정하고 true 반환
+        if (new ServletWebRequest(request, response).checkNotModified(gzip ? entry.getGzipEtag() : entry.getEtag())) {
+            return;
+        }
+
+        byte[] body = gzip ? entry.getGzipBody() : entry.getBody();
+        response.setContentType(entry.getContentType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private OutputCacheStore.Entry renderToBytes(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            delegate.render(model, request, wrapper);
+            wrapper.flushBuffer();
+        } catch (Exception e) {
+            throw new RenderException(e);
+        }
+        String contentType = wrapper.getContentType() != null ? wrapper.getContentType() : getContentType();
+        return new OutputCacheStore.Entry(contentType, wrapper.getContentAsByteArray(), dependsOn);
+    }
+
+    private String key(Map<String, ?> model, HttpServletRequest request) {
+        // BindingResult 등 스프링 내부 객체는 제외하고 키 순서를 고정해서 JSON으로 만든다.
+        Map<String, Object> attributes = new TreeMap<>();
+        model.forEach((name, value) -> {
+            if (!name.startsWith("org.springframework.")) {
+                attributes.put(name, value);
+            }
+        });
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(attributes);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return viewName + "|" + RequestContextUtils.getLocale(request) + "|" + principal(authentication) + "|"
+                + authorities(authentication) + "|" + OutputCacheStore.sha256(json);
+    }
+
+    // 헤더의 로그인 사용자 표시처럼 모델 밖에서 사용자별로 달라지는 부분이 있으므로 사용자 이름도 키에 포함한다.
+    // 로그인하지 않은 사용자(익명)끼리는 캐시를 함께 쓴다.
+    private static String principal(Authentication authentication) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "";
+        }
+        return authentication.getName();
+    }
+
+    // 헤더 메뉴처럼 권한에 따라 달라지는 부분이 있으므로 권한 목록도 키에 포함한다.
+    private static String authorities(Authentication authentication) {
+        if (authentication == null) {
+            return "";
+        }
+        Set<String> authorities = new TreeSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        return authorities.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.toLowerCase().split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
+
+    private static class RenderException extends RuntimeException {
+        private RenderException(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
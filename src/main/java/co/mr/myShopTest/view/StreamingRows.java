@@ -0,0 +1,73 @@
+package co.mr.myShopTest.view;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// 화면을 렌더링하면서 한 건씩 읽어 넘겨주는 목록 (th:each 대상)
+// 컨트롤러는 List 대신 이 객체를 모델에 담고, 실제 조회는 th:each가 반복을 시작할 때 한다.
+// - 반복을 시작하기 전에 지금까지 렌더링한 앞부분(헤더, 레이아웃)을 먼저 내보낸다.
+// - chunkSize 건마다 영속성 컨텍스트를 비우고 응답을 내보낸다. (StreamingView가 지정한 onChunk)
+// 목록 길이와 관계없이 메모리에는 chunkSize 건 정도만 남는다. source는 엔티티가 아닌 DTO 스트림을 반환해야 한다.
+// 한 번만 반복할 수 있다.
+public class StreamingRows<T> implements Iterable<T> {
+
+    private final Supplier<Stream<T>> source;
+
+    private final int chunkSize;
+
+    private Runnable onChunk = () -> {
+    };
+
+    private Stream<T> stream;
+
+    private long count;
+
+    public StreamingRows(Supplier<Stream<T>> source, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+        }
+        this.source = source;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (stream != null) {
+            throw new IllegalStateException("StreamingRows는 한 번만 반복할 수 있습니다.");
+        }
+        onChunk.run();
+        stream = source.get();
+        Iterator<T> rows = stream.iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T row = rows.next();
+                if (++count % chunkSize == 0) {
+                    onChunk.run();
+                }
+                return row;
+            }
+        };
+    }
+
+    // 지금까지 넘겨준 건수
+    public long getCount() {
+        return count;
+    }
+
+    void onChunk(Runnable onChunk) {
+        this.onChunk = onChunk;
+    }
+
+    void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
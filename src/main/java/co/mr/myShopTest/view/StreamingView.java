@@ -0,0 +1,81 @@
+package co.mr.myShopTest.view;
+
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.View;
+
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 모델에 StreamingRows가 있는 화면을 읽기 전용 트랜잭션 안에서 렌더링하는 뷰
+// Thymeleaf는 렌더링 결과를 응답 Writer에 바로 쓰므로(spring.thymeleaf.servlet.produce-partial-output-while-processing, 기본값 true)
+// StreamingRows가 chunk마다 응답을 내보내면(flushBuffer) 브라우저는 목록이 끝나기 전에 앞부분부터 받는다.
+// 렌더링이 끝날 때까지 커넥션을 잡고 있으므로 받는 쪽이 느리면 DB 읽기도 같이 느려진다. (ItemExportService와 같음)
+// 응답을 내보낸 뒤에는 상태 코드를 바꿀 수 없으므로 렌더링 중 오류가 나면 화면이 중간에서 끝난다.
+public class StreamingView implements View {
+
+    private final View delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager em;
+
+    public StreamingView(View delegate, TransactionTemplate transactionTemplate, EntityManager em) {
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.em = em;
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        List<StreamingRows<?>> rows = model.values().stream()
+                .filter(StreamingRows.class::isInstance)
+                .map(value -> (StreamingRows<?>) value)
+                .collect(Collectors.toList());
+        Runnable onChunk = () -> {
+            em.clear();
+            try {
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        rows.forEach(row -> row.onChunk(onChunk));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    delegate.render(model, request, response);
+                } catch (Exception e) {
+                    throw new RenderException(e);
+                } finally {
+                    rows.forEach(StreamingRows::close);
+                }
+            });
+        } catch (RenderException e) {
+            throw e.getCause();
+        }
+    }
+
+    // 트랜잭션 콜백 밖으로 checked 예외를 꺼내기 위한 래퍼
+    private static class RenderException extends RuntimeException {
+        private RenderException(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
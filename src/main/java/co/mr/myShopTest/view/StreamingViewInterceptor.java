@@ -0,0 +1,43 @@
+package co.mr.myShopTest.view;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 컨트롤러가 모델에 StreamingRows를 담았으면 반환한 뷰를 StreamingView로 감싼다.
+@Component
+@RequiredArgsConstructor
+public class StreamingViewInterceptor implements HandlerInterceptor {
+
+    private final ThymeleafViewResolver thymeleafViewResolver;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final EntityManager em;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) throws Exception {
+        if (modelAndView == null || !modelAndView.isReference()
+                || modelAndView.getModel().values().stream().noneMatch(StreamingRows.class::isInstance)) {
+            return;
+        }
+        View view = thymeleafViewResolver.resolveViewName(modelAndView.getViewName(),
+                RequestContextUtils.getLocale(request));
+        if (view != null) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            modelAndView.setView(new StreamingView(view, transactionTemplate, em));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+-- db/migration/mysql/V1__create_item_tables.sql 과 같은 스키마의 H2 버전 (scripts/appcds.sh 학습 실행, 로컬 검증용)
+-- 엔티티에서 하이버네이트(H2Dialect)로 만든 DDL, 엔티티를 바꾸면 mysql과 함께 다음 버전 파일을 추가한다.
+
+create sequence item_seq start with 1 increment by 100;
+
+create table item (
+    item_id bigint not null,
+    item_detail clob not null,
+    item_name varchar(50) not null,
+    item_sell_status varchar(255),
+    price integer not null,
+    reg_time timestamp,
+    stock_number integer not null,
+    update_time timestamp,
+    version bigint,
+    primary key (item_id)
+);
+
+create table item_import_chunk (
+    item_import_chunk_id bigint generated by default as identity,
+    chunk_no bigint not null,
+    completed_time timestamp,
+    job_key varchar(64) not null,
+    row_count integer not null,
+    primary key (item_import_chunk_id)
+);
+
+create table item_outbox (
+    item_outbox_id bigint generated by default as identity,
+    change_type varchar(20) not null,
+    created_time timestamp not null,
+    item_detail clob,
+    item_id bigint not null,
+    item_name varchar(50),
+    item_sell_status varchar(255),
+    item_version bigint,
+    price integer not null,
+    reg_time timestamp,
+    stock_number integer not null,
+    primary key (item_outbox_id)
+);
+
+create table item_outbox_offset (
+    subscriber varchar(100) not null,
+    last_id bigint not null,
+    update_time timestamp,
+    primary key (subscriber)
+);
+
+create index idx_item_sell_status_price on item (item_sell_status, price);
+create index idx_item_price on item (price);
+create index idx_item_name on item (item_name);
+create index idx_item_reg_time on item (reg_time);
+
+alter table item_import_chunk add constraint uk_item_import_chunk_job_chunk unique (job_key, chunk_no);
@@ -0,0 +1,58 @@
+-- 운영(prod, ddl-auto=validate) 스키마, 엔티티(Item, ItemOutbox, ItemOutboxOffset, ItemImportChunk)에서 하이버네이트(MySQL8Dialect)로 만든 DDL
+-- 엔티티를 바꾸면 다음 버전 파일(V2__...sql)을 추가한다. 이미 적용한 파일은 고치지 않는다.
+-- Flyway(spring.flyway.locations=classpath:db/migration/{vendor}) 또는 mysql 클라이언트로 배포 전에 적용한다.
+
+create table item (
+    item_id bigint not null,
+    item_detail longtext not null,
+    item_name varchar(50) not null,
+    item_sell_status varchar(255),
+    price integer not null,
+    reg_time datetime(6),
+    stock_number integer not null,
+    update_time datetime(6),
+    version bigint,
+    primary key (item_id)
+) engine=InnoDB;
+
+create table item_import_chunk (
+    item_import_chunk_id bigint not null auto_increment,
+    chunk_no bigint not null,
+    completed_time datetime(6),
+    job_key varchar(64) not null,
+    row_count integer not null,
+    primary key (item_import_chunk_id)
+) engine=InnoDB;
+
+create table item_outbox (
+    item_outbox_id bigint not null auto_increment,
+    change_type varchar(20) not null,
+    created_time datetime(6) not null,
+    item_detail longtext,
+    item_id bigint not null,
+    item_name varchar(50),
+    item_sell_status varchar(255),
+    item_version bigint,
+    price integer not null,
+    reg_time datetime(6),
+    stock_number integer not null,
+    primary key (item_outbox_id)
+) engine=InnoDB;
+
+create table item_outbox_offset (
+    subscriber varchar(100) not null,
+    last_id bigint not null,
+    update_time datetime(6),
+    primary key (subscriber)
+) engine=InnoDB;
+
+-- MySQL에는 시퀀스가 없으므로 item_seq는 테이블로 만든다. (한 번에 100개씩 id를 할당, Item의 increment_size와 같다.)
+create table item_seq (next_val bigint) engine=InnoDB;
+insert into item_seq values (1);
+
+create index idx_item_sell_status_price on item (item_sell_status, price);
+create index idx_item_price on item (price);
+create index idx_item_name on item (item_name);
+create index idx_item_reg_time on item (reg_time);
+
+alter table item_import_chunk add constraint uk_item_import_chunk_job_chunk unique (job_key, chunk_no);
@@ -0,0 +1,108 @@
+package co.mr.myShopTest.asset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AssetPipelineTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AssetManifest assetManifest;
+
+    @Test
+    @DisplayName("레이아웃 번들 링크를 해시가 붙은 경로로 바꾸는지 테스트")
+    public void linkTest() throws Exception {
+        String css = assetManifest.resolve("/css/layout.css");
+        String js = assetManifest.resolve("/js/layout.js");
+        assertTrue(css.matches("/assets/layout-[0-9a-f]{12}\\.css"));
+        assertTrue(js.matches("/assets/layout-[0-9a-f]{12}\\.js"));
+
+        String html = mockMvc.perform(get("/thymeleaf/ex07"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(html.contains("href=\"" + css + "\""));
+        assertTrue(html.contains("src=\"" + js + "\""));
+        assertFalse(html.contains("cdn"));
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding에 맞는 미리 압축한 번들을 보내는지 테스트")
+    public void encodingTest() throws Exception {
+        String css = assetManifest.resolve("/css/layout.css");
+        byte[] original = read(css);
+        byte[] zstd = read(css + ".zst");
+        byte[] gzip = read(css + ".gz");
+        assertTrue(zstd.length < gzip.length && gzip.length < original.length);
+
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br, zstd"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "zstd"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(content().contentType("text/css"))
+                .andExpect(content().bytes(zstd));
+
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(gzip));
+
+        // zstd를 받는 요청 다음에 zstd를 모르는 요청이 와도 캐시된 .zst를 받지 않는다.
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br, zstd"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "zstd"))
+                .andExpect(content().bytes(zstd));
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(gzip));
+
+        // zstd만 받는 요청 다음에 Accept-Encoding이 없는 요청
+        mockMvc.perform(get(css).header(HttpHeaders.ACCEPT_ENCODING, "zstd"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "zstd"))
+                .andExpect(content().bytes(zstd));
+        MvcResult plain = mockMvc.perform(get(css))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        assertArrayEquals(original, plain.getResponse().getContentAsByteArray());
+
+        // 없는 해시는 404이고 immutable 캐시 헤더를 붙이지 않는다.
+        mockMvc.perform(get("/assets/layout-000000000000.css"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("immutable"))));
+    }
+
+    @Test
+    @DisplayName("CSS 줄이기 테스트")
+    public void minifyCssTest() {
+        String css = "/* 주석 */\n.a :hover , .b > .c {\n    margin : 0 auto;\n    content: \"a  ;  b\";\n}\n";
+        assertEquals(".a :hover,.b>.c{margin :0 auto;content:\"a  ;  b\"}", AssetBundler.minifyCss(css));
+    }
+
+    private byte[] read(String path) throws Exception {
+        try (InputStream in = new ClassPathResource("static" + path).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
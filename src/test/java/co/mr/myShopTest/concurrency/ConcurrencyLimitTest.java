@@ -0,0 +1,192 @@
+package co.mr.myShopTest.concurrency;
+
+import co.mr.myShopTest.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+class ConcurrencyLimitTest {
+
+    @Autowired
+    ConcurrencyLimiters concurrencyLimiters;
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    DataSource dataSource;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    // 한도까지 차례를 받은 뒤 반환하기를 반복한다.
+    private void run(AdaptiveLimiter limiter, long rttMillis, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int permits = 0;
+            while (limiter.tryAcquire()) {
+                permits++;
+            }
+            for (int i = 0; i < permits; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), false);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("응답 시간에 따른 한도 조절 테스트")
+    public void adaptiveLimitTest() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 2, 100, 0, 0, 1.5);
+
+        run(limiter, 10, 20);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "응답 시간이 그대로면 한도가 늘어나야 합니다. : " + grown);
+
+        run(limiter, 100, 3);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown, "응답이 느려지면 한도가 줄어야 합니다. : " + grown + " -> " + shrunk);
+
+        // 실패는 응답 시간과 상관없이 한도를 줄인다.
+        int before = limiter.getLimit();
+        assertTrue(limiter.tryAcquire());
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1), true);
+        assertTrue(limiter.getLimit() < before || before == 2);
+        assertEquals(1, limiter.snapshot().getDropped());
+    }
+
+    @Test
+    @DisplayName("한도 초과 시 대기열/대기 시간 테스트")
+    public void queueTest() throws Exception {
+        AdaptiveLimiter fastFail = new AdaptiveLimiter("fast-fail", 1, 1, 1, 0, 1000, 1.5);
+        assertTrue(fastFail.tryAcquire());
+        assertFalse(fastFail.tryAcquire());
+        assertEquals(1, fastFail.snapshot().getRejected());
+
+        AdaptiveLimiter queued = new AdaptiveLimiter("queued", 1, 1, 1, 1, 2000, 1.5);
+        assertTrue(queued.tryAcquire());
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(queued::tryAcquire);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (queued.snapshot().getQueued() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, queued.snapshot().getQueued());
+        // 대기열(1)이 가득 찼으므로 바로 거절
+        assertFalse(queued.tryAcquire());
+
+        // 앞 요청이 끝나면 기다리던 요청이 실행된다.
+        queued.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        queued.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        // 대기 시간 안에 차례가 오지 않으면 거절
+        AdaptiveLimiter timeout = new AdaptiveLimiter("timeout", 1, 1, 1, 1, 50, 1.5);
+        assertTrue(timeout.tryAcquire());
+        long start = System.nanoTime();
+        assertFalse(timeout.tryAcquire());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, timeout.snapshot().getTimedOut());
+    }
+
+    @Test
+    @DisplayName("그룹별 bulkhead 테스트")
+    public void bulkheadTest() throws Exception {
+        mockMvc.perform(get("/thymeleaf/ex01")).andExpect(status().isOk());
+
+        // thymeleaf 그룹의 차례를 모두 차지한다. (대기열 50건이 비어 있으므로 다른 요청이 기다리다 거절됨)
+        AdaptiveLimiter thymeleaf = concurrencyLimiters.get("thymeleaf");
+        List<Boolean> held = new ArrayList<>();
+        while (thymeleaf.snapshot().getInFlight() < thymeleaf.getLimit()) {
+            held.add(thymeleaf.tryAcquire());
+        }
+        long timedOut = thymeleaf.snapshot().getTimedOut();
+        try {
+            mockMvc.perform(get("/thymeleaf/ex01"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            // 다른 그룹은 영향을 받지 않는다.
+            mockMvc.perform(get("/hello")).andExpect(status().isOk());
+        } finally {
+            held.forEach(acquired -> thymeleaf.release(TimeUnit.MILLISECONDS.toNanos(1), false));
+        }
+        assertEquals(timedOut + 1, thymeleaf.snapshot().getTimedOut());
+        mockMvc.perform(get("/thymeleaf/ex01")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/metrics/concurrency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'thymeleaf')].timedOut").value((int) (timedOut + 1)))
+                .andExpect(jsonPath("$[?(@.name == 'hello')].inFlight").value(0));
+    }
+
+    @Test
+    @DisplayName("요청 스레드가 커넥션을 가지고 있는 동안 차례를 차지하는지 테스트")
+    public void connectionLimitTest() throws Exception {
+        AdaptiveLimiter repository = concurrencyLimiters.get(ConcurrencyLimiters.REPOSITORY);
+        int inFlight = repository.snapshot().getInFlight();
+
+        // 요청 스레드가 아니면 제한하지 않는다.
+        CompletableFuture.runAsync(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                assertEquals(inFlight, repository.snapshot().getInFlight());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            try (Connection connection = dataSource.getConnection()) {
+                assertEquals(inFlight + 1, repository.snapshot().getInFlight());
+                // 이미 커넥션을 가지고 있으면 차례를 다시 받지 않는다.
+                try (Connection nested = dataSource.getConnection()) {
+                    assertEquals(inFlight + 1, repository.snapshot().getInFlight());
+                }
+                assertEquals(inFlight + 1, repository.snapshot().getInFlight());
+            }
+            assertEquals(inFlight, repository.snapshot().getInFlight());
+
+            // 차례를 모두 차지하면 커넥션 풀에서 기다리지 않고 대기 시간 뒤에 실패한다.
+            List<Boolean> held = new ArrayList<>();
+            while (repository.snapshot().getInFlight() < repository.getLimit()) {
+                held.add(repository.tryAcquire());
+            }
+            try {
+                assertThrows(ConcurrencyLimitExceededException.class, dataSource::getConnection);
+            } finally {
+                held.forEach(acquired -> repository.release(TimeUnit.MILLISECONDS.toNanos(1), false));
+            }
+        } finally {
+            RequestContextHolder.setRequestAttributes(attributes);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.service.ImageService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ImageControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ImageService imageService;
+
+    @Test
+    @DisplayName("지문이 들어간 이미지 URL 캐시 헤더 테스트")
+    public void fingerprintTest() throws Exception {
+        String url = imageService.url("셔츠2.jpg", "thumbnail");
+        assertTrue(url.contains("/" + imageService.fingerprint("셔츠2.jpg") + "/"));
+
+        MvcResult result = mockMvc.perform(get(java.net.URI.create(url)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(java.net.URI.create(url)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("이미지 Range 요청 테스트")
+    public void rangeTest() throws Exception {
+        MvcResult full = mockMvc.perform(get("/image/list/{fileName}", "셔츠3.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"))
+                .andReturn();
+        byte[] body = full.getResponse().getContentAsByteArray();
+
+        MvcResult partial = mockMvc.perform(get("/image/list/{fileName}", "셔츠3.jpg").header(HttpHeaders.RANGE, "bytes=10-109"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-109/" + body.length))
+                .andReturn();
+        byte[] range = partial.getResponse().getContentAsByteArray();
+        assertEquals(100, range.length);
+        assertEquals(body[10], range[0]);
+
+        mockMvc.perform(get("/image/list/{fileName}", "셔츠3.jpg").header(HttpHeaders.RANGE, "bytes=" + body.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+
+        // 끝이 시작보다 앞인 Range는 형식이 틀렸으므로 무시하고 전체를 보낸다.
+        MvcResult invalid = mockMvc.perform(get("/image/list/{fileName}", "셔츠3.jpg").header(HttpHeaders.RANGE, "bytes=5-3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andReturn();
+        assertEquals(body.length, invalid.getResponse().getContentAsByteArray().length);
+        mockMvc.perform(get("/image/list/{fileName}", "셔츠3.jpg").header(HttpHeaders.RANGE, "bytes=" + (body.length + 10) + "-" + (body.length + 5)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/image/huge/{fileName}", "셔츠3.jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,94 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.concurrency.BoundedExecutor;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+@SpringBootTest
+@WithMockUser
+class ItemCatalogControllerTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BoundedExecutor catalogExecutor;
+
+    @Autowired
+    WebApplicationContext context;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    private Item createItem(String itemName) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(10000);
+        item.setItemDetail("상품 목록 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("상품 목록 동기/비동기 처리 테스트")
+    public void catalogTest() throws Exception {
+        String prefix = "목록 상품" + System.nanoTime() + "-";
+        Item first = createItem(prefix + 1);
+        createItem(prefix + 2);
+        createItem(prefix + 3);
+        String url = "/items/catalog?size=3&lastId=" + (first.getId() - 1);
+
+        String sync = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted())
+                .andReturn().getResponse().getContentAsString();
+
+        long completed = catalogExecutor.snapshot().getCompleted();
+        MvcResult started = mockMvc.perform(get("/items/catalog/async?size=3&lastId=" + (first.getId() - 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String async = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(view().name("item/catalog"))
+                .andReturn().getResponse().getContentAsString();
+
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(sync.contains(prefix + i));
+            assertTrue(async.contains(prefix + i));
+        }
+        // 작업 완료 집계는 결과를 넘긴 뒤에 하므로 잠시 기다린다.
+        long deadline = System.currentTimeMillis() + 1000;
+        while (catalogExecutor.snapshot().getCompleted() == completed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(completed + 1, catalogExecutor.snapshot().getCompleted());
+    }
+}
@@ -0,0 +1,70 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@WithMockUser
+class ItemExportControllerTest {
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    @DisplayName("상품 내보내기 조건 필터 테스트")
+    public void exportTest() throws Exception {
+        String itemName = "내보내기 필터 상품" + System.nanoTime();
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(10000);
+        item.setItemDetail("내보내기 필터 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        itemRepository.save(item);
+
+        MvcResult result = mockMvc.perform(get("/items/export")
+                        .param("format", "ndjson")
+                        .param("itemName", itemName))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.ndjson\""))
+                .andReturn();
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(1, body.lines().count());
+        assertTrue(body.contains(itemName));
+
+        mockMvc.perform(get("/items/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,146 @@
+package co.mr.myShopTest.controller;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import co.mr.myShopTest.view.OutputCacheStore;
+import co.mr.myShopTest.view.StreamingRows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ThymeleafExControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    OutputCacheStore outputCacheStore;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("화면 캐시 ETag / 304 테스트")
+    public void outputCacheTest() throws Exception {
+        MvcResult first = mockMvc.perform(get("/thymeleaf/ex03"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(first.getResponse().getContentAsString().contains("테스트 상품1"));
+
+        long hits = outputCacheStore.stats().hitCount();
+        mockMvc.perform(get("/thymeleaf/ex03").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(hits + 1, outputCacheStore.stats().hitCount());
+
+        // gzip 압축본
+        MvcResult gzip = mockMvc.perform(get("/thymeleaf/ex03").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        assertNotEquals(etag, gzip.getResponse().getHeader(HttpHeaders.ETAG));
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray())).readAllBytes();
+        assertEquals(first.getResponse().getContentAsString(), new String(unzipped, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("상품 변경 시 화면 캐시 무효화 테스트 (dependsOn을 지정한 화면만)")
+    public void invalidateTest() throws Exception {
+        mockMvc.perform(get("/thymeleaf/ex04")).andExpect(status().isOk());
+        AtomicInteger renders = new AtomicInteger();
+        Function<String, OutputCacheStore.Entry> renderer = key -> {
+            renders.incrementAndGet();
+            return new OutputCacheStore.Entry("text/html", "상품 화면".getBytes(StandardCharsets.UTF_8), Set.of(Item.class));
+        };
+        String key = "invalidateTest|" + System.nanoTime();
+        outputCacheStore.get(key, renderer);
+
+        Item item = new Item();
+        item.setItemName("화면 캐시 상품");
+        item.setPrice(10000);
+        item.setItemDetail("화면 캐시 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        itemRepository.save(item);
+
+        outputCacheStore.get(key, renderer);
+        assertEquals(2, renders.get()); // Item에 의존하는 화면은 다시 렌더링
+
+        // 고정된 예제 목록 화면은 상품 변경과 관계없이 캐시를 그대로 쓴다.
+        long hits = outputCacheStore.stats().hitCount();
+        mockMvc.perform(get("/thymeleaf/ex04")).andExpect(status().isOk());
+        assertEquals(hits + 1, outputCacheStore.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("사용자가 다르면 화면 캐시를 함께 쓰지 않는지 테스트")
+    public void principalTest() throws Exception {
+        mockMvc.perform(get("/thymeleaf/ex03")).andExpect(status().isOk());
+
+        long misses = outputCacheStore.stats().missCount();
+        mockMvc.perform(get("/thymeleaf/ex03").with(user("other"))).andExpect(status().isOk());
+        assertEquals(misses + 1, outputCacheStore.stats().missCount());
+        mockMvc.perform(get("/thymeleaf/ex03").with(user("other"))).andExpect(status().isOk());
+        assertEquals(misses + 1, outputCacheStore.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("상품 목록 스트리밍 렌더링 테스트")
+    public void streamTest() throws Exception {
+        String prefix = "스트리밍 상품" + System.nanoTime() + "-";
+        for (int i = 1; i <= 3; i++) {
+            Item item = new Item();
+            item.setItemName(prefix + i);
+            item.setPrice(1000 * i);
+            item.setItemDetail("스트리밍 상품 상세 설명");
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            item.setRegTime(LocalDateTime.now());
+            item.setUpdateTime(LocalDateTime.now());
+            itemRepository.save(item);
+        }
+
+        MvcResult result = mockMvc.perform(get("/thymeleaf/ex03/stream"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("<h1>"));
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(content.contains(prefix + i));
+        }
+        // 목록을 만들지 않고 렌더링하면서 DB의 상품을 모두 읽었다.
+        StreamingRows<?> rows = (StreamingRows<?>) result.getModelAndView().getModel().get("itemDtoList");
+        assertEquals(itemRepository.count(), rows.getCount());
+
+        String ex04 = mockMvc.perform(get("/thymeleaf/ex04/stream"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(ex04.contains(prefix + 3));
+    }
+}
@@ -0,0 +1,169 @@
+package co.mr.myShopTest.datasource;
+
+import co.mr.myShopTest.constant.DataSourceType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 H2 두 개를 primary/replica로 사용한다.
+// 다른 테스트의 DB(testdb)와 섞이지 않도록 별도 DB 이름을 쓴다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-lag-ms=200",
+        "datasource.replica.health-check-interval-ms=3600000"})
+class ReplicationRoutingDataSourceTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ReplicaHealthChecker replicaHealthChecker;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Item createItem(String itemName) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(10000);
+        item.setItemDetail("읽기/쓰기 분리 테스트 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    // primary 내용을 replica에 그대로 복사한다. (복제를 흉내)
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("script", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        for (String sql : script) {
+            if (!sql.startsWith("--")) {
+                replica.execute(sql);
+            }
+        }
+    }
+
+    // replica에만 다른 상품명을 넣어서 어느 DB에서 읽었는지 구분한다.
+    private Item prepare() {
+        replicaHealthChecker.check();
+        Item item = createItem("primary 상품");
+        replicate();
+        new JdbcTemplate(replicaDataSource).update("update item set item_name = ? where item_id = ?",
+                "replica 상품", item.getId());
+        replicaHealthChecker.check();
+        assertTrue(replicaHealthChecker.isAvailable(), replicaHealthChecker.getLastError());
+        // 테스트 메소드마다 요청 하나가 묶여 있으므로 위의 저장 이후는 새 요청으로 본다.
+        newRequest();
+        return item;
+    }
+
+    private void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private String readOnlyName(Long itemId) {
+        return itemRepository.findById(itemId).orElseThrow().getItemName();
+    }
+
+    private String readWriteName(Long itemId) {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> itemRepository.findById(itemId).orElseThrow().getItemName());
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션은 primary 테스트")
+    public void routeTest() throws SQLException {
+        Item item = prepare();
+        DataSourceRoutingSnapshot before = dataSource.unwrap(ReplicationRoutingDataSource.class).snapshot();
+
+        assertEquals("replica 상품", readOnlyName(item.getId()));
+        assertEquals("primary 상품", readWriteName(item.getId()));
+
+        DataSourceRoutingSnapshot after = dataSource.unwrap(ReplicationRoutingDataSource.class).snapshot();
+        assertTrue(after.getPools().get(DataSourceType.REPLICA).getConnections()
+                > before.getPools().get(DataSourceType.REPLICA).getConnections());
+        assertTrue(after.getPools().get(DataSourceType.PRIMARY).getConnections()
+                > before.getPools().get(DataSourceType.PRIMARY).getConnections());
+        assertNotNull(after.getPools().get(DataSourceType.REPLICA).getActive());
+    }
+
+    @Test
+    @DisplayName("같은 요청에서 쓰기 이후의 읽기는 primary 테스트")
+    public void readYourWritesTest() {
+        Item item = prepare();
+
+        assertEquals("replica 상품", readOnlyName(item.getId()));
+        createItem("요청 중 저장한 상품");
+        assertEquals("primary 상품", readOnlyName(item.getId()));
+
+        // 다음 요청은 다시 replica
+        newRequest();
+        assertEquals("replica 상품", readOnlyName(item.getId()));
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 primary에서 읽기 테스트")
+    public void lagFallbackTest() throws Exception {
+        Item item = prepare();
+        assertEquals("replica 상품", readOnlyName(item.getId()));
+
+        // replicate 하지 않고 시간만 지남 -> replica의 heartbeat가 오래됨
+        Thread.sleep(300);
+        replicaHealthChecker.check();
+        assertFalse(replicaHealthChecker.isAvailable());
+        assertTrue(replicaHealthChecker.getLagMillis() >= 300);
+
+        long fallbackReads = dataSource.unwrap(ReplicationRoutingDataSource.class).snapshot().getFallbackReads();
+        assertEquals("primary 상품", readOnlyName(item.getId()));
+        assertTrue(dataSource.unwrap(ReplicationRoutingDataSource.class).snapshot().getFallbackReads() > fallbackReads);
+
+        // replica 연결 불가
+        new JdbcTemplate(replicaDataSource).execute("drop table replica_heartbeat");
+        replicaHealthChecker.check();
+        assertFalse(replicaHealthChecker.isAvailable());
+        assertNotNull(replicaHealthChecker.getLastError());
+    }
+}
@@ -0,0 +1,241 @@
+package co.mr.myShopTest.event;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.ItemOutbox;
+import co.mr.myShopTest.repository.ItemOutboxOffsetRepository;
+import co.mr.myShopTest.repository.ItemOutboxRepository;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemOutboxDispatcherTest {
+
+    @Autowired
+    ItemOutboxDispatcher itemOutboxDispatcher;
+
+    @Autowired
+    ItemOutboxRepository itemOutboxRepository;
+
+    @Autowired
+    ItemOutboxOffsetRepository itemOutboxOffsetRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemOutboxWriter itemOutboxWriter;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Item newItem() {
+        Item item = new Item();
+        item.setItemName("outbox 상품");
+        item.setPrice(10000);
+        item.setItemDetail("outbox 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return item;
+    }
+
+    // 관심 있는 상품의 이벤트만 기록, failures 횟수만큼 먼저 실패한다.
+    private static class RecordingSubscriber implements ItemOutboxSubscriber {
+
+        private final String name;
+
+        private final Set<Long> itemIds;
+
+        private final AtomicInteger failures;
+
+        private final List<ItemOutbox> received = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordingSubscriber(String name, Set<Long> itemIds, int failures) {
+            this.name = name;
+            this.itemIds = itemIds;
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void onEvents(List<ItemOutbox> events) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("구독자 처리 실패");
+            }
+            events.stream().filter(event -> itemIds.contains(event.getItemId())).forEach(received::add);
+        }
+
+        private List<ItemChangeType> changeTypes() {
+            synchronized (received) {
+                return received.stream().map(ItemOutbox::getChangeType).collect(Collectors.toList());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("변경 순서대로 전달, 롤백된 변경은 기록되지 않음 테스트")
+    public void dispatchTest() {
+        Item item = itemRepository.save(newItem());
+        item.setPrice(20000);
+        item = itemRepository.save(item);
+        itemRepository.delete(item);
+
+        Long rolledBackId = new TransactionTemplate(transactionManager).execute(status -> {
+            Item saved = itemRepository.saveAndFlush(newItem());
+            status.setRollbackOnly();
+            return saved.getId();
+        });
+        assertTrue(itemOutboxRepository.findByItemIdOrderById(rolledBackId).isEmpty());
+
+        RecordingSubscriber subscriber = new RecordingSubscriber("dispatch-test-" + System.nanoTime(),
+                Set.of(item.getId(), rolledBackId), 0);
+        itemOutboxDispatcher.register(subscriber);
+        try {
+            itemOutboxDispatcher.dispatch();
+            assertEquals(List.of(ItemChangeType.CREATED, ItemChangeType.UPDATED, ItemChangeType.DELETED),
+                    subscriber.changeTypes());
+            assertEquals(20000, subscriber.received.get(1).getPrice());
+
+            ItemOutboxStats.Subscriber stats = itemOutboxDispatcher.stats().getSubscribers().stream()
+                    .filter(s -> s.getName().equals(subscriber.getName())).findFirst().orElseThrow();
+            assertEquals(0, stats.getLag());
+            assertEquals(0, stats.getFailures());
+        } finally {
+            itemOutboxDispatcher.unregister(subscriber.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("실패하면 다시 전달, 재등록하면 저장된 위치부터 전달 테스트")
+    public void retryAndResumeTest() throws InterruptedException {
+        Item item = itemRepository.save(newItem());
+        String name = "resume-test-" + System.nanoTime();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber(name, Set.of(item.getId()), 1);
+        itemOutboxDispatcher.register(subscriber);
+        try {
+            itemOutboxDispatcher.dispatch();
+            assertTrue(subscriber.changeTypes().isEmpty());
+
+            // retry-backoff-ms(1초) 이후 같은 이벤트부터 다시 전달
+            Thread.sleep(1100);
+            itemOutboxDispatcher.dispatch();
+            assertEquals(List.of(ItemChangeType.CREATED), subscriber.changeTypes());
+        } finally {
+            itemOutboxDispatcher.unregister(name);
+        }
+
+        // 저장된 위치부터 이어서 전달, 위치는 아직 기다리는 빈 id 앞으로 저장되므로
+        // 이미 받은 이벤트(CREATED)가 다시 올 수는 있지만 처음(0)부터 다시 읽지는 않는다.
+        long savedId = itemOutboxOffsetRepository.findById(name).orElseThrow().getLastId();
+        assertTrue(savedId > 0);
+        item.setStockNumber(50);
+        itemRepository.save(item);
+        RecordingSubscriber resumed = new RecordingSubscriber(name, Set.of(item.getId()), 0);
+        itemOutboxDispatcher.register(resumed);
+        try {
+            itemOutboxDispatcher.dispatch();
+            List<ItemChangeType> changeTypes = resumed.changeTypes();
+            assertEquals(ItemChangeType.UPDATED, changeTypes.get(changeTypes.size() - 1));
+            assertEquals(1, changeTypes.stream().filter(type -> type == ItemChangeType.UPDATED).count());
+            assertEquals(50, resumed.received.get(changeTypes.size() - 1).getStockNumber());
+            assertTrue(resumed.received.stream().allMatch(event -> event.getId() > savedId));
+        } finally {
+            itemOutboxDispatcher.unregister(name);
+        }
+    }
+
+    // 두 트랜잭션이 같은 버전을 읽은 뒤 수정, 늦게 커밋하는 쪽은 낙관적 락 예외로 다시 읽어서 수정한다.
+    private void updatePrice(Long itemId, int price, CountDownLatch loaded) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicBoolean first = new AtomicBoolean(true);
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Item item = itemRepository.findById(itemId).orElseThrow();
+                    if (first.getAndSet(false)) {
+                        loaded.countDown();
+                        try {
+                            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                    item.setPrice(price);
+                });
+                return;
+            } catch (ConcurrencyFailureException e) {
+                // 다른 트랜잭션이 먼저 수정
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("같은 상품을 동시에 수정해도 변경 순서대로 전달, 늦게 보인 이전 변경은 건너뜀 테스트")
+    public void concurrentUpdateTest() throws Exception {
+        Item item = itemRepository.save(newItem());
+        Long itemId = item.getId();
+
+        CountDownLatch loaded = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int price : new int[]{20000, 30000}) {
+                futures.add(executor.submit(() -> updatePrice(itemId, price, loaded)));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Item updated = itemRepository.findById(itemId).orElseThrow();
+        assertEquals(2L, updated.getVersion());
+
+        // 재고 write-behind 이벤트처럼 커밋 뒤에 따로 기록되어 더 큰 id로 보이는 이전 변경
+        itemOutboxWriter.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, item));
+
+        RecordingSubscriber subscriber = new RecordingSubscriber("concurrent-test-" + System.nanoTime(),
+                Set.of(itemId), 0);
+        itemOutboxDispatcher.register(subscriber);
+        try {
+            itemOutboxDispatcher.dispatch();
+            assertEquals(List.of(ItemChangeType.CREATED, ItemChangeType.UPDATED, ItemChangeType.UPDATED),
+                    subscriber.changeTypes());
+            assertEquals(List.of(0L, 1L, 2L), subscriber.received.stream()
+                    .map(ItemOutbox::getItemVersion).collect(Collectors.toList()));
+            assertEquals(updated.getPrice(), subscriber.received.get(2).getPrice());
+        } finally {
+            itemOutboxDispatcher.unregister(subscriber.getName());
+        }
+    }
+}
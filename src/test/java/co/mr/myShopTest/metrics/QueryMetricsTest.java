@@ -0,0 +1,137 @@
+package co.mr.myShopTest.metrics;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@WithMockUser(roles = "ADMIN")
+class QueryMetricsTest {
+
+    @Autowired
+    QueryMetrics queryMetrics;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    WebApplicationContext context;
+
+    MockMvc mockMvc;
+
+    // @AutoConfigureMockMvc를 쓰면 스프링 컨텍스트가 하나 더 만들어져서(ddl-auto=create)
+    // 같은 메모리 DB의 테이블과 시퀀스가 다시 생성된다. 다른 테스트와 같은 컨텍스트를 쓰도록 직접 만든다.
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @AfterEach
+    public void restore() {
+        queryMetrics.setEnabled(true);
+        queryMetrics.setSlowThresholdMillis(200);
+    }
+
+    private Item createItem(String itemName) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(10000);
+        item.setItemDetail("지표 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    private QueryMetricsSnapshot.SqlShape findShape(QueryMetricsSnapshot snapshot, String part) {
+        return snapshot.getSqlShapes().stream()
+                .filter(shape -> shape.getSql().contains(part))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("레포지토리 메소드, SQL 모양별 지표 테스트")
+    public void recordTest() {
+        queryMetrics.reset();
+        String itemName = "지표 상품" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            createItem(itemName);
+        }
+        assertEquals(3, itemRepository.findByItemName(itemName).size());
+
+        QueryMetricsSnapshot snapshot = queryMetrics.snapshot();
+        assertEquals(3, snapshot.getRepositoryMethods().get("ItemRepository.save").getCount());
+        assertEquals(1, snapshot.getRepositoryMethods().get("ItemRepository.findByItemName").getCount());
+        QueryMetricsSnapshot.SqlShape shape = findShape(snapshot, "item_name=?");
+        assertEquals(1, shape.getLatency().getCount());
+        assertEquals(3, shape.getRows());
+        assertTrue(snapshot.getConnectionWait().getCount() > 0);
+    }
+
+    @Test
+    @DisplayName("SQL 모양 정규화 테스트")
+    public void normalizeTest() {
+        assertEquals("select * from item where item_id in (?) and item_name=? and price>?",
+                QueryMetrics.normalize("select *  from item\n where item_id in (?, ?, ?) and item_name='a''b' and price>100"));
+    }
+
+    @Test
+    @DisplayName("N+1 의심 쿼리, 느린 쿼리 기록 테스트")
+    public void nPlusOneAndSlowQueryTest() {
+        queryMetrics.reset();
+        Item item = createItem("반복 조회 상품");
+
+        queryMetrics.beginRequest("GET /test");
+        for (int i = 0; i < 10; i++) {
+            itemRepository.findById(item.getId());
+        }
+        queryMetrics.endRequest();
+        QueryMetricsSnapshot.NPlusOne nPlusOne = queryMetrics.snapshot().getRepeatedSelects().get(0);
+        assertEquals("GET /test", nPlusOne.getRequest());
+        assertEquals(10, nPlusOne.getCount());
+
+        queryMetrics.setSlowThresholdMillis(0);
+        itemRepository.findByItemName("느린 쿼리 상품");
+        assertTrue(queryMetrics.snapshot().getSlowQueries().stream()
+                .anyMatch(slowQuery -> slowQuery.getSql().contains("'느린 쿼리 상품'")));
+    }
+
+    @Test
+    @DisplayName("지표 조회, 실행 중 끄기 테스트")
+    public void endpointTest() throws Exception {
+        queryMetrics.reset();
+        createItem("지표 상품");
+        mockMvc.perform(get("/admin/metrics/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.repositoryMethods['ItemRepository.save'].count").value(1));
+
+        mockMvc.perform(post("/admin/metrics/queries/enabled").param("value", "false").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false));
+        createItem("지표 상품");
+        assertEquals(1, queryMetrics.snapshot().getRepositoryMethods().get("ItemRepository.save").getCount());
+    }
+}
@@ -0,0 +1,233 @@
+package co.mr.myShopTest.plan;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.metrics.QueryShapeCollector;
+import co.mr.myShopTest.repository.ItemCursor;
+import co.mr.myShopTest.repository.ItemRepository;
+import com.querydsl.core.BooleanBuilder;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 자주 쓰는 ItemRepository 조회의 실행 계획 회귀 테스트
+// 조회마다 실행된 select에 EXPLAIN을 실행해서 query-plans/item-{DB}.properties 의 기준과 같은지 확인한다.
+// 인덱스를 지우거나 조건/정렬을 바꿔서 인덱스를 못 쓰게 되면 실패한다.
+// 기준 다시 만들기 : mvn test -Dtest=ItemQueryPlanRegressionTest -Dquery.plan.baseline.write=true
+// 다른 테스트의 DB(testdb)와 섞이지 않도록 별도 DB 이름을 쓴다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="})
+class ItemQueryPlanRegressionTest {
+
+    private static final Path BASELINE_DIR = Paths.get("src", "test", "resources", "query-plans");
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    QueryShapeCollector queryShapeCollector;
+
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Autowired
+    DataSource dataSource;
+
+    // 실행 계획이 데이터 분포에 따라 달라지므로 매번 같은 데이터로 확인한다.
+    @BeforeEach
+    public void createItems() {
+        if (itemRepository.count() > 0) {
+            return;
+        }
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Item item = new Item();
+            item.setItemName("계획 상품" + (i % 30));
+            item.setPrice(10000 + i * 10);
+            item.setItemDetail("실행 계획 테스트 상품 상세 설명" + i);
+            item.setItemSellStatus(i % 2 == 0 ? ItemSellStatus.SELL : ItemSellStatus.SOLD_OUT);
+            item.setStockNumber(100);
+            item.setRegTime(LocalDateTime.now().minusMinutes(i));
+            item.setUpdateTime(LocalDateTime.now());
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+    }
+
+    // 이름 -> 조회
+    private Map<String, Runnable> hotQueries() {
+        QItem item = QItem.item;
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findById", () -> itemRepository.findById(1L));
+        queries.put("findByItemName", () -> itemRepository.findByItemName("계획 상품3"));
+        queries.put("findListByItemName", () -> itemRepository.findListByItemName("계획 상품3"));
+        queries.put("findByPriceLessThanOrderByPriceDesc", () -> itemRepository.findByPriceLessThanOrderByPriceDesc(10300));
+        queries.put("findListByPriceLessThanOrderByPriceDesc",
+                () -> itemRepository.findListByPriceLessThanOrderByPriceDesc(10300));
+        queries.put("findAllSellStatusPrice", () -> itemRepository.findAll(
+                item.itemSellStatus.eq(ItemSellStatus.SELL).and(item.price.gt(12000)), PageRequest.of(0, 10, Sort.by("price"))));
+        queries.put("findListAllSellStatus", () -> itemRepository.findListAll(
+                item.itemSellStatus.eq(ItemSellStatus.SELL), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price"))));
+        queries.put("countSellStatus", () -> itemRepository.count(item.itemSellStatus.eq(ItemSellStatus.SOLD_OUT)));
+        // 커서 조건(seek)이 붙는 두번째 페이지부터
+        queries.put("cursorPrice", () -> itemRepository.findAll(new BooleanBuilder(),
+                ItemCursor.after(ItemCursor.SortKey.PRICE, false, 11000, 100L), 10));
+        queries.put("cursorRegTime", () -> itemRepository.findAll(new BooleanBuilder(),
+                ItemCursor.after(ItemCursor.SortKey.REG_TIME, false, LocalDateTime.now().minusMinutes(150), 150L), 10));
+        queries.put("findStatsAfter", () -> itemRepository.findStatsAfter(100L, PageRequest.of(0, 50)));
+        return queries;
+    }
+
+    private static String summary(List<QueryPlan> plans) {
+        return plans.stream().map(QueryPlan::getSummary).collect(Collectors.joining("; "));
+    }
+
+    private static String describe(List<QueryPlan> plans) {
+        return plans.stream().map(plan -> plan.getSql() + "\n" + (plan.getError() == null ? plan.getPlan() : plan.getError()))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    @TestFactory
+    @DisplayName("자주 쓰는 조회의 실행 계획이 기준과 같은지 테스트")
+    public Stream<DynamicTest> planRegressionTest() throws IOException {
+        QueryPlanExplainer explainer = new QueryPlanExplainer(dataSource);
+        String database = explainer.getDatabase().name().toLowerCase(Locale.ROOT);
+        Map<String, List<QueryPlan>> plans = new LinkedHashMap<>();
+        hotQueries().forEach((name, query) -> plans.put(name, queryShapeCollector.capture(query).stream()
+                .map(explainer::explain).collect(Collectors.toList())));
+
+        if (Boolean.getBoolean("query.plan.baseline.write")) {
+            writeBaseline(database, plans);
+        }
+        Properties baseline = loadBaseline(database);
+        Assumptions.assumeTrue(baseline != null, "실행 계획 기준이 없습니다. : query-plans/item-" + database + ".properties");
+
+        return plans.entrySet().stream().map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+            String expected = baseline.getProperty(entry.getKey());
+            assertNotNull(expected, "기준이 없는 조회입니다. 기준을 다시 만드세요. : " + entry.getKey());
+            assertFalse(entry.getValue().isEmpty(), "실행된 select가 없습니다. : " + entry.getKey());
+            assertEquals(expected, summary(entry.getValue()), () -> describe(entry.getValue()));
+        }));
+    }
+
+    @Test
+    @DisplayName("인덱스가 없는 item 테이블에서 추천한 인덱스가 @Table에 선언한 인덱스와 같은지 테스트")
+    public void adviseDeclaredIndexesTest() {
+        List<QueryShapeCollector.Sample> sqls = new ArrayList<>();
+        hotQueries().values().forEach(query -> sqls.addAll(queryShapeCollector.capture(query)));
+
+        // 선언한 인덱스가 있으면 더 추천할 인덱스가 없다.
+        IndexAdvice current = indexAdvisor.advise(sqls);
+        // 결과에 남기는 SQL에는 바인드 값이 들어가지 않는다.
+        assertTrue(current.getPlans().stream().noneMatch(plan -> plan.getSql().contains("계획 상품3")));
+        assertEquals(List.of(), current.getSuggestions().stream().map(IndexSuggestion::getDdl).collect(Collectors.toList()));
+
+        // 같은 스키마/데이터에서 보조 인덱스만 뺀 DB
+        DataSource withoutIndexes = new SimpleDriverDataSource(new Driver(),
+                "jdbc:h2:mem:query-plan-no-index;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate target = new JdbcTemplate(withoutIndexes);
+        target.execute("drop all objects");
+        for (String sql : new JdbcTemplate(dataSource).queryForList("script", String.class)) {
+            if (!sql.startsWith("--") && !sql.startsWith("CREATE INDEX")) {
+                target.execute(sql);
+            }
+        }
+        IndexAdvice advice = new IndexAdvisor(withoutIndexes, queryShapeCollector, new String[]{"item"}).advise(sqls);
+
+        Set<List<String>> declared = Arrays.stream(Item.class.getAnnotation(Table.class).indexes())
+                .map(Index::columnList)
+                .map(columnList -> Arrays.stream(columnList.split(","))
+                        .map(field -> field.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toSet());
+        assertEquals(declared, advice.getSuggestions().stream().map(IndexSuggestion::getColumns).collect(Collectors.toSet()),
+                () -> describe(advice.getPlans()));
+        IndexSuggestion sellStatusPrice = advice.getSuggestions().stream()
+                .filter(suggestion -> suggestion.getName().equals("idx_item_sell_status_price")).findFirst().orElseThrow();
+        assertEquals("create index idx_item_sell_status_price on item (item_sell_status, price)", sellStatusPrice.getDdl());
+        assertTrue(sellStatusPrice.getShapes().size() >= 3);
+    }
+
+    private static Properties loadBaseline(String database) throws IOException {
+        try (InputStream in = ItemQueryPlanRegressionTest.class.getResourceAsStream("/query-plans/item-" + database + ".properties")) {
+            if (in == null) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            return properties;
+        }
+    }
+
+    // 조회 순서대로 쓴다. 리소스 디렉터리와 빌드 결과(target/test-classes) 모두에 쓴다.
+    private static void writeBaseline(String database, Map<String, List<QueryPlan>> plans) throws IOException {
+        StringBuilder content = new StringBuilder()
+                .append("# ItemQueryPlanRegressionTest -Dquery.plan.baseline.write=true\n")
+                .append("# ").append(database).append(" : select마다 사용한 인덱스(PRIMARY : 기본키), 테이블.tableScan, filesort(인덱스 순서가 아닌 정렬)\n");
+        plans.forEach((name, queryPlans) -> content.append(name).append('=').append(summary(queryPlans)).append('\n'));
+        String escaped = escape(content.toString());
+        String fileName = "item-" + database + ".properties";
+        Files.createDirectories(BASELINE_DIR);
+        for (Path path : new Path[]{BASELINE_DIR.resolve(fileName),
+                Paths.get("target", "test-classes", "query-plans").resolve(fileName)}) {
+            Files.createDirectories(path.getParent());
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.ISO_8859_1)) {
+                writer.write(escaped);
+            }
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c < 0x80) {
+                escaped.append(c);
+            } else {
+                escaped.append(String.format("\\u%04X", (int) c));
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.service.ItemCatalogService;
+import com.querydsl.core.BooleanBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemCacheRepositoryTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemCacheRepository itemCacheRepository;
+
+    @Autowired
+    ItemCatalogService itemCatalogService;
+
+    private Item createItem(String itemName, int price) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(price);
+        item.setItemDetail("캐시 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("상품 캐시 조회 및 수정 시 무효화 테스트")
+    public void findByIdTest() {
+        Item item = createItem("캐시 상품", 10000);
+
+        long hits = itemCacheRepository.getItemCacheStats().hitCount();
+        ItemDto first = itemCacheRepository.findById(item.getId()).orElseThrow();
+        ItemDto second = itemCacheRepository.findById(item.getId()).orElseThrow();
+        assertEquals(hits + 1, itemCacheRepository.getItemCacheStats().hitCount());
+        assertNotSame(first, second); // 복사본 반환
+
+        item.setPrice(20000);
+        item = itemRepository.save(item);
+        assertEquals(20000, itemCacheRepository.findById(item.getId()).orElseThrow().getPrice());
+
+        itemRepository.delete(item);
+        assertTrue(itemCacheRepository.findById(item.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("목록 캐시 조회 및 상품 추가 시 무효화 테스트")
+    public void findListAllTest() {
+        createItem("목록 캐시 상품", 777);
+        QItem qItem = QItem.item;
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.asc("Id")));
+
+        Page<ItemListDto> page = itemCacheRepository.findListAll(qItem.itemName.eq("목록 캐시 상품"), pageable);
+        assertSame(page, itemCacheRepository.findListAll(qItem.itemName.eq("목록 캐시 상품"), pageable));
+
+        createItem("목록 캐시 상품", 888);
+        Page<ItemListDto> reloaded = itemCacheRepository.findListAll(qItem.itemName.eq("목록 캐시 상품"), pageable);
+        assertEquals(page.getTotalElements() + 1, reloaded.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("같은 키 동시 조회 시 DB 조회 한번만 실행되는지 테스트")
+    public void coalesceTest() throws Exception {
+        Item item = createItem("동시 조회 상품", 10000);
+        long loads = itemCacheRepository.getItemCacheStats().loadCount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch ready = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> {
+                try {
+                    ready.await();
+                    itemCacheRepository.findById(item.getId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(loads + 1, itemCacheRepository.getItemCacheStats().loadCount());
+    }
+
+    @Test
+    @DisplayName("순서만 다른 같은 조건은 같은 목록 캐시를 쓰는지 테스트")
+    public void normalizedKeyTest() {
+        createItem("정규화 캐시 상품", 555);
+        QItem qItem = QItem.item;
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.asc("Id")));
+
+        Page<ItemListDto> page = itemCacheRepository.findListAll(
+                qItem.itemName.eq("정규화 캐시 상품").and(qItem.price.gt(100)), pageable);
+
+        BooleanBuilder booleanBuilder = new BooleanBuilder();
+        booleanBuilder.and(qItem.price.gt(100));
+        booleanBuilder.and(qItem.itemName.eq("정규화 캐시 상품"));
+        assertSame(page, itemCacheRepository.findListAll(booleanBuilder, pageable));
+
+        assertNotSame(page, itemCacheRepository.findListAll(
+                qItem.itemName.eq("정규화 캐시 상품").or(qItem.price.gt(100)), pageable));
+    }
+
+    @Test
+    @DisplayName("상품 목록 화면 조회가 캐시를 거치는지 테스트")
+    public void catalogPageTest() {
+        createItem("목록 화면 캐시 상품", 10000);
+
+        long hits = itemCacheRepository.getQueryCacheStats().hitCount();
+        List<ItemListDto> first = itemCatalogService.getPage(null, 5);
+        assertSame(first, itemCatalogService.getPage(null, 5));
+        assertEquals(hits + 1, itemCacheRepository.getQueryCacheStats().hitCount());
+        assertTrue(itemCacheRepository.snapshot().stream()
+                .anyMatch(snapshot -> snapshot.getName().equals("query") && snapshot.getHitCount() > 0));
+    }
+}
@@ -0,0 +1,125 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemPriceIndexTest {
+
+    // 다른 테스트 데이터와 겹치지 않는 가격대
+    private static final int BASE_PRICE = 1_500_000_000;
+
+    @Autowired
+    ItemPriceIndex itemPriceIndex;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    private Item createItem(int price, ItemSellStatus itemSellStatus) {
+        Item item = new Item();
+        item.setItemName("가격 색인 상품");
+        item.setPrice(price);
+        item.setItemDetail("가격 색인 상품 상세 설명");
+        item.setItemSellStatus(itemSellStatus);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("가격 범위, 판매상태 조건, 변경 반영 테스트")
+    public void rangeTest() {
+        itemPriceIndex.rebuild();
+        Item item1 = createItem(BASE_PRICE + 30, ItemSellStatus.SELL);
+        Item item2 = createItem(BASE_PRICE + 10, ItemSellStatus.SOLD_OUT);
+        Item item3 = createItem(BASE_PRICE + 20, ItemSellStatus.SELL);
+        Item item4 = createItem(BASE_PRICE + 20, ItemSellStatus.SELL);
+
+        assertArrayEquals(new long[]{item2.getId(), item3.getId(), item4.getId(), item1.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE, BASE_PRICE + 30, null, 10));
+        assertArrayEquals(new long[]{item3.getId(), item4.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE, BASE_PRICE + 29, ItemSellStatus.SELL, 10));
+        assertArrayEquals(new long[]{item2.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE, Integer.MAX_VALUE, ItemSellStatus.SOLD_OUT, 10));
+        assertArrayEquals(new long[]{item4.getId(), item3.getId()},
+                itemPriceIndex.findIdsByPriceLessThanOrderByPriceDesc(BASE_PRICE + 30, ItemSellStatus.SELL, 2));
+
+        // 가격, 판매상태 변경 / 삭제
+        item1.setPrice(BASE_PRICE + 5);
+        itemRepository.save(item1);
+        item2.setItemSellStatus(ItemSellStatus.SELL);
+        itemRepository.save(item2);
+        itemRepository.delete(item3);
+        assertArrayEquals(new long[]{item1.getId(), item2.getId(), item4.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE, BASE_PRICE + 30, ItemSellStatus.SELL, 10));
+
+        List<Item> items = itemPriceIndex.findByPriceLessThanOrderByPriceDesc(BASE_PRICE + 21, 2);
+        assertEquals(List.of(item4.getId(), item2.getId()),
+                items.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("가격 색인과 DB 조회 결과 비교 테스트")
+    public void compareWithRepositoryTest() {
+        for (int i = 0; i < 200; i++) {
+            createItem(1000 + (i * 7919) % 5000, i % 3 == 0 ? ItemSellStatus.SOLD_OUT : ItemSellStatus.SELL);
+        }
+        itemPriceIndex.rebuild();
+
+        List<Item> expected = itemRepository.findByPriceLessThanOrderByPriceDesc(3000);
+        long[] ids = itemPriceIndex.findIdsByPriceLessThanOrderByPriceDesc(3000, null, Integer.MAX_VALUE);
+        assertEquals(expected.size(), ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(expected.get(i).getPrice(), itemPriceIndex.findAllById(new long[]{ids[i]}).get(0).getPrice());
+        }
+
+        long[] cheapest = itemPriceIndex.findIdsByPriceLessThan(3000, null, 5);
+        assertEquals(5, cheapest.length);
+        assertEquals(expected.get(expected.size() - 1).getPrice(),
+                itemPriceIndex.findAllById(cheapest).get(0).getPrice());
+    }
+
+    @Test
+    @DisplayName("커밋 순서와 다르게 도착한 이전 이벤트를 버리는지 테스트")
+    public void staleEventTest() {
+        itemPriceIndex.rebuild();
+        Item item = createItem(BASE_PRICE + 100, ItemSellStatus.SELL);
+        Item stale = new Item();
+        stale.setId(item.getId());
+        stale.setPrice(item.getPrice());
+        stale.setItemSellStatus(item.getItemSellStatus());
+        stale.setVersion(item.getVersion());
+
+        item.setPrice(BASE_PRICE + 200);
+        item = itemRepository.save(item);
+        assertArrayEquals(new long[]{item.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE + 100, BASE_PRICE + 200, null, 10));
+
+        // 이전 커밋의 이벤트가 나중에 도착해도 가격이 되돌아가지 않는다.
+        itemPriceIndex.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertArrayEquals(new long[]{item.getId()},
+                itemPriceIndex.findIdsByPriceBetween(BASE_PRICE + 200, BASE_PRICE + 200, null, 10));
+        assertEquals(0, itemPriceIndex.findIdsByPriceBetween(BASE_PRICE + 100, BASE_PRICE + 100, null, 10).length);
+
+        // 삭제 뒤에 도착한 이전 이벤트로 되살아나지 않는다. (다시 만든 색인에 적용해도 같음)
+        itemRepository.delete(item);
+        itemPriceIndex.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertEquals(0, itemPriceIndex.findIdsByPriceBetween(BASE_PRICE + 100, BASE_PRICE + 200, null, 10).length);
+        itemPriceIndex.rebuild();
+        itemPriceIndex.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertEquals(0, itemPriceIndex.findIdsByPriceBetween(BASE_PRICE + 100, BASE_PRICE + 200, null, 10).length);
+    }
+}
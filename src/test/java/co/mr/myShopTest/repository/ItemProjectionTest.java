@@ -0,0 +1,137 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemDto;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.service.ItemImportService;
+import com.querydsl.core.BooleanBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 엔티티 조회와 DTO 프로젝션 조회를 10만건 목록에서 비교한다.
+// 다른 테스트의 데이터와 섞이지 않도록 별도의 메모리 H2 DB를 사용
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "decorator.datasource.p6spy.enable-logging=false",
+        "logging.level.org.hibernate.type.descriptor.sql=info"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemProjectionTest {
+
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemImportService itemImportService;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeAll
+    void createItemList(@TempDir Path tempDir) throws Exception {
+        // 목록 화면에서는 쓰지 않는 긴 상세설명을 넣어서 CLOB 조회 비용이 드러나게 한다.
+        String itemDetail = "프로젝션 상품 상세 설명 ".repeat(40);
+        List<String> lines = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            lines.add("{\"itemName\":\"프로젝션 상품" + i + "\",\"price\":" + (i % 5000)
+                    + ",\"stockNumber\":10,\"itemDetail\":\"" + itemDetail + i + "\",\"itemSellStatus\":\"SELL\"}");
+        }
+        Path file = tempDir.resolve("items.ndjson");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        itemImportService.importFile(file, ImportFormat.NDJSON, 5000, 4);
+    }
+
+    @Test
+    @DisplayName("프로젝션 조회 결과가 엔티티 조회 결과와 같은지 테스트")
+    public void projectionResultTest() {
+        List<Item> itemList = itemRepository.findByPriceLessThanOrderByPriceDesc(10);
+        List<ItemListDto> itemListDtoList = itemRepository.findListByPriceLessThanOrderByPriceDesc(10);
+        assertEquals(itemList.size(), itemListDtoList.size());
+        for (int i = 0; i < itemList.size(); i++) {
+            assertEquals(itemList.get(i).getPrice(), itemListDtoList.get(i).getPrice());
+        }
+
+        assertEquals(1, itemRepository.findListByItemName("프로젝션 상품7").size());
+
+        QItem item = QItem.item;
+        BooleanBuilder booleanBuilder = new BooleanBuilder();
+        booleanBuilder.and(item.price.lt(3));
+        booleanBuilder.and(item.itemSellStatus.eq(ItemSellStatus.SELL));
+        Page<ItemListDto> page = itemRepository.findListAll(booleanBuilder,
+                PageRequest.of(1, 5, Sort.by(Sort.Order.desc("price"), Sort.Order.asc("Id"))));
+        assertEquals(itemRepository.count(booleanBuilder), page.getTotalElements());
+        assertEquals(5, page.getContent().size());
+
+        // 정렬 속성은 허용 목록에 있는 것만 받는다. (레포지토리 프록시가 IllegalArgumentException을 변환)
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> itemRepository.findListAll(booleanBuilder,
+                PageRequest.of(0, 5, Sort.by("itemDetail"))));
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> itemRepository.findListAll(booleanBuilder,
+                PageRequest.of(0, 5, Sort.by("unknown"))));
+
+        List<ItemDto> itemDtoList = itemRepository.findDtoAll(item.itemName.eq("프로젝션 상품7"));
+        assertEquals(1, itemDtoList.size());
+        assertNull(itemDtoList.get(0).getItemDetail());
+        assertEquals("SELL", itemDtoList.get(0).getSellStatCd());
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    @DisplayName("10만건 목록 조회 시 엔티티 vs 프로젝션 힙 할당량, 응답시간 비교")
+    public void projectionAllocationTest() {
+        // JIT 워밍업
+        itemRepository.findByPriceLessThan(Integer.MAX_VALUE);
+        em.clear();
+        itemRepository.findListByPriceLessThan(Integer.MAX_VALUE);
+
+        long[] entity = measure(() -> itemRepository.findByPriceLessThan(Integer.MAX_VALUE).size());
+        em.clear();
+        long[] projection = measure(() -> itemRepository.findListByPriceLessThan(Integer.MAX_VALUE).size());
+
+        System.out.println("entity     : " + entity[0] + " rows, " + entity[1] / 1_000_000 + " ms, " + entity[2] / (1024 * 1024) + " MB allocated");
+        System.out.println("projection : " + projection[0] + " rows, " + projection[1] / 1_000_000 + " ms, " + projection[2] / (1024 * 1024) + " MB allocated");
+
+        assertEquals(entity[0], projection[0]);
+        assertTrue(projection[2] < entity[2]);
+    }
+
+    // {결과 건수, 걸린 시간(ns), 현재 스레드의 힙 할당량(byte)}
+    private long[] measure(Supplier<Integer> query) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int rows = query.get();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[]{rows, elapsed, allocated};
+    }
+}
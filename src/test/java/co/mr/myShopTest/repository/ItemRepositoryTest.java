@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.test.context.TestPropertySource;
 import org.thymeleaf.util.StringUtils;
@@ -21,6 +22,7 @@ import org.thymeleaf.util.StringUtils;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -259,6 +261,82 @@ class ItemRepositoryTest {
 
 
     }
+
+    @Test
+    @DisplayName("Querydsl 커서 페이징 테스트")
+    public void queryDslCursorTest() {
+        this.createItemList2();
+
+        QItem item = QItem.item;
+        BooleanBuilder booleanBuilder = new BooleanBuilder();
+        booleanBuilder.and(item.itemDetail.like("%" + "테스트 상품 상세" + "%"));
+
+        // offset 페이징과 같은 정렬(가격 내림차순, 같은 가격이면 id 내림차순)로 전체를 한번에 조회
+        List<Long> expected = new ArrayList<>();
+        itemRepository.findAll(booleanBuilder, Sort.by(Sort.Order.desc("price"), Sort.Order.desc("Id")))
+                .forEach(resultItem -> expected.add(resultItem.getId()));
+
+        // 커서를 넘겨가며 5개씩 끝까지 조회
+        List<Long> actual = new ArrayList<>();
+        ItemCursor cursor = ItemCursor.first(ItemCursor.SortKey.PRICE, true);
+        CursorPage<Item> cursorPage = itemRepository.findAll(booleanBuilder, cursor, 5, true);
+        assertEquals(expected.size(), cursorPage.getTotalCount());
+        while (true) {
+            cursorPage.getContent().forEach(resultItem -> actual.add(resultItem.getId()));
+            if (!cursorPage.hasNext()) {
+                break;
+            }
+            cursorPage = itemRepository.findAll(booleanBuilder, ItemCursor.decode(cursorPage.getNextCursor()), 5);
+            assertNull(cursorPage.getTotalCount());
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("등록일이 null인 상품이 섞여 있을 때 등록일 커서 페이징 테스트")
+    public void queryDslCursorNullRegTimeTest() {
+        for (int i = 1; i <= 7; i++) {
+            Item item = new Item();
+            item.setItemName("커서 null 상품" + i);
+            item.setPrice(10000 + i);
+            item.setItemDetail("커서 null 등록일 상세");
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            // 홀수 번째 상품은 등록일이 없다.
+            item.setRegTime(i % 2 == 0 ? LocalDateTime.now().plusDays(i) : null);
+            item.setUpdateTime(LocalDateTime.now());
+            itemRepository.save(item);
+        }
+
+        QItem item = QItem.item;
+        BooleanBuilder booleanBuilder = new BooleanBuilder();
+        booleanBuilder.and(item.itemDetail.like("%" + "커서 null 등록일 상세" + "%"));
+
+        for (boolean descending : new boolean[]{false, true}) {
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            List<Long> expected = new ArrayList<>();
+            // 커서 페이징과 같은 null 위치 (오름차순은 맨 앞, 내림차순은 맨 뒤)
+            Sort.Order regTime = descending ? Sort.Order.desc("regTime").nullsLast() : Sort.Order.asc("regTime").nullsFirst();
+            itemRepository.findAll(booleanBuilder, Sort.by(regTime).and(Sort.by(direction, "Id")))
+                    .forEach(resultItem -> expected.add(resultItem.getId()));
+
+            // 2개씩 읽으면 null 구간 안에서 다음 커서가 만들어진다.
+            List<Long> actual = new ArrayList<>();
+            CursorPage<Item> cursorPage = itemRepository.findAll(booleanBuilder,
+                    ItemCursor.first(ItemCursor.SortKey.REG_TIME, descending), 2);
+            while (true) {
+                cursorPage.getContent().forEach(resultItem -> actual.add(resultItem.getId()));
+                if (!cursorPage.hasNext()) {
+                    break;
+                }
+                cursorPage = itemRepository.findAll(booleanBuilder, ItemCursor.decode(cursorPage.getNextCursor()), 2);
+            }
+
+            assertEquals(7, expected.size());
+            assertEquals(expected, actual);
+        }
+    }
 }
 
 // 실행 Spring Data JPA는 인터페이스만 작성하면 이렇게 런타임 시점에
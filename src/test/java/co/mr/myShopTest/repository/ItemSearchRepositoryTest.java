@@ -0,0 +1,106 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemSearchRepositoryTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemSearchRepository itemSearchRepository;
+
+    private Item createItem(String itemName, int price, String itemDetail) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(price);
+        item.setItemDetail(itemDetail);
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("색인 검색 결과가 @Query like 검색 결과와 같은지 테스트")
+    public void findByItemDetailTest() {
+        for (int i = 1; i <= 10; i++) {
+            createItem("검색 상품" + i, 20000 + i, "검색용 상품 상세" + i);
+        }
+
+        List<Long> expected = itemRepository.findByItemDetail("검색용 상품 상세").stream()
+                .map(Item::getId).collect(Collectors.toList());
+        List<Item> itemList = itemSearchRepository.findByItemDetail("검색용 상품 상세");
+
+        assertEquals(expected.size(), itemList.size());
+        assertTrue(itemList.stream().map(Item::getId).collect(Collectors.toList()).containsAll(expected));
+        // 가격 내림차순
+        for (int i = 1; i < itemList.size(); i++) {
+            assertTrue(itemList.get(i - 1).getPrice() >= itemList.get(i).getPrice());
+        }
+    }
+
+    @Test
+    @DisplayName("상품 수정/삭제 시 색인 반영 테스트")
+    public void indexUpdateTest() {
+        Item item = createItem("색인 수정 상품", 30000, "여름 반팔 셔츠");
+        assertTrue(itemSearchRepository.search("반팔셔츠", 10).contains(item.getId()));
+
+        item.setItemDetail("겨울 니트 스웨터");
+        item = itemRepository.save(item);
+        assertFalse(itemSearchRepository.search("반팔셔츠", 10).contains(item.getId()));
+        assertTrue(itemSearchRepository.search("니트 스웨터", 10).contains(item.getId()));
+
+        itemRepository.delete(item);
+        assertFalse(itemSearchRepository.search("니트 스웨터", 10).contains(item.getId()));
+    }
+
+    @Test
+    @DisplayName("커밋 순서와 다르게 도착한 이전 이벤트를 버리는지 테스트")
+    public void staleEventTest() {
+        Item item = createItem("순서 테스트 상품", 30000, "가을 트렌치 코트");
+        Item stale = new Item();
+        stale.setId(item.getId());
+        stale.setItemName(item.getItemName());
+        stale.setItemDetail(item.getItemDetail());
+        stale.setVersion(item.getVersion());
+
+        item.setItemDetail("봄 린넨 자켓");
+        item = itemRepository.save(item);
+        itemSearchRepository.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertFalse(itemSearchRepository.search("트렌치코트", 10).contains(item.getId()));
+        assertTrue(itemSearchRepository.search("린넨 자켓", 10).contains(item.getId()));
+
+        // 삭제 뒤에 도착한 이전 이벤트로 되살아나지 않는다.
+        itemRepository.delete(item);
+        itemSearchRepository.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertFalse(itemSearchRepository.search("트렌치코트", 10).contains(item.getId()));
+    }
+
+    @Test
+    @DisplayName("상품명 일치 시 상세설명 일치보다 먼저 나오는지 테스트")
+    public void searchRankTest() {
+        Item detailMatched = createItem("랭킹 상품A", 10000, "데님 청바지 상세");
+        Item nameMatched = createItem("데님 청바지", 10000, "랭킹 상품B 상세");
+
+        List<Long> ids = itemSearchRepository.search("데님청바지", 10);
+        assertTrue(ids.contains(nameMatched.getId()));
+        assertTrue(ids.contains(detailMatched.getId()));
+        assertTrue(ids.indexOf(nameMatched.getId()) < ids.indexOf(detailMatched.getId()));
+    }
+}
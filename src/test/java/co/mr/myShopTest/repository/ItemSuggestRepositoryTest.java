@@ -0,0 +1,199 @@
+package co.mr.myShopTest.repository;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.constant.SuggestOrder;
+import co.mr.myShopTest.dto.ItemSuggestDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemSuggestRepositoryTest {
+
+    @Autowired
+    ItemSuggestRepository itemSuggestRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    private Item createItem(String itemName, int price) {
+        Item item = new Item();
+        item.setItemName(itemName);
+        item.setPrice(price);
+        item.setItemDetail("자동완성 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    private List<String> names(List<ItemSuggestDto> suggestions) {
+        return suggestions.stream().map(ItemSuggestDto::getItemName).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("자모 분해 테스트")
+    public void decomposeTest() {
+        assertEquals("ㅊㅓㅇㅂㅏㅈㅣ", HangulJamo.decompose("청바지"));
+        assertEquals("ㄷㅏㄹㄱ", HangulJamo.decompose("닭"));
+        assertEquals("ㄷㅏㄹ", HangulJamo.decompose("달"));
+        assertEquals("ㅎㅗㅏ", HangulJamo.decompose("화"));
+        assertEquals("ㅗㅏ", HangulJamo.decompose("ㅘ"));
+        assertEquals("ㄲㅗㅊ", HangulJamo.decompose("꽃"));
+        assertEquals("ㅊㅂㅈ ㅅㅌ", HangulJamo.choseong("  청바지   세트 "));
+        assertTrue(HangulJamo.isChoseongQuery("ㅊㅂ ㅈ"));
+        assertFalse(HangulJamo.isChoseongQuery("ㅊ"));
+        assertFalse(HangulJamo.isChoseongQuery("ㅊ바"));
+    }
+
+    @Test
+    @DisplayName("입력 중인 글자, 초성 검색과 변경 반영 테스트")
+    public void suggestTest() {
+        itemSuggestRepository.rebuild();
+        Item item1 = createItem("뷁쮋 청바지", 30000);
+        Item item2 = createItem("뷁쮋 청바지 세트", 10000);
+        createItem("뷁쮋 청소기", 20000);
+        Item item4 = createItem("뷁쮋 닭가슴살", 5000);
+
+        // 아직 색인에 병합되지 않은 변경분에서 찾는다.
+        assertEquals(List.of("뷁쮋 청바지 세트", "뷁쮋 청바지"),
+                names(itemSuggestRepository.suggest("뷁쮋 청밪", SuggestOrder.PRICE, 10)));
+        itemSuggestRepository.compact();
+        assertEquals(List.of("뷁쮋 청바지 세트", "뷁쮋 청소기", "뷁쮋 청바지"),
+                names(itemSuggestRepository.suggest("뷁쮋 처", SuggestOrder.PRICE, 10)));
+        assertEquals(List.of("뷁쮋 닭가슴살"), names(itemSuggestRepository.suggest("뷁쮋 달", SuggestOrder.PRICE, 10)));
+        assertEquals(List.of("뷁쮋 청바지 세트", "뷁쮋 청바지"),
+                names(itemSuggestRepository.suggest("ㅂㅉ ㅊㅂ", SuggestOrder.PRICE, 10)));
+        assertEquals(2, itemSuggestRepository.suggest("뷁쮋", SuggestOrder.PRICE, 2).size());
+
+        // 수정, 삭제는 병합 전에도 바로 반영된다.
+        item1.setItemName("뷁쮋 반바지");
+        item1.setPrice(1000);
+        itemRepository.save(item1);
+        itemRepository.delete(item4);
+        assertEquals(List.of("뷁쮋 청바지 세트", "뷁쮋 청소기"),
+                names(itemSuggestRepository.suggest("뷁쮋 ㅊ", SuggestOrder.PRICE, 10)));
+        assertEquals(List.of("뷁쮋 반바지", "뷁쮋 청바지 세트"),
+                names(itemSuggestRepository.suggest("뷁쮋", SuggestOrder.PRICE, 2)));
+        assertTrue(itemSuggestRepository.suggest("뷁쮋 닭", SuggestOrder.PRICE, 10).isEmpty());
+
+        // 선택 횟수는 병합 후 인기순에 반영된다.
+        itemSuggestRepository.increasePopularity(item2.getId());
+        itemSuggestRepository.compact();
+        assertEquals("뷁쮋 청바지 세트",
+                itemSuggestRepository.suggest("뷁쮋", SuggestOrder.POPULARITY, 1).get(0).getItemName());
+        assertEquals(List.of("뷁쮋 반바지", "뷁쮋 청바지 세트"),
+                names(itemSuggestRepository.suggest("뷁쮋", SuggestOrder.PRICE, 2)));
+
+        // 병합 전에 수정되어도 인기순이 유지된다.
+        item2.setPrice(item2.getPrice() + 1);
+        itemRepository.save(item2);
+        assertEquals("뷁쮋 청바지 세트",
+                itemSuggestRepository.suggest("뷁쮋", SuggestOrder.POPULARITY, 1).get(0).getItemName());
+
+        // DB에서 다시 만들어도 선택 횟수는 유지된다.
+        itemSuggestRepository.rebuild();
+        assertEquals("뷁쮋 청바지 세트",
+                itemSuggestRepository.suggest("뷁쮋", SuggestOrder.POPULARITY, 1).get(0).getItemName());
+    }
+
+    @Test
+    @DisplayName("커밋 순서와 다르게 도착한 이전 이벤트를 버리는지 테스트")
+    public void staleEventTest() {
+        Item item = createItem("뛣뜛 원래 이름", 10000);
+        Item stale = new Item();
+        stale.setId(item.getId());
+        stale.setItemName(item.getItemName());
+        stale.setPrice(item.getPrice());
+        stale.setVersion(item.getVersion());
+
+        item.setItemName("뛣뜛 바뀐 이름");
+        item = itemRepository.save(item);
+        // 병합 전(changes)과 병합 후(색인) 모두 이전 이벤트로 되돌아가지 않는다.
+        itemSuggestRepository.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertEquals(List.of("뛣뜛 바뀐 이름"), names(itemSuggestRepository.suggest("뛣뜛", SuggestOrder.PRICE, 10)));
+        itemSuggestRepository.compact();
+        itemSuggestRepository.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertEquals(List.of("뛣뜛 바뀐 이름"), names(itemSuggestRepository.suggest("뛣뜛", SuggestOrder.PRICE, 10)));
+
+        // 삭제가 병합되어 색인에서 빠진 뒤에 도착한 이전 이벤트로 되살아나지 않는다.
+        itemRepository.delete(item);
+        itemSuggestRepository.compact();
+        itemSuggestRepository.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertTrue(itemSuggestRepository.suggest("뛣뜛", SuggestOrder.PRICE, 10).isEmpty());
+        itemSuggestRepository.compact();
+        assertTrue(itemSuggestRepository.suggest("뛣뜛", SuggestOrder.PRICE, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("접두어 색인 상위 N개 결과와 응답 시간 테스트")
+    public void prefixIndexTest() {
+        String[] words = {"청바지", "청소기", "청자켓", "치마", "셔츠", "신발", "가방", "모자", "양말", "닭가슴살"};
+        int size = 100_000;
+        Random random = new Random(42);
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        int[] prices = new int[size];
+        int[] popularity = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            names[i] = words[random.nextInt(words.length)] + " " + random.nextInt(1000);
+            prices[i] = 1000 + random.nextInt(100_000);
+            popularity[i] = random.nextInt(50);
+        }
+        PrefixIndex index = PrefixIndex.build(ids, names, prices, popularity);
+
+        // 전체를 정렬한 결과와 비교
+        String[] queries = {"ㅊ", "청", "청ㅂ", "청바지 1", "ㅊㅂㅈ", "ㅅ", "없는상품"};
+        for (String query : queries) {
+            boolean choseong = HangulJamo.isChoseongQuery(query);
+            String key = choseong ? HangulJamo.choseong(query) : HangulJamo.decompose(query);
+            for (SuggestOrder order : SuggestOrder.values()) {
+                long[] expected = IntStream.range(0, size)
+                        .filter(i -> (choseong ? HangulJamo.choseong(names[i]) : HangulJamo.decompose(names[i]))
+                                .startsWith(key))
+                        .boxed()
+                        .sorted((a, b) -> PrefixIndex.compare(order, prices[a], popularity[a], ids[a],
+                                prices[b], popularity[b], ids[b]))
+                        .limit(10)
+                        .mapToLong(i -> ids[i])
+                        .toArray();
+                long[] actual = Arrays.stream(index.top(key, choseong, order, 10, null))
+                        .mapToLong(index::id)
+                        .toArray();
+                assertArrayEquals(expected, actual, query + " " + order);
+            }
+        }
+
+        // 응답 시간 (한 글자 접두어처럼 구간이 큰 경우 포함)
+        String[] keys = {HangulJamo.decompose("ㅊ"), HangulJamo.decompose("청"), HangulJamo.decompose("청바"),
+                HangulJamo.decompose("가방 5"), HangulJamo.decompose("ㅅ")};
+        int count = 20_000;
+        long[] elapsed = new long[count];
+        for (int i = 0; i < count * 2; i++) {
+            long start = System.nanoTime();
+            index.top(keys[i % keys.length], false, SuggestOrder.values()[i % 2], 10, null);
+            if (i >= count) {
+                elapsed[i - count] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(elapsed);
+        long p99 = elapsed[count * 99 / 100];
+        System.out.println("prefix index p99(ns) : " + p99);
+        assertTrue(p99 < 1_000_000, "p99 " + p99 + "ns");
+    }
+}
@@ -0,0 +1,163 @@
+package co.mr.myShopTest.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.http.Cookie;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    private static final String USERNAME = "tokenUser";
+
+    private static final String PASSWORD = "tokenPassword";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    UserDetailsManager userDetailsManager;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void createUser() {
+        if (!userDetailsManager.userExists(USERNAME)) {
+            userDetailsManager.createUser(User.withUsername(USERNAME)
+                    .password(passwordEncoder.encode(PASSWORD))
+                    .roles("USER")
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("토큰 발급 후 세션 없이 인증 테스트")
+    public void tokenTest() throws Exception {
+        MvcResult issued = mockMvc.perform(post("/auth/token").with(httpBasic(USERNAME, PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString(TokenService.COOKIE_NAME + "=")))
+                .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("HttpOnly")))
+                .andReturn();
+        assertNull(issued.getRequest().getSession(false));
+        JsonNode body = objectMapper.readTree(issued.getResponse().getContentAsString());
+        String token = body.get("accessToken").asText();
+        assertEquals(tokenService.getTtl().getSeconds(), body.get("expiresIn").asLong());
+
+        MvcResult bearer = mockMvc.perform(get("/thymeleaf/ex01").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNull(bearer.getRequest().getSession(false));
+
+        mockMvc.perform(get("/thymeleaf/ex01").cookie(new Cookie(TokenService.COOKIE_NAME, token)))
+                .andExpect(status().isOk());
+
+        // 비밀번호가 틀리면 발급하지 않는다.
+        mockMvc.perform(post("/auth/token").with(httpBasic(USERNAME, "wrong")))
+                .andExpect(status().isUnauthorized());
+        // Bearer 헤더로 보낸 요청은 CSRF 토큰 없이 POST 할 수 있다.
+        mockMvc.perform(post("/items/suggest/{itemId}/select", 1L)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @DisplayName("관리용 API는 ADMIN 권한만 조회 테스트")
+    public void adminRoleTest() throws Exception {
+        String user = tokenService.issue(new UsernamePasswordAuthenticationToken(USERNAME, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"))).getValue();
+        String admin = tokenService.issue(new UsernamePasswordAuthenticationToken("tokenAdmin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"))).getValue();
+
+        mockMvc.perform(get("/admin/metrics/cache").header(HttpHeaders.AUTHORIZATION, "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/metrics/concurrency/enabled").param("value", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + user))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/admin/metrics/cache").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/admin/metrics/concurrency/enabled").param("value", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isOk());
+        // 준비 상태는 인증 없이 조회한다.
+        mockMvc.perform(get("/admin/startup/ready"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("잘못된/만료된 토큰 거절 테스트")
+    public void invalidTokenTest() throws Exception {
+        Authentication user = new UsernamePasswordAuthenticationToken(USERNAME, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        String token = tokenService.issue(user).getValue();
+
+        Authentication verified = tokenService.verify(token);
+        assertEquals(USERNAME, verified.getName());
+        assertTrue(verified.isAuthenticated());
+        assertEquals("ROLE_USER", verified.getAuthorities().iterator().next().getAuthority());
+        // 두 번째 검증은 캐시된 인증 정보를 그대로 쓴다.
+        long hits = tokenService.getCacheStats().hitCount();
+        assertSame(verified, tokenService.verify(token));
+        assertEquals(hits + 1, tokenService.getCacheStats().hitCount());
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertNull(tokenService.verify(tampered));
+        assertNull(tokenService.verify("not-a-token"));
+        String expired = tokenService.issue(user, System.currentTimeMillis() / 1000 - 1).getValue();
+        assertNull(tokenService.verify(expired));
+
+        mockMvc.perform(get("/thymeleaf/ex01").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/thymeleaf/ex01").header(HttpHeaders.AUTHORIZATION, "Bearer " + expired))
+                .andExpect(status().isUnauthorized());
+        // 브라우저 요청은 로그인 화면으로 보낸다.
+        mockMvc.perform(get("/thymeleaf/ex01").accept("text/html"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    @DisplayName("정적 파일, 공개 상품 화면은 로그인 없이 조회 테스트")
+    public void publicPathTest() throws Exception {
+        mockMvc.perform(get("/images/{fileName}", "셔츠.jpg"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/catalog"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/suggest").param("q", "a"))
+                .andExpect(status().isOk());
+        // 공개 화면이어도 변경 요청은 인증이 필요하다.
+        mockMvc.perform(post("/items/suggest/{itemId}/select", 1L))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,129 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ItemChangeType;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.CatalogStats;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogStatsServiceTest {
+
+    @Autowired
+    CatalogStatsService catalogStatsService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    private Item createItem(int price, int stockNumber, ItemSellStatus itemSellStatus) {
+        Item item = new Item();
+        item.setItemName("통계 상품");
+        item.setPrice(price);
+        item.setItemDetail("통계 상품 상세 설명");
+        item.setItemSellStatus(itemSellStatus);
+        item.setStockNumber(stockNumber);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    // 가격 구간 [300000, 500000)
+    private CatalogStats.PriceBucket bucket(CatalogStats stats) {
+        return stats.getByPriceBucket().stream()
+                .filter(bucket -> bucket.getFromPrice() == 300000)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("상품 저장/수정/삭제 시 통계 증분 반영 테스트")
+    public void incrementalTest() {
+        catalogStatsService.reconcile();
+        CatalogStats before = catalogStatsService.getStats();
+        assertSame(before, catalogStatsService.getStats()); // 변경이 없으면 같은 결과를 그대로 반환
+        long sellCount = before.getByStatus().get(ItemSellStatus.SELL).getCount();
+        long bucketCount = bucket(before).getStats().getCount();
+
+        Item first = createItem(300001, 10, ItemSellStatus.SELL);
+        Item second = createItem(499999, 20, ItemSellStatus.SELL);
+        CatalogStats created = catalogStatsService.getStats();
+        assertEquals(before.getTotal().getCount() + 2, created.getTotal().getCount());
+        assertEquals(before.getTotal().getTotalStock() + 30, created.getTotal().getTotalStock());
+        assertEquals(sellCount + 2, created.getByStatus().get(ItemSellStatus.SELL).getCount());
+        assertEquals(bucketCount + 2, bucket(created).getStats().getCount());
+
+        // 판매상태, 재고 변경
+        second.setItemSellStatus(ItemSellStatus.SOLD_OUT);
+        second.setStockNumber(0);
+        itemRepository.save(second);
+        CatalogStats updated = catalogStatsService.getStats();
+        assertEquals(before.getTotal().getTotalStock() + 10, updated.getTotal().getTotalStock());
+        assertEquals(sellCount + 1, updated.getByStatus().get(ItemSellStatus.SELL).getCount());
+        assertEquals(bucket(before).getCountByStatus().get(ItemSellStatus.SOLD_OUT) + 1,
+                bucket(updated).getCountByStatus().get(ItemSellStatus.SOLD_OUT));
+
+        // 삭제하면 최고가도 다시 계산된다.
+        Item highest = createItem(Integer.MAX_VALUE, 1, ItemSellStatus.SELL);
+        assertEquals(Integer.MAX_VALUE, catalogStatsService.getStats().getTotal().getMaxPrice());
+        itemRepository.delete(highest);
+        itemRepository.delete(first);
+        CatalogStats deleted = catalogStatsService.getStats();
+        assertTrue(deleted.getTotal().getMaxPrice() < Integer.MAX_VALUE);
+        assertEquals(before.getTotal().getCount() + 1, deleted.getTotal().getCount());
+        assertEquals(bucketCount + 1, bucket(deleted).getStats().getCount());
+
+        // DB 기준으로 다시 계산해도 결과가 같아야 한다.
+        catalogStatsService.reconcile();
+        CatalogStats reconciled = catalogStatsService.getStats();
+        assertEquals(deleted.getTotal().getCount(), reconciled.getTotal().getCount());
+        assertEquals(deleted.getTotal().getTotalStock(), reconciled.getTotal().getTotalStock());
+        assertEquals(deleted.getTotal().getAvgPrice(), reconciled.getTotal().getAvgPrice());
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 이전 버전 이벤트를 무시하는지 테스트")
+    public void staleEventTest() {
+        Item item = createItem(300002, 10, ItemSellStatus.SELL);
+        Item stale = new Item();
+        stale.setId(item.getId());
+        stale.setPrice(item.getPrice());
+        stale.setStockNumber(item.getStockNumber());
+        stale.setItemSellStatus(item.getItemSellStatus());
+        stale.setVersion(item.getVersion());
+
+        item.setStockNumber(0);
+        item.setItemSellStatus(ItemSellStatus.SOLD_OUT);
+        item = itemRepository.save(item);
+        CatalogStats updated = catalogStatsService.getStats();
+
+        // 이전 커밋의 이벤트가 나중에 도착
+        catalogStatsService.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        CatalogStats afterStale = catalogStatsService.getStats();
+        assertEquals(updated.getTotal().getTotalStock(), afterStale.getTotal().getTotalStock());
+        assertEquals(updated.getByStatus().get(ItemSellStatus.SELL).getCount(),
+                afterStale.getByStatus().get(ItemSellStatus.SELL).getCount());
+
+        // 삭제 뒤에 도착한 이전 이벤트로 되살아나지 않아야 한다.
+        itemRepository.delete(item);
+        CatalogStats deleted = catalogStatsService.getStats();
+        catalogStatsService.onItemChange(new ItemChangeEvent(ItemChangeType.UPDATED, stale));
+        assertEquals(deleted.getTotal().getCount(), catalogStatsService.getStats().getTotal().getCount());
+
+        // 여러 번 다시 계산해도 결과가 같다.
+        catalogStatsService.reconcile();
+        CatalogStats reconciled = catalogStatsService.getStats();
+        catalogStatsService.reconcile();
+        assertEquals(reconciled.getTotal().getCount(), catalogStatsService.getStats().getTotal().getCount());
+        assertEquals(reconciled.getTotal().getTotalStock(), catalogStatsService.getStats().getTotal().getTotalStock());
+        assertEquals(deleted.getTotal().getCount(), reconciled.getTotal().getCount());
+    }
+}
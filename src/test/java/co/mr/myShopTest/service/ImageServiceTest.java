@@ -0,0 +1,104 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImageVariant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    @DisplayName("이미지 크기 변환 테스트")
+    public void resizeTest() throws Exception {
+        ImageService imageService = new ImageService(cacheDir.toString(), Long.MAX_VALUE);
+
+        Path file = imageService.variantFile("셔츠.jpg", ImageVariant.LIST);
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertEquals(ImageVariant.LIST.getMaxWidth(), image.getWidth());
+        assertTrue(Files.size(file) < 458282); // 원본보다 작다.
+
+        assertNull(imageService.variantFile("없는파일.jpg", ImageVariant.LIST));
+        assertNull(imageService.variantFile("../application.properties", ImageVariant.LIST));
+    }
+
+    @Test
+    @DisplayName("같은 변환본 동시 요청 시 한번만 변환하는지 테스트")
+    public void singleFlightTest() throws Exception {
+        ImageService imageService = new ImageService(cacheDir.toString(), Long.MAX_VALUE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch ready = new CountDownLatch(1);
+        Set<Path> results = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 32; i++) {
+            executor.execute(() -> {
+                try {
+                    ready.await();
+                    results.add(imageService.variantFile("스웨터.jpg", ImageVariant.DETAIL));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(1, imageService.getGeneratedCount());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    @DisplayName("캐시 용량 초과 시 오래된 변환본 삭제 테스트")
+    public void evictTest() throws Exception {
+        ImageService imageService = new ImageService(cacheDir.toString(), 1); // 항상 초과
+
+        Path first = imageService.variantFile("청바지.jpg", ImageVariant.THUMBNAIL);
+        Path second = imageService.variantFile("청바지2.jpg", ImageVariant.THUMBNAIL);
+
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second)); // 방금 만든 파일은 남긴다.
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("열어 둔 변환본이 지워져도 읽을 수 있고, 다시 열면 새로 만드는지 테스트")
+    public void openVariantTest() throws Exception {
+        ImageService imageService = new ImageService(cacheDir.toString(), Long.MAX_VALUE);
+
+        Path file = imageService.variantFile("청바지.jpg", ImageVariant.THUMBNAIL);
+        long size = Files.size(file);
+        try (FileChannel channel = imageService.openVariant("청바지.jpg", ImageVariant.THUMBNAIL)) {
+            Files.delete(file); // 다른 요청의 용량 제한으로 지워진 상황
+            assertEquals(size, channel.size());
+            assertEquals(size, channel.read(ByteBuffer.allocate((int) size), 0));
+        }
+
+        long generated = imageService.getGeneratedCount();
+        try (FileChannel channel = imageService.openVariant("청바지.jpg", ImageVariant.THUMBNAIL)) {
+            assertEquals(size, channel.size());
+        }
+        assertEquals(generated + 1, imageService.getGeneratedCount());
+        assertNull(imageService.openVariant("없는파일.jpg", ImageVariant.THUMBNAIL));
+    }
+}
@@ -0,0 +1,84 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.repository.ItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.Predicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemExportServiceTest {
+
+    @Autowired
+    ItemExportService itemExportService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private String createItemList(int count) {
+        String prefix = "내보내기 상품" + System.nanoTime() + "-";
+        for (int i = 1; i <= count; i++) {
+            Item item = new Item();
+            item.setItemName(prefix + i);
+            item.setPrice(10000 + i);
+            item.setItemDetail("내보내기 \"상세\", 설명 " + i);
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            item.setRegTime(LocalDateTime.now());
+            item.setUpdateTime(LocalDateTime.now());
+            itemRepository.save(item);
+        }
+        return prefix;
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기 테스트")
+    public void exportCsvTest() throws Exception {
+        String prefix = createItemList(20);
+        Predicate predicate = QItem.item.itemName.startsWith(prefix);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // fetchSize보다 많은 행을 내보내서 중간에 영속성 컨텍스트를 비우는 경우도 확인
+        assertEquals(20, itemExportService.export(predicate, ImportFormat.CSV, out, 7));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(21, lines.size());
+        assertEquals(ItemRowWriter.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).contains("," + prefix + "1,10001,100,\"내보내기 \"\"상세\"\", 설명 1\",SELL,"));
+        assertTrue(lines.get(20).contains("," + prefix + "20,"));
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 테스트")
+    public void exportNdjsonTest() throws Exception {
+        String prefix = createItemList(5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, itemExportService.export(QItem.item.itemName.startsWith(prefix), ImportFormat.NDJSON, out));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        assertEquals(5, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(prefix + "1", first.get("itemName").asText());
+        assertEquals("내보내기 \"상세\", 설명 1", first.get("itemDetail").asText());
+        assertEquals(10001, first.get("price").asInt());
+    }
+}
@@ -0,0 +1,133 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ImportFormat;
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.dto.ItemImportResult;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemImportServiceTest {
+
+    @Autowired
+    ItemImportService itemImportService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemExportService itemExportService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("CSV 대량 등록 및 재실행 시 청크 건너뛰기 테스트")
+    public void importCsvTest() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add("itemName,price,stockNumber,itemDetail,itemSellStatus");
+        for (int i = 1; i <= 250; i++) {
+            lines.add("\"대량 상품, " + i + "\"," + (1000 + i) + ",10,\"대량 등록 \"\"상세\"\" " + i + "\",SELL");
+        }
+        lines.add("이름이 50자를 넘는 상품" + "x".repeat(50) + ",1000,10,상세,SELL"); // 길이 초과
+        lines.add("가격 오류 상품,abc,10,상세,SELL"); // 숫자 아님
+        Path file = tempDir.resolve("items.csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        long before = itemRepository.count();
+        ItemImportResult result = itemImportService.importFile(file, ImportFormat.CSV, 100, 4);
+
+        assertTrue(result.isCompleted());
+        assertEquals(252, result.getTotalRows());
+        assertEquals(250, result.getImportedRows());
+        assertEquals(2, result.getInvalidRows());
+        assertEquals(before + 250, itemRepository.count());
+        assertEquals("대량 등록 \"상세\" 7", itemRepository.findByItemName("대량 상품, 7").get(0).getItemDetail());
+
+        // 같은 파일을 다시 실행하면 이미 커밋된 청크는 모두 건너뛴다.
+        ItemImportResult rerun = itemImportService.importFile(file, ImportFormat.CSV, 100, 4);
+        assertEquals(0, rerun.getImportedRows());
+        assertEquals(3, rerun.getSkippedChunks());
+        assertEquals(before + 250, itemRepository.count());
+    }
+
+    @Test
+    @DisplayName("NDJSON 대량 등록 테스트")
+    public void importNdjsonTest() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            lines.add("{\"itemName\":\"NDJSON 상품" + i + "\",\"price\":" + (500 * i)
+                    + ",\"stockNumber\":0,\"itemDetail\":\"NDJSON 상세" + i + "\",\"itemSellStatus\":\"SOLD_OUT\"}");
+        }
+        lines.add("{\"itemName\":\"상세 없는 상품\",\"price\":100,\"stockNumber\":1}");
+        Path file = tempDir.resolve("items.ndjson");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        ItemImportResult result = itemImportService.importFile(file, ImportFormat.NDJSON, 8, 2);
+
+        assertTrue(result.isCompleted());
+        assertEquals(30, result.getImportedRows());
+        assertEquals(1, result.getInvalidRows());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("31: "));
+    }
+
+    @Test
+    @DisplayName("여러 줄 상세설명이 있는 CSV 내보내기 파일 재등록 테스트")
+    public void exportImportRoundTripTest() throws Exception {
+        String prefix = "왕복 상품" + System.nanoTime() + "-";
+        String[] details = {
+                "첫 줄\n둘째 줄",
+                "윈도우 줄바꿈\r\n\"따옴표\", 쉼표\r\n끝",
+                "\n앞뒤 줄바꿈\n"};
+        for (int i = 0; i < details.length; i++) {
+            Item item = new Item();
+            item.setItemName(prefix + i);
+            item.setPrice(1000 + i);
+            item.setItemDetail(details[i]);
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(10);
+            item.setRegTime(LocalDateTime.now());
+            item.setUpdateTime(LocalDateTime.now());
+            itemRepository.save(item);
+        }
+        Path file = tempDir.resolve("export.csv");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            itemExportService.export(QItem.item.itemName.startsWith(prefix), ImportFormat.CSV, out);
+        }
+        // 줄바꿈 없는 행 하나를 뒤에 붙여서 여러 줄 행 다음 줄 번호도 확인
+        Files.write(file, "오류 상품,abc,1,상세,SELL,,,\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        ItemImportResult result = itemImportService.importFile(file, ImportFormat.CSV, 2, 2);
+
+        assertTrue(result.isCompleted());
+        assertEquals(details.length, result.getImportedRows());
+        assertEquals(1, result.getInvalidRows());
+        // 헤더 1줄 + 상세설명 3건이 각각 2, 3, 3줄
+        assertTrue(result.getErrors().get(0).startsWith("10: "), result.getErrors().get(0));
+        for (int i = 0; i < details.length; i++) {
+            List<Item> items = itemRepository.findByItemName(prefix + i);
+            assertEquals(2, items.size()); // 원본 + 재등록
+            for (Item item : items) {
+                assertEquals(details[i], item.getItemDetail());
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package co.mr.myShopTest.service;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.exception.OutOfStockException;
+import co.mr.myShopTest.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StockReservationServiceTest {
+
+    @Autowired
+    StockReservationService stockReservationService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Item createItem(int stockNumber) {
+        Item item = new Item();
+        item.setItemName("재고 예약 상품");
+        item.setPrice(10000);
+        item.setItemDetail("재고 예약 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(stockNumber);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("동시 예약 시 재고보다 많이 팔리지 않는지 테스트")
+    public void concurrentReserveTest() throws Exception {
+        int stockNumber = 1000;
+        int requests = 5000;
+        Item item = createItem(stockNumber);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Long> reservationIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger outOfStock = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                try {
+                    ready.await();
+                    reservationIds.add(stockReservationService.reserve(item.getId(), 1));
+                } catch (OutOfStockException e) {
+                    outOfStock.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        ready.countDown(); // 동시에 출발
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(stockNumber, reservationIds.size());
+        assertEquals(requests - stockNumber, outOfStock.get());
+        assertEquals(0, stockReservationService.getAvailable(item.getId()));
+
+        List<Long> ids = reservationIds.stream().collect(Collectors.toList());
+        ids.parallelStream().forEach(stockReservationService::commit);
+        stockReservationService.flush();
+
+        Item savedItem = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(0, savedItem.getStockNumber());
+        assertEquals(ItemSellStatus.SOLD_OUT, savedItem.getItemSellStatus());
+    }
+
+    @Test
+    @DisplayName("예약 취소/만료 시 재고 복구 테스트")
+    public void releaseAndExpireTest() throws Exception {
+        Item item = createItem(10);
+
+        long released = stockReservationService.reserve(item.getId(), 3);
+        long expired = stockReservationService.reserve(item.getId(), 5, Duration.ofMillis(1));
+        long committed = stockReservationService.reserve(item.getId(), 2);
+        assertEquals(0, stockReservationService.getAvailable(item.getId()));
+        assertThrows(OutOfStockException.class, () -> stockReservationService.reserve(item.getId(), 1));
+
+        stockReservationService.release(released);
+        Thread.sleep(5);
+        stockReservationService.expireReservations();
+        assertEquals(8, stockReservationService.getAvailable(item.getId()));
+        assertThrows(IllegalStateException.class, () -> stockReservationService.commit(expired));
+
+        stockReservationService.commit(committed);
+        stockReservationService.flush();
+        Item savedItem = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(8, savedItem.getStockNumber());
+        assertEquals(ItemSellStatus.SELL, savedItem.getItemSellStatus());
+    }
+
+    @Test
+    @DisplayName("예약 중 관리자가 상품을 수정해도 재고보다 많이 예약되지 않는지 테스트")
+    public void reserveDuringUpdateTest() throws Exception {
+        int stockNumber = 1000;
+        Item item = createItem(stockNumber);
+        Long itemId = item.getId();
+        stockReservationService.getAvailable(itemId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger reserved = new AtomicInteger();
+        for (int i = 0; i < 2000; i++) {
+            executor.execute(() -> {
+                try {
+                    stockReservationService.reserve(itemId, 1);
+                    reserved.incrementAndGet();
+                } catch (OutOfStockException e) {
+                    // 재고 소진
+                }
+            });
+        }
+        // 재고는 그대로 두고 다른 값만 수정 (UPDATED 이벤트가 계속 발생)
+        for (int i = 0; i < 20; i++) {
+            item.setPrice(10000 + i);
+            item = itemRepository.save(item);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(stockNumber, reserved.get());
+        assertEquals(0, stockReservationService.getAvailable(itemId));
+    }
+
+    @Test
+    @DisplayName("DB 재고가 부족해 반영하지 못한 확정 수량을 초과 판매로 남겨두는지 테스트")
+    public void oversoldTest() {
+        Item item = createItem(5);
+        long reservationId = stockReservationService.reserve(item.getId(), 5);
+
+        // 예약 후 확정 전에 관리자가 재고를 2개로 줄임
+        item.setStockNumber(2);
+        item = itemRepository.save(item);
+        stockReservationService.commit(reservationId);
+        stockReservationService.flush();
+
+        assertEquals(5, stockReservationService.getOversold().get(item.getId()));
+        assertEquals(0, stockReservationService.getAvailable(item.getId()));
+        assertEquals(2, itemRepository.findById(item.getId()).orElseThrow().getStockNumber());
+
+        // 재고를 채우면 남겨둔 확정 수량이 반영된다.
+        item.setStockNumber(10);
+        item = itemRepository.save(item);
+        assertEquals(5, stockReservationService.getAvailable(item.getId()));
+        stockReservationService.flush();
+
+        assertNull(stockReservationService.getOversold().get(item.getId()));
+        assertEquals(5, itemRepository.findById(item.getId()).orElseThrow().getStockNumber());
+        assertEquals(5, stockReservationService.getAvailable(item.getId()));
+    }
+
+    @Test
+    @DisplayName("재고 반영과 outbox 기록이 한 트랜잭션으로 커밋/롤백되는지 테스트")
+    public void outboxAtomicityTest() throws InterruptedException {
+        Item item = createItem(10);
+        long itemId = item.getId();
+        long reservationId = stockReservationService.reserve(itemId, 3);
+        stockReservationService.commit(reservationId);
+
+        // outbox 기록이 실패하면 재고 차감도 롤백되고 다음 주기에 다시 반영한다.
+        jdbcTemplate.execute("alter table item_outbox add constraint chk_stock_outbox_test " +
+                "check (item_id <> " + itemId + " or change_type <> 'STOCK_CHANGED')");
+        try {
+            stockReservationService.flush();
+            assertEquals(10, itemRepository.findById(itemId).orElseThrow().getStockNumber());
+            assertEquals(0, stockChangedRows(itemId));
+        } finally {
+            jdbcTemplate.execute("alter table item_outbox drop constraint chk_stock_outbox_test");
+        }
+
+        // 예약 반영 스케줄러가 먼저 가져갈 수 있으므로 반영될 때까지 기다린다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (itemRepository.findById(itemId).orElseThrow().getStockNumber() != 7 && System.nanoTime() < deadline) {
+            stockReservationService.flush();
+            Thread.sleep(50);
+        }
+        Item decreased = itemRepository.findById(itemId).orElseThrow();
+        assertEquals(7, decreased.getStockNumber());
+        assertEquals(1, stockChangedRows(itemId));
+        assertEquals(decreased.getVersion(), jdbcTemplate.queryForObject(
+                "select item_version from item_outbox where item_id = ? and change_type = 'STOCK_CHANGED'", Long.class, itemId));
+    }
+
+    private int stockChangedRows(long itemId) {
+        return jdbcTemplate.queryForObject("select count(*) from item_outbox where item_id = ? and change_type = 'STOCK_CHANGED'",
+                Integer.class, itemId);
+    }
+}
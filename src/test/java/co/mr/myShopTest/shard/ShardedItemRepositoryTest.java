@@ -0,0 +1,236 @@
+package co.mr.myShopTest.shard;
+
+import co.mr.myShopTest.constant.ItemSellStatus;
+import co.mr.myShopTest.constant.ShardStrategy;
+import co.mr.myShopTest.dto.ItemListDto;
+import co.mr.myShopTest.entity.Item;
+import co.mr.myShopTest.entity.QItem;
+import co.mr.myShopTest.event.ItemChangeEvent;
+import co.mr.myShopTest.repository.ItemOutboxRepository;
+import co.mr.myShopTest.repository.ItemPriceIndex;
+import co.mr.myShopTest.repository.ItemRepository;
+import co.mr.myShopTest.service.StockReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 메모리 H2 세 개를 샤드로 사용한다.
+// 다른 테스트의 DB(testdb)와 섞이지 않도록 기본 DB도 별도 이름을 쓴다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharding-main;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "item.shard.enabled=true",
+        "item.shard.urls=jdbc:h2:mem:sharding-0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:sharding-1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:sharding-2;DB_CLOSE_DELAY=-1",
+        "item.shard.strategy=HASH"})
+@RecordApplicationEvents
+class ShardedItemRepositoryTest {
+
+    @Autowired
+    ShardedItemRepository shardedItemRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemPriceIndex itemPriceIndex;
+
+    @Autowired
+    StockReservationService stockReservationService;
+
+    @Autowired
+    ItemOutboxRepository itemOutboxRepository;
+
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    public void clearShards() {
+        for (ItemShard shard : shardedItemRepository.getShards()) {
+            shard.write(repository -> {
+                repository.deleteAllInBatch();
+                return null;
+            });
+        }
+    }
+
+    private List<Item> createItems(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Item item = new Item();
+            item.setItemName("샤딩 상품" + (i % 4));
+            // 같은 가격이 여러 샤드에 생기도록
+            item.setPrice(10000 + (i % 5) * 1000);
+            item.setItemDetail("샤딩 테스트 상품 상세 설명" + i);
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            item.setRegTime(LocalDateTime.now());
+            item.setUpdateTime(LocalDateTime.now());
+            items.add(item);
+        }
+        return shardedItemRepository.saveAll(items);
+    }
+
+    private static Comparator<Item> priceDescIdAsc() {
+        return Comparator.comparingInt(Item::getPrice).reversed().thenComparing(Item::getId);
+    }
+
+    @Test
+    @DisplayName("id에 샤드 번호가 들어가고 id로 저장된 샤드를 찾아가는지 테스트")
+    public void routeTest() {
+        List<Item> items = createItems(9);
+
+        // 새 상품은 샤드마다 고르게 저장된다.
+        for (ItemShard shard : shardedItemRepository.getShards()) {
+            long count = shard.read(repository -> repository.count());
+            assertEquals(3L, count);
+        }
+        for (Item item : items) {
+            int shard = (int) (item.getId() % 3);
+            assertEquals(shard, shardedItemRepository.getRouter().shardOf(item.getId()));
+            boolean exists = shardedItemRepository.getShards().get(shard).read(repository -> repository.existsById(item.getId()));
+            assertTrue(exists);
+            assertEquals(item.getItemDetail(), shardedItemRepository.findById(item.getId()).orElseThrow().getItemDetail());
+        }
+
+        // 수정은 원래 샤드에, 재고 차감도 id의 샤드에서
+        Item item = items.get(0);
+        item.setPrice(99000);
+        shardedItemRepository.save(item);
+        assertEquals(1, shardedItemRepository.decreaseStock(item.getId(), 10, LocalDateTime.now()));
+        Item updated = shardedItemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(99000, updated.getPrice());
+        assertEquals(90, updated.getStockNumber());
+        assertEquals(9L, shardedItemRepository.count());
+
+        shardedItemRepository.deleteById(item.getId());
+        assertFalse(shardedItemRepository.findById(item.getId()).isPresent());
+        assertEquals(8L, shardedItemRepository.count());
+    }
+
+    @Test
+    @DisplayName("모든 샤드에서 조회해 정렬 순서대로 합치는지 테스트 (쿼리메소드, Querydsl 페이지, 목록 DTO 페이지)")
+    public void scatterGatherTest() {
+        List<Item> items = createItems(30);
+
+        List<Integer> expectedPrices = items.stream().map(Item::getPrice).filter(price -> price < 13000)
+                .sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        assertEquals(expectedPrices, shardedItemRepository.findByPriceLessThanOrderByPriceDesc(13000).stream()
+                .map(Item::getPrice).collect(Collectors.toList()));
+
+        // 두번째 페이지, 가격이 같으면 id 순서
+        QItem item = QItem.item;
+        List<Item> expected = items.stream().filter(i -> !i.getItemName().equals("샤딩 상품0"))
+                .sorted(priceDescIdAsc()).collect(Collectors.toList());
+        PageRequest pageable = PageRequest.of(1, 7, Sort.by(Sort.Direction.DESC, "price"));
+        Page<Item> page = shardedItemRepository.findAll(item.itemName.ne("샤딩 상품0"), pageable);
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(7, 14).stream().map(Item::getId).collect(Collectors.toList()),
+                page.getContent().stream().map(Item::getId).collect(Collectors.toList()));
+
+        Page<ItemListDto> listPage = shardedItemRepository.findListAll(item.itemName.ne("샤딩 상품0"), pageable);
+        assertEquals(expected.size(), listPage.getTotalElements());
+        assertEquals(expected.subList(7, 14).stream().map(Item::getId).collect(Collectors.toList()),
+                listPage.getContent().stream().map(ItemListDto::getId).collect(Collectors.toList()));
+        assertEquals(expected.size(), shardedItemRepository.count(item.itemName.ne("샤딩 상품0")));
+    }
+
+    @Test
+    @DisplayName("문자열 속성(DB collation에 따라 순서가 다른)으로는 샤드 결과를 정렬하지 않는지 테스트")
+    public void stringSortTest() {
+        createItems(4);
+        QItem item = QItem.item;
+
+        PageRequest byName = PageRequest.of(0, 10, Sort.by("itemName"));
+        assertThrows(IllegalArgumentException.class, () -> shardedItemRepository.findAll(item.price.gt(0), byName));
+        assertThrows(IllegalArgumentException.class, () -> shardedItemRepository.findListAll(item.price.gt(0), byName));
+        PageRequest byStatus = PageRequest.of(0, 10, Sort.by("itemSellStatus"));
+        assertThrows(IllegalArgumentException.class, () -> shardedItemRepository.findAll(item.price.gt(0), byStatus));
+    }
+
+    @Test
+    @DisplayName("샤드별 스트림을 id 순서로 합쳐 읽는지 테스트")
+    public void streamAllTest() {
+        List<Item> items = createItems(20);
+        List<Long> expected = items.stream().map(Item::getId).sorted().collect(Collectors.toList());
+
+        try (Stream<Item> stream = shardedItemRepository.streamAll(QItem.item.price.gt(0), 3)) {
+            assertEquals(expected, stream.map(Item::getId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("RANGE 방식 id 생성/샤드 찾기, 정렬된 결과 합치기 테스트")
+    public void rangeAndMergeTest() {
+        ItemShardRouter router = new ItemShardRouter(ShardStrategy.RANGE, 3, 1000);
+        assertEquals(1, router.idOf(0, 1));
+        assertEquals(2005, router.idOf(2, 5));
+        assertEquals(2, router.shardOf(2005));
+        assertThrows(IllegalStateException.class, () -> router.idOf(1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> router.shardOf(3000));
+
+        List<List<Integer>> sources = Arrays.asList(Arrays.asList(1, 4, 7), Arrays.asList(2, 5, 8),
+                Arrays.asList(), Arrays.asList(3, 6, 9));
+        assertEquals(Arrays.asList(3, 4, 5, 6), SortedMerge.merge(sources, Comparator.naturalOrder(), 2, 4));
+
+        // 필요한 만큼만 앞에서부터 읽는다.
+        Iterator<Integer> merged = SortedMerge.merge(Arrays.asList(Arrays.asList(1, 3).iterator(),
+                Stream.iterate(2, i -> i + 2).iterator()), Comparator.<Integer>naturalOrder());
+        List<Integer> first = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            first.add(merged.next());
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 6), first);
+    }
+
+    @Test
+    @DisplayName("샤드 저장/수정/삭제가 기본 DB의 상품 변경 이벤트를 발행하지 않는지 테스트")
+    public void shardWriteIsolationTest() {
+        Item main = new Item();
+        main.setItemName("기본 DB 상품");
+        main.setPrice(10000);
+        main.setItemDetail("기본 DB 상품 상세 설명");
+        main.setItemSellStatus(ItemSellStatus.SELL);
+        main.setStockNumber(100);
+        main.setRegTime(LocalDateTime.now());
+        main.setUpdateTime(LocalDateTime.now());
+        main = itemRepository.save(main);
+        assertEquals(100, stockReservationService.getAvailable(main.getId()));
+        itemPriceIndex.applyPendingEvents();
+        int indexed = itemPriceIndex.size();
+        long outbox = itemOutboxRepository.count();
+        applicationEvents.clear();
+
+        List<Item> items = createItems(3);
+        Item item = items.get(0);
+        item.setStockNumber(1);
+        shardedItemRepository.save(item);
+        shardedItemRepository.deleteById(items.get(1).getId());
+
+        assertEquals(0, applicationEvents.stream(ItemChangeEvent.class).count());
+        itemPriceIndex.applyPendingEvents();
+        assertEquals(indexed, itemPriceIndex.size());
+        assertEquals(outbox, itemOutboxRepository.count());
+        assertEquals(100, stockReservationService.getAvailable(main.getId()));
+    }
+}
@@ -0,0 +1,93 @@
+package co.mr.myShopTest.startup;
+
+import co.mr.myShopTest.MyShopTestApplication;
+import co.mr.myShopTest.security.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StartupTest {
+
+    @Autowired
+    Environment environment;
+
+    @Test
+    @DisplayName("운영 시작 설정(prod)으로 시작, 워밍업 후 준비 상태와 시작 시간 보고서 테스트")
+    public void prodStartupTest() throws Exception {
+        // 테스트 컨텍스트가 만든 스키마를 검사(validate)만 하고 시작한다.
+        SpringApplication application = new SpringApplication(MyShopTestApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(StartupTimelineReporter.CAPACITY));
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.profiles.active=prod",
+                "--server.port=0",
+                "--spring.datasource.url=" + environment.getProperty("spring.datasource.url"),
+                "--spring.datasource.driver-class-name=" + environment.getProperty("spring.datasource.driver-class-name"),
+                "--spring.datasource.username=" + environment.getProperty("spring.datasource.username", ""),
+                "--spring.datasource.password=" + environment.getProperty("spring.datasource.password", ""),
+                "--startup.warmup.iterations=1")) {
+            assertEquals("validate", context.getEnvironment().getProperty("spring.jpa.hibernate.ddl-auto"));
+            assertEquals(ReadinessState.ACCEPTING_TRAFFIC,
+                    context.getBean(ApplicationAvailability.class).getReadinessState());
+
+            // 워밍업에서 요청한 화면의 컨트롤러만 만들어져 있다.
+            StartupWarmup warmup = context.getBean(StartupWarmup.class);
+            assertTrue(warmup.getRequests() > 0);
+            assertEquals(0, warmup.getFailures());
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            assertTrue(beanFactory.containsSingleton("itemCatalogController"));
+            assertTrue(beanFactory.containsSingleton("thymeleafExController"));
+            assertFalse(beanFactory.containsSingleton("itemExportController"));
+            assertFalse(beanFactory.containsSingleton("startupController"));
+
+            StartupReport report = context.getBean(StartupTimelineReporter.class).getReport();
+            assertNotNull(report);
+            assertEquals(Arrays.asList("jvm", "environment", "context", "refresh", "started", "ready"),
+                    report.getPhases().stream().map(StartupReport.Phase::getName).collect(Collectors.toList()));
+            assertTrue(report.getBeanCount() > 100);
+            assertFalse(report.getBeans().isEmpty());
+            List<String> steps = report.getSteps().stream().map(StartupReport.Step::getName).collect(Collectors.toList());
+            assertTrue(steps.contains("startup.warmup"));
+            assertTrue(steps.contains("startup.warmup.request"));
+
+            // 준비 상태는 인증 없이, 보고서는 인증해서 조회한다.
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> ready = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/admin/startup/ready")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, ready.statusCode());
+            assertEquals("\"ACCEPTING_TRAFFIC\"", ready.body());
+
+            String token = context.getBean(TokenService.class).issue(new UsernamePasswordAuthenticationToken("admin", null,
+                    AuthorityUtils.createAuthorityList("ROLE_ADMIN"))).getValue();
+            HttpResponse<String> timeline = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/admin/startup"))
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, timeline.statusCode());
+            assertTrue(timeline.body().contains("\"readyMillis\""));
+            assertTrue(beanFactory.containsSingleton("startupController"));
+        }
+    }
+}